@@ -0,0 +1,48 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.api.asynchronous;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * <p>
+ * The non-blocking counterpart of #{@link AsyncResult}: a convenience, already-completed
+ * #{@link CompletableFuture} which can be used as the return value of an #{@link Asynchronous}
+ * method declared to return #{@link CompletionStage} or #{@link CompletableFuture}. Seam Cron
+ * will immediately return a different, incomplete #{@link CompletableFuture} to the calling
+ * method, and complete it with the wrapped value once the method has been executed in the
+ * background. Callers can therefore chain continuations (eg: #{@literal thenApply(..)})
+ * instead of parking a thread in #{@literal get()}.
+ * </p>
+ * <p>
+ * Example:
+ * <code>@Asynchronous public CompletionStage&lt;Receipt&gt; generateReceipt(User u) { ...; return new AsyncCompletableResult&lt;Receipt&gt;(receipt); }</code>
+ * </p>
+ *
+ * @author agent
+ */
+public class AsyncCompletableResult<T> extends CompletableFuture<T> {
+
+    /**
+     * Wraps the given result in an already-completed #{@link CompletableFuture}.
+     * @param result
+     */
+    public AsyncCompletableResult(final T result) {
+        complete(result);
+    }
+}
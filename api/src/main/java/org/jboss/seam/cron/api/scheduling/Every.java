@@ -28,6 +28,11 @@ import javax.inject.Qualifier;
  * every event in a particular schedule. Eg:
  * <code>public void doSomething( @Observes @Every(MINUTE) Trigger t)</code> will
  * observe the event fired every minute.
+ * <p>
+ * If the observers may take longer than the interval, use #{@literal overlap} to say what
+ * should happen when the next firing falls due (see #{@link OverlapPolicy}). Eg:
+ * <code>@Every(value = SECOND, overlap = OverlapPolicy.SKIP)</code>. Likewise #{@literal misfire}
+ * (see #{@link MisfirePolicy}) says what happens after firings have been missed altogether.
  *
  * @author Peter Royle
  */
@@ -41,4 +46,24 @@ import javax.inject.Qualifier;
 public @interface Every {
     int nth() default 1;
     Interval value();
+
+    /**
+     * @return What to do when the trigger falls due while the previous firing is still running.
+     */
+    OverlapPolicy overlap() default OverlapPolicy.DEFAULT;
+
+    /**
+     * @return The most firings waiting for the running one when #{@literal overlap} is #{@link OverlapPolicy#QUEUE}.
+     */
+    int maxQueued() default 1;
+
+    /**
+     * @return What to do when the trigger fires after missing one or more of its scheduled times.
+     */
+    MisfirePolicy misfire() default MisfirePolicy.DEFAULT;
+
+    /**
+     * @return The most missed firings to replay when #{@literal misfire} is #{@link MisfirePolicy#FIRE_ALL_MISSED}.
+     */
+    int maxMissedFirings() default 10;
 }
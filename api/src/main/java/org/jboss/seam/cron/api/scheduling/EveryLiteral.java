@@ -27,10 +27,27 @@ public class EveryLiteral
 
     private final int nth;
     private final Interval value;
+    private final OverlapPolicy overlap;
+    private final int maxQueued;
+    private final MisfirePolicy misfire;
+    private final int maxMissedFirings;
 
     public EveryLiteral(final int nth, final Interval value) {
+        this(nth, value, OverlapPolicy.DEFAULT, 1);
+    }
+
+    public EveryLiteral(final int nth, final Interval value, final OverlapPolicy overlap, final int maxQueued) {
+        this(nth, value, overlap, maxQueued, MisfirePolicy.DEFAULT, 10);
+    }
+
+    public EveryLiteral(final int nth, final Interval value, final OverlapPolicy overlap, final int maxQueued,
+            final MisfirePolicy misfire, final int maxMissedFirings) {
         this.nth = nth;
         this.value = value;
+        this.overlap = overlap;
+        this.maxQueued = maxQueued;
+        this.misfire = misfire;
+        this.maxMissedFirings = maxMissedFirings;
     }
     
     public int nth() {
@@ -40,5 +57,21 @@ public class EveryLiteral
     public Interval value() {
         return value;
     }
+
+    public OverlapPolicy overlap() {
+        return overlap;
+    }
+
+    public int maxQueued() {
+        return maxQueued;
+    }
+
+    public MisfirePolicy misfire() {
+        return misfire;
+    }
+
+    public int maxMissedFirings() {
+        return maxMissedFirings;
+    }
     
 }
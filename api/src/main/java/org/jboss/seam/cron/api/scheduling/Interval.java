@@ -19,14 +19,26 @@ package org.jboss.seam.cron.api.scheduling;
 import javax.enterprise.event.Observes;
 
 /**
- * Represents the time intervals observable using Observes Every(timeUnit)
+ * Represents the time intervals observable using Observes Every(timeUnit).
+ * Combine #{@link #MILLISECOND} with #{@literal nth} for periods finer than a second, eg:
+ * <code>@Every(nth = 250, value = MILLISECOND)</code>.
  * @author Peter Royle
  */
 public enum Interval {
 
-    SECOND, MINUTE, HOUR;
+    MILLISECOND(1L), SECOND(1000L), MINUTE(60000L), HOUR(3600000L), DAY(86400000L);
 
-    private Interval() {
+    private final long millis;
+
+    private Interval(final long millis) {
+        this.millis = millis;
+    }
+
+    /**
+     * @return The length of one interval in milliseconds. A #{@link #DAY} is always 24 hours long.
+     */
+    public long getMillis() {
+        return millis;
     }
 
 }
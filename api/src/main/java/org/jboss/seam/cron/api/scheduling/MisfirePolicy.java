@@ -0,0 +1,49 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.api.scheduling;
+
+/**
+ * What to do when a scheduled trigger fires after one or more of its scheduled times went by
+ * without it firing, eg: after a long GC pause, or while the application was being deployed.
+ * Set per trigger with #{@literal misfire} on #{@link Every} or #{@link Scheduled}, or for a
+ * named schedule with the #{@literal <name>.misfire} property in /cron.properties. Whatever the
+ * policy, #{@link Trigger#getMissedFirings()} tells observers how many firings they missed.
+ *
+ * @author agent
+ */
+public enum MisfirePolicy {
+
+    /**
+     * Use the policy set by the #{@literal org.jboss.seam.cron.misfire} property, or
+     * #{@link #FIRE_ONCE_NOW} if it isn't set.
+     */
+    DEFAULT,
+    /**
+     * Fire once, straight away. The event reports how many firings were missed, so the
+     * observer can catch up on all of them in one pass.
+     */
+    FIRE_ONCE_NOW,
+    /**
+     * Fire once for each missed firing, up to #{@literal maxMissedFirings}, then once for the
+     * current firing. Missed firings beyond the limit are reported by the last event.
+     */
+    FIRE_ALL_MISSED,
+    /**
+     * Don't fire late: wait for the next scheduled time. That firing reports how many were missed.
+     */
+    SKIP_TO_NEXT
+}
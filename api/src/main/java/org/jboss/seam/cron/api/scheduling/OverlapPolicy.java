@@ -0,0 +1,51 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.api.scheduling;
+
+/**
+ * What to do when a scheduled trigger falls due while its observers are still handling the
+ * previous firing. Set per trigger with #{@literal overlap} on #{@link Every} or #{@link Scheduled},
+ * or for a named schedule with the #{@literal <name>.overlap} property in /cron.properties.
+ *
+ * @author agent
+ */
+public enum OverlapPolicy {
+
+    /**
+     * Use the policy set by the #{@literal org.jboss.seam.cron.overlap} property, or
+     * #{@link #ALLOW} if it isn't set.
+     */
+    DEFAULT,
+    /**
+     * Fire again regardless, so firings run concurrently.
+     */
+    ALLOW,
+    /**
+     * Drop the firing.
+     */
+    SKIP,
+    /**
+     * Remember the firing, and fire once more as soon as the running firing finishes, however
+     * many firings fell due in the meantime.
+     */
+    COALESCE,
+    /**
+     * Wait for the running firing to finish, up to #{@literal maxQueued} firings deep. Further
+     * firings are dropped.
+     */
+    QUEUE
+}
@@ -49,6 +49,12 @@ import javax.inject.Qualifier;
  * <p>
  * The schedule can then be observed like so:
  * <code>public void doSomething(@Observes @AfterHours Trigger t) { ... }</code>
+ * <p>
+ * If the observers may still be running when the next firing falls due, use #{@literal overlap}
+ * to say what should happen (see #{@link OverlapPolicy}). For a named schedule this can also be
+ * set in /cron.properties, eg: <code>after.hours.overlap=SKIP</code>, which takes precedence.
+ * Likewise #{@literal misfire} (see #{@link MisfirePolicy}) says what happens after firings have
+ * been missed altogether.
  * 
  * @author Peter Royle 
  */
@@ -66,4 +72,24 @@ public @interface Scheduled {
      * @return the value.
      */
     String value();
+
+    /**
+     * @return What to do when the trigger falls due while the previous firing is still running.
+     */
+    OverlapPolicy overlap() default OverlapPolicy.DEFAULT;
+
+    /**
+     * @return The most firings waiting for the running one when #{@literal overlap} is #{@link OverlapPolicy#QUEUE}.
+     */
+    int maxQueued() default 1;
+
+    /**
+     * @return What to do when the trigger fires after missing one or more of its scheduled times.
+     */
+    MisfirePolicy misfire() default MisfirePolicy.DEFAULT;
+
+    /**
+     * @return The most missed firings to replay when #{@literal misfire} is #{@link MisfirePolicy#FIRE_ALL_MISSED}.
+     */
+    int maxMissedFirings() default 10;
 }
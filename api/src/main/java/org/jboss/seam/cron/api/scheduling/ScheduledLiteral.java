@@ -26,6 +26,10 @@ public class ScheduledLiteral
         implements Scheduled {
     
     private final String value;
+    private final OverlapPolicy overlap;
+    private final int maxQueued;
+    private final MisfirePolicy misfire;
+    private final int maxMissedFirings;
 
     /**
      * Create a new instance of ScheduledLiteral with a default 'value'. Note that
@@ -33,7 +37,7 @@ public class ScheduledLiteral
      * during setting up of the schedules if used.
      */
     public ScheduledLiteral() {
-        value = "unspecified schedule";
+        this("unspecified schedule");
     }
 
     /**
@@ -43,7 +47,36 @@ public class ScheduledLiteral
      * @param value The value to be used as the schedule specification/name.
      */
     public ScheduledLiteral(final String value) {
+        this(value, OverlapPolicy.DEFAULT, 1);
+    }
+
+    /**
+     * Create a new instance of ScheduledLiteral with the given overlap policy.
+     *
+     * @param value The value to be used as the schedule specification/name.
+     * @param overlap What to do when the trigger falls due while the previous firing is still running.
+     * @param maxQueued The most firings waiting for the running one when overlap is QUEUE.
+     */
+    public ScheduledLiteral(final String value, final OverlapPolicy overlap, final int maxQueued) {
+        this(value, overlap, maxQueued, MisfirePolicy.DEFAULT, 10);
+    }
+
+    /**
+     * Create a new instance of ScheduledLiteral with the given overlap and misfire policies.
+     *
+     * @param value The value to be used as the schedule specification/name.
+     * @param overlap What to do when the trigger falls due while the previous firing is still running.
+     * @param maxQueued The most firings waiting for the running one when overlap is QUEUE.
+     * @param misfire What to do when the trigger fires after missing one or more of its scheduled times.
+     * @param maxMissedFirings The most missed firings to replay when misfire is FIRE_ALL_MISSED.
+     */
+    public ScheduledLiteral(final String value, final OverlapPolicy overlap, final int maxQueued,
+            final MisfirePolicy misfire, final int maxMissedFirings) {
         this.value = value;
+        this.overlap = overlap;
+        this.maxQueued = maxQueued;
+        this.misfire = misfire;
+        this.maxMissedFirings = maxMissedFirings;
     }
 
     /**
@@ -56,4 +89,20 @@ public class ScheduledLiteral
     public String value() {
         return value;
     }
+
+    public OverlapPolicy overlap() {
+        return overlap;
+    }
+
+    public int maxQueued() {
+        return maxQueued;
+    }
+
+    public MisfirePolicy misfire() {
+        return misfire;
+    }
+
+    public int maxMissedFirings() {
+        return maxMissedFirings;
+    }
 }
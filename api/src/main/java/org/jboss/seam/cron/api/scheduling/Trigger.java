@@ -35,8 +35,9 @@ public class Trigger {
     private final long timeFired;
     
     // TODO: (PR): This should probably go into a subclass, then we can make it final
-    // the value of the second, miute or hour, as the case may be
+    // the value of the millisecond, second, minute, hour or day, as the case may be
     protected int value;
+    private final int missedFirings;
 
     /**
      * Create an instance of some subclass of Trigger using the given timeFired.
@@ -44,12 +45,22 @@ public class Trigger {
      * @param timeFired Represents the time at which the event represented by this instance fired.
      */
     public Trigger(final long timeFired) {
-        this.timeFired = timeFired;
+        this(timeFired, 0, 0);
     }
 
     public Trigger(final long timeFired, final int value) {
+        this(timeFired, value, 0);
+    }
+
+    /**
+     * @param timeFired Represents the time at which the event represented by this instance fired.
+     * @param value The value of the millisecond, second, minute, hour or day fired, if any.
+     * @param missedFirings The number of scheduled firings which went by without an event since the previous one.
+     */
+    public Trigger(final long timeFired, final int value, final int missedFirings) {
         this.timeFired = timeFired;
         this.value = value;
+        this.missedFirings = missedFirings;
     }
 
     /**
@@ -60,12 +71,21 @@ public class Trigger {
     }
 
     /**
-     * @return The value of the second, minute or hour fired.
+     * @return The value of the millisecond (0-999), second, minute, hour or day of the month (1-31) fired.
      */
     public int getValue() {
         return value;
     }
 
+    /**
+     * @return The number of scheduled firings which went by without an event since the previous
+     * event, eg: because the scheduler was paused (see #{@link MisfirePolicy}). Usually 0. An
+     * observer may use it to catch up on all of the missed work in one pass.
+     */
+    public int getMissedFirings() {
+        return missedFirings;
+    }
+
     /**
      * @return a String representation of this instance, showing the event type and the
      *         time at which the event was fired (epoch).
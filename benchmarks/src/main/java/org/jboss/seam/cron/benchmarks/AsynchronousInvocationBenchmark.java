@@ -0,0 +1,73 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * End-to-end cost of an #{@literal @Asynchronous} call through the
+ * #{@link org.jboss.seam.cron.spi.asynchronous.AsynchronousInterceptor}, the selected provider
+ * and the #{@link org.jboss.seam.cron.spi.asynchronous.Invoker}, until the result is back in
+ * the calling thread.
+ * </p>
+ * <p>
+ * Throughput mode gives calls per second. SampleTime mode gives the latency distribution,
+ * including the p50 and p99 percentiles.
+ * </p>
+ *
+ * @author agent
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@Threads(4)
+public class AsynchronousInvocationBenchmark {
+
+    /**
+     * Void method. The caller gets control back immediately, so waiting on a latch is
+     * the only way to include the background execution in the measurement.
+     */
+    @Benchmark
+    public void fireAndForget(final CronContainer cron) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        cron.getMethods().fireAndForget(done);
+        if (!done.await(10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Asynchronous method did not run within 10 seconds");
+        }
+    }
+
+    /**
+     * Future-returning method, round-tripped through #{@literal Future.get()}.
+     */
+    @Benchmark
+    public Integer futureRoundTrip(final CronContainer cron) throws InterruptedException, ExecutionException {
+        return cron.getMethods().returnFuture(42).get();
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import javax.enterprise.context.ApplicationScoped;
+import org.jboss.seam.cron.api.asynchronous.AsyncResult;
+import org.jboss.seam.cron.api.asynchronous.Asynchronous;
+
+/**
+ * Trivial #{@link Asynchronous} methods, so that the benchmarks measure the cost of
+ * getting into and out of the method rather than the method itself.
+ *
+ * @author agent
+ */
+@ApplicationScoped
+public class BenchmarkedMethods {
+
+    @Asynchronous
+    public void fireAndForget(final CountDownLatch done) {
+        done.countDown();
+    }
+
+    @Asynchronous
+    public Future<Integer> returnFuture(final int value) {
+        return new AsyncResult<Integer>(value);
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.benchmarks;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import org.jboss.seam.cron.api.scheduling.Every;
+import org.jboss.seam.cron.api.scheduling.Trigger;
+
+import static org.jboss.seam.cron.api.scheduling.Interval.HOUR;
+
+/**
+ * Trivial observers of an hourly trigger, so that #{@link TriggerFiringBenchmark} measures the
+ * cost of delivering its event rather than the observers themselves. There is no scheduling
+ * provider on the benchmark classpath, so the trigger only fires when the benchmark fires it.
+ *
+ * @author agent
+ */
+@ApplicationScoped
+public class BenchmarkedObservers {
+
+    private long notified;
+
+    public void first(@Observes @Every(HOUR) Trigger event) {
+        notified++;
+    }
+
+    public void second(@Observes @Every(HOUR) Trigger event) {
+        notified++;
+    }
+
+    public void third(@Observes @Every(HOUR) Trigger event) {
+        notified++;
+    }
+
+    public void fourth(@Observes @Every(HOUR) Trigger event) {
+        notified++;
+    }
+
+    public long getNotified() {
+        return notified;
+    }
+}
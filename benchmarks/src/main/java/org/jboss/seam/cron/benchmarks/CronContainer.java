@@ -0,0 +1,65 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.benchmarks;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Boots a Weld SE container with Seam Cron and the selected asynchronous provider once per
+ * trial. JMH forks a fresh JVM for each value of #{@literal provider}, so the providers never
+ * share a container.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+public class CronContainer {
+
+    @Param({"threads", "quartz", "queuj"})
+    public String provider;
+    private Weld weld;
+    private WeldContainer container;
+    private BenchmarkedMethods methods;
+
+    @Setup
+    public void start() {
+        System.setProperty(ProviderSelectionExtension.PROVIDER_PROPERTY, provider);
+        weld = new Weld();
+        container = weld.initialize();
+        methods = container.instance().select(BenchmarkedMethods.class).get();
+    }
+
+    @TearDown
+    public void stop() {
+        if (weld != null) {
+            weld.shutdown();
+        }
+    }
+
+    public WeldContainer getContainer() {
+        return container;
+    }
+
+    public BenchmarkedMethods getMethods() {
+        return methods;
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.benchmarks;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.jboss.seam.cron.spi.scheduling.cron.CompiledCronSchedule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.CronExpression;
+
+/**
+ * Next-fire-time computation by #{@link CompiledCronSchedule} against Quartz's
+ * #{@link CronExpression}, which every scheduling provider used to rely on. Run with
+ * #{@literal -prof gc} to compare allocation as well:
+ * #{@literal -Djmh.args="-prof gc CronScheduleBenchmark"}.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CronScheduleBenchmark {
+
+    @Param({"*/5 * * * * ?", "0 15 10 ? * MON-FRI", "0 0 12 L * ?", "0 0 9 ? * 6#3"})
+    private String expression;
+    private CompiledCronSchedule compiled;
+    private CronExpression quartz;
+    private long after;
+
+    @Setup
+    public void compile() throws ParseException {
+        compiled = CompiledCronSchedule.compile(expression);
+        quartz = new CronExpression(expression);
+        after = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public long compiledNextFireTime() {
+        // chain from the previous result so that every call works on a different time
+        final long next = compiled.nextFireTime(after);
+        after = next < 0 ? System.currentTimeMillis() : next;
+        return next;
+    }
+
+    @Benchmark
+    public long quartzNextValidTimeAfter() {
+        final Date next = quartz.getNextValidTimeAfter(new Date(after));
+        after = next == null ? System.currentTimeMillis() : next.getTime();
+        return after;
+    }
+}
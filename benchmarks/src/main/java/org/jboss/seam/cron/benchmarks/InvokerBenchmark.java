@@ -0,0 +1,129 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.interceptor.InvocationContext;
+import org.jboss.seam.cron.api.asynchronous.AsyncResult;
+import org.jboss.seam.cron.spi.asynchronous.AsynchronousMethodDescriptor;
+import org.jboss.seam.cron.spi.asynchronous.Invoker;
+import org.jboss.seam.cron.spi.asynchronous.support.CallableInvoker;
+import org.jboss.weld.environment.se.Weld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The #{@link Invoker} to #{@link CallableInvoker} round-trip on a single thread, with a stub
+ * #{@link InvocationContext}. This is the framework's share of every asynchronous call with
+ * the thread hand-off taken out, so regressions in it aren't hidden by provider noise.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class InvokerBenchmark {
+
+    // The container is only needed for its BeanManager, which fires the post-execution event,
+    // so it is booted with the default provider
+    private Weld weld;
+    private BeanManager beanManager;
+    private Method method;
+    private AsynchronousMethodDescriptor descriptor;
+
+    @Setup
+    public void start() throws NoSuchMethodException {
+        weld = new Weld();
+        beanManager = weld.initialize().getBeanManager();
+        method = BenchmarkedMethods.class.getMethod("returnFuture", int.class);
+        descriptor = AsynchronousMethodDescriptor.describe(method, beanManager);
+    }
+
+    @TearDown
+    public void stop() {
+        if (weld != null) {
+            weld.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Object invokerRoundTrip() throws Exception {
+        final CallableInvoker callable = new CallableInvoker(new Invoker(beanManager, new StubInvocationContext(method), descriptor));
+        callable.executeInvocationContext();
+        return callable.call();
+    }
+
+    /**
+     * Stands in for the container's #{@link InvocationContext}, returning an already completed
+     * "dummy" #{@link Future} just like an #{@literal @Asynchronous} method would.
+     */
+    private static class StubInvocationContext implements InvocationContext {
+
+        private final Method method;
+        private final Map<String, Object> contextData = new HashMap<String, Object>();
+        private Object[] parameters = new Object[]{42};
+
+        StubInvocationContext(final Method method) {
+            this.method = method;
+        }
+
+        public Object getTarget() {
+            return null;
+        }
+
+        public Object getTimer() {
+            return null;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public Object[] getParameters() {
+            return parameters;
+        }
+
+        public void setParameters(final Object[] parameters) {
+            this.parameters = parameters;
+        }
+
+        public Map<String, Object> getContextData() {
+            return contextData;
+        }
+
+        public Object proceed() throws Exception {
+            return new AsyncResult<Integer>((Integer) parameters[0]);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import org.jboss.seam.cron.spi.asynchronous.CronAsynchronousProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * All of the asynchronous providers are on the benchmark classpath, but Seam Cron expects
+ * exactly one. This extension vetoes every #{@link CronAsynchronousProvider} except the one
+ * named by the #{@literal seam.cron.benchmark.provider} system property (threads, quartz or queuj).
+ *
+ * @author agent
+ */
+public class ProviderSelectionExtension implements Extension {
+
+    public static final String PROVIDER_PROPERTY = "seam.cron.benchmark.provider";
+    public static final String DEFAULT_PROVIDER = "threads";
+    private static final Map<String, String> PROVIDER_CLASSES = new HashMap<String, String>();
+    private static final Logger log = LoggerFactory.getLogger(ProviderSelectionExtension.class);
+
+    static {
+        PROVIDER_CLASSES.put("threads", "org.jboss.seam.cron.asynchronous.threads.ThreadsAsynchronousProvider");
+        PROVIDER_CLASSES.put("quartz", "org.jboss.seam.cron.asynchronous.quartz.QuartzAsynchronousProvider");
+        PROVIDER_CLASSES.put("queuj", "org.jboss.seam.cron.asynchronous.queuj.QueuJAsynchronousProvider");
+    }
+
+    public ProviderSelectionExtension() {
+    }
+
+    public void vetoUnselectedProviders(@Observes ProcessAnnotatedType<?> pat) {
+        final Class<?> type = pat.getAnnotatedType().getJavaClass();
+        if (CronAsynchronousProvider.class.isAssignableFrom(type) && !type.getName().equals(selectedProviderClassName())) {
+            log.debug("Vetoing asynchronous provider " + type.getName() + " for this benchmark run");
+            pat.veto();
+        }
+    }
+
+    public static String selectedProviderClassName() {
+        final String name = System.getProperty(PROVIDER_PROPERTY, DEFAULT_PROVIDER);
+        final String className = PROVIDER_CLASSES.get(name);
+        if (className == null) {
+            throw new IllegalArgumentException("Unknown asynchronous provider '" + name + "'. Expected one of "
+                    + PROVIDER_CLASSES.keySet());
+        }
+        return className;
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.benchmarks;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.jboss.seam.cron.api.scheduling.EveryLiteral;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.spi.SeamCronExtension;
+import org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupplies;
+import org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupport;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One firing of a trigger with the four #{@link BenchmarkedObservers}, as a scheduling provider
+ * fires it. With #{@literal notifyDirectly} true (the default) the observers resolved on the first
+ * firing are notified directly, otherwise every event is fired through the #{@link javax.enterprise.inject.spi.BeanManager},
+ * which resolves them again each time. The setting is read once per JVM, and JMH forks a fresh JVM
+ * for each value.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TriggerFiringBenchmark {
+
+    private static final String NOTIFY_DIRECTLY = "org.jboss.seam.cron.notifyObserversDirectly";
+
+    @Param({"true", "false"})
+    public String notifyDirectly;
+    private Weld weld;
+    private BenchmarkedObservers observers;
+    private TriggerSupplies supplies;
+
+    @Setup
+    public void start() {
+        System.setProperty(NOTIFY_DIRECTLY, notifyDirectly);
+        weld = new Weld();
+        final WeldContainer container = weld.initialize();
+        observers = container.instance().select(BenchmarkedObservers.class).get();
+        final SeamCronExtension extension = container.instance().select(SeamCronExtension.class).get();
+        final Annotation qualifier = new EveryLiteral(1, Interval.HOUR);
+        supplies = new TriggerSupplies(container.getBeanManager(), extension, qualifier, Collections.singleton(qualifier));
+    }
+
+    @TearDown
+    public void stop() {
+        if (weld != null) {
+            if (observers.getNotified() == 0) {
+                throw new IllegalStateException("The trigger's observers were never notified");
+            }
+            weld.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void fireTrigger() {
+        new TriggerSupport(supplies).fireTrigger();
+    }
+}
@@ -70,6 +70,41 @@ public class PropertyResolver {
         return value;
     }
 
+    /**
+     * Resolve the given key as an integer, falling back to the given default
+     * value if the property is not set.
+     *
+     * @param key The name of the property.
+     * @param defaultValue The value to use if the property is empty or missing.
+     * @return the resolved value.
+     * @throws SchedulerConfigurationException if the value is not a valid integer.
+     */
+    public static int resolveInt(String key, int defaultValue) {
+        return (int) resolveLong(key, defaultValue);
+    }
+
+    /**
+     * Resolve the given key as a long, falling back to the given default
+     * value if the property is not set.
+     *
+     * @param key The name of the property.
+     * @param defaultValue The value to use if the property is empty or missing.
+     * @return the resolved value.
+     * @throws SchedulerConfigurationException if the value is not a valid long.
+     */
+    public static long resolveLong(String key, long defaultValue) {
+        final String value = resolve(key, false);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new SchedulerConfigurationException("Expected a number for property '" + key + "' but found '"
+                    + value + "'", ex);
+        }
+    }
+
     protected static String resolveUsingBuiltInMethods(String key) {
         log.debug("Falling back to built-in property resolution resolving property {0}", key);
         // fall back to System properties
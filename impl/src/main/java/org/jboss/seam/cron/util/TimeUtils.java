@@ -17,6 +17,8 @@
 package org.jboss.seam.cron.util;
 
 import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import org.jboss.seam.cron.api.scheduling.Interval;
 
 /**
  *
@@ -31,4 +33,116 @@ public class TimeUtils {
         gc.set(GregorianCalendar.MILLISECOND, 0);
         return gc;
     }
+
+    /**
+     * As for #{@literal firstIntervalFireTime(Interval, int, long, TimeZone)}, for an
+     * #{@literal @Every} trigger which fires every unit.
+     */
+    public static long firstIntervalFireTime(final Interval unit, final long nowMillis, final TimeZone timeZone) {
+        return firstIntervalFireTime(unit, 1, nowMillis, timeZone);
+    }
+
+    /**
+     * @param unit The unit of an #{@literal @Every} trigger.
+     * @param nth How many units apart its firings are.
+     * @param nowMillis The current time, in epoch millis.
+     * @param timeZone The time zone to align the first firing on.
+     * @return When an #{@literal @Every} trigger should first fire, in epoch millis: a whole second
+     * at least one second away for #{@link Interval#MILLISECOND} and #{@link Interval#SECOND}, or
+     * the start of the next minute, hour or day. It is also a whole number of periods after
+     * midnight, local time (see #{@link #intervalGridMillis}), so that every node which schedules
+     * the trigger fires it at the same times. Providers then fire at a fixed rate from this time.
+     */
+    public static long firstIntervalFireTime(final Interval unit, final int nth, final long nowMillis, final TimeZone timeZone) {
+        // align on the local time zone, so that eg: hourly triggers fire on the hour even in +05:30
+        final long alignMillis = intervalGridMillis(unit, nth);
+        final long offset = timeZone.getOffset(nowMillis);
+        // start in 1 second's time at the earliest
+        final long earliest = nowMillis + (unit == Interval.MILLISECOND || unit == Interval.SECOND ? Interval.SECOND.getMillis() : 0);
+        return Math.floorDiv(earliest + offset, alignMillis) * alignMillis + alignMillis - offset;
+    }
+
+    /**
+     * @param unit The unit of an #{@literal @Every} trigger.
+     * @param nth How many units apart its firings are.
+     * @return What the first fire time is aligned on, in local millis: the period itself, or
+     * for #{@link Interval#MILLISECOND} the least multiple of the period which is a whole second.
+     */
+    public static long intervalGridMillis(final Interval unit, final int nth) {
+        final long periodMillis = unit.getMillis() * Math.max(1, nth);
+        if (unit != Interval.MILLISECOND) {
+            return periodMillis;
+        }
+        long a = periodMillis;
+        long b = Interval.SECOND.getMillis();
+        while (b != 0) {
+            final long r = a % b;
+            a = b;
+            b = r;
+        }
+        return periodMillis / a * Interval.SECOND.getMillis();
+    }
+
+    /**
+     * @param fireTimeMillis When an #{@literal @Every} trigger fell due, in epoch millis, give or
+     * take a little jitter.
+     * @param periodMillis The trigger's period.
+     * @param timeZone The time zone its fire times are aligned on.
+     * @return The number of whole periods between midnight, local time, at the epoch and the
+     * nearest of the trigger's fire times (see #{@link #firstIntervalFireTime(Interval, int, long, TimeZone)}).
+     */
+    public static long intervalSlot(final long fireTimeMillis, final long periodMillis, final TimeZone timeZone) {
+        return Math.floorDiv(localMillis(fireTimeMillis, timeZone) + periodMillis / 2, periodMillis);
+    }
+
+    /**
+     * @param epochMillis A point in time, as returned by #{@literal System.currentTimeMillis()}.
+     * @return The millisecond of the second (0-999).
+     */
+    public static int millisecondOfSecond(final long epochMillis) {
+        return (int) Math.floorMod(epochMillis, 1000L);
+    }
+
+    /**
+     * @param epochMillis A point in time, as returned by #{@literal System.currentTimeMillis()}.
+     * @param timeZone The time zone to report the second in.
+     * @return The second of the minute (0-59), as #{@literal GregorianCalendar.SECOND} would return it,
+     * but without creating a calendar.
+     */
+    public static int secondOfMinute(final long epochMillis, final TimeZone timeZone) {
+        return (int) Math.floorMod(Math.floorDiv(localMillis(epochMillis, timeZone), 1000L), 60L);
+    }
+
+    /**
+     * @param epochMillis A point in time, as returned by #{@literal System.currentTimeMillis()}.
+     * @param timeZone The time zone to report the minute in.
+     * @return The minute of the hour (0-59), as #{@literal GregorianCalendar.MINUTE} would return it.
+     */
+    public static int minuteOfHour(final long epochMillis, final TimeZone timeZone) {
+        return (int) Math.floorMod(Math.floorDiv(localMillis(epochMillis, timeZone), 60000L), 60L);
+    }
+
+    /**
+     * @param epochMillis A point in time, as returned by #{@literal System.currentTimeMillis()}.
+     * @param timeZone The time zone to report the hour in.
+     * @return The hour of the day (0-23), as #{@literal GregorianCalendar.HOUR_OF_DAY} would return it.
+     */
+    public static int hourOfDay(final long epochMillis, final TimeZone timeZone) {
+        return (int) Math.floorMod(Math.floorDiv(localMillis(epochMillis, timeZone), 3600000L), 24L);
+    }
+
+    /**
+     * @param epochMillis A point in time, as returned by #{@literal System.currentTimeMillis()}.
+     * @param timeZone The time zone to report the day in.
+     * @return The day of the month (1-31), as #{@literal GregorianCalendar.DAY_OF_MONTH} would return it.
+     */
+    public static int dayOfMonth(final long epochMillis, final TimeZone timeZone) {
+        final GregorianCalendar gc = new GregorianCalendar(timeZone);
+        gc.setTimeInMillis(epochMillis);
+        return gc.get(GregorianCalendar.DAY_OF_MONTH);
+    }
+
+    private static long localMillis(final long epochMillis, final TimeZone timeZone) {
+        return epochMillis + timeZone.getOffset(epochMillis);
+    }
 }
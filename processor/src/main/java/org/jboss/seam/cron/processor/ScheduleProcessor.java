@@ -0,0 +1,271 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import org.jboss.seam.cron.api.scheduling.Every;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.api.scheduling.Scheduled;
+import org.jboss.seam.cron.spi.scheduling.cron.CompiledCronSchedule;
+import org.jboss.seam.cron.spi.scheduling.cron.PrecompiledScheduleSource;
+
+/**
+ * <p>
+ * Checks the #{@link Scheduled} and #{@link Every} qualifiers of an application at compile
+ * time, rather than leaving bad schedules to fail at deployment:
+ * </p>
+ * <ul>
+ * <li>The cron expression of each #{@link Scheduled} qualifier, or of the named schedule it
+ * refers to in #{@literal cron.properties}, must compile with #{@link CompiledCronSchedule}, and must
+ * not use #{@literal L-n} in the day-of-month field, which the Quartz scheduling provider (which parses
+ * expressions with Quartz 1.6) rejects. So a schedule which passes runs on every provider.</li>
+ * <li>#{@literal nth} of each #{@link Every} qualifier must be at least 1, and
+ * #{@literal maxQueued} and #{@literal maxMissedFirings} of both must not be negative.</li>
+ * </ul>
+ * <p>
+ * The compiled schedules are written to a generated #{@link PrecompiledScheduleSource}, registered
+ * as a service, from which #{@literal CronSchedulingInstaller} loads them at deployment instead of
+ * parsing the expressions again.
+ * </p>
+ * <p>
+ * Options: #{@literal -Aseam.cron.validation=warn} reports problems as warnings rather than
+ * errors, and #{@literal -Aseam.cron.registryClass=com.example.Schedules} names the generated
+ * class (by default #{@literal SeamCronPrecompiledSchedules} in the first package with a schedule).
+ * </p>
+ *
+ * @author agent
+ */
+@SupportedAnnotationTypes({"org.jboss.seam.cron.api.scheduling.Scheduled", "org.jboss.seam.cron.api.scheduling.Every"})
+@SupportedOptions({ScheduleProcessor.VALIDATION_OPTION, ScheduleProcessor.REGISTRY_CLASS_OPTION})
+public class ScheduleProcessor extends AbstractProcessor {
+
+    public static final String VALIDATION_OPTION = "seam.cron.validation";
+    public static final String REGISTRY_CLASS_OPTION = "seam.cron.registryClass";
+    public static final String DEFAULT_REGISTRY_CLASS = "SeamCronPrecompiledSchedules";
+    private static final String CRON_PROPERTIES = "cron.properties";
+    // sorted, so that the generated class is the same on every build
+    private final Map<String, long[]> schedules = new TreeMap<String, long[]>();
+    private final Set<String> packages = new TreeSet<String>();
+    private Properties namedSchedules;
+    private boolean registryWritten = false;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Scheduled.class)) {
+            checkScheduled(element);
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(Every.class)) {
+            checkEvery(element);
+        }
+        // written in the first round with schedules, so that the registry is compiled along with the
+        // application. Schedules only found in sources generated by later rounds are compiled at deployment.
+        if (!registryWritten && !schedules.isEmpty() && !roundEnv.processingOver()) {
+            registryWritten = true;
+            writeRegistry();
+        }
+        // the qualifiers are still needed by anything else which processes them
+        return false;
+    }
+
+    private void checkScheduled(final Element element) {
+        final Scheduled scheduled = element.getAnnotation(Scheduled.class);
+        final AnnotationMirror mirror = mirrorOf(element, Scheduled.class);
+        final String value = scheduled.value();
+        final String expression;
+        if (value.contains(" ") || value.contains(":")) {
+            expression = value;
+        } else {
+            expression = getNamedSchedules().getProperty(value);
+            if (expression == null) {
+                // it may yet be given as a system property
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "The schedule named '" + value
+                        + "' is not in " + CRON_PROPERTIES + ", so it must be set as a system property", element, mirror);
+            }
+        }
+        if (expression != null) {
+            try {
+                final CompiledCronSchedule compiled = CompiledCronSchedule.compile(expression);
+                if (isLastDayOffset(expression)) {
+                    report("Invalid cron schedule '" + expression + "' in @Scheduled(\"" + value
+                            + "\"): 'L-n' in the day-of-month field is not supported by the Quartz scheduling provider", element, mirror);
+                }
+                schedules.put(expression.trim(), compiled.toTables());
+                packages.add(processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString());
+            } catch (ParseException ex) {
+                report("Invalid cron schedule '" + expression + "' in @Scheduled(\"" + value + "\"): " + ex.getMessage(), element, mirror);
+            }
+        }
+        checkNotNegative(scheduled.maxQueued(), "maxQueued", element, mirror);
+        checkNotNegative(scheduled.maxMissedFirings(), "maxMissedFirings", element, mirror);
+    }
+
+    private void checkEvery(final Element element) {
+        final Every every = element.getAnnotation(Every.class);
+        final AnnotationMirror mirror = mirrorOf(element, Every.class);
+        if (every.nth() < 1) {
+            report("nth of @Every must be at least 1, not " + every.nth(), element, mirror);
+        } else if (every.value() == Interval.MILLISECOND && every.nth() < 10) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "@Every(nth = " + every.nth()
+                    + ", value = MILLISECOND) is unlikely to keep to time on any scheduling provider", element, mirror);
+        }
+        checkNotNegative(every.maxQueued(), "maxQueued", element, mirror);
+        checkNotNegative(every.maxMissedFirings(), "maxMissedFirings", element, mirror);
+    }
+
+    private void checkNotNegative(final int value, final String name, final Element element, final AnnotationMirror mirror) {
+        if (value < 0) {
+            report(name + " must not be negative, not " + value, element, mirror);
+        }
+    }
+
+    private void report(final String message, final Element element, final AnnotationMirror mirror) {
+        final Diagnostic.Kind kind = "warn".equalsIgnoreCase(processingEnv.getOptions().get(VALIDATION_OPTION))
+                ? Diagnostic.Kind.WARNING : Diagnostic.Kind.ERROR;
+        processingEnv.getMessager().printMessage(kind, message, element, mirror);
+    }
+
+    /**
+     * @return true if the day-of-month field of the given expression is #{@literal L-n}, rather than just #{@literal L}.
+     */
+    private static boolean isLastDayOffset(final String expression) {
+        final String[] fields = expression.trim().split("\\s+");
+        return fields.length > 3 && fields[3].toUpperCase(Locale.ENGLISH).startsWith("L-");
+    }
+
+    private static AnnotationMirror mirrorOf(final Element element, final Class<?> annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType.getName())) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The named schedules in the #{@literal cron.properties} being compiled, if any.
+     */
+    private Properties getNamedSchedules() {
+        if (namedSchedules == null) {
+            namedSchedules = new Properties();
+            // resources are usually copied to the class output before compiling, but may be on the source path
+            final StandardLocation[] locations = {StandardLocation.CLASS_OUTPUT, StandardLocation.SOURCE_PATH};
+            for (StandardLocation location : locations) {
+                try {
+                    final FileObject properties = processingEnv.getFiler().getResource(location, "", CRON_PROPERTIES);
+                    final InputStream in = properties.openInputStream();
+                    try {
+                        namedSchedules.load(in);
+                    } finally {
+                        in.close();
+                    }
+                    break;
+                } catch (IOException ex) {
+                    // not in this location
+                } catch (IllegalArgumentException ex) {
+                    // the location isn't known to this compiler
+                }
+            }
+        }
+        return namedSchedules;
+    }
+
+    private void writeRegistry() {
+        String registryClass = processingEnv.getOptions().get(REGISTRY_CLASS_OPTION);
+        if (registryClass == null || registryClass.trim().length() == 0) {
+            final String firstPackage = packages.iterator().next();
+            registryClass = firstPackage.length() == 0 ? DEFAULT_REGISTRY_CLASS : firstPackage + "." + DEFAULT_REGISTRY_CLASS;
+        }
+        final int lastDot = registryClass.lastIndexOf('.');
+        try {
+            final JavaFileObject source = processingEnv.getFiler().createSourceFile(registryClass);
+            final Writer writer = source.openWriter();
+            try {
+                if (lastDot > 0) {
+                    writer.write("package " + registryClass.substring(0, lastDot) + ";\n\n");
+                }
+                writer.write("import java.util.HashMap;\nimport java.util.Map;\n\n");
+                writer.write("/**\n * Cron schedules compiled by " + getClass().getName() + ". Do not edit.\n */\n");
+                writer.write("public final class " + registryClass.substring(lastDot + 1) + " implements "
+                        + PrecompiledScheduleSource.class.getName() + " {\n\n");
+                writer.write("    public Map<String, long[]> getScheduleTables() {\n");
+                writer.write("        final Map<String, long[]> tables = new HashMap<String, long[]>();\n");
+                for (Map.Entry<String, long[]> schedule : schedules.entrySet()) {
+                    writer.write("        tables.put(\"" + escape(schedule.getKey()) + "\", new long[] {");
+                    final long[] tables = schedule.getValue();
+                    for (int i = 0; i < tables.length; i++) {
+                        writer.write((i == 0 ? "" : ", ") + tables[i] + "L");
+                    }
+                    writer.write("});\n");
+                }
+                writer.write("        return tables;\n    }\n}\n");
+            } finally {
+                writer.close();
+            }
+            final FileObject service = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    "META-INF/services/" + PrecompiledScheduleSource.class.getName());
+            final Writer serviceWriter = service.openWriter();
+            try {
+                serviceWriter.write(registryClass + "\n");
+            } finally {
+                serviceWriter.close();
+            }
+        } catch (IOException ex) {
+            // the schedules will just be compiled at deployment, as before
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Could not write the precompiled cron schedules: " + ex);
+        }
+    }
+
+    private static String escape(final String value) {
+        final StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < ' ' || c > '~') {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
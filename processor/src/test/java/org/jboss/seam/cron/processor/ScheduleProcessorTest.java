@@ -0,0 +1,258 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.processor;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.TimeZone;
+import javax.inject.Qualifier;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import org.jboss.seam.cron.api.scheduling.Scheduled;
+import org.jboss.seam.cron.spi.scheduling.cron.CompiledCronSchedule;
+import org.jboss.seam.cron.spi.scheduling.cron.PrecompiledScheduleSource;
+import org.jboss.seam.cron.spi.scheduling.cron.PrecompiledSchedules;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the #{@link ScheduleProcessor} in the JDK's compiler on applications with good and bad
+ * schedules, and loads the registry it generates as #{@literal CronSchedulingInstaller} would.
+ *
+ * @author agent
+ */
+public class ScheduleProcessorTest {
+
+    private static final String REGISTRY = "com.example.SeamCronPrecompiledSchedules";
+    private File output;
+    private boolean succeeded;
+
+    @Before
+    public void createOutput() throws IOException {
+        Assume.assumeNotNull(ToolProvider.getSystemJavaCompiler());
+        output = File.createTempFile("seam-cron-processor", "");
+        assertTrue(output.delete() && output.mkdirs());
+    }
+
+    @After
+    public void deleteOutput() {
+        if (output != null) {
+            delete(output);
+        }
+    }
+
+    @Test
+    public void testValidSchedulesArePrecompiled() throws Exception {
+        final List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(null, "0 0 12 ? * MON-FRI", "13:12");
+        assertTrue(messages(diagnostics, Diagnostic.Kind.ERROR), succeeded);
+        assertEquals("", messages(diagnostics, Diagnostic.Kind.WARNING));
+        assertTrue(new File(output, REGISTRY.replace('.', '/') + ".class").isFile());
+        final File service = new File(output, "META-INF/services/" + PrecompiledScheduleSource.class.getName());
+        assertEquals(REGISTRY, read(service).trim());
+    }
+
+    @Test
+    public void testInvalidSchedulesAreErrors() throws Exception {
+        // out of range, both day fields, and L-n, which only the Quartz provider rejects
+        for (String expression : new String[]{"0 0 25 * * ?", "0 0 12 1 * MON", "0 0 12 L-3 * ?", "0 ? 12 * * ?"}) {
+            final List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(null, expression);
+            assertFalse(expression, succeeded);
+            assertTrue(messages(diagnostics, Diagnostic.Kind.ERROR), messages(diagnostics, Diagnostic.Kind.ERROR).contains(expression));
+        }
+    }
+
+    @Test
+    public void testNamedSchedulesAreLookedUpInCronProperties() throws Exception {
+        write(new File(output, "cron.properties"), "nightly=0 0 2 * * ?\nbroken=0 0 2 * * MON\n");
+
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(null, "nightly");
+        assertTrue(messages(diagnostics, Diagnostic.Kind.ERROR), succeeded);
+        assertNotNull(load().get("0 0 2 * * ?", TimeZone.getDefault()));
+
+        diagnostics = compile(null, "broken");
+        assertFalse(succeeded);
+        assertTrue(messages(diagnostics, Diagnostic.Kind.ERROR).contains("0 0 2 * * MON"));
+
+        // it may be given as a system property at deployment
+        diagnostics = compile(null, "unknown");
+        assertTrue(messages(diagnostics, Diagnostic.Kind.ERROR), succeeded);
+        assertTrue(messages(diagnostics, Diagnostic.Kind.WARNING).contains("'unknown'"));
+    }
+
+    @Test
+    public void testWarnOptionReportsProblemsAsWarnings() throws Exception {
+        final List<Diagnostic<? extends JavaFileObject>> diagnostics = compile("-A" + ScheduleProcessor.VALIDATION_OPTION + "=warn",
+                "0 0 12 ? * MON-FRI", "0 0 25 * * ?");
+        assertTrue(messages(diagnostics, Diagnostic.Kind.ERROR), succeeded);
+        assertTrue(messages(diagnostics, Diagnostic.Kind.WARNING).contains("0 0 25 * * ?"));
+        // the valid schedule is still precompiled
+        assertNotNull(load().get("0 0 12 ? * MON-FRI", TimeZone.getDefault()));
+    }
+
+    @Test
+    public void testGeneratedRegistryGivesTheSameSchedules() throws Exception {
+        final String[] expressions = {"0 0 12 ? * MON-FRI", "0 0 0 L * ? 2030-2040", "12:00/5"};
+        compile(null, expressions);
+        assertTrue(succeeded);
+        final PrecompiledSchedules schedules = load();
+        final TimeZone zone = TimeZone.getTimeZone("Europe/London");
+        for (String expression : expressions) {
+            final CompiledCronSchedule expected = CompiledCronSchedule.compile(expression, zone);
+            final CompiledCronSchedule precompiled = schedules.get(expression, zone);
+            assertNotNull(expression, precompiled);
+            long after = System.currentTimeMillis();
+            for (int i = 0; i < 20 && after >= 0; i++) {
+                final long next = expected.nextFireTime(after);
+                assertEquals(expression, next, precompiled.nextFireTime(after));
+                after = next;
+            }
+        }
+        assertNull(schedules.get("0 0 3 * * ?", zone));
+    }
+
+    /**
+     * Compile an application class with an observer of each of the given #{@link Scheduled} values.
+     *
+     * @return What the compiler reported. #{@link #succeeded} says whether it succeeded.
+     */
+    private List<Diagnostic<? extends JavaFileObject>> compile(final String option, final String... schedules) throws Exception {
+        final StringBuilder source = new StringBuilder();
+        source.append("package com.example;\n\nimport ").append(Scheduled.class.getName()).append(";\n\n");
+        source.append("public class Reports {\n");
+        for (int i = 0; i < schedules.length; i++) {
+            source.append("    public void report").append(i).append("(@Scheduled(\"").append(schedules[i])
+                    .append("\") Object trigger) {\n    }\n");
+        }
+        source.append("}\n");
+        final JavaFileObject sourceFile = new SimpleJavaFileObject(new File(output, "com/example/Reports.java").toURI(),
+                JavaFileObject.Kind.SOURCE) {
+
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        final StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, Locale.ENGLISH, null);
+        try {
+            files.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singleton(output));
+            files.setLocation(StandardLocation.CLASS_PATH, classPath());
+            final List<String> options = new ArrayList<String>();
+            if (option != null) {
+                options.add(option);
+            }
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics, options, null,
+                    Collections.singleton(sourceFile));
+            task.setProcessors(Collections.singleton(new ScheduleProcessor()));
+            succeeded = task.call();
+        } finally {
+            files.close();
+        }
+        return diagnostics.getDiagnostics();
+    }
+
+    /**
+     * @return The schedules registered by the compiled application.
+     */
+    private PrecompiledSchedules load() throws Exception {
+        final PrecompiledSchedules schedules = new PrecompiledSchedules();
+        final URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toURI().toURL()}, getClass().getClassLoader());
+        try {
+            assertTrue(schedules.load(classLoader) > 0);
+        } finally {
+            classLoader.close();
+        }
+        return schedules;
+    }
+
+    /**
+     * @return What the application is compiled against: the API, the SPI and the CDI qualifiers.
+     */
+    private static Set<File> classPath() throws URISyntaxException {
+        final Set<File> classPath = new LinkedHashSet<File>();
+        for (Class<?> type : Arrays.asList(Scheduled.class, PrecompiledScheduleSource.class, Qualifier.class)) {
+            classPath.add(new File(type.getProtectionDomain().getCodeSource().getLocation().toURI()));
+        }
+        return classPath;
+    }
+
+    private static String messages(final List<Diagnostic<? extends JavaFileObject>> diagnostics, final Diagnostic.Kind kind) {
+        final StringBuilder messages = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+            if (diagnostic.getKind() == kind) {
+                messages.append(diagnostic.getMessage(Locale.ENGLISH)).append('\n');
+            }
+        }
+        return messages.toString();
+    }
+
+    private static String read(final File file) throws IOException {
+        final Scanner scanner = new Scanner(file, "UTF-8");
+        try {
+            return scanner.useDelimiter("\\A").next();
+        } finally {
+            scanner.close();
+        }
+    }
+
+    private static void write(final File file, final String content) throws IOException {
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
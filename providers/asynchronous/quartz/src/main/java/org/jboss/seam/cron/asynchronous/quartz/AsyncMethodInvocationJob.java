@@ -16,6 +16,7 @@
  */
 package org.jboss.seam.cron.asynchronous.quartz;
 
+import org.jboss.seam.cron.common.quartz.QuartzSchedulers;
 import org.jboss.seam.cron.spi.asynchronous.support.CallableInvoker;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
@@ -29,8 +30,13 @@ public class AsyncMethodInvocationJob implements Job {
 
     public void execute(final JobExecutionContext context) throws JobExecutionException {
         try {
-            CallableInvoker resultCallable = (CallableInvoker) context.getJobDetail().getJobDataMap().get(QuartzAsynchronousProvider.DELAYED_RESULT_SUPPORT);
+            CallableInvoker resultCallable = (CallableInvoker) context.getScheduler().getContext().remove(QuartzSchedulers.contextKey(context.getJobDetail()));
+            if (resultCallable == null) {
+                throw new JobExecutionException("No invoker was registered for asynchronous job " + context.getJobDetail().getName());
+            }
             resultCallable.executeInvocationContext();
+        } catch (JobExecutionException ex) {
+            throw ex;
         } catch (Exception ex) {
             throw new JobExecutionException("Error invoking method inside a Quartz Job", ex);
         }
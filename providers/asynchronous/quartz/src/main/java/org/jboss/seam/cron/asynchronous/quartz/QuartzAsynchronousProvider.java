@@ -18,32 +18,34 @@ package org.jboss.seam.cron.asynchronous.quartz;
 
 import java.util.UUID;
 import java.util.concurrent.Future;
-import java.util.concurrent.FutureTask;
 
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 import org.jboss.seam.cron.api.exception.CronProviderDestructionException;
 import org.jboss.seam.cron.api.exception.CronProviderInitialisationException;
+import org.jboss.seam.cron.common.quartz.QuartzSchedulers;
 
 import org.jboss.seam.cron.impl.asynchronous.exception.AsynchronousMethodInvocationException;
 import org.jboss.seam.cron.spi.CronProviderLifecycle;
 import org.jboss.seam.cron.spi.asynchronous.CronAsynchronousProvider;
+import org.jboss.seam.cron.spi.asynchronous.InFlightInvocations;
 import org.jboss.seam.cron.spi.asynchronous.Invoker;
 import org.jboss.seam.cron.spi.asynchronous.support.CallableInvoker;
 import org.quartz.JobDetail;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
+import org.quartz.Trigger;
 import org.quartz.TriggerUtils;
-import org.quartz.impl.DirectSchedulerFactory;
-import org.quartz.simpl.RAMJobStore;
-import org.quartz.simpl.SimpleThreadPool;
-import org.quartz.spi.JobStore;
-import org.quartz.spi.ThreadPool;
-import org.slf4j.Logger;
 
 /**
  * Simple asynchronous method invocation which schedules @Asynchronous methods
  * to be executed at some point in the very near future using the Quartz scheduler.
+ * <p>
+ * The scheduler is configured under #{@literal org.jboss.seam.cron.asynchronous.quartz} (see
+ * #{@link org.jboss.seam.cron.common.quartz.QuartzSchedulerConfig}), with twice as many
+ * threads as there are processors (at least 4) by default, or may be shared with the Quartz
+ * scheduling provider (see #{@link QuartzSchedulers}).
+ * </p>
  *
  * @author Peter Royle
  */
@@ -55,44 +57,35 @@ public class QuartzAsynchronousProvider implements CronProviderLifecycle, CronAs
     public static final String ASYNC_JOB_GROUP = "async_job_group";
     public static final String INV_CONTEXT_EXECUTOR = "inv_context_executor";
     public static final String DELAYED_RESULT_SUPPORT = "future";
-    private static final String SCHEDULER_NAME_PREFIX = "SeamCronScheduler";
-    private String schedulerName;
+    public static final String PROPERTY_PREFIX = "org.jboss.seam.cron.asynchronous.quartz";
+    public static final int DEFAULT_THREAD_COUNT = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
     private Scheduler scheduler;
-    private UUID instanceId;
-    @Inject
-    private Logger log;
     @Inject
     BeanManager beanManager;
 
+    /**
+     * @return The Quartz engine, shared with the other Quartz provider.
+     */
+    public String getEngineName() {
+        return QuartzSchedulers.ENGINE;
+    }
+
     /**
      * Initialises the scheduler.
      *
      */
     public void initProvider() throws CronProviderInitialisationException {
-        try {
-            instanceId = UUID.randomUUID();
-            JobStore jobStore = new RAMJobStore();
-            ThreadPool threadPool = new SimpleThreadPool(4, Thread.NORM_PRIORITY);
-            threadPool.initialize();
-            final DirectSchedulerFactory schedulerFactory = DirectSchedulerFactory.getInstance();
-            schedulerName = SCHEDULER_NAME_PREFIX + "_" + instanceId.toString();
-            schedulerFactory.createScheduler(schedulerName, instanceId.toString(), threadPool, jobStore);
-            scheduler = schedulerFactory.getScheduler(schedulerName);
-            scheduler.start();
-        } catch (SchedulerException ex) {
-            throw new CronProviderInitialisationException("Error initialising Quartz for asynchronous method invocation");
-        }
+        scheduler = QuartzSchedulers.acquire(PROPERTY_PREFIX, DEFAULT_THREAD_COUNT);
     }
 
     /**
-     * Shutdown the scheduler on application close.
+     * Shutdown the scheduler on application close. By now the #{@link org.jboss.seam.cron.spi.SeamCronExtension} has
+     * drained the invocations in flight (see #{@link InFlightInvocations}), so there is no need
+     * to wait for jobs here: any left over have been abandoned and won't invoke their methods.
      */
     public void destroyProvider() throws CronProviderDestructionException {
-        try {
-            scheduler.shutdown();
-        } catch (SchedulerException ex) {
-            log.warn("Error shutting down scheduler", ex);
-        }
+        QuartzSchedulers.release(scheduler, ASYNC_JOB_GROUP);
+        scheduler = null;
     }
 
     public void executeWithoutReturn(final String queueId, final Invoker inkover) {
@@ -100,9 +93,8 @@ public class QuartzAsynchronousProvider implements CronProviderLifecycle, CronAs
     }
 
     public Future executeAndReturnFuture(final String queueId, final Invoker invoker) {
-        FutureTask asyncResult = new FutureTask(executeMethodAsScheduledJob(invoker));
-        new Thread(asyncResult).start();
-        return asyncResult;
+        // the job completes the Future itself, so there's no need to park a thread waiting on it
+        return executeMethodAsScheduledJob(invoker).getFuture();
     }
 
     private CallableInvoker executeMethodAsScheduledJob(final Invoker invoker) throws AsynchronousMethodInvocationException {
@@ -110,8 +102,13 @@ public class QuartzAsynchronousProvider implements CronProviderLifecycle, CronAs
         try {
             final String name = UUID.randomUUID().toString();
             JobDetail jobDetail = new JobDetail(name, ASYNC_JOB_GROUP, AsyncMethodInvocationJob.class);
-            jobDetail.getJobDataMap().put(DELAYED_RESULT_SUPPORT, drs);
-            scheduler.scheduleJob(jobDetail, TriggerUtils.makeImmediateTrigger(name, 0, 1));
+            // the invoker only exists in memory, so a persistent job store mustn't keep the job across restarts
+            jobDetail.setVolatility(true);
+            final Trigger trigger = TriggerUtils.makeImmediateTrigger(name, 0, 1);
+            trigger.setVolatility(true);
+            // the job removes this once it has run
+            scheduler.getContext().put(QuartzSchedulers.contextKey(jobDetail), drs);
+            scheduler.scheduleJob(jobDetail, trigger);
         } catch (SchedulerException ex) {
             throw new AsynchronousMethodInvocationException("Error invoking method asynchronously", ex);
         }
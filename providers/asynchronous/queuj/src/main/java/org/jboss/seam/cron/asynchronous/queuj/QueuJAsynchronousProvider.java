@@ -23,7 +23,6 @@ import com.workplacesystems.queuj.process.java.JavaProcessBuilder;
 import java.util.Locale;
 import java.util.UUID;
 import java.util.concurrent.Future;
-import java.util.concurrent.FutureTask;
 
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
@@ -34,6 +33,7 @@ import org.jboss.seam.cron.impl.asynchronous.exception.AsynchronousMethodInvocat
 import org.jboss.seam.cron.spi.CronProviderLifecycle;
 import org.jboss.seam.cron.spi.SeamCronExtension;
 import org.jboss.seam.cron.spi.asynchronous.CronAsynchronousProvider;
+import org.jboss.seam.cron.spi.asynchronous.InFlightInvocations;
 import org.jboss.seam.cron.spi.asynchronous.Invoker;
 import org.jboss.seam.cron.spi.asynchronous.support.CallableInvoker;
 import org.jboss.seam.cron.spi.queue.CronQueueProvider;
@@ -54,6 +54,13 @@ public class QueuJAsynchronousProvider implements CronProviderLifecycle, CronAsy
     @Inject
     SeamCronExtension cronExtension;
 
+    /**
+     * @return The QueuJ process server, which all the QueuJ providers share.
+     */
+    public String getEngineName() {
+        return "queuj";
+    }
+
     /**
      * Initialises the scheduler.
      *
@@ -67,7 +74,9 @@ public class QueuJAsynchronousProvider implements CronProviderLifecycle, CronAsy
     }
 
     /**
-     * Shutdown the scheduler on application close.
+     * Shutdown the scheduler on application close. By now the #{@link SeamCronExtension} has
+     * drained the invocations in flight (see #{@link InFlightInvocations}), so there is no need
+     * to wait for jobs here: any left over have been abandoned and won't invoke their methods.
      */
     public void destroyProvider() throws CronProviderDestructionException {
     }
@@ -77,9 +86,8 @@ public class QueuJAsynchronousProvider implements CronProviderLifecycle, CronAsy
     }
 
     public Future executeAndReturnFuture(final String queueId, final Invoker invoker) {
-        FutureTask asyncResult = new FutureTask(executeMethodAsScheduledJob(queueId, invoker));
-        new Thread(asyncResult).start();
-        return asyncResult;
+        // the job completes the Future itself, so there's no need to park a thread waiting on it
+        return executeMethodAsScheduledJob(queueId, invoker).getFuture();
     }
 
     private CallableInvoker executeMethodAsScheduledJob(final String queueId, final Invoker invoker) throws AsynchronousMethodInvocationException {
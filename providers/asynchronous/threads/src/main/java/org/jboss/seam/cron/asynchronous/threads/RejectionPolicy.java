@@ -0,0 +1,99 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.asynchronous.threads;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the #{@link ThreadsAsynchronousProvider} should do with an asynchronous
+ * method invocation when its thread pool and work queue are both full.
+ *
+ * @author agent
+ */
+public enum RejectionPolicy {
+
+    /**
+     * Run the method synchronously in the calling thread. Nothing is lost, but
+     * the caller is slowed down to the rate at which the pool can keep up.
+     */
+    CALLER_RUNS,
+    /**
+     * Refuse the invocation immediately by throwing an exception back to the caller.
+     */
+    FAIL_FAST,
+    /**
+     * Block the calling thread until there is room in the work queue, or until
+     * the configured timeout expires, in which case the invocation is refused.
+     */
+    BLOCK;
+
+    /**
+     * @param blockTimeoutMillis How long to wait for room in the queue when this policy is #{@link #BLOCK}.
+     * @return a #{@link RejectedExecutionHandler} implementing this policy.
+     */
+    public RejectedExecutionHandler createHandler(final long blockTimeoutMillis) {
+        switch (this) {
+            case CALLER_RUNS:
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+            case FAIL_FAST:
+                return new ThreadPoolExecutor.AbortPolicy();
+            default:
+                return new BlockingPolicy(blockTimeoutMillis);
+        }
+    }
+
+    /**
+     * Parse the given policy name, ignoring case and treating '-' the same as '_'.
+     *
+     * @param name The name of the policy (eg: "caller-runs").
+     * @param defaultPolicy The policy to use if no name is given.
+     * @return The matching policy.
+     */
+    public static RejectionPolicy fromName(final String name, final RejectionPolicy defaultPolicy) {
+        if (name == null || name.trim().length() == 0) {
+            return defaultPolicy;
+        }
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+
+    private static class BlockingPolicy implements RejectedExecutionHandler {
+
+        private final long timeoutMillis;
+
+        BlockingPolicy(final long timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        public void rejectedExecution(final Runnable r, final ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Asynchronous thread pool has been shut down");
+            }
+            try {
+                if (!executor.getQueue().offer(r, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new RejectedExecutionException("Timed out after " + timeoutMillis
+                            + "ms waiting for room in the asynchronous work queue");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for room in the asynchronous work queue");
+            }
+        }
+    }
+}
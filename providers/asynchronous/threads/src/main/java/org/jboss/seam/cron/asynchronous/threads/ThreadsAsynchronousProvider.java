@@ -16,30 +16,149 @@
  */
 package org.jboss.seam.cron.asynchronous.threads;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jboss.seam.cron.api.exception.CronProviderDestructionException;
+import org.jboss.seam.cron.api.exception.CronProviderInitialisationException;
+import org.jboss.seam.cron.api.exception.SchedulerConfigurationException;
+import org.jboss.seam.cron.impl.asynchronous.exception.AsynchronousMethodInvocationException;
+import org.jboss.seam.cron.spi.CronProviderLifecycle;
 import org.jboss.seam.cron.spi.asynchronous.CronAsynchronousProvider;
 import org.jboss.seam.cron.spi.asynchronous.Invoker;
+import org.jboss.seam.cron.util.PropertyResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Simple asynchronous method invocation strategy which wraps the execution
- * in a new Thread and starts it.
+ * <p>
+ * Simple asynchronous method invocation strategy which executes each invocation
+ * on a bounded, managed pool of threads.
+ * </p>
+ * <p>
+ * The pool is configured using the following properties (in cron.properties or
+ * as system properties):
+ * </p>
+ * <ul>
+ * <li>#{@literal org.jboss.seam.cron.asynchronous.threads.corePoolSize} (default: 2 x available processors)</li>
+ * <li>#{@literal org.jboss.seam.cron.asynchronous.threads.maxPoolSize} (default: 8 x available processors)</li>
+ * <li>#{@literal org.jboss.seam.cron.asynchronous.threads.keepAliveSeconds} (default: 60)</li>
+ * <li>#{@literal org.jboss.seam.cron.asynchronous.threads.queueCapacity} (default: 1000)</li>
+ * <li>#{@literal org.jboss.seam.cron.asynchronous.threads.rejectionPolicy}: one of caller-runs (default), fail-fast or block.
+ * See #{@link RejectionPolicy}.</li>
+ * <li>#{@literal org.jboss.seam.cron.asynchronous.threads.blockTimeoutMillis} (default: 30000)</li>
+ * <li>#{@literal org.jboss.seam.cron.asynchronous.threads.shutdownTimeoutSeconds} (default: 30)</li>
+ * </ul>
  *
  * @author peteroyle
  */
-public class ThreadsAsynchronousProvider implements CronAsynchronousProvider {
+public class ThreadsAsynchronousProvider implements CronProviderLifecycle, CronAsynchronousProvider {
+
+    public static final String PROPERTY_PREFIX = "org.jboss.seam.cron.asynchronous.threads.";
+    public static final String CORE_POOL_SIZE = PROPERTY_PREFIX + "corePoolSize";
+    public static final String MAX_POOL_SIZE = PROPERTY_PREFIX + "maxPoolSize";
+    public static final String KEEP_ALIVE_SECONDS = PROPERTY_PREFIX + "keepAliveSeconds";
+    public static final String QUEUE_CAPACITY = PROPERTY_PREFIX + "queueCapacity";
+    public static final String REJECTION_POLICY = PROPERTY_PREFIX + "rejectionPolicy";
+    public static final String BLOCK_TIMEOUT_MILLIS = PROPERTY_PREFIX + "blockTimeoutMillis";
+    public static final String SHUTDOWN_TIMEOUT_SECONDS = PROPERTY_PREFIX + "shutdownTimeoutSeconds";
+    private static final Logger log = LoggerFactory.getLogger(ThreadsAsynchronousProvider.class);
+    private ThreadPoolExecutor executor;
+    private long shutdownTimeoutSeconds;
+
+    /**
+     * Creates the thread pool according to the configured properties.
+     */
+    public void initProvider() throws CronProviderInitialisationException {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        try {
+            final int corePoolSize = PropertyResolver.resolveInt(CORE_POOL_SIZE, 2 * processors);
+            final int maxPoolSize = PropertyResolver.resolveInt(MAX_POOL_SIZE, Math.max(corePoolSize, 8 * processors));
+            final long keepAliveSeconds = PropertyResolver.resolveLong(KEEP_ALIVE_SECONDS, 60);
+            final int queueCapacity = PropertyResolver.resolveInt(QUEUE_CAPACITY, 1000);
+            final long blockTimeoutMillis = PropertyResolver.resolveLong(BLOCK_TIMEOUT_MILLIS, 30000);
+            final RejectionPolicy rejectionPolicy = RejectionPolicy.fromName(PropertyResolver.resolve(REJECTION_POLICY),
+                    RejectionPolicy.CALLER_RUNS);
+            shutdownTimeoutSeconds = PropertyResolver.resolveLong(SHUTDOWN_TIMEOUT_SECONDS, 30);
+
+            executor = new ThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveSeconds, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<Runnable>(queueCapacity), new AsynchronousThreadFactory(),
+                    rejectionPolicy.createHandler(blockTimeoutMillis));
+            log.info("Initialised asynchronous thread pool with core size " + corePoolSize + ", max size " + maxPoolSize
+                    + ", queue capacity " + queueCapacity + " and rejection policy " + rejectionPolicy);
+        } catch (IllegalArgumentException ex) {
+            throw new CronProviderInitialisationException("Invalid configuration for the asynchronous thread pool", ex);
+        } catch (SchedulerConfigurationException ex) {
+            throw new CronProviderInitialisationException("Invalid configuration for the asynchronous thread pool", ex);
+        }
+    }
+
+    /**
+     * Stops accepting new invocations and waits for those already submitted to
+     * finish, for up to #{@literal shutdownTimeoutSeconds}.
+     */
+    public void destroyProvider() throws CronProviderDestructionException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                final int abandoned = executor.shutdownNow().size();
+                log.warn("Asynchronous thread pool did not drain within " + shutdownTimeoutSeconds + " seconds. "
+                        + abandoned + " queued invocation(s) were abandoned");
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new CronProviderDestructionException("Interrupted while draining the asynchronous thread pool", ex);
+        }
+    }
 
     public void executeWithoutReturn(final String queueId, final Invoker invoker) {
         // Execute the method in a background thread and return nothing of value to the caller.
         // They'll need to be observing an event if they want a return value.
-        final RunnableFuture asyncResult = new FutureInvoker(invoker);
-        new Thread(asyncResult).start();
+        submit(new FutureInvoker(invoker));
     }
 
     public Future executeAndReturnFuture(final String queueId, final Invoker invoker) {
         final RunnableFuture asyncResult = new FutureInvoker(invoker);
-        new Thread(asyncResult).start();
+        submit(asyncResult);
         return asyncResult;
     }
 
+    /**
+     * @return the underlying pool, or null if the provider has not been initialised.
+     */
+    public ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    private void submit(final RunnableFuture asyncResult) throws AsynchronousMethodInvocationException {
+        if (executor == null) {
+            throw new AsynchronousMethodInvocationException("The asynchronous thread pool has not been initialised");
+        }
+        try {
+            executor.execute(asyncResult);
+        } catch (RejectedExecutionException ex) {
+            throw new AsynchronousMethodInvocationException("Asynchronous method invocation was rejected", ex);
+        }
+    }
+
+    private static class AsynchronousThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "SeamCronAsynchronous-" + threadNumber.getAndIncrement());
+            // don't let idle pool threads keep the JVM alive if the container is never shut down cleanly
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -0,0 +1,45 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.asynchronous.virtualthreads;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import org.jboss.seam.cron.spi.asynchronous.Invoker;
+
+/**
+ * A #{@link FutureTask} which executes an #{@link Invoker} directly in the thread
+ * which runs it. Any exception thrown by the asynchronous method is re-thrown
+ * from #{@literal get()} (wrapped in an #{@link java.util.concurrent.ExecutionException}),
+ * as per the EJB @Asynchronous spec.
+ *
+ * @author agent
+ */
+public class InvokerFutureTask extends FutureTask<Object> {
+
+    public InvokerFutureTask(final Invoker invoker) {
+        super(new Callable<Object>() {
+            public Object call() throws Exception {
+                final Object result = invoker.executeInvocationContext();
+                // executeInvocationContext() saves rather than throws any exception from the method itself
+                if (invoker.getException() != null) {
+                    throw invoker.getException();
+                }
+                return result;
+            }
+        });
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.asynchronous.virtualthreads;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.jboss.seam.cron.api.exception.CronProviderDestructionException;
+import org.jboss.seam.cron.api.exception.CronProviderInitialisationException;
+import org.jboss.seam.cron.impl.asynchronous.exception.AsynchronousMethodInvocationException;
+import org.jboss.seam.cron.spi.CronProviderLifecycle;
+import org.jboss.seam.cron.spi.asynchronous.CronAsynchronousProvider;
+import org.jboss.seam.cron.spi.asynchronous.Invoker;
+import org.jboss.seam.cron.util.PropertyResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Asynchronous method invocation strategy which runs each invocation on its
+ * own virtual thread. Virtual threads are cheap to create and park, so this
+ * provider suits applications whose #{@literal @Asynchronous} methods spend most
+ * of their time blocked on I/O. CPU-bound work is better served by the bounded
+ * pool of the Threads provider.
+ * </p>
+ * <p>
+ * The time to wait for running invocations to finish on shutdown can be set using
+ * #{@literal org.jboss.seam.cron.asynchronous.virtualthreads.shutdownTimeoutSeconds}
+ * (default: 30).
+ * </p>
+ *
+ * @author agent
+ */
+public class VirtualThreadsAsynchronousProvider implements CronProviderLifecycle, CronAsynchronousProvider {
+
+    public static final String SHUTDOWN_TIMEOUT_SECONDS = "org.jboss.seam.cron.asynchronous.virtualthreads.shutdownTimeoutSeconds";
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsAsynchronousProvider.class);
+    private ExecutorService executor;
+    private long shutdownTimeoutSeconds;
+
+    public void initProvider() throws CronProviderInitialisationException {
+        shutdownTimeoutSeconds = PropertyResolver.resolveLong(SHUTDOWN_TIMEOUT_SECONDS, 30);
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("SeamCronVirtual-", 1).factory());
+        log.info("Initialised virtual thread executor for asynchronous method invocation");
+    }
+
+    public void destroyProvider() throws CronProviderDestructionException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                final int abandoned = executor.shutdownNow().size();
+                log.warn("Virtual thread executor did not drain within " + shutdownTimeoutSeconds + " seconds. "
+                        + abandoned + " invocation(s) were abandoned");
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new CronProviderDestructionException("Interrupted while draining the virtual thread executor", ex);
+        }
+    }
+
+    public void executeWithoutReturn(final String queueId, final Invoker invoker) {
+        // Nobody will ever call get() on a Future here, so run the invoker directly and report
+        // what would otherwise be lost.
+        submit(new Runnable() {
+            public void run() {
+                try {
+                    invoker.executeInvocationContext();
+                } catch (Exception e) {
+                    if (invoker.getException() == null) {
+                        log.error("Asynchronous invocation of " + invoker.getMethodName() + " failed", e);
+                    }
+                }
+                if (invoker.getException() != null) {
+                    log.error("Asynchronous method " + invoker.getMethodName() + " threw an exception", invoker.getException());
+                }
+            }
+        });
+    }
+
+    public Future executeAndReturnFuture(final String queueId, final Invoker invoker) {
+        final InvokerFutureTask asyncResult = new InvokerFutureTask(invoker);
+        submit(asyncResult);
+        return asyncResult;
+    }
+
+    private void submit(final Runnable task) throws AsynchronousMethodInvocationException {
+        if (executor == null) {
+            throw new AsynchronousMethodInvocationException("The virtual thread executor has not been initialised");
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            throw new AsynchronousMethodInvocationException("Asynchronous method invocation was rejected", ex);
+        }
+    }
+}
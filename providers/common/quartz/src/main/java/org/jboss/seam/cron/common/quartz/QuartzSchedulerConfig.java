@@ -0,0 +1,154 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.common.quartz;
+
+import java.sql.SQLException;
+import org.jboss.seam.cron.api.exception.CronProviderInitialisationException;
+import org.jboss.seam.cron.api.exception.SchedulerConfigurationException;
+import org.jboss.seam.cron.util.PropertyResolver;
+import org.quartz.SchedulerConfigException;
+import org.quartz.impl.jdbcjobstore.JobStoreTX;
+import org.quartz.simpl.RAMJobStore;
+import org.quartz.simpl.SimpleThreadPool;
+import org.quartz.spi.JobStore;
+import org.quartz.spi.ThreadPool;
+import org.quartz.utils.DBConnectionManager;
+import org.quartz.utils.PoolingConnectionProvider;
+
+/**
+ * <p>
+ * The thread pool and job store settings for a Quartz scheduler, resolved through
+ * #{@link PropertyResolver} (ie: #{@literal cron.properties} or system properties). Each
+ * setting is named by appending one of the following to a prefix, such as
+ * #{@literal org.jboss.seam.cron.scheduling.quartz}:
+ * </p>
+ * <ul>
+ * <li>#{@literal .threadCount}: the number of worker threads, all of which are started up front.</li>
+ * <li>#{@literal .threadPriority}: the priority of the worker threads (default: #{@link Thread#NORM_PRIORITY}).</li>
+ * <li>#{@literal .misfireThresholdMillis}: how late a trigger may fire before it counts as a misfire (default: 60000).</li>
+ * <li>#{@literal .jobStore}: #{@literal ram} (the default) or #{@literal jdbc}.</li>
+ * <li>#{@literal .jdbc.driver}, #{@literal .jdbc.url}, #{@literal .jdbc.user}, #{@literal .jdbc.password},
+ * #{@literal .jdbc.maxConnections} (default: the thread count plus 2) and #{@literal .jdbc.tablePrefix}
+ * (default: #{@literal QRTZ_}): the database for the #{@literal jdbc} job store, typically a local embedded one.
+ * Its tables must already exist (Quartz ships the DDL for each supported database), and the JDBC
+ * driver and commons-dbcp (used by Quartz to pool connections) must be on the classpath.</li>
+ * </ul>
+ *
+ * @author agent
+ */
+public class QuartzSchedulerConfig {
+
+    public static final String JOB_STORE_RAM = "ram";
+    public static final String JOB_STORE_JDBC = "jdbc";
+    private final String prefix;
+    private final int threadCount;
+    private final int threadPriority;
+    private final long misfireThresholdMillis;
+    private final String jobStore;
+
+    /**
+     * @param prefix The prefix of each property name.
+     * @param defaultThreadCount The thread count to use if none is configured.
+     */
+    public QuartzSchedulerConfig(final String prefix, final int defaultThreadCount) {
+        this.prefix = prefix;
+        threadCount = PropertyResolver.resolveInt(prefix + ".threadCount", defaultThreadCount);
+        threadPriority = PropertyResolver.resolveInt(prefix + ".threadPriority", Thread.NORM_PRIORITY);
+        misfireThresholdMillis = PropertyResolver.resolveLong(prefix + ".misfireThresholdMillis", 60000L);
+        final String configuredJobStore = PropertyResolver.resolve(prefix + ".jobStore");
+        jobStore = configuredJobStore == null || configuredJobStore.trim().length() == 0 ? JOB_STORE_RAM : configuredJobStore.trim();
+        if (threadCount < 1) {
+            throw new SchedulerConfigurationException(prefix + ".threadCount must be at least 1 but was " + threadCount);
+        }
+        if (threadPriority < Thread.MIN_PRIORITY || threadPriority > Thread.MAX_PRIORITY) {
+            throw new SchedulerConfigurationException(prefix + ".threadPriority must be between " + Thread.MIN_PRIORITY + " and "
+                    + Thread.MAX_PRIORITY + " but was " + threadPriority);
+        }
+        if (!JOB_STORE_RAM.equals(jobStore) && !JOB_STORE_JDBC.equals(jobStore)) {
+            throw new SchedulerConfigurationException(prefix + ".jobStore must be '" + JOB_STORE_RAM + "' or '" + JOB_STORE_JDBC
+                    + "' but was '" + jobStore + "'");
+        }
+    }
+
+    /**
+     * @return A new, initialised thread pool.
+     * @throws CronProviderInitialisationException If the pool could not be initialised.
+     */
+    public ThreadPool createThreadPool() throws CronProviderInitialisationException {
+        final ThreadPool threadPool = new SimpleThreadPool(threadCount, threadPriority);
+        try {
+            threadPool.initialize();
+        } catch (SchedulerConfigException ex) {
+            throw new CronProviderInitialisationException("Error initializing Quartz ThreadPool", ex);
+        }
+        return threadPool;
+    }
+
+    /**
+     * @param schedulerName The name of the scheduler the job store is for, which is also used
+     * to name its data source.
+     * @return A new job store.
+     * @throws CronProviderInitialisationException If the database could not be set up.
+     */
+    public JobStore createJobStore(final String schedulerName) throws CronProviderInitialisationException {
+        if (JOB_STORE_RAM.equals(jobStore)) {
+            final RAMJobStore ramJobStore = new RAMJobStore();
+            ramJobStore.setMisfireThreshold(misfireThresholdMillis);
+            return ramJobStore;
+        }
+        final String url = PropertyResolver.resolve(prefix + ".jdbc.url", true);
+        final String driver = PropertyResolver.resolve(prefix + ".jdbc.driver", true);
+        final String dataSourceName = schedulerName + "_ds";
+        try {
+            DBConnectionManager.getInstance().addConnectionProvider(dataSourceName, new PoolingConnectionProvider(driver, url,
+                    PropertyResolver.resolve(prefix + ".jdbc.user"), PropertyResolver.resolve(prefix + ".jdbc.password"),
+                    PropertyResolver.resolveInt(prefix + ".jdbc.maxConnections", threadCount + 2), null));
+        } catch (SQLException ex) {
+            throw new CronProviderInitialisationException("Error connecting Quartz to the database at " + url, ex);
+        }
+        final JobStoreTX jdbcJobStore = new JobStoreTX();
+        jdbcJobStore.setDataSource(dataSourceName);
+        final String tablePrefix = PropertyResolver.resolve(prefix + ".jdbc.tablePrefix");
+        if (tablePrefix != null && tablePrefix.trim().length() > 0) {
+            jdbcJobStore.setTablePrefix(tablePrefix.trim());
+        }
+        jdbcJobStore.setMisfireThreshold(misfireThresholdMillis);
+        return jdbcJobStore;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public int getThreadPriority() {
+        return threadPriority;
+    }
+
+    public long getMisfireThresholdMillis() {
+        return misfireThresholdMillis;
+    }
+
+    public String getJobStore() {
+        return jobStore;
+    }
+
+    @Override
+    public String toString() {
+        return prefix + "{threadCount=" + threadCount + ", threadPriority=" + threadPriority + ", misfireThresholdMillis="
+                + misfireThresholdMillis + ", jobStore=" + jobStore + "}";
+    }
+}
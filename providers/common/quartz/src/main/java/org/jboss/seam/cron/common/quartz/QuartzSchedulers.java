@@ -0,0 +1,155 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.common.quartz;
+
+import java.util.UUID;
+import org.jboss.seam.cron.api.exception.CronProviderInitialisationException;
+import org.jboss.seam.cron.api.exception.SchedulerConfigurationException;
+import org.jboss.seam.cron.util.PropertyResolver;
+import org.quartz.JobDetail;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.impl.DirectSchedulerFactory;
+import org.quartz.spi.JobStore;
+import org.quartz.spi.ThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Hands out the Quartz schedulers used by the Quartz providers. By default each provider gets
+ * its own scheduler, configured by #{@link QuartzSchedulerConfig} under the provider's own
+ * property prefix. If #{@literal org.jboss.seam.cron.quartz.shared} is #{@literal true} the
+ * scheduling and asynchronous providers instead share a single scheduler, configured under
+ * #{@literal org.jboss.seam.cron.quartz}, which is shut down when the last of them releases it.
+ * </p>
+ * <p>
+ * Objects needed by jobs (which needn't be serializable) are kept in the scheduler context
+ * rather than the job data map (see #{@link #contextKey(JobDetail)}), so the providers work
+ * unchanged with the JDBC job store.
+ * </p>
+ *
+ * @author agent
+ */
+public final class QuartzSchedulers {
+
+    /**
+     * The engine of the Quartz providers (see #{@link org.jboss.seam.cron.spi.CronProviderLifecycle#getEngineName()}),
+     * which create their schedulers one at a time.
+     */
+    public static final String ENGINE = "quartz";
+    public static final String SHARED = "org.jboss.seam.cron.quartz.shared";
+    public static final String SHARED_PREFIX = "org.jboss.seam.cron.quartz";
+    private static final String SCHEDULER_NAME_PREFIX = "SeamCronScheduler";
+    private static final Logger log = LoggerFactory.getLogger(QuartzSchedulers.class);
+    private static Scheduler sharedScheduler;
+    private static int sharedUsers;
+
+    private QuartzSchedulers() {
+    }
+
+    /**
+     * Get a started scheduler for a provider.
+     *
+     * @param prefix The provider's property prefix, used if the scheduler isn't shared.
+     * @param defaultThreadCount The provider's default thread count, used if the scheduler isn't shared.
+     * @return The scheduler, which must be handed back to #{@link #release(Scheduler, String)}.
+     * @throws CronProviderInitialisationException If the scheduler is misconfigured or could not be created.
+     */
+    public static synchronized Scheduler acquire(final String prefix, final int defaultThreadCount)
+            throws CronProviderInitialisationException {
+        if (!isShared()) {
+            return createScheduler(configure(prefix, defaultThreadCount));
+        }
+        if (sharedScheduler == null) {
+            sharedScheduler = createScheduler(configure(SHARED_PREFIX, defaultSharedThreadCount()));
+        }
+        sharedUsers++;
+        return sharedScheduler;
+    }
+
+    /**
+     * Stop using a scheduler. A scheduler which is still shared with another provider keeps
+     * running, minus the jobs in the given group.
+     *
+     * @param scheduler A scheduler returned by #{@link #acquire(String, int)}.
+     * @param jobGroup The group of the jobs scheduled by the releasing provider.
+     */
+    public static synchronized void release(final Scheduler scheduler, final String jobGroup) {
+        if (scheduler == null) {
+            return;
+        }
+        try {
+            if (scheduler == sharedScheduler && --sharedUsers > 0) {
+                for (String jobName : scheduler.getJobNames(jobGroup)) {
+                    scheduler.deleteJob(jobName, jobGroup);
+                }
+                return;
+            }
+            if (scheduler == sharedScheduler) {
+                sharedScheduler = null;
+            }
+            scheduler.shutdown();
+        } catch (SchedulerException ex) {
+            log.warn("Error shutting down scheduler", ex);
+        }
+    }
+
+    /**
+     * @param jobDetail A job.
+     * @return The key under which objects belonging to the given job are kept in the scheduler context.
+     */
+    public static String contextKey(final JobDetail jobDetail) {
+        return jobDetail.getGroup() + "." + jobDetail.getName();
+    }
+
+    public static boolean isShared() {
+        return Boolean.parseBoolean(PropertyResolver.resolve(SHARED));
+    }
+
+    private static int defaultSharedThreadCount() {
+        // the scheduling provider's default plus the asynchronous provider's
+        return 10 + Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    private static QuartzSchedulerConfig configure(final String prefix, final int defaultThreadCount)
+            throws CronProviderInitialisationException {
+        try {
+            return new QuartzSchedulerConfig(prefix, defaultThreadCount);
+        } catch (SchedulerConfigurationException ex) {
+            throw new CronProviderInitialisationException("Invalid configuration of Quartz scheduler " + prefix + ": "
+                    + ex.getMessage(), ex);
+        }
+    }
+
+    private static Scheduler createScheduler(final QuartzSchedulerConfig config) throws CronProviderInitialisationException {
+        final String instanceId = UUID.randomUUID().toString();
+        final String schedulerName = SCHEDULER_NAME_PREFIX + "_" + instanceId;
+        final ThreadPool threadPool = config.createThreadPool();
+        final JobStore jobStore = config.createJobStore(schedulerName);
+        final DirectSchedulerFactory schedulerFactory = DirectSchedulerFactory.getInstance();
+        try {
+            schedulerFactory.createScheduler(schedulerName, instanceId, threadPool, jobStore);
+            final Scheduler scheduler = schedulerFactory.getScheduler(schedulerName);
+            scheduler.start();
+            log.info("Started Quartz scheduler " + schedulerName + " with " + config);
+            return scheduler;
+        } catch (SchedulerException ex) {
+            throw new CronProviderInitialisationException("Error initializing Quartz scheduler", ex);
+        }
+    }
+}
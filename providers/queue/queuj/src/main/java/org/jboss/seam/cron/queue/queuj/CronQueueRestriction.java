@@ -22,40 +22,54 @@ import com.workplacesystems.queuj.QueueRestriction;
 import com.workplacesystems.queuj.process.ProcessIndexes;
 import com.workplacesystems.queuj.process.ProcessIndexesCallback;
 import com.workplacesystems.queuj.utils.QueujException;
-import java.lang.annotation.Annotation;
 import javax.enterprise.inject.spi.BeanManager;
 import org.jboss.seam.cron.spi.queue.RestrictDetail;
-import org.jboss.seam.cron.util.CdiUtils;
+import org.jboss.seam.cron.spi.queue.RestrictionMethod;
 
 /**
+ * Calls the application's restriction method to decide whether a process may run. This
+ * happens for every queued process on every scheduling decision, so the method is bound once
+ * (see #{@link RestrictionMethod}) and each thread reuses a single #{@link QueuJStatusIndexes}.
+ * The counts are read under QueuJ's index lock rather than from the provider-neutral
+ * #{@link org.jboss.seam.cron.spi.queue.QueueStatus}, because QueuJ admits a process before
+ * it starts and only its own indexes count the processes in between.
  * 
  * @author Dave Oxley
  */
 public class CronQueueRestriction extends QueueRestriction {
 
-    private final BeanManager beanManager;
-    private final RestrictDetail restrictDetail;
+    private final RestrictionMethod restriction;
+    private final ThreadLocal<QueuJStatusIndexes> statusIndexes = new ThreadLocal<QueuJStatusIndexes>() {
+        @Override
+        protected QueuJStatusIndexes initialValue() {
+            return new QueuJStatusIndexes();
+        }
+    };
+    private final ProcessIndexesCallback<Boolean> restrictionCallback = new ProcessIndexesCallback<Boolean>() {
+
+        public Boolean readIndexes(ProcessIndexes processIndexes) {
+            final QueuJStatusIndexes view = statusIndexes.get();
+            view.setProcessIndexes(processIndexes);
+            try {
+                return restriction.canRun(view) ? Boolean.TRUE : Boolean.FALSE;
+            } catch (Exception ex) {
+                throw new QueujException(ex);
+            } finally {
+                // don't keep the indexes reachable between decisions
+                view.setProcessIndexes(null);
+                view.setQueue(null);
+            }
+        }
+    };
 
     public CronQueueRestriction(BeanManager beanManager, RestrictDetail restrictDetail) {
-        this.beanManager = beanManager;
-        this.restrictDetail = restrictDetail;
+        this.restriction = new RestrictionMethod(beanManager, restrictDetail);
     }
 
     @Override
     protected boolean canRun(final Queue queue, final Process process) {
-        final Object instance = CdiUtils.getInstanceByType(beanManager, restrictDetail.getBeanClass(), restrictDetail.getBindings().toArray(new Annotation[] {}));
-
-        return process.getContainingServer().indexesWithReadLock(new ProcessIndexesCallback<Boolean>() {
-
-            public Boolean readIndexes(ProcessIndexes processIndexes) {
-                try {
-                    QueuJStatusIndexes statusIndexes = new QueuJStatusIndexes(queue, processIndexes);
-                    return (Boolean)restrictDetail.getMethod().invoke(instance, statusIndexes);
-                } catch (Exception ex) {
-                    throw new QueujException(ex);
-                }
-            }
-        });
+        statusIndexes.get().setQueue(queue);
+        return process.getContainingServer().indexesWithReadLock(restrictionCallback);
     }
     
 }
@@ -48,6 +48,13 @@ public class QueuJQueueProvider implements CronProviderLifecycle, CronQueueProvi
     private final HashMap<String,QueueBuilder> queueBuilders = new HashMap<String, QueueBuilder> ();
     private final HashMap<String,Queue> queues = new HashMap<String, Queue> ();
 
+    /**
+     * @return The QueuJ process server, which all the QueuJ providers share.
+     */
+    public String getEngineName() {
+        return "queuj";
+    }
+
     /**
      * Initialises the scheduler.
      *
@@ -22,20 +22,33 @@ import com.workplacesystems.utilsj.collections.IterativeCallback;
 import org.jboss.seam.cron.api.restriction.StatusIndexes;
 
 /**
- * Implementation of StatusIndexes for QueuJ.
+ * Implementation of StatusIndexes for QueuJ. An instance is a view onto the indexes of one
+ * queue, and may be pointed at another queue and set of indexes to save allocating a new view
+ * for every scheduling decision.
  * 
  * @author Dave Oxley
  */
 public class QueuJStatusIndexes implements StatusIndexes {
 
-    private final Queue queue;
-    private final ProcessIndexes processIndexes;
+    private Queue queue;
+    private ProcessIndexes processIndexes;
+
+    QueuJStatusIndexes() {
+    }
 
     QueuJStatusIndexes(Queue queue, ProcessIndexes processIndexes) {
         this.queue = queue;
         this.processIndexes = processIndexes;
     }
 
+    void setQueue(Queue queue) {
+        this.queue = queue;
+    }
+
+    void setProcessIndexes(ProcessIndexes processIndexes) {
+        this.processIndexes = processIndexes;
+    }
+
     public int countOfNotRunProcesses() {
         return processIndexes.countOfNotRunProcesses(queue);
     }
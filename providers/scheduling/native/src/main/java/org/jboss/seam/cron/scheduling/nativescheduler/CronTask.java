@@ -0,0 +1,58 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.scheduling.nativescheduler;
+
+import org.jboss.seam.cron.spi.scheduling.cron.CompiledCronSchedule;
+import org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupplies;
+
+/**
+ * Fires at the times given by a #{@link CompiledCronSchedule}. Each firing time is computed against
+ * the wall clock and then converted to a deadline on the monotonic clock.
+ *
+ * @author agent
+ */
+class CronTask extends ScheduledTask {
+
+    private final CompiledCronSchedule cronSchedule;
+    private long fireTimeMillis;
+
+    CronTask(final String name, final TriggerSupplies supplies, final CompiledCronSchedule cronSchedule) {
+        super(name, supplies);
+        this.cronSchedule = cronSchedule;
+    }
+
+    boolean start(final long nowMillis, final long nowNanos) {
+        // start in 1 second's time at the earliest, like the other providers
+        fireTimeMillis = nowMillis + 1000L;
+        return schedule(fireTimeMillis - 1, nowMillis, nowNanos);
+    }
+
+    boolean advance(final long nowMillis, final long nowNanos) {
+        // if we fell behind, carry on from now rather than replaying the missed firings
+        return schedule(Math.max(fireTimeMillis, nowMillis), nowMillis, nowNanos);
+    }
+
+    private boolean schedule(final long afterMillis, final long nowMillis, final long nowNanos) {
+        final long next = cronSchedule.nextFireTime(afterMillis);
+        if (next < 0) {
+            return false;
+        }
+        fireTimeMillis = next;
+        deadlineNanos = nowNanos + (next - nowMillis) * 1000000L;
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.scheduling.nativescheduler;
+
+import java.util.TimeZone;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.spi.scheduling.trigger.FixedRateSchedule;
+import org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupplies;
+import org.jboss.seam.cron.util.TimeUtils;
+
+/**
+ * Fires at a fixed rate for #{@literal @Every} observers, following a #{@link FixedRateSchedule}:
+ * every deadline is the first one plus a whole number of periods, so lateness in one firing
+ * doesn't accumulate into drift. The first firing is aligned in the same way as the other
+ * providers (see #{@link TimeUtils#firstIntervalFireTime}).
+ *
+ * @author agent
+ */
+class IntervalTask extends ScheduledTask {
+
+    private final Interval unit;
+    private final int repeatInterval;
+    private final TimeZone timeZone;
+    private FixedRateSchedule schedule;
+
+    IntervalTask(final String name, final TriggerSupplies supplies, final Interval unit, final int repeatInterval,
+            final TimeZone timeZone) {
+        super(name, supplies);
+        this.unit = unit;
+        this.repeatInterval = repeatInterval;
+        this.timeZone = timeZone;
+    }
+
+    boolean start(final long nowMillis, final long nowNanos) {
+        schedule = FixedRateSchedule.forInterval(unit, repeatInterval, timeZone, nowMillis, nowNanos);
+        deadlineNanos = schedule.getNextFireNanos();
+        return true;
+    }
+
+    boolean advance(final long nowMillis, final long nowNanos) {
+        schedule.advance(nowNanos);
+        deadlineNanos = schedule.getNextFireNanos();
+        return true;
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.scheduling.nativescheduler;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+import org.jboss.seam.cron.api.exception.CronProviderDestructionException;
+import org.jboss.seam.cron.api.exception.CronProviderInitialisationException;
+import org.jboss.seam.cron.spi.CronProviderLifecycle;
+import org.jboss.seam.cron.spi.scheduling.CronSchedulingProvider;
+import org.jboss.seam.cron.spi.scheduling.cron.CompiledCronSchedule;
+import org.jboss.seam.cron.spi.scheduling.trigger.IntervalTriggerDetail;
+import org.jboss.seam.cron.spi.scheduling.trigger.ScheduledTriggerDetail;
+import org.jboss.seam.cron.spi.scheduling.trigger.TriggerDetail;
+import org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupplies;
+import org.jboss.seam.cron.util.PropertyResolver;
+import org.slf4j.Logger;
+
+/**
+ * <p>
+ * Scheduling provider with no third party dependencies. All schedules share a single timer
+ * thread and a small dispatcher pool (see #{@link NativeScheduler}), and cron expressions
+ * are evaluated by #{@link CompiledCronSchedule}, so there is no job store and no per-trigger job
+ * object.
+ * </p>
+ * <p>
+ * The size of the dispatcher pool can be set using
+ * #{@literal org.jboss.seam.cron.scheduling.native.dispatcherThreads} (default: the number of
+ * processors, at least 2), and the time to wait for events being fired at shutdown using
+ * #{@literal org.jboss.seam.cron.scheduling.native.shutdownTimeoutSeconds} (default: 30).
+ * </p>
+ *
+ * @author agent
+ */
+public class NativeScheduleProvider implements CronProviderLifecycle, CronSchedulingProvider {
+
+    public static final String PROPERTY_PREFIX = "org.jboss.seam.cron.scheduling.native.";
+    public static final String DISPATCHER_THREADS = PROPERTY_PREFIX + "dispatcherThreads";
+    public static final String SHUTDOWN_TIMEOUT_SECONDS = PROPERTY_PREFIX + "shutdownTimeoutSeconds";
+    private NativeScheduler scheduler;
+    private long shutdownTimeoutSeconds;
+    @Inject
+    private Logger log;
+    @Inject
+    BeanManager beanManager;
+
+    public void initProvider() throws CronProviderInitialisationException {
+        final int dispatcherThreads = PropertyResolver.resolveInt(DISPATCHER_THREADS,
+                Math.max(2, Runtime.getRuntime().availableProcessors()));
+        if (dispatcherThreads < 1) {
+            throw new CronProviderInitialisationException(DISPATCHER_THREADS + " must be at least 1, but was " + dispatcherThreads);
+        }
+        shutdownTimeoutSeconds = PropertyResolver.resolveLong(SHUTDOWN_TIMEOUT_SECONDS, 30);
+        scheduler = new NativeScheduler(dispatcherThreads);
+        scheduler.start();
+        log.info("Initialised native scheduler with " + dispatcherThreads + " dispatcher threads");
+    }
+
+    public void processScheduledTrigger(final String queueId, final ScheduledTriggerDetail schedTriggerDetails) throws ParseException {
+        final TriggerSupplies supplies = createTriggerSupplies(schedTriggerDetails);
+        final CompiledCronSchedule cronSchedule = schedTriggerDetails.getCronSchedule(supplies.getTimeZone());
+        scheduler.schedule(new CronTask(jobName(schedTriggerDetails), supplies, cronSchedule));
+        log.info("Scheduler for " + jobName(schedTriggerDetails) + " initialised");
+    }
+
+    public void processIntervalTrigger(final String queueId, final IntervalTriggerDetail intervalTriggerDetails) {
+        final TriggerSupplies supplies = createTriggerSupplies(intervalTriggerDetails);
+        scheduler.schedule(new IntervalTask(jobName(intervalTriggerDetails), supplies,
+                intervalTriggerDetails.getRepeatUnit(), intervalTriggerDetails.getRepeatInterval(), supplies.getTimeZone()));
+        log.info("Scheduler for " + jobName(intervalTriggerDetails) + " initialised");
+    }
+
+    public void destroyProvider() throws CronProviderDestructionException {
+        if (scheduler == null) {
+            return;
+        }
+        try {
+            if (!scheduler.shutdown(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                log.warn("Native scheduler dispatchers did not finish within " + shutdownTimeoutSeconds + " seconds");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CronProviderDestructionException("Interrupted while shutting down the native scheduler", ex);
+        }
+    }
+
+    private TriggerSupplies createTriggerSupplies(final TriggerDetail triggerDetails) {
+        return new TriggerSupplies(beanManager, triggerDetails.getQualifier(), triggerDetails.getQualifiers());
+    }
+
+    private static String jobName(final TriggerDetail triggerDetails) {
+        return triggerDetails.toString() + "-trigger";
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.scheduling.nativescheduler;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * A minimal scheduling engine: one timer thread waits on a #{@link DelayQueue} of
+ * #{@link ScheduledTask}s and hands each one that falls due to a small dispatcher pool,
+ * which fires the CDI event. The timer thread never runs application code, so a slow
+ * observer can't delay other schedules unless every dispatcher thread is busy.
+ * </p>
+ *
+ * @author agent
+ */
+class NativeScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(NativeScheduler.class);
+    private final DelayQueue<ScheduledTask> queue = new DelayQueue<ScheduledTask>();
+    private final ExecutorService dispatcher;
+    private final Thread timer;
+    private volatile boolean running = true;
+
+    NativeScheduler(final int dispatcherThreads) {
+        dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new NamedThreadFactory("SeamCronNativeDispatcher-"));
+        timer = new Thread(new Runnable() {
+            public void run() {
+                runTimer();
+            }
+        }, "SeamCronNativeTimer");
+        timer.setDaemon(true);
+    }
+
+    void start() {
+        timer.start();
+    }
+
+    void schedule(final ScheduledTask task) {
+        if (task.start(System.currentTimeMillis(), System.nanoTime())) {
+            queue.offer(task);
+        } else {
+            log.warn("Schedule " + task + " will never fire");
+        }
+    }
+
+    /**
+     * Stop firing triggers, and wait up to the given time for events already being fired to finish.
+     * 
+     * @return false if the dispatchers did not finish in time.
+     */
+    boolean shutdown(final long timeout, final TimeUnit unit) throws InterruptedException {
+        running = false;
+        timer.interrupt();
+        timer.join(unit.toMillis(timeout));
+        dispatcher.shutdown();
+        if (!dispatcher.awaitTermination(timeout, unit)) {
+            dispatcher.shutdownNow();
+            return false;
+        }
+        return true;
+    }
+
+    private void runTimer() {
+        while (running) {
+            final ScheduledTask task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException ex) {
+                // shutting down
+                break;
+            }
+            try {
+                dispatcher.execute(task.firing());
+            } catch (RejectedExecutionException ex) {
+                if (running) {
+                    log.warn("Dispatcher rejected trigger " + task, ex);
+                }
+            }
+            if (task.advance(System.currentTimeMillis(), System.nanoTime())) {
+                queue.offer(task);
+            }
+        }
+        queue.clear();
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger(0);
+        private final String prefix;
+
+        NamedThreadFactory(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.scheduling.nativescheduler;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupplies;
+import org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A trigger waiting in the #{@link NativeScheduler}'s delay queue. The same instance is
+ * re-queued after each firing, with its deadline moved on by #{@literal advance}. Each
+ * firing handed to the dispatchers is a small #{@link Firing} which remembers its own
+ * deadline, so that its lateness can be recorded after the task itself has moved on, and
+ * which fires through its own #{@link TriggerSupport}, so that firings which overlap don't
+ * share one.
+ * <p>
+ * Deadlines are kept on the #{@literal System.nanoTime()} clock so that wall-clock
+ * adjustments don't stretch or shrink the wait.
+ * </p>
+ *
+ * @author agent
+ */
+abstract class ScheduledTask implements Delayed {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledTask.class);
+    private final TriggerSupplies supplies;
+    private final String name;
+    protected long deadlineNanos;
+
+    protected ScheduledTask(final String name, final TriggerSupplies supplies) {
+        this.name = name;
+        this.supplies = supplies;
+    }
+
+    /**
+     * Work out the first deadline. 
+     * 
+     * @return false if the schedule never fires.
+     */
+    abstract boolean start(final long nowMillis, final long nowNanos);
+
+    /**
+     * Move the deadline on to the next firing after the one which has just been dispatched.
+     * 
+     * @return false if the schedule never fires again.
+     */
+    abstract boolean advance(final long nowMillis, final long nowNanos);
+
+    /**
+     * @return The firing due at the current deadline, to be run by a dispatcher thread.
+     */
+    Runnable firing() {
+        return new Firing(deadlineNanos);
+    }
+
+    private void fire(final long dueNanos) {
+        final TriggerSupport triggerSupport = new TriggerSupport(supplies);
+        try {
+            triggerSupport.recordJitter(System.nanoTime() - dueNanos);
+            // convert the monotonic deadline back to the wall clock time it stood for
+            triggerSupport.fireTrigger(System.currentTimeMillis() - (System.nanoTime() - dueNanos) / 1000000L);
+        } catch (RuntimeException ex) {
+            // keep the dispatcher thread alive for the other schedules
+            log.error("Error firing trigger " + name, ex);
+        }
+    }
+
+    public long getDelay(final TimeUnit unit) {
+        return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    public int compareTo(final Delayed other) {
+        if (other instanceof ScheduledTask) {
+            final long diff = deadlineNanos - ((ScheduledTask) other).deadlineNanos;
+            return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+        }
+        final long diff = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+        return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private class Firing implements Runnable {
+
+        private final long dueNanos;
+
+        Firing(final long dueNanos) {
+            this.dueNanos = dueNanos;
+        }
+
+        public void run() {
+            fire(dueNanos);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.scheduling.nativescheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.spi.scheduling.cron.CompiledCronSchedule;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives #{@link NativeScheduler} and its tasks directly, without a CDI container.
+ *
+ * @author agent
+ */
+public class NativeSchedulerTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final long MILLIS = 1000000L;
+
+    @Test
+    public void testTasksFireInDeadlineOrder() throws Exception {
+        final List<String> fired = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch allFired = new CountDownLatch(3);
+        final NativeScheduler scheduler = new NativeScheduler(1);
+        scheduler.schedule(new OneShotTask("third", 300, fired, allFired, null));
+        scheduler.schedule(new OneShotTask("first", 100, fired, allFired, null));
+        scheduler.schedule(new OneShotTask("second", 200, fired, allFired, null));
+        scheduler.start();
+        assertTrue(allFired.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("first", "second", "third"), fired);
+        assertTrue(scheduler.shutdown(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testIntervalTaskSkipsFireTimesMissedDuringAPause() {
+        final IntervalTask task = new IntervalTask("every-second", null, Interval.SECOND, 1, UTC);
+        final long startMillis = 1000000000500L;
+        final long startNanos = 42;
+        assertTrue(task.start(startMillis, startNanos));
+        // aligned on a whole second at least a second away
+        final long first = task.deadlineNanos;
+        assertEquals(startNanos + 1500 * MILLIS, first);
+
+        // dispatched on time: the next deadline is one period on
+        assertTrue(task.advance(startMillis + 1500, first));
+        assertEquals(first + 1000 * MILLIS, task.deadlineNanos);
+
+        // paused for 10.3 seconds after that firing: carry on from the next fire time still to come
+        final long resumedNanos = first + 1000 * MILLIS + 10300 * MILLIS;
+        assertTrue(task.advance(startMillis + 12800, resumedNanos));
+        assertEquals(first + 12000 * MILLIS, task.deadlineNanos);
+        assertTrue(task.deadlineNanos > resumedNanos);
+    }
+
+    @Test
+    public void testIntervalTaskDoesNotDriftUnderLateness() {
+        final Random random = new Random(7);
+        final IntervalTask task = new IntervalTask("every-quarter-second", null, Interval.MILLISECOND, 250, UTC);
+        final long startMillis = 1300000000123L;
+        final long startNanos = 987654321L;
+        assertTrue(task.start(startMillis, startNanos));
+        // the next whole second at least a second away is 1877ms from now
+        final long firstNanos = startNanos + 1877 * MILLIS;
+
+        long wallClockMillis = startMillis;
+        long nowNanos = startNanos;
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(firstNanos + i * 250 * MILLIS, task.deadlineNanos);
+            // dispatched up to 100ms late, and the wall clock is stepped back a minute along the way
+            final long lateNanos = (long) (random.nextDouble() * 100 * MILLIS);
+            wallClockMillis += (task.deadlineNanos + lateNanos - nowNanos) / MILLIS - (i == 5000 ? 60000 : 0);
+            nowNanos = task.deadlineNanos + lateNanos;
+            assertTrue(task.advance(wallClockMillis, nowNanos));
+        }
+        assertEquals(startNanos + 2501877 * MILLIS, task.deadlineNanos);
+    }
+
+    @Test
+    public void testCronTaskCarriesOnFromNowAfterAPause() throws Exception {
+        final CompiledCronSchedule everyTenSeconds = CompiledCronSchedule.compile("0/10 * * * * ?", UTC);
+        final CronTask task = new CronTask("every-ten-seconds", null, everyTenSeconds);
+        final long startMillis = 1000000000000L;
+        assertTrue(task.start(startMillis, 0));
+        assertEquals(10000 * MILLIS, task.deadlineNanos);
+
+        // the timer thread stalls for a minute and a half before dispatching the first firing
+        final long resumedMillis = startMillis + 95000;
+        assertTrue(task.advance(resumedMillis, 95000 * MILLIS));
+        assertEquals(100000 * MILLIS, task.deadlineNanos);
+    }
+
+    @Test
+    public void testCronTaskWhichNeverFiresAgainIsNotQueued() throws Exception {
+        final CompiledCronSchedule past = CompiledCronSchedule.compile("0 0 0 1 1 ? 1999", UTC);
+        assertFalse(new CronTask("past", null, past).start(1000000000000L, 0));
+    }
+
+    @Test
+    public void testShutdownStopsFiringAndWaitsForRunningFirings() throws Exception {
+        final List<String> fired = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final NativeScheduler scheduler = new NativeScheduler(2);
+        scheduler.schedule(new OneShotTask("slow", 10, fired, started, release));
+        scheduler.schedule(new OneShotTask("later", 60000, fired, null, null));
+        scheduler.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // the slow firing is still running, so the dispatchers can't finish in time
+        assertFalse(scheduler.shutdown(100, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertEquals(Collections.singletonList("slow"), fired);
+
+        final NativeScheduler idle = new NativeScheduler(1);
+        idle.start();
+        assertTrue(idle.shutdown(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Falls due once, the given time after it is scheduled, and records its name when it fires.
+     */
+    private static class OneShotTask extends ScheduledTask {
+
+        private final long delayMillis;
+        private final List<String> fired;
+        private final CountDownLatch firedLatch;
+        private final CountDownLatch release;
+
+        OneShotTask(final String name, final long delayMillis, final List<String> fired, final CountDownLatch firedLatch,
+                final CountDownLatch release) {
+            super(name, null);
+            this.delayMillis = delayMillis;
+            this.fired = fired;
+            this.firedLatch = firedLatch;
+            this.release = release;
+        }
+
+        boolean start(final long nowMillis, final long nowNanos) {
+            deadlineNanos = nowNanos + delayMillis * MILLIS;
+            return true;
+        }
+
+        boolean advance(final long nowMillis, final long nowNanos) {
+            return false;
+        }
+
+        @Override
+        Runnable firing() {
+            return new Runnable() {
+
+                public void run() {
+                    fired.add(OneShotTask.this.toString());
+                    if (firedLatch != null) {
+                        firedLatch.countDown();
+                    }
+                    if (release != null) {
+                        try {
+                            release.await();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }
+            };
+        }
+    }
+}
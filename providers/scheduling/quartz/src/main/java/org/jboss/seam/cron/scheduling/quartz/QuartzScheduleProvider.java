@@ -21,7 +21,7 @@ import org.jboss.seam.cron.spi.scheduling.CronSchedulingProvider;
 import java.text.ParseException;
 import java.util.Date;
 import java.util.GregorianCalendar;
-import java.util.UUID;
+import java.util.TimeZone;
 
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
@@ -29,32 +29,35 @@ import org.jboss.seam.cron.api.exception.CronProviderDestructionException;
 import org.jboss.seam.cron.api.exception.CronProviderInitialisationException;
 
 import org.jboss.seam.cron.api.scheduling.Every;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.common.quartz.QuartzSchedulers;
 import org.jboss.seam.cron.spi.CronProviderLifecycle;
 import org.jboss.seam.cron.spi.scheduling.trigger.IntervalTriggerDetail;
 import org.jboss.seam.cron.spi.scheduling.trigger.ScheduledTriggerDetail;
 import org.jboss.seam.cron.spi.scheduling.trigger.TriggerDetail;
 import org.slf4j.Logger;
 import org.quartz.CronTrigger;
-import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
 import org.quartz.Scheduler;
-import org.quartz.SchedulerConfigException;
 import org.quartz.SchedulerException;
+import org.quartz.SimpleTrigger;
 import org.quartz.Trigger;
-import org.quartz.TriggerUtils;
-import org.quartz.impl.DirectSchedulerFactory;
-import org.quartz.simpl.RAMJobStore;
-import org.quartz.simpl.SimpleThreadPool;
-import org.quartz.spi.JobStore;
-import org.quartz.spi.ThreadPool;
-import static org.jboss.seam.cron.api.scheduling.Interval.*;
 import org.jboss.seam.cron.util.TimeUtils;
-import static org.jboss.seam.cron.util.TimeUtils.getOneSecondLater;
 
 /**
  * Methods of this class are called at various stages of the JSR-299 initialization
  * to set up and start the appropriate schedules in line with the scheduled events
  * being observed by the application.
+ * <p>
+ * The scheduler is configured under #{@literal org.jboss.seam.cron.scheduling.quartz} (see
+ * #{@link org.jboss.seam.cron.common.quartz.QuartzSchedulerConfig}), with 10 threads by default,
+ * or may be shared with the Quartz asynchronous provider (see #{@link QuartzSchedulers}).
+ * </p>
+ * <p>
+ * Misfired triggers fire once as soon as Quartz notices them. The trigger's own
+ * #{@link org.jboss.seam.cron.api.scheduling.MisfirePolicy} is then applied by
+ * #{@link org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupport}, as for every other provider.
+ * </p>
  *
  * @author Peter Royle
  */
@@ -70,69 +73,50 @@ public class QuartzScheduleProvider implements CronProviderLifecycle, CronSchedu
      * BeanManager instance when a reference to it is stored and retrieved from the job details.
      */
     public static final String TRIGGER_SUPPLIES = "trigger_helper";
-    private static final String SCHEDULER_NAME_PREFIX = "SeamCronScheduler";
-    private String schedulerName;
+    public static final String PROPERTY_PREFIX = "org.jboss.seam.cron.scheduling.quartz";
+    public static final int DEFAULT_THREAD_COUNT = 10;
     private Scheduler scheduler;
-    private UUID instanceId;
     @Inject
     private Logger log;
     @Inject
     BeanManager beanManager;
 
+    /**
+     * @return The Quartz engine, shared with the other Quartz provider.
+     */
+    public String getEngineName() {
+        return QuartzSchedulers.ENGINE;
+    }
+
     /**
      * Initialises the scheduler.
      *
      */
     public void initProvider() throws CronProviderInitialisationException {
-        instanceId = UUID.randomUUID();
-        final JobStore jobStore = new RAMJobStore();
-        final ThreadPool threadPool = new SimpleThreadPool(100, Thread.NORM_PRIORITY);
-        try {
-            threadPool.initialize();
-        } catch (SchedulerConfigException ex) {
-            throw new CronProviderInitialisationException("Error initializing Quartz ThreadPool", ex);
-        }
-        final DirectSchedulerFactory schedulerFactory = DirectSchedulerFactory.getInstance();
-        schedulerName = SCHEDULER_NAME_PREFIX + "_" + instanceId.toString();
-        try {
-            schedulerFactory.createScheduler(schedulerName, instanceId.toString(), threadPool, jobStore);
-            scheduler = schedulerFactory.getScheduler(schedulerName);
-            scheduler.start();
-        } catch (SchedulerException ex) {
-            throw new CronProviderInitialisationException("Error initializing Quartz scheduler", ex);
-        }
+        scheduler = QuartzSchedulers.acquire(PROPERTY_PREFIX, DEFAULT_THREAD_COUNT);
     }
 
     public void processScheduledTrigger(final String queueId, final ScheduledTriggerDetail schedTriggerDetails) throws ParseException, SchedulerException, InternalError {
         final Trigger schedTrigger = new CronTrigger(schedTriggerDetails.toString(), SCHEDULE_JOB_GROUP, schedTriggerDetails.getCronScheduleSpec());
+        schedTrigger.setMisfireInstruction(CronTrigger.MISFIRE_INSTRUCTION_FIRE_ONCE_NOW);
         startInOneSecond(schedTrigger);
         scheduleJob(schedTrigger, schedTriggerDetails);
     }
 
     public void processIntervalTrigger(final String queueId, final IntervalTriggerDetail intervalTriggerDetails) throws ParseException, SchedulerException, InternalError {
-        Trigger schedTrigger = null;
-        // start at the beginning of the next second at the earliest
-        GregorianCalendar gc = getOneSecondLater();
-        if (SECOND.equals(intervalTriggerDetails.getRepeatUnit())) {
-            schedTrigger = TriggerUtils.makeSecondlyTrigger(intervalTriggerDetails.getRepeatInterval());
-            // start in 1 second's time
-            gc.add(GregorianCalendar.SECOND, 1);
-        } else if (MINUTE.equals(intervalTriggerDetails.getRepeatUnit())) {
-            schedTrigger = TriggerUtils.makeMinutelyTrigger(intervalTriggerDetails.getRepeatInterval());
-            // start at the beginning of the next minute
-            gc.add(GregorianCalendar.MINUTE, 1);
-            gc.set(GregorianCalendar.SECOND, 0);
-        } else if (HOUR.equals(intervalTriggerDetails.getRepeatUnit())) {
-            schedTrigger = TriggerUtils.makeHourlyTrigger(intervalTriggerDetails.getRepeatInterval());
-            // start at the beginning of the next hour
-            gc.add(GregorianCalendar.HOUR, 1);
-            gc.set(GregorianCalendar.MINUTE, 0);
-            gc.set(GregorianCalendar.SECOND, 0);
-        } else {
+        final Interval unit = intervalTriggerDetails.getRepeatUnit();
+        if (unit == null) {
             throw new InternalError("Could not work out which interval to use for the schedule of an @" + Every.class.getName() + " observer");
         }
-        schedTrigger.setJobGroup(SCHEDULE_JOB_GROUP);
-        schedTrigger.setStartTime(gc.getTime());
+        // a SimpleTrigger works out each fire time from its start time, so lateness doesn't accumulate into drift
+        // in the group which QuartzSchedulers.release removes when the provider is destroyed
+        final SimpleTrigger schedTrigger = new SimpleTrigger(intervalTriggerDetails.toString(), SCHEDULE_JOB_GROUP);
+        schedTrigger.setRepeatCount(SimpleTrigger.REPEAT_INDEFINITELY);
+        schedTrigger.setRepeatInterval(unit.getMillis() * intervalTriggerDetails.getRepeatInterval());
+        // Quartz's "smart" default for an endlessly repeating trigger waits for the next repetition
+        schedTrigger.setMisfireInstruction(SimpleTrigger.MISFIRE_INSTRUCTION_RESCHEDULE_NOW_WITH_EXISTING_REPEAT_COUNT);
+        schedTrigger.setStartTime(new Date(TimeUtils.firstIntervalFireTime(unit, intervalTriggerDetails.getRepeatInterval(),
+                System.currentTimeMillis(), TimeZone.getDefault())));
         scheduleJob(schedTrigger, intervalTriggerDetails);
     }
 
@@ -140,11 +124,8 @@ public class QuartzScheduleProvider implements CronProviderLifecycle, CronSchedu
      * Shutdown the scheduler on application close.
      */
     public void destroyProvider() throws CronProviderDestructionException {
-        try {
-            getScheduler().shutdown();
-        } catch (SchedulerException ex) {
-            log.warn("Error shutting down scheduler", ex);
-        }
+        QuartzSchedulers.release(scheduler, SCHEDULE_JOB_GROUP);
+        scheduler = null;
     }
 
     /**
@@ -178,9 +159,12 @@ public class QuartzScheduleProvider implements CronProviderLifecycle, CronSchedu
         schedTrigger.setName(jobName);
 
         final JobDetail job = new JobDetail(jobName, schedTrigger.getGroup(), TriggerJob.class);
-        job.setJobDataMap(new JobDataMap());
-        job.getJobDataMap().put(TRIGGER_SUPPLIES, new TriggerSupplies(beanManager, triggerDetails.getQualifier(), triggerDetails.getQualifiers()));
+        // the supplies only exist in memory, so a persistent job store mustn't keep the job across restarts
+        job.setVolatility(true);
+        schedTrigger.setVolatility(true);
         try {
+            getScheduler().getContext().put(QuartzSchedulers.contextKey(job),
+                    new TriggerSupplies(beanManager, triggerDetails.getQualifier(), triggerDetails.getQualifiers()));
             getScheduler().scheduleJob(job, schedTrigger);
         } catch (SchedulerException e) {
             throw new CronProviderInitialisationException("Error scheduling job " + jobName + " with Quartz provider", e);
@@ -16,6 +16,7 @@
  */
 package org.jboss.seam.cron.scheduling.quartz;
 
+import org.jboss.seam.cron.common.quartz.QuartzSchedulers;
 import org.jboss.seam.cron.spi.scheduling.trigger.ProviderContextTriggerSupport;
 
 
@@ -23,6 +24,7 @@ import org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupplies;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
+import org.quartz.SchedulerException;
 
 /**
  * Base class for firing a Trigger via a Quartz Job via the extended #{@link ProviderContextTriggerSupport}.
@@ -31,11 +33,11 @@ import org.quartz.JobExecutionException;
  */
 public class TriggerJob extends ProviderContextTriggerSupport implements Job {
 
-    private JobExecutionContext jobExecutionContext;
+    private TriggerSupplies triggerSupplies;
     
     @Override
     public TriggerSupplies fetchTriggerSupplies() {
-        return (TriggerSupplies) jobExecutionContext.getJobDetail().getJobDataMap().get(QuartzScheduleProvider.TRIGGER_SUPPLIES);
+        return triggerSupplies;
     }
 
     /**
@@ -46,8 +48,16 @@ public class TriggerJob extends ProviderContextTriggerSupport implements Job {
      * @throws JobExecutionException
      */
     public void execute(JobExecutionContext context) throws JobExecutionException {
-        this.jobExecutionContext = context;
-        fireTrigger();
+        try {
+            triggerSupplies = (TriggerSupplies) context.getScheduler().getContext().get(QuartzSchedulers.contextKey(context.getJobDetail()));
+        } catch (SchedulerException ex) {
+            throw new JobExecutionException("Error looking up the trigger supplies for " + context.getJobDetail().getName(), ex);
+        }
+        if (triggerSupplies == null) {
+            throw new JobExecutionException("No trigger supplies were registered for " + context.getJobDetail().getName());
+        }
+        // the scheduled time lets the firing's lateness be recorded
+        fireTrigger(context.getScheduledFireTime() == null ? 0 : context.getScheduledFireTime().getTime());
     }
 
 }
@@ -19,8 +19,8 @@ package org.jboss.seam.cron.scheduling.queuj;
 import com.workplacesystems.queuj.Schedule;
 import java.text.ParseException;
 import java.util.GregorianCalendar;
+import org.jboss.seam.cron.spi.scheduling.cron.CompiledCronSchedule;
 import org.jboss.seam.cron.spi.scheduling.trigger.ScheduledTriggerDetail;
-import org.quartz.CronExpression;
 
 /**
  *
@@ -29,23 +29,27 @@ import org.quartz.CronExpression;
 public class CronSchedule extends Schedule {
 
     // Increase the number when an incompatible change is made
-    private static final long serialVersionUID = CronSchedule.class.getName().hashCode() + 1;
+    private static final long serialVersionUID = CronSchedule.class.getName().hashCode() + 2;
 
-    private CronExpression cronExpression;
+    private CompiledCronSchedule cronSchedule;
 
     public CronSchedule(ScheduledTriggerDetail schedTriggerDetails) throws ParseException {
-        cronExpression = new CronExpression(schedTriggerDetails.getCronScheduleSpec());
+        cronSchedule = schedTriggerDetails.getCronSchedule();
     }
 
     @Override
     protected GregorianCalendar getNextRunTime(GregorianCalendar schedule_start) {
+        final long next = cronSchedule.nextFireTime(schedule_start.getTimeInMillis());
+        if (next < 0) {
+            return null;
+        }
         GregorianCalendar next_run = (GregorianCalendar)schedule_start.clone();
-        next_run.setTime(cronExpression.getNextValidTimeAfter(schedule_start.getTime()));
+        next_run.setTimeInMillis(next);
         return next_run;
     }
 
     @Override
     protected String getSelfString() {
-        return ", cronExpression = " + cronExpression.toString();
+        return ", cronSchedule = " + cronSchedule.getExpression();
     }
 }
@@ -55,6 +55,13 @@ public class QueuJScheduleProvider implements CronProviderLifecycle, CronSchedul
     @Inject
     SeamCronExtension cronExtension;
 
+    /**
+     * @return The QueuJ process server, which all the QueuJ providers share.
+     */
+    public String getEngineName() {
+        return "queuj";
+    }
+
     /**
      * Initialises the scheduler.
      *
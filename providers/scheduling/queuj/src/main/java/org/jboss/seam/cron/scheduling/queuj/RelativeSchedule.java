@@ -17,10 +17,12 @@
 package org.jboss.seam.cron.scheduling.queuj;
 
 import com.workplacesystems.queuj.Schedule;
-import com.workplacesystems.queuj.utils.QueujException;
-import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.spi.scheduling.trigger.FixedRateSchedule;
 import org.jboss.seam.cron.spi.scheduling.trigger.IntervalTriggerDetail;
+import org.jboss.seam.cron.util.TimeUtils;
 
 /**
  *
@@ -29,49 +31,40 @@ import org.jboss.seam.cron.spi.scheduling.trigger.IntervalTriggerDetail;
 public class RelativeSchedule extends Schedule {
 
     // Increase the number when an incompatible change is made
-    private static final long serialVersionUID = RelativeSchedule.class.getName().hashCode() + 1;
+    private static final long serialVersionUID = RelativeSchedule.class.getName().hashCode() + 4;
 
     private final int repeatInterval;
-    private final int repeatUnit;
+    // run times are on a grid anchored at the first fire time, so that they never drift. As on every
+    // provider, a DAY is 24 hours even when daylight saving starts or ends.
+    private final long anchorMillis;
+    private final long periodMillis;
     
     RelativeSchedule(IntervalTriggerDetail intervalTriggerDetails) {
+        this(intervalTriggerDetails, System.currentTimeMillis(), TimeZone.getDefault());
+    }
+
+    /**
+     * @param nowMillis The current time, in epoch millis.
+     * @param timeZone The time zone to align the first run time on.
+     */
+    RelativeSchedule(IntervalTriggerDetail intervalTriggerDetails, long nowMillis, TimeZone timeZone) {
         repeatInterval = intervalTriggerDetails.getRepeatInterval();
-        switch (intervalTriggerDetails.getRepeatUnit()) {
-            case SECOND:
-                repeatUnit = Calendar.SECOND;
-                break;
-            case MINUTE:
-                repeatUnit = Calendar.MINUTE;
-                break;
-            case HOUR:
-                repeatUnit = Calendar.HOUR;
-                break;
-            default:
-                throw new QueujException("No repeatUnit");
-        }
+        final Interval unit = intervalTriggerDetails.getRepeatUnit();
+        anchorMillis = TimeUtils.firstIntervalFireTime(unit, repeatInterval, nowMillis, timeZone);
+        periodMillis = unit.getMillis() * repeatInterval;
     }
 
     @Override
     protected GregorianCalendar getNextRunTime(GregorianCalendar schedule_start) {
         GregorianCalendar next_run = (GregorianCalendar)schedule_start.clone();
-        next_run.add(repeatUnit, repeatInterval);
-        next_run.set(Calendar.MILLISECOND, 0);
-        switch (repeatUnit) {
-            case Calendar.MINUTE:
-                next_run.set(Calendar.SECOND, 0);
-                break;
-            case Calendar.HOUR:
-                next_run.set(Calendar.SECOND, 0);
-                next_run.set(Calendar.MINUTE, 0);
-                break;
-        }
+        next_run.setTimeInMillis(FixedRateSchedule.nextFireTimeAfter(anchorMillis, periodMillis, schedule_start.getTimeInMillis()));
         return next_run;
     }
 
     @Override
     protected String getSelfString() {
         return ", repeatInterval = " + String.valueOf(repeatInterval) +
-            ", repeatUnit = " + String.valueOf(repeatUnit);
+            ", periodMillis = " + String.valueOf(periodMillis);
     }
         
 }
\ No newline at end of file
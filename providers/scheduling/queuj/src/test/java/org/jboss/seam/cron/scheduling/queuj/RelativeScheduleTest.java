@@ -0,0 +1,79 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.scheduling.queuj;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+import org.jboss.seam.cron.api.scheduling.Every;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.spi.scheduling.trigger.IntervalTriggerDetail;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs #{@link RelativeSchedule} against a simulated clock, as QueuJ would after each late run.
+ *
+ * @author agent
+ */
+public class RelativeScheduleTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    @Every(value = Interval.SECOND, nth = 15)
+    private Object everyFifteenSeconds;
+
+    @Test
+    public void testRunTimesStayAnchoredUnderLateness() throws Exception {
+        final RelativeSchedule schedule = new RelativeSchedule(detail("everyFifteenSeconds"), 1300000000123L, UTC);
+        final Random random = new Random(11);
+        // QueuJ starts the schedule from when the job was created
+        GregorianCalendar ran = calendar(1300000000123L);
+        // the next quarter minute at least a second away
+        final long firstMillis = 1300000005000L;
+        for (int i = 0; i < 10000; i++) {
+            final long dueMillis = schedule.getNextRunTime(ran).getTimeInMillis();
+            assertEquals(firstMillis + i * 15000L, dueMillis);
+            // each run starts up to 2 seconds late, and the next run time is worked out from then
+            ran = calendar(dueMillis + random.nextInt(2000));
+        }
+        assertEquals(firstMillis + 10000 * 15000L, schedule.getNextRunTime(ran).getTimeInMillis());
+    }
+
+    @Test
+    public void testSkipsRunTimesMissedWhileQueuJWasStopped() throws Exception {
+        final RelativeSchedule schedule = new RelativeSchedule(detail("everyFifteenSeconds"), 1300000000123L, UTC);
+        // the last run was at 07:06:45, and QueuJ only comes back to the job at 07:08:02.5
+        final long nextMillis = schedule.getNextRunTime(calendar(1300000082500L)).getTimeInMillis();
+        assertEquals(1300000095000L, nextMillis);
+        assertTrue(nextMillis > 1300000082500L);
+    }
+
+    private IntervalTriggerDetail detail(final String fieldName) throws Exception {
+        final Every every = getClass().getDeclaredField(fieldName).getAnnotation(Every.class);
+        return new IntervalTriggerDetail(every, Collections.<Annotation>singleton(every));
+    }
+
+    private static GregorianCalendar calendar(final long millis) {
+        final GregorianCalendar calendar = new GregorianCalendar(UTC);
+        calendar.setTimeInMillis(millis);
+        return calendar;
+    }
+}
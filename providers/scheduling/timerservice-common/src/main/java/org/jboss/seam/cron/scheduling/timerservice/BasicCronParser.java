@@ -16,16 +16,24 @@
  */
 package org.jboss.seam.cron.scheduling.timerservice;
 
-import org.apache.commons.lang.StringUtils;
+import java.text.ParseException;
+import java.util.BitSet;
+import org.jboss.seam.cron.api.exception.SchedulerConfigurationException;
+import org.jboss.seam.cron.spi.scheduling.cron.CompiledCronSchedule;
 
 /**
- * Performs rudimentary cron-expression parsing functions, for example simply splitting the expression into it's various parts as strings
- * separated by whitespace.
+ * Compiles a cron expression (see #{@link CompiledCronSchedule}) and renders each of its fields
+ * in the syntax of #{@link javax.ejb.ScheduleExpression}. Days of the week are renumbered from
+ * cron's 1 (SUN) to 7 (SAT) to the Timer Service's 0 (Sun) to 6 (Sat), and the #{@literal L},
+ * #{@literal L-n}, #{@literal nL} and #{@literal n#m} forms become #{@literal Last}, #{@literal -n},
+ * #{@literal Last Fri} and #{@literal 2nd Fri} respectively.
  *
  * @author peteroyle
  */
 public class BasicCronParser {
 
+    private static final String[] DAY_NAMES = {"Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat"};
+    private static final String[] ORDINALS = {"1st", "2nd", "3rd", "4th", "5th"};
     private final String cronExpression;
     private String secondsExpr;
     private String minutesExpr;
@@ -45,24 +53,74 @@ public class BasicCronParser {
     }
 
     private final void parseCronExpression() {
-        final String[] parts = StringUtils.split(this.cronExpression, " \t");
-        secondsExpr = parts[0];
-        minutesExpr = parts[1];
-        hoursExpr = parts[2];
-        daysOfMonthExpr = parts[3];
-        if ("?".equals(daysOfMonthExpr)) {
-            daysOfMonthExpr = "*";
+        final CompiledCronSchedule schedule;
+        try {
+            schedule = CompiledCronSchedule.compile(cronExpression);
+        } catch (ParseException ex) {
+            throw new SchedulerConfigurationException("Invalid cron expression: " + cronExpression, ex);
         }
-        monthsExpr = parts[4];
-        daysOfWeekExpr = parts[5];
-        if ("?".equals(daysOfWeekExpr)) {
-            daysOfWeekExpr = "*";
+        if (schedule.isLastWeekday() || schedule.getNearestWeekdayTo() > 0) {
+            throw new SchedulerConfigurationException("The 'W' day-of-month modifier is not supported by the Timer Service: "
+                    + cronExpression);
         }
-        if (parts.length > 6) {
-            yearsExpr = parts[6];
-        } else {
+        secondsExpr = render(schedule.getSeconds(), 0, 59, 0);
+        minutesExpr = render(schedule.getMinutes(), 0, 59, 0);
+        hoursExpr = render(schedule.getHours(), 0, 23, 0);
+        monthsExpr = render(schedule.getMonths(), 1, 12, 0);
+
+        // "Last", "-n", "Last Fri" and "2nd Fri" all belong in the Timer Service's dayOfMonth
+        final StringBuilder daysOfMonth = new StringBuilder();
+        if (!schedule.isAnyDayOfMonth()) {
+            if (schedule.getLastDayOffset() == 0) {
+                daysOfMonth.append("Last");
+            } else if (schedule.getLastDayOffset() > 0) {
+                daysOfMonth.append('-').append(schedule.getLastDayOffset());
+            } else {
+                daysOfMonth.append(render(schedule.getDaysOfMonth(), 1, 31, 0));
+            }
+        }
+        if (schedule.getLastDayOfWeek() > 0) {
+            appendListItem(daysOfMonth, "Last " + DAY_NAMES[schedule.getLastDayOfWeek() - 1]);
+        } else if (schedule.getNthDayOfWeek() > 0) {
+            appendListItem(daysOfMonth, ORDINALS[schedule.getNthOccurrence() - 1] + " " + DAY_NAMES[schedule.getNthDayOfWeek() - 1]);
+        }
+        daysOfMonthExpr = daysOfMonth.length() == 0 ? "*" : daysOfMonth.toString();
+        daysOfWeekExpr = schedule.isAnyDayOfWeek() || schedule.getDaysOfWeek() == 0 ? "*" : render(schedule.getDaysOfWeek(), 1, 7, -1);
+
+        final BitSet years = schedule.getYears();
+        if (years == null) {
             yearsExpr = "*";
+        } else {
+            final StringBuilder list = new StringBuilder();
+            for (int year = years.nextSetBit(0); year >= 0; year = years.nextSetBit(year + 1)) {
+                appendListItem(list, String.valueOf(year));
+            }
+            yearsExpr = list.toString();
+        }
+    }
+
+    /**
+     * @return "*" if every value from min to max is set, otherwise a list of the set values, each shifted by the given amount.
+     */
+    private static String render(final long mask, final int min, final int max, final int shift) {
+        final long all = (-1L >>> (63 - max)) & (-1L << min);
+        if ((mask & all) == all) {
+            return "*";
+        }
+        final StringBuilder list = new StringBuilder();
+        for (int i = min; i <= max; i++) {
+            if ((mask & (1L << i)) != 0) {
+                appendListItem(list, String.valueOf(i + shift));
+            }
+        }
+        return list.toString();
+    }
+
+    private static void appendListItem(final StringBuilder list, final String item) {
+        if (list.length() > 0) {
+            list.append(',');
         }
+        list.append(item);
     }
 
     public String getSecondsExpr() {
@@ -10,7 +10,7 @@
 package org.jboss.seam.cron.scheduling.timerservice;
 
 import java.io.Serializable;
-import java.util.GregorianCalendar;
+import java.util.Date;
 import javax.annotation.Resource;
 import javax.ejb.ScheduleExpression;
 import javax.ejb.Timeout;
@@ -20,14 +20,12 @@ import javax.ejb.TimerService;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 import org.jboss.seam.cron.api.scheduling.Every;
-import static org.jboss.seam.cron.api.scheduling.Interval.HOUR;
-import static org.jboss.seam.cron.api.scheduling.Interval.MINUTE;
-import static org.jboss.seam.cron.api.scheduling.Interval.SECOND;
+import org.jboss.seam.cron.api.scheduling.Interval;
 import org.jboss.seam.cron.spi.scheduling.trigger.IntervalTriggerDetail;
 import org.jboss.seam.cron.spi.scheduling.trigger.ProviderContextTriggerSupport;
 import org.jboss.seam.cron.spi.scheduling.trigger.ScheduledTriggerDetail;
 import org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupplies;
-import static org.jboss.seam.cron.util.TimeUtils.getOneSecondLater;
+import org.jboss.seam.cron.util.TimeUtils;
 import org.slf4j.Logger;
 
 /**
@@ -78,49 +76,32 @@ public abstract class TimerScheduleProviderBase {
         TimerConfig timerConfig = new TimerConfig(observerDetails, false);
         ScheduleExpression scheduleExpression = new ScheduleExpression();
         final String cronStr = schedTriggerDetails.getCronScheduleSpec();
-        if (cronStr.contains(":")) {
-            final String[] parts = cronStr.split(":");
-            String hoursStr = parts[0];
-            String minsStr = parts[1];
-            scheduleExpression.hour(hoursStr);
-            scheduleExpression.minute(minsStr);
-        } else {
-            BasicCronParser cronParser = new BasicCronParser(cronStr);
-            scheduleExpression.dayOfMonth(cronParser.getDaysOfMonthExpr());
-            scheduleExpression.dayOfWeek(cronParser.getDaysOfWeekExpr());
-            scheduleExpression.hour(cronParser.getHoursExpr());
-            scheduleExpression.minute(cronParser.getMinutesExpr());
-            scheduleExpression.second(cronParser.getSecondsExpr());
-            scheduleExpression.month(cronParser.getMonthsExpr());
-            scheduleExpression.year(cronParser.getYearsExpr());
-        }
+        // also accepts the "hours:minutes" short form
+        BasicCronParser cronParser = new BasicCronParser(cronStr);
+        scheduleExpression.dayOfMonth(cronParser.getDaysOfMonthExpr());
+        scheduleExpression.dayOfWeek(cronParser.getDaysOfWeekExpr());
+        scheduleExpression.hour(cronParser.getHoursExpr());
+        scheduleExpression.minute(cronParser.getMinutesExpr());
+        scheduleExpression.second(cronParser.getSecondsExpr());
+        scheduleExpression.month(cronParser.getMonthsExpr());
+        scheduleExpression.year(cronParser.getYearsExpr());
         Timer timer = timerService.createCalendarTimer(scheduleExpression, timerConfig);
     }
 
     public void processIntervalTrigger(IntervalTriggerDetail intervalTriggerDetails) {
         log.info("TimerScheduleProviderBase.processIntervalTrigger: " + intervalTriggerDetails);
-        GregorianCalendar gc = getOneSecondLater();
-        TriggerSupplies observerDetails = new TriggerSupplies(beanManager, intervalTriggerDetails.getQualifier(), intervalTriggerDetails.
-                getQualifiers());
-        TimerConfig timerConfig = new TimerConfig(observerDetails, false);
-        if (SECOND.equals(intervalTriggerDetails.getRepeatUnit())) {
-            final Timer timer = timerService.createIntervalTimer(gc.getTime(), 1000 * intervalTriggerDetails.getRepeatInterval(), timerConfig);
-        } else if (MINUTE.equals(intervalTriggerDetails.getRepeatUnit())) {
-            // start at the beginning of the next minute
-            gc.add(GregorianCalendar.MINUTE, 1);
-            gc.set(GregorianCalendar.SECOND, 0);
-            final Timer timer = timerService.createIntervalTimer(gc.getTime(), 1000 * 60 * intervalTriggerDetails.getRepeatInterval(), timerConfig);
-        } else if (HOUR.equals(intervalTriggerDetails.getRepeatUnit())) {
-            // start at the beginning of the next hour
-            gc.add(GregorianCalendar.HOUR, 1);
-            gc.set(GregorianCalendar.MINUTE, 0);
-            gc.set(GregorianCalendar.SECOND, 0);
-            final Timer timer = timerService.createIntervalTimer(gc.getTime(), 1000 * 60 * 60 * intervalTriggerDetails.getRepeatInterval(),
-                    timerConfig);
-        } else {
+        final Interval unit = intervalTriggerDetails.getRepeatUnit();
+        if (unit == null) {
             throw new InternalError(
                     "Could not work out which interval to use for the schedule of an @" + Every.class.getName() + " observer");
         }
+        TriggerSupplies observerDetails = new TriggerSupplies(beanManager, intervalTriggerDetails.getQualifier(), intervalTriggerDetails.
+                getQualifiers());
+        TimerConfig timerConfig = new TimerConfig(observerDetails, false);
+        // interval timers fire at a fixed rate from the initial expiration
+        final Date start = new Date(TimeUtils.firstIntervalFireTime(unit, intervalTriggerDetails.getRepeatInterval(),
+                System.currentTimeMillis(), observerDetails.getTimeZone()));
+        final Timer timer = timerService.createIntervalTimer(start, unit.getMillis() * intervalTriggerDetails.getRepeatInterval(), timerConfig);
     }
 
     public TimerService getTimerService() {
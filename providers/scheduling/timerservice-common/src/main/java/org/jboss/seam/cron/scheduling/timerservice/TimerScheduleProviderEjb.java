@@ -29,7 +29,7 @@ import org.slf4j.Logger;
  */
 @Startup
 @Singleton
-@Lock(LockType.READ) // serialise backed-up jobs. Use @AccessTimeout(value = 1, unit = TimeUnit.MINUTES) on @Observes methods to specify a finite wait time when jobs back up.
+@Lock(LockType.READ) // timeouts may run concurrently; each trigger's OverlapPolicy (applied by TriggerSupport) decides what happens when they overlap
 public class TimerScheduleProviderEjb extends TimerScheduleProviderBase {
 
     @Inject
@@ -23,7 +23,7 @@ import org.jboss.seam.cron.scheduling.timerservice.TimerScheduleProviderBase;
  * @author <a href="mailto:wfink@redhat.com">Wolf-Dieter Fink</a>
  */
 @Singleton
-@Lock(LockType.READ) // serialise backed-up jobs. Use @AccessTimeout(value = 1, unit = TimeUnit.MINUTES) on @Observes methods to specify a finite wait time when jobs back up.
+@Lock(LockType.READ) // timeouts may run concurrently; each trigger's OverlapPolicy (applied by TriggerSupport) decides what happens when they overlap
 public class SchedulerBean extends TimerScheduleProviderBase implements Scheduler {
 
     private static Logger LOGGER = Logger.getLogger(SchedulerBean.class);
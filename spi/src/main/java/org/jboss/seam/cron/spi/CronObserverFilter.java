@@ -0,0 +1,70 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.enterprise.inject.spi.ProcessObserverMethod;
+import org.jboss.seam.cron.api.restriction.AsyncRestriction;
+import org.jboss.seam.cron.api.scheduling.Every;
+import org.jboss.seam.cron.api.scheduling.Scheduled;
+import org.jboss.seam.cron.util.CdiUtils;
+
+/**
+ * <p>
+ * Picks out the observer methods which Seam Cron's installers need: those observing an event
+ * qualified with #{@link Scheduled}, #{@link Every} or #{@link AsyncRestriction}. The extension
+ * sees every observer method in the application, and only keeps these.
+ * </p>
+ * <p>
+ * Observers are classified by the qualifiers which the container says they observe, as a portable
+ * extension may have changed them from those in the source. Most applications only use a handful
+ * of qualifier types, so whether each type is one of Seam Cron's is only worked out once.
+ * </p>
+ *
+ * @author agent
+ */
+class CronObserverFilter {
+
+    private final ConcurrentMap<Class<? extends Annotation>, Boolean> qualifierTypes = new ConcurrentHashMap<Class<? extends Annotation>, Boolean>();
+
+    /**
+     * @param pom An observer method found by the container.
+     * @return true if one of Seam Cron's installers may need the observer method.
+     */
+    boolean isCronObserver(final ProcessObserverMethod<?, ?> pom) {
+        for (Annotation qualifier : pom.getObserverMethod().getObservedQualifiers()) {
+            if (isCronQualifier(qualifier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isCronQualifier(final Annotation qualifier) {
+        final Class<? extends Annotation> type = qualifier.annotationType();
+        Boolean cronQualifier = qualifierTypes.get(type);
+        if (cronQualifier == null) {
+            cronQualifier = CdiUtils.getQualifier(qualifier, Scheduled.class) != null
+                    || CdiUtils.getQualifier(qualifier, Every.class) != null
+                    || CdiUtils.getQualifier(qualifier, AsyncRestriction.class) != null;
+            qualifierTypes.put(type, cronQualifier);
+        }
+        return cronQualifier;
+    }
+}
@@ -46,5 +46,18 @@ public interface CronProviderLifecycle {
      * Shutdown the underlying provider, called on application close/undeployment.
      */
     void destroyProvider() throws CronProviderDestructionException;
-    
+
+    /**
+     * Providers of different engines are initialized in parallel, while those which
+     * share an engine (eg: QueuJ's queue, scheduling and asynchronous providers) are
+     * initialized one after another, since an engine can't be relied upon to cope with
+     * being started concurrently. Override this to name the engine your provider shares.
+     *
+     * @return The name of the engine which this provider starts. By default each provider
+     * class is an engine of its own.
+     */
+    default String getEngineName() {
+        return getClass().getName();
+    }
+
 }
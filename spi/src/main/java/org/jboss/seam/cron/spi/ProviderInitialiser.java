@@ -0,0 +1,193 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import org.jboss.seam.cron.api.exception.CronProviderInitialisationException;
+import org.jboss.seam.cron.util.PropertyResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Starts the engines of the providers (eg: a Quartz scheduler or a QueuJ process server)
+ * at deployment. Each may take seconds, so providers of different engines are initialised
+ * in parallel. Providers of the same engine (eg: QueuJ's queue, scheduling and asynchronous
+ * providers) are initialised one after another, in the given order, since an engine can't be
+ * relied upon to cope with being started concurrently. Each provider names its engine (see
+ * #{@link CronProviderLifecycle#getEngineName()}).
+ * </p>
+ * <p>
+ * The engines are started on threads from the container's managed thread factory, if it has one
+ * (#{@literal java:comp/DefaultManagedThreadFactory}, or the JNDI name given by
+ * #{@literal org.jboss.seam.cron.initThreadFactory}), otherwise on threads of Seam Cron's own.
+ * Set #{@literal org.jboss.seam.cron.parallelInit} to false to initialise every provider on the
+ * deploying thread instead.
+ * </p>
+ *
+ * @author agent
+ */
+final class ProviderInitialiser {
+
+    public static final String PARALLEL_INIT = "org.jboss.seam.cron.parallelInit";
+    public static final String THREAD_FACTORY = "org.jboss.seam.cron.initThreadFactory";
+    private static final String DEFAULT_MANAGED_THREAD_FACTORY = "java:comp/DefaultManagedThreadFactory";
+    private static final Logger log = LoggerFactory.getLogger(ProviderInitialiser.class);
+
+    private ProviderInitialiser() {
+    }
+
+    /**
+     * Initialise the given providers, returning once they have all been initialised or one has failed.
+     *
+     * @param providers The providers, in the order in which those of the same engine should be initialised.
+     * @param initMillis Receives the time taken to initialise each provider which was initialised
+     * successfully, even if another failed.
+     * @throws CronProviderInitialisationException If any provider could not be initialised.
+     */
+    static void initialise(final List<CronProviderLifecycle> providers, final Map<CronProviderLifecycle, Long> initMillis)
+            throws CronProviderInitialisationException {
+        final Map<String, List<CronProviderLifecycle>> byEngine = new LinkedHashMap<String, List<CronProviderLifecycle>>();
+        for (CronProviderLifecycle provider : providers) {
+            final String engine = provider.getEngineName();
+            List<CronProviderLifecycle> sameEngine = byEngine.get(engine);
+            if (sameEngine == null) {
+                sameEngine = new ArrayList<CronProviderLifecycle>();
+                byEngine.put(engine, sameEngine);
+            }
+            sameEngine.add(provider);
+        }
+        if (byEngine.size() < 2 || "false".equalsIgnoreCase(PropertyResolver.resolve(PARALLEL_INIT))) {
+            for (List<CronProviderLifecycle> sameEngine : byEngine.values()) {
+                initialiseInOrder(sameEngine, initMillis);
+            }
+            return;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(byEngine.size(),
+                threadFactory(Thread.currentThread().getContextClassLoader()));
+        try {
+            final List<Future<?>> initialisations = new ArrayList<Future<?>>();
+            for (final List<CronProviderLifecycle> sameEngine : byEngine.values()) {
+                initialisations.add(executor.submit(new Runnable() {
+                    public void run() {
+                        initialiseInOrder(sameEngine, initMillis);
+                    }
+                }));
+            }
+            // wait for every initialisation, so that none is still going on in the background after a failure
+            RuntimeException failure = null;
+            for (Future<?> initialisation : initialisations) {
+                try {
+                    initialisation.get();
+                } catch (ExecutionException ex) {
+                    if (failure == null) {
+                        failure = asInitialisationFailure(ex.getCause());
+                    } else {
+                        log.error("Another provider also failed to initialise", ex.getCause());
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CronProviderInitialisationException("Interrupted while initialising the providers", ex);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @param contextClassLoader The deployment's class loader, through which providers find their
+     * configuration and classes.
+     * @return The container's managed thread factory if there is one, otherwise a factory of daemon
+     * threads with the given context class loader.
+     * @throws CronProviderInitialisationException If #{@link #THREAD_FACTORY} names a thread factory
+     * which can't be found.
+     */
+    static ThreadFactory threadFactory(final ClassLoader contextClassLoader) throws CronProviderInitialisationException {
+        final String configuredName = PropertyResolver.resolve(THREAD_FACTORY);
+        final boolean configured = configuredName != null && configuredName.trim().length() > 0;
+        final String jndiName = configured ? configuredName.trim() : DEFAULT_MANAGED_THREAD_FACTORY;
+        try {
+            final Object managed = new InitialContext().lookup(jndiName);
+            if (managed instanceof ThreadFactory) {
+                // managed threads carry the deployment's context, including its class loader
+                return (ThreadFactory) managed;
+            }
+            if (configured) {
+                throw new CronProviderInitialisationException(jndiName + " is not a ThreadFactory: " + managed);
+            }
+        } catch (NamingException ex) {
+            if (configured) {
+                throw new CronProviderInitialisationException("Could not find the thread factory " + jndiName, ex);
+            }
+            log.debug("No managed thread factory at " + jndiName + ", so the providers will be initialised on Seam Cron's own threads");
+        }
+        return new ThreadFactory() {
+            private final AtomicInteger created = new AtomicInteger();
+
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "SeamCronInit-" + created.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setContextClassLoader(contextClassLoader);
+                return thread;
+            }
+        };
+    }
+
+    private static void initialiseInOrder(final List<CronProviderLifecycle> providers, final Map<CronProviderLifecycle, Long> initMillis) {
+        for (CronProviderLifecycle provider : providers) {
+            final long started = System.nanoTime();
+            provider.initProvider();
+            initMillis.put(provider, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+    }
+
+    private static RuntimeException asInitialisationFailure(final Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new CronProviderInitialisationException("Error initialising a provider", cause);
+    }
+
+    /**
+     * @param provider A provider, or a client proxy of one.
+     * @return The simple name of the provider's class, for the log.
+     */
+    static String nameOf(final Object provider) {
+        final String simpleName = provider.getClass().getSimpleName();
+        final int proxySuffix = simpleName.indexOf('$');
+        return proxySuffix > 0 ? simpleName.substring(0, proxySuffix) : simpleName;
+    }
+}
@@ -17,20 +17,48 @@
 package org.jboss.seam.cron.spi;
 
 import org.jboss.seam.cron.api.exception.CronProviderInitialisationException;
+import org.jboss.seam.cron.impl.asynchronous.exception.AsynchronousMethodInvocationException;
 import org.jboss.seam.cron.spi.scheduling.CronSchedulingInstaller;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.spi.AfterDeploymentValidation;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.BeforeShutdown;
 import javax.enterprise.inject.spi.Extension;
 import javax.enterprise.inject.spi.ProcessObserverMethod;
+import org.jboss.seam.cron.spi.asynchronous.AsynchronousMethodDescriptor;
 import org.jboss.seam.cron.spi.asynchronous.CronAsynchronousProvider;
+import org.jboss.seam.cron.spi.asynchronous.InFlightInvocations;
+import org.jboss.seam.cron.spi.asynchronous.Invoker;
+import org.jboss.seam.cron.spi.asynchronous.metrics.AsynchronousMetricsRegistry;
 import org.jboss.seam.cron.spi.queue.CronQueueInstaller;
 import org.jboss.seam.cron.spi.queue.CronQueueProvider;
+import org.jboss.seam.cron.spi.queue.DispatchLane;
+import org.jboss.seam.cron.spi.queue.LaneDispatcher;
+import org.jboss.seam.cron.spi.queue.QueueStatus;
+import org.jboss.seam.cron.spi.queue.RestrictDetail;
+import org.jboss.seam.cron.spi.queue.RestrictionMethod;
 import org.jboss.seam.cron.spi.scheduling.CronSchedulingProvider;
+import org.jboss.seam.cron.spi.scheduling.lease.TriggerLease;
+import org.jboss.seam.cron.spi.scheduling.lease.TriggerLeases;
+import org.jboss.seam.cron.spi.scheduling.metrics.TriggerInstrumentation;
+import org.jboss.seam.cron.spi.scheduling.metrics.TriggerMetricsRecorder;
+import org.jboss.seam.cron.spi.scheduling.metrics.TriggerMetricsRegistry;
+import org.jboss.seam.cron.spi.scheduling.trigger.TriggerDetail;
+import org.jboss.seam.cron.spi.scheduling.trigger.TriggerState;
 import org.jboss.seam.cron.util.CdiUtils;
+import org.jboss.seam.cron.util.PropertyResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,11 +70,36 @@ import org.slf4j.LoggerFactory;
  */
 public class SeamCronExtension implements Extension {
 
+    /**
+     * Set to true to start the asynchronous provider on the first asynchronous invocation
+     * rather than at deployment.
+     */
+    public static final String LAZY_ASYNCHRONOUS_INIT = "org.jboss.seam.cron.asynchronous.lazyInit";
+    /**
+     * How long to wait at shutdown for asynchronous invocations in flight to finish (default: 30).
+     */
+    public static final String DRAIN_TIMEOUT_SECONDS = "org.jboss.seam.cron.asynchronous.drainTimeoutSeconds";
+
+    // only the observers which the installers need (see CronObserverFilter)
     private final Set<ProcessObserverMethod> allObservers = new HashSet<ProcessObserverMethod>();
+    private final CronObserverFilter observerFilter = new CronObserverFilter();
     private CronQueueProvider queueProvider = null;
-    private CronAsynchronousProvider asynchronousProvider = null;
+    private volatile CronAsynchronousProvider asynchronousProvider = null;
+    // false until a lazily initialised asynchronous provider has been started
+    private volatile boolean asynchronousProviderReady = false;
     private CronSchedulingProvider schedulingProvider = null;
-    private final Set<CronProviderLifecycle> providersWithLifecycles = new HashSet<CronProviderLifecycle>();
+    // added to by the initialising threads, and by the first asynchronous invocation
+    private final Set<CronProviderLifecycle> providersWithLifecycles = Collections.newSetFromMap(new ConcurrentHashMap<CronProviderLifecycle, Boolean>());
+    private final ConcurrentMap<Method, AsynchronousMethodDescriptor> asynchronousMethods = new ConcurrentHashMap<Method, AsynchronousMethodDescriptor>();
+    // keyed by queue id, with "" for invocations not in a named queue
+    private final ConcurrentMap<String, QueueStatus> queueStatuses = new ConcurrentHashMap<String, QueueStatus>();
+    private final LaneDispatcher laneDispatcher = new LaneDispatcher();
+    private final AsynchronousMetricsRegistry asynchronousMetrics = new AsynchronousMetricsRegistry();
+    private final InFlightInvocations inFlightInvocations = new InFlightInvocations();
+    // keyed by all the qualifiers of each trigger, which is what tells triggers apart (see TriggerDetail)
+    private final ConcurrentMap<Set<Annotation>, TriggerState> triggerStates = new ConcurrentHashMap<Set<Annotation>, TriggerState>();
+    private final TriggerInstrumentation triggerInstrumentation = new TriggerInstrumentation();
+    private final TriggerLeases triggerLeases = new TriggerLeases();
     private final Logger log = LoggerFactory.getLogger(SeamCronExtension.class);
 
     /**
@@ -58,34 +111,75 @@ public class SeamCronExtension implements Extension {
     }
 
     public void registerCronEventObserver(@Observes ProcessObserverMethod pom) {
-        log.debug("processing observer method");
-        allObservers.add(pom);
+        if (observerFilter.isCronObserver(pom)) {
+            log.debug("processing observer method");
+            allObservers.add(pom);
+        }
     }
 
     public void initProviders(@Observes AfterDeploymentValidation afterValid, final BeanManager manager,
             final CronQueueInstaller cronQueueInstaller, final CronSchedulingInstaller cronSchedInstaller) {
         // init all service providers
         log.debug("Initializing service providers");
-        // process queue observers if queue provider exists
+        final long started = System.nanoTime();
         final CronQueueProvider queueProvider = CdiUtils.getInstanceByType(manager, CronQueueProvider.class);
+        final CronSchedulingProvider schedProvider = CdiUtils.getInstanceByType(manager, CronSchedulingProvider.class);
+        final CronAsynchronousProvider asyncProvider = CdiUtils.getInstanceByType(manager, CronAsynchronousProvider.class);
+        final boolean lazyAsynchronous = asyncProvider != null && Boolean.parseBoolean(PropertyResolver.resolve(LAZY_ASYNCHRONOUS_INIT));
+
+        // start the providers' engines first, those of independent engines in parallel
+        final List<CronProviderLifecycle> lifecycles = new ArrayList<CronProviderLifecycle>();
+        addLifecycle(lifecycles, queueProvider);
+        addLifecycle(lifecycles, schedProvider);
+        if (!lazyAsynchronous) {
+            addLifecycle(lifecycles, asyncProvider);
+        }
+        final Map<CronProviderLifecycle, Long> initMillis = new ConcurrentHashMap<CronProviderLifecycle, Long>();
+        try {
+            ProviderInitialiser.initialise(lifecycles, initMillis);
+        } finally {
+            // so that whichever did start are stopped again
+            providersWithLifecycles.addAll(initMillis.keySet());
+        }
+        this.queueProvider = queueProvider;
+        this.schedulingProvider = schedProvider;
+        this.asynchronousProviderReady = !lazyAsynchronous;
+        this.asynchronousProvider = asyncProvider;
+
+        // then install the queues and schedules. Schedules go last, because triggers may fire (and
+        // invoke asynchronous methods in restricted queues) as soon as they are scheduled
+        final long queuesStarted = System.nanoTime();
         if (queueProvider != null) {
-            this.queueProvider = queueProvider;
-            handleLifecycleInit(queueProvider);
             cronQueueInstaller.initProviderQueue(manager, queueProvider, allObservers);
+        } else {
+            // without a queue provider, restrictions are enforced as invocations are dispatched (see QueueStatus)
+            for (RestrictDetail restrictDetail : cronQueueInstaller.findRestrictions(allObservers)) {
+                getQueueStatus(restrictDetail.getQueueId()).setRestriction(new RestrictionMethod(manager, restrictDetail));
+            }
         }
-        // process scheduling observers if scheduling provider exists
-        final CronSchedulingProvider schedProvider = CdiUtils.getInstanceByType(manager, CronSchedulingProvider.class);
+        if (asyncProvider != null) {
+            asynchronousMetrics.registerMBean();
+        }
+        // report trigger firings to the application's own recorder, if it has one
+        triggerInstrumentation.setRecorder(CdiUtils.getInstanceByType(manager, TriggerMetricsRecorder.class));
+        // claim each firing before it runs, if the application or its configuration provides a lease
+        triggerLeases.install(CdiUtils.getInstanceByType(manager, TriggerLease.class));
+        final long schedulesStarted = System.nanoTime();
         if (schedProvider != null) {
-            this.schedulingProvider = schedProvider;
-            handleLifecycleInit(schedProvider);
             cronSchedInstaller.initProviderScheduling(manager, schedProvider, allObservers);
         }
-        // process aynchronous observers if aynchronous provider exists
-        final CronAsynchronousProvider asyncProvider = CdiUtils.getInstanceByType(manager, CronAsynchronousProvider.class);
-        if (asyncProvider != null) {
-            this.asynchronousProvider = asyncProvider;
-            handleLifecycleInit(asyncProvider);
+        final long finished = System.nanoTime();
+
+        final StringBuilder report = new StringBuilder("Seam Cron started in ").append(millisBetween(started, finished)).append("ms (");
+        for (CronProviderLifecycle lifecycle : lifecycles) {
+            report.append(ProviderInitialiser.nameOf(lifecycle)).append(": ").append(initMillis.get(lifecycle)).append("ms, ");
+        }
+        report.append("queues: ").append(millisBetween(queuesStarted, schedulesStarted)).append("ms, ");
+        report.append("schedules: ").append(millisBetween(schedulesStarted, finished)).append("ms)");
+        if (lazyAsynchronous) {
+            report.append(". ").append(ProviderInitialiser.nameOf(asyncProvider)).append(" will start on the first asynchronous invocation");
         }
+        log.info(report.toString());
 
 // TODO: (PR): If there's an asynch provider present, check if the interceptor is enabled. See https://jira.jboss.org/jira/browse/WELDX-91
 //        final CronAsynchronousProvider asyncProvider = CdiUtils.getInstanceByType(manager, CronAsynchronousProvider.class);
@@ -95,26 +189,201 @@ public class SeamCronExtension implements Extension {
 
     }
 
-    private void handleLifecycleInit(final Object asyncProvider) throws CronProviderInitialisationException {
-        if (asyncProvider instanceof CronProviderLifecycle) {
-            final CronProviderLifecycle cronProviderLifecycle = CronProviderLifecycle.class.cast(asyncProvider);
-            cronProviderLifecycle.initProvider();
-            providersWithLifecycles.add(cronProviderLifecycle);
+    private static void addLifecycle(final List<CronProviderLifecycle> lifecycles, final Object provider) {
+        if (provider instanceof CronProviderLifecycle) {
+            lifecycles.add(CronProviderLifecycle.class.cast(provider));
         }
     }
 
+    private static long millisBetween(final long startNanos, final long endNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos);
+    }
+
     public void stopProviders(@Observes BeforeShutdown event, final BeanManager manager,
             final CronSchedulingInstaller cronSchedExt) {
-
+        final long drainTimeoutSeconds = PropertyResolver.resolveLong(DRAIN_TIMEOUT_SECONDS, 30);
+        final long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(drainTimeoutSeconds);
+        // stop the schedules first, so that no trigger starts more work while the rest drains
+        if (schedulingProvider instanceof CronProviderLifecycle && providersWithLifecycles.remove(schedulingProvider)) {
+            CronProviderLifecycle.class.cast(schedulingProvider).destroyProvider();
+        }
+        drainAsynchronousInvocations(deadlineNanos, drainTimeoutSeconds);
         for (CronProviderLifecycle providerLifecycle : providersWithLifecycles) {
             providerLifecycle.destroyProvider();
         }
+        asynchronousMetrics.unregisterMBean();
+    }
+
+    /**
+     * Refuse any more asynchronous invocations, wait for those in flight until the deadline and
+     * abandon whichever are left, reporting them and completing their callers' futures exceptionally.
+     */
+    private void drainAsynchronousInvocations(final long deadlineNanos, final long drainTimeoutSeconds) {
+        List<Invoker> outstanding;
+        try {
+            outstanding = inFlightInvocations.drain(deadlineNanos);
+        } catch (InterruptedException ex) {
+            // stop waiting, but still tell the callers of those left
+            Thread.currentThread().interrupt();
+            outstanding = inFlightInvocations.getInvocations();
+        }
+        if (outstanding.isEmpty()) {
+            return;
+        }
+        final AsynchronousMethodInvocationException abandoned = new AsynchronousMethodInvocationException(
+                "Abandoned because the application shut down before the invocation finished");
+        // counts of the running and not started invocations of each method, for the report
+        final Map<String, int[]> byMethod = new TreeMap<String, int[]>();
+        for (Invoker invoker : outstanding) {
+            final boolean running = invoker.abandonAtShutdown(abandoned);
+            int[] counts = byMethod.get(invoker.getMethodName());
+            if (counts == null) {
+                counts = new int[2];
+                byMethod.put(invoker.getMethodName(), counts);
+            }
+            counts[running ? 0 : 1]++;
+        }
+        final StringBuilder report = new StringBuilder().append(outstanding.size())
+                .append(" asynchronous invocation(s) did not finish within ").append(drainTimeoutSeconds)
+                .append(" seconds of shutdown and were abandoned:");
+        for (Map.Entry<String, int[]> method : byMethod.entrySet()) {
+            report.append(" ").append(method.getKey()).append(" (").append(method.getValue()[0]).append(" running, ")
+                    .append(method.getValue()[1]).append(" not started);");
+        }
+        log.warn(report.toString());
     }
 
+    /**
+     * @return The asynchronous provider, which is started now if it is initialised lazily
+     * (see #{@link #LAZY_ASYNCHRONOUS_INIT}) and this is the first asynchronous invocation.
+     */
     public CronAsynchronousProvider getAsynchronousProvider() {
+        if (!asynchronousProviderReady && asynchronousProvider != null) {
+            startAsynchronousProvider();
+        }
         return asynchronousProvider;
     }
 
+    private synchronized void startAsynchronousProvider() throws CronProviderInitialisationException {
+        if (asynchronousProviderReady) {
+            return;
+        }
+        final long started = System.nanoTime();
+        if (asynchronousProvider instanceof CronProviderLifecycle) {
+            final CronProviderLifecycle lifecycle = CronProviderLifecycle.class.cast(asynchronousProvider);
+            lifecycle.initProvider();
+            providersWithLifecycles.add(lifecycle);
+        }
+        asynchronousProviderReady = true;
+        log.info("Started " + ProviderInitialiser.nameOf(asynchronousProvider) + " on the first asynchronous invocation in "
+                + millisBetween(started, System.nanoTime()) + "ms");
+    }
+
+    /**
+     * @param method An #{@link org.jboss.seam.cron.api.asynchronous.Asynchronous} method.
+     * @param manager Used to identify the method's qualifiers the first time it is described.
+     * @return The cached description of the method, created on first use.
+     */
+    public AsynchronousMethodDescriptor getAsynchronousMethodDescriptor(final Method method, final BeanManager manager) {
+        AsynchronousMethodDescriptor descriptor = asynchronousMethods.get(method);
+        if (descriptor == null) {
+            final AsynchronousMethodDescriptor described = AsynchronousMethodDescriptor.describe(method, manager);
+            descriptor = asynchronousMethods.putIfAbsent(method, described);
+            if (descriptor == null) {
+                descriptor = described;
+            }
+        }
+        return descriptor;
+    }
+
+    /**
+     * @param queueId The id of a queue, or null for invocations not in a named queue.
+     * @return The counts for that queue, created on first use.
+     */
+    public QueueStatus getQueueStatus(final String queueId) {
+        final String key = queueId == null ? "" : queueId;
+        QueueStatus status = queueStatuses.get(key);
+        if (status == null) {
+            final QueueStatus created = new QueueStatus(queueId);
+            status = queueStatuses.putIfAbsent(key, created);
+            if (status == null) {
+                status = created;
+            }
+        }
+        return status;
+    }
+
+    /**
+     * @param queueId The id of a queue, or null for invocations not in a named queue.
+     * @return The queue's dispatch lane, or null if none is configured for it.
+     */
+    public DispatchLane getDispatchLane(final String queueId) {
+        return laneDispatcher.getLane(queueId);
+    }
+
+    /**
+     * @return The dispatcher of all queues' lanes, whose configuration and occupancy can be read from it.
+     */
+    public LaneDispatcher getLaneDispatcher() {
+        return laneDispatcher;
+    }
+
+    /**
+     * @return The asynchronous invocations which have been submitted but not yet finished.
+     */
+    public InFlightInvocations getInFlightInvocations() {
+        return inFlightInvocations;
+    }
+
+    /**
+     * @return The queueing delay, execution time, event firing time and in-flight count of
+     * the asynchronous invocations, per method and per queue.
+     */
+    public AsynchronousMetricsRegistry getAsynchronousMetrics() {
+        return asynchronousMetrics;
+    }
+
+    /**
+     * @return The fire counts, lateness, execution times and exception counts of the scheduled
+     * triggers, unless the application has provided its own #{@link TriggerMetricsRecorder}.
+     */
+    public TriggerMetricsRegistry getTriggerMetrics() {
+        return triggerInstrumentation.getDefaultRegistry();
+    }
+
+    /**
+     * @return The recorder which trigger firings are reported to.
+     */
+    public TriggerInstrumentation getTriggerInstrumentation() {
+        return triggerInstrumentation;
+    }
+
+    /**
+     * @return The lease through which trigger firings are claimed, if one is installed.
+     */
+    public TriggerLeases getTriggerLeases() {
+        return triggerLeases;
+    }
+
+    /**
+     * @param trigger A scheduled trigger. Triggers which share their #{@literal @Every} or
+     * #{@literal @Scheduled} qualifier but not all their other qualifiers have separate state.
+     * @return Whether the trigger is running and when it was last due, created on first use.
+     */
+    public TriggerState getTriggerState(final TriggerDetail trigger) {
+        final Set<Annotation> key = new HashSet<Annotation>(trigger.getQualifiers());
+        key.add(trigger.getQualifier());
+        TriggerState state = triggerStates.get(key);
+        if (state == null) {
+            final TriggerState created = new TriggerState();
+            state = triggerStates.putIfAbsent(key, created);
+            if (state == null) {
+                state = created;
+            }
+        }
+        return state;
+    }
+
     public CronSchedulingProvider getSchedulingProvider() {
         return schedulingProvider;
     }
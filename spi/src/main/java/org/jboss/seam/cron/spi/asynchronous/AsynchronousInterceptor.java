@@ -16,17 +16,16 @@
  */
 package org.jboss.seam.cron.spi.asynchronous;
 
-import java.util.concurrent.Future;
-import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 import javax.interceptor.AroundInvoke;
 import javax.interceptor.Interceptor;
 import javax.interceptor.InvocationContext;
 import org.jboss.seam.cron.api.asynchronous.Asynchronous;
-import org.jboss.seam.cron.api.queue.Queue;
 import org.jboss.seam.cron.api.exception.InternalException;
 import org.jboss.seam.cron.spi.SeamCronExtension;
+import org.jboss.seam.cron.spi.asynchronous.metrics.AsynchronousMetricsRegistry;
+import org.jboss.seam.cron.spi.queue.QueueStatus;
 import org.slf4j.Logger;
 
 /**
@@ -53,8 +52,6 @@ public class AsynchronousInterceptor {
     private Logger log;
     @Inject
     BeanManager beanMan;
-    @Inject
-    Instance<Invoker> iceCopies;
     @Inject SeamCronExtension cronExtension;
 
     public AsynchronousInterceptor() {
@@ -77,23 +74,45 @@ public class AsynchronousInterceptor {
                     log.trace("Intercepting method invocation of " + ctx.getMethod().getName() + " to make it @Asynchronous");
                 }
 
-                Queue queue = ctx.getMethod().getAnnotation(Queue.class);
-                String queueId = queue == null ? null : queue.value();
+                // queue id, return kind and qualifiers are only worked out on the first call
+                final AsynchronousMethodDescriptor descriptor = cronExtension.getAsynchronousMethodDescriptor(ctx.getMethod(), beanMan);
+                final String queueId = descriptor.getQueueId();
 
-                final Invoker ice = iceCopies.get();
-                ice.setInvocationContext(ctx);
+                final Invoker ice = new Invoker(beanMan, ctx, descriptor);
                 final CronAsynchronousProvider asyncStrategy = cronExtension.getAsynchronousProvider();
-
-                if (Future.class.isAssignableFrom(ctx.getMethod().getReturnType())) {
-                    // swap the "dummy" Future for a truly asynchronous future to return to the caller immediately
-                    ice.setMethodReturnsFuture(true);
-                    result = asyncStrategy.executeAndReturnFuture(queueId, ice);
-                } else {
-                    asyncStrategy.executeWithoutReturn(queueId, ice);
-                    result = null;
+                final QueueStatus queueStatus = cronExtension.getQueueStatus(queueId);
+                ice.setQueueStatus(queueStatus);
+                queueStatus.submitted(ice);
+                final AsynchronousMetricsRegistry metrics = cronExtension.getAsynchronousMetrics();
+                ice.setMetrics(metrics.forMethod(ctx.getMethod()), metrics.forQueue(queueId));
+                ice.setDispatchLane(cronExtension.getDispatchLane(queueId));
+
+                try {
+                    // refused once the application has begun shutting down
+                    cronExtension.getInFlightInvocations().admit(ice);
+                    switch (descriptor.getReturnKind()) {
+                        case COMPLETION_STAGE:
+                            // the Invoker completes the stage itself
+                            result = ice.getCompletion();
+                            break;
+                        case FUTURE:
+                            // swap the "dummy" Future for a truly asynchronous future to return to the caller immediately
+                            result = ice.getFuture();
+                            break;
+                        default:
+                            result = null;
+                            break;
+                    }
+                    // the queue's restriction or lane may hold the invocation back before it reaches the provider
+                    queueStatus.dispatch(asyncStrategy, ice);
+                } catch (RuntimeException ex) {
+                    if (!ice.isStarted()) {
+                        ice.submissionFailed();
+                    }
+                    throw ex;
                 }
 
-                // this will either be a Future, or null
+                // this will either be a Future, a CompletionStage or null
                 return result;
 
             } else {
@@ -108,7 +127,13 @@ public class AsynchronousInterceptor {
                         log.trace("Executing original method in new thread for " + ctx.getMethod().getName());
                     }
                     invokedFromInterceptorInThread.set(Boolean.TRUE);
-                    return ctx.proceed();
+                    try {
+                        return ctx.proceed();
+                    } finally {
+                        // providers may run invocations on pooled (or the calling) thread, so
+                        // don't leave the marker behind for the next invocation on this thread
+                        invokedFromInterceptorInThread.remove();
+                    }
                 } else {
                     throw new InternalException("The framework got into an illegal state while atempting to keep track of Interceptors around asynchronous method invocations. This is certainly a bug. Please file it in the SEAMCRON Jira with full stack trace");
                 }
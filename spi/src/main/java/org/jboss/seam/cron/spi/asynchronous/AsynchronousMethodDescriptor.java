@@ -0,0 +1,129 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.asynchronous;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import javax.enterprise.inject.spi.BeanManager;
+import org.jboss.seam.cron.api.asynchronous.Asynchronous;
+import org.jboss.seam.cron.api.queue.Queue;
+import org.jboss.seam.cron.impl.asynchronous.exception.AsynchronousMethodInvocationException;
+
+/**
+ * Everything about an #{@link Asynchronous} method which the #{@link AsynchronousInterceptor}
+ * and #{@link Invoker} need to know on each invocation, worked out once per #{@link Method}
+ * so that the reflection isn't repeated on every call. Instances are immutable and are cached
+ * by the #{@link org.jboss.seam.cron.spi.SeamCronExtension}.
+ *
+ * @author agent
+ */
+public final class AsynchronousMethodDescriptor {
+
+    /**
+     * How the result of the method is handed back to the caller.
+     */
+    public enum ReturnKind {
+
+        /** The method returns void or a plain value, which is only delivered via the post-execution event. */
+        VALUE,
+        /** The method returns a "dummy" #{@link Future} which is swapped for a truly asynchronous one. */
+        FUTURE,
+        /** The method returns a "dummy" #{@link CompletionStage} which is swapped for an incomplete #{@link CompletableFuture}. */
+        COMPLETION_STAGE
+    }
+    private static final Annotation[] NO_QUALIFIERS = new Annotation[0];
+    private final Method method;
+    private final String queueId;
+    private final ReturnKind returnKind;
+    private final Annotation[] qualifiers;
+
+    private AsynchronousMethodDescriptor(final Method method, final String queueId, final ReturnKind returnKind,
+            final Annotation[] qualifiers) {
+        this.method = method;
+        this.queueId = queueId;
+        this.returnKind = returnKind;
+        this.qualifiers = qualifiers;
+    }
+
+    /**
+     * Inspect the given method.
+     * 
+     * @param method The #{@link Asynchronous} method.
+     * @param beanManager Used to work out which of the method's annotations are qualifiers.
+     * @return A new descriptor for the method.
+     * @throws AsynchronousMethodInvocationException If the method returns a #{@link CompletionStage}
+     * type which cannot be satisfied by a #{@link CompletableFuture}.
+     */
+    public static AsynchronousMethodDescriptor describe(final Method method, final BeanManager beanManager)
+            throws AsynchronousMethodInvocationException {
+        final Queue queue = method.getAnnotation(Queue.class);
+        final String queueId = queue == null ? null : queue.value();
+
+        final ReturnKind returnKind;
+        final Class<?> returnType = method.getReturnType();
+        if (CompletionStage.class.isAssignableFrom(returnType)) {
+            if (!returnType.isAssignableFrom(CompletableFuture.class)) {
+                throw new AsynchronousMethodInvocationException("@Asynchronous method " + method.getName()
+                        + " must be declared to return " + CompletionStage.class.getName() + " or "
+                        + CompletableFuture.class.getName() + ", not " + returnType.getName());
+            }
+            returnKind = ReturnKind.COMPLETION_STAGE;
+        } else if (Future.class.isAssignableFrom(returnType)) {
+            returnKind = ReturnKind.FUTURE;
+        } else {
+            returnKind = ReturnKind.VALUE;
+        }
+
+        // grab qualifiers from the method to use for the post-execution event
+        final ArrayList<Annotation> qualifiers = new ArrayList<Annotation>();
+        for (Annotation ant : method.getAnnotations()) {
+            if (beanManager.isQualifier(ant.annotationType())) {
+                qualifiers.add(ant);
+            }
+        }
+
+        return new AsynchronousMethodDescriptor(method, queueId, returnKind,
+                qualifiers.isEmpty() ? NO_QUALIFIERS : qualifiers.toArray(new Annotation[qualifiers.size()]));
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return The value of the #{@link Queue} annotation on the method, or null if there isn't one.
+     */
+    public String getQueueId() {
+        return queueId;
+    }
+
+    public ReturnKind getReturnKind() {
+        return returnKind;
+    }
+
+    /**
+     * @return The qualifiers to fire the post-execution event with. The array is shared between
+     * invocations and must not be modified.
+     */
+    Annotation[] getQualifiers() {
+        return qualifiers;
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.asynchronous;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.jboss.seam.cron.impl.asynchronous.exception.AsynchronousMethodInvocationException;
+
+/**
+ * <p>
+ * The asynchronous invocations which have been submitted but have not yet finished, whichever
+ * provider they were submitted to. At shutdown the #{@link org.jboss.seam.cron.spi.SeamCronExtension}
+ * uses this to drain them before the providers are destroyed: no more invocations are admitted,
+ * those in flight are given until a deadline to finish, and those which haven't are then abandoned
+ * (see #{@link Invoker#abandonAtShutdown(Exception)}).
+ * </p>
+ *
+ * @author agent
+ */
+public final class InFlightInvocations {
+
+    private final Set<Invoker> invokers = Collections.newSetFromMap(new ConcurrentHashMap<Invoker, Boolean>());
+    private volatile boolean accepting = true;
+
+    /**
+     * Count the given invocation as in flight until it finishes or is abandoned.
+     *
+     * @param invoker An invocation which is about to be submitted.
+     * @throws AsynchronousMethodInvocationException If the application is shutting down.
+     */
+    public void admit(final Invoker invoker) throws AsynchronousMethodInvocationException {
+        // added before checking, so that an invocation admitted while draining begins is still waited for
+        invokers.add(invoker);
+        if (!accepting) {
+            invokers.remove(invoker);
+            throw new AsynchronousMethodInvocationException("Asynchronous invocation of " + invoker.getMethodName()
+                    + " was rejected because the application is shutting down");
+        }
+        invoker.setInFlightInvocations(this);
+    }
+
+    /**
+     * @param invoker An invocation which has finished, or will never run.
+     */
+    void finished(final Invoker invoker) {
+        if (invokers.remove(invoker) && !accepting) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * @return The invocations in flight.
+     */
+    public List<Invoker> getInvocations() {
+        return new ArrayList<Invoker>(invokers);
+    }
+
+    /**
+     * @return False once #{@link #drain(long)} has been called.
+     */
+    public boolean isAccepting() {
+        return accepting;
+    }
+
+    /**
+     * Stop admitting invocations and wait for those in flight to finish.
+     *
+     * @param deadlineNanos The #{@link System#nanoTime()} after which to stop waiting.
+     * @return The invocations still in flight at the deadline, which the caller should abandon.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public List<Invoker> drain(final long deadlineNanos) throws InterruptedException {
+        accepting = false;
+        synchronized (this) {
+            long remainingNanos = deadlineNanos - System.nanoTime();
+            while (!invokers.isEmpty() && remainingNanos > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+                remainingNanos = deadlineNanos - System.nanoTime();
+            }
+        }
+        return getInvocations();
+    }
+}
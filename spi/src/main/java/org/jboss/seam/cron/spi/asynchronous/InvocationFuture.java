@@ -0,0 +1,73 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.asynchronous;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The #{@link Future} handed to the caller of an #{@link org.jboss.seam.cron.api.asynchronous.Asynchronous}
+ * method which returns one. Its result comes from the #{@link Invoker} itself, so it is delivered
+ * the same way whether the invocation reached the provider straight away or was held back first
+ * (by its queue's restriction or dispatch lane), and a caller waiting on it is told if the
+ * invocation is abandoned. It is completed with the method's result or exception even if an
+ * observer of the result fails, or exceptionally with anything else which stops the invocation
+ * (eg: an #{@link Error}), so a caller never waits on it forever. Cancelling it before the
+ * invocation starts withdraws the invocation from its queue; cancelling it afterwards also
+ * cancels the provider's own #{@link Future}, which interrupts the invocation if asked to.
+ *
+ * @author agent
+ */
+final class InvocationFuture implements Future<Object> {
+
+    private final Invoker invoker;
+    private final CompletableFuture<Object> completion;
+
+    InvocationFuture(final Invoker invoker, final CompletableFuture<Object> completion) {
+        this.invoker = invoker;
+        this.completion = completion;
+    }
+
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        return invoker.cancel(mayInterruptIfRunning);
+    }
+
+    public boolean isCancelled() {
+        return completion.isCancelled();
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    public Object get() throws InterruptedException, ExecutionException {
+        return completion.get();
+    }
+
+    public Object get(final long timeout, final TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return completion.get(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return "InvocationFuture{" + invoker.getMethodName() + ": " + completion + "}";
+    }
+}
@@ -16,24 +16,33 @@
  */
 package org.jboss.seam.cron.spi.asynchronous;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 import javax.interceptor.InvocationContext;
+import org.jboss.seam.cron.api.asynchronous.AsyncCompletableResult;
 import org.jboss.seam.cron.api.asynchronous.AsyncResult;
 import org.jboss.seam.cron.api.asynchronous.Asynchronous;
 import org.jboss.seam.cron.api.exception.InternalException;
+import org.jboss.seam.cron.spi.asynchronous.metrics.AsynchronousMetrics;
+import org.jboss.seam.cron.spi.queue.DispatchLane;
+import org.jboss.seam.cron.spi.queue.QueueStatus;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import static org.jboss.seam.cron.spi.asynchronous.AsynchronousInterceptor.INVOKED_IN_THREAD;
 
 /**
  * This class handles the invocation of the #{@link Asynchronous} method, unwrapping of the
  * results out of a "dummy" #{@link AsyncResult} if necessary, and firing post-execution
- * events with the results if any. It is designed as a managed bean to be instantiated via 
- * #{@literal @Inject Instance<Invoker>}.
+ * events with the results if any. The #{@link AsynchronousInterceptor} constructs it directly 
+ * from a cached #{@link AsynchronousMethodDescriptor}, but it can still be instantiated as a 
+ * managed bean via #{@literal @Inject Instance<Invoker>}.
  * 
  * @author Peter Royle
  */
@@ -42,16 +51,58 @@ public class Invoker {
     @Inject
     BeanManager beanMan;
     private InvocationContext ic;
+    private AsynchronousMethodDescriptor descriptor = null;
     private boolean methodReturnsFuture = false;
+    private boolean methodReturnsCompletionStage = false;
+    // Completed at the end of executeInvocationContext() for methods which return a CompletionStage or Future
+    private CompletableFuture<Object> completion = null;
+    // Handed to the caller of a method which returns a Future
+    private InvocationFuture invocationFuture = null;
     // If an exception was thrown during asynchronous execution, it will be placed here. Then later it can be put into the real AsynchResult
     // as the exception to throw when .get() is called (as per EJB @Asynchronous spec).
     private Exception exception = null;
-    @Inject
-    private Logger log;
+    // Counts this invocation in its queue, which holds it back if its restriction says so
+    private QueueStatus queueStatus = null;
+    // The lane whose slot this invocation occupies while it runs, if its queue has one
+    private DispatchLane dispatchLane = null;
+    // Timings and counts for the method and its queue, if they're being recorded
+    private AsynchronousMetrics methodMetrics = null;
+    private AsynchronousMetrics queueMetrics = null;
+    private long submittedNanos;
+    // Tracks this invocation until it finishes, so that it can be drained at shutdown
+    private InFlightInvocations inFlightInvocations = null;
+    // The Future the provider returned for an invocation handed over with executeAndReturnFuture, through which it is cancelled
+    private volatile Future<?> providerFuture = null;
+    private volatile boolean started = false;
+    // guarded by this: set once the invocation has been cancelled or abandoned at shutdown before it started
+    private boolean withdrawn = false;
+    private boolean laneReleased = false;
+    private static final Logger log = LoggerFactory.getLogger(Invoker.class);
 
     public Invoker() {
     }
 
+    /**
+     * @param beanMan Used to fire the post-execution event.
+     * @param ic The #{@link InvocationContext} which will be executed.
+     * @param descriptor The cached description of the method being invoked.
+     */
+    public Invoker(final BeanManager beanMan, final InvocationContext ic, final AsynchronousMethodDescriptor descriptor) {
+        this.beanMan = beanMan;
+        this.ic = ic;
+        this.descriptor = descriptor;
+        switch (descriptor.getReturnKind()) {
+            case FUTURE:
+                setMethodReturnsFuture(true);
+                break;
+            case COMPLETION_STAGE:
+                setMethodReturnsCompletionStage(true);
+                break;
+            default:
+                break;
+        }
+    }
+
     /**
      * @param ic The #{@link InvocationContext} which will be executed.
      */
@@ -59,6 +110,67 @@ public class Invoker {
         this.ic = ic;
     }
 
+    /**
+     * @return The #{@link InvocationContext} which will be executed.
+     */
+    public InvocationContext getInvocationContext() {
+        return ic;
+    }
+
+    /**
+     * @param queueStatus The counts of the queue this invocation has been submitted to.
+     */
+    public void setQueueStatus(final QueueStatus queueStatus) {
+        this.queueStatus = queueStatus;
+    }
+
+    /**
+     * @param dispatchLane The lane this invocation is dispatched from, which is told when it finishes.
+     */
+    public void setDispatchLane(final DispatchLane dispatchLane) {
+        this.dispatchLane = dispatchLane;
+    }
+
+    /**
+     * @param inFlightInvocations The invocations this one is counted among until it finishes.
+     */
+    void setInFlightInvocations(final InFlightInvocations inFlightInvocations) {
+        this.inFlightInvocations = inFlightInvocations;
+    }
+
+    /**
+     * Start recording this invocation's timings, counting it as submitted from now.
+     *
+     * @param methodMetrics The metrics of the method being invoked.
+     * @param queueMetrics The metrics of the queue it is submitted to.
+     */
+    public void setMetrics(final AsynchronousMetrics methodMetrics, final AsynchronousMetrics queueMetrics) {
+        this.methodMetrics = methodMetrics;
+        this.queueMetrics = queueMetrics;
+        this.submittedNanos = System.nanoTime();
+        methodMetrics.submitted();
+        queueMetrics.submitted();
+    }
+
+    /**
+     * The provider refused this invocation, so it will never be run. Nobody else will be told,
+     * so the caller is expected to throw.
+     */
+    public void submissionFailed() {
+        if (queueStatus != null) {
+            queueStatus.abandoned(this);
+        }
+        countAbandoned();
+        leaveInFlight();
+    }
+
+    /**
+     * @return True once #{@literal executeInvocationContext()} has been called.
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
     /**
      * Set to true if the #{@link InvocationContext} returns a "dummy" #{@link Future}.
      * In that case we need to explicitly pop the return value out of it as it will have
@@ -69,6 +181,80 @@ public class Invoker {
         this.methodReturnsFuture = methodReturnsFuture;
     }
 
+    /**
+     * Set to true if the #{@link InvocationContext} returns a "dummy" #{@link CompletionStage}
+     * (eg: an #{@link AsyncCompletableResult}). In that case the value is popped out of it and 
+     * used to complete the #{@link CompletableFuture} returned by #{@literal getCompletion()}.
+     * @param methodReturnsCompletionStage 
+     */
+    protected void setMethodReturnsCompletionStage(final boolean methodReturnsCompletionStage) {
+        this.methodReturnsCompletionStage = methodReturnsCompletionStage;
+        if (methodReturnsCompletionStage) {
+            createCompletion();
+        }
+    }
+
+    /**
+     * @return A #{@link CompletableFuture} which is completed (normally or exceptionally) by
+     * #{@literal executeInvocationContext()} with the method's result, whether or not an observer of
+     * the post-execution event fails, or null if the method does not return a #{@link CompletionStage}.
+     */
+    public CompletableFuture<Object> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * @return The #{@link Future} to hand to the caller of a method which returns one. It is completed
+     * at the end of #{@literal executeInvocationContext()}, or exceptionally if the invocation is
+     * abandoned, and cancelling it withdraws the invocation if it hasn't started.
+     */
+    public Future<Object> getFuture() {
+        if (invocationFuture == null) {
+            invocationFuture = new InvocationFuture(this, createCompletion());
+        }
+        return invocationFuture;
+    }
+
+    /**
+     * Hand this invocation to the provider, through its #{@link DispatchLane} if it has one.
+     *
+     * @param provider Runs the invocation.
+     * @throws RuntimeException If the provider or the lane refused the invocation.
+     */
+    public void dispatch(final CronAsynchronousProvider provider) {
+        if (dispatchLane != null) {
+            dispatchLane.submit(provider, this);
+        } else {
+            handOver(provider);
+        }
+    }
+
+    /**
+     * Hand this invocation straight to the provider, unless it was withdrawn while it was held back.
+     * An invocation whose caller has a #{@link Future} is handed over with
+     * #{@literal executeAndReturnFuture}, so that cancelling the caller's #{@link Future} can cancel
+     * the provider's too.
+     *
+     * @param provider Runs the invocation.
+     * @throws RuntimeException If the provider refused the invocation.
+     */
+    public void handOver(final CronAsynchronousProvider provider) {
+        final boolean skip;
+        synchronized (this) {
+            skip = withdrawn;
+        }
+        if (skip) {
+            releaseLane();
+            return;
+        }
+        final String queueId = descriptor == null ? null : descriptor.getQueueId();
+        if (invocationFuture != null) {
+            providerFuture = provider.executeAndReturnFuture(queueId, this);
+        } else {
+            provider.executeWithoutReturn(queueId, this);
+        }
+    }
+
     /**
      * Execute the #{@link InvocationContext}, unwrap the results from their #{@link AsyncResult}
      * if necessary and fire a post-execution event.
@@ -92,45 +278,262 @@ public class Invoker {
             log.trace("Running Invocation Context for " + method.getName());
         }
 
-        // grab qualifiers from the method to use for the post-execution event
-        final ArrayList<Annotation> qualifiers = new ArrayList<Annotation>();
-        for (Annotation ant : method.getAnnotations()) {
-            if (beanMan.isQualifier(ant.annotationType())) {
-                qualifiers.add(ant);
-            }
+        // qualifiers from the method to use for the post-execution event
+        if (descriptor == null) {
+            descriptor = AsynchronousMethodDescriptor.describe(method, beanMan);
         }
 
-        ic.getContextData().put(INVOKED_IN_THREAD, Boolean.TRUE);
+        final boolean skip;
+        synchronized (this) {
+            skip = withdrawn;
+            started = !skip;
+        }
+        if (skip) {
+            // its caller has already been told, so the provider is just running out its queue
+            releaseLane();
+            return null;
+        }
         try {
-            result = ic.proceed();
-            if (methodReturnsFuture) {
-                // pop the value out of the "dummy" AsynchResult as it will be wrapped
-                // in proper AsynchResult by the AsynchronousInterceptor
-                result = ((Future) result).get();
+            if (queueStatus != null) {
+                queueStatus.start(this);
             }
-        } catch (Exception e) {
-            result = null;
+            final long startNanos = System.nanoTime();
+            if (methodMetrics != null) {
+                methodMetrics.started(startNanos - submittedNanos);
+                queueMetrics.started(startNanos - submittedNanos);
+            }
+
+            ic.getContextData().put(INVOKED_IN_THREAD, Boolean.TRUE);
+            try {
+                result = ic.proceed();
+                if (methodReturnsCompletionStage) {
+                    // pop the value out of the "dummy" CompletionStage, it will be delivered via the completion instead
+                    try {
+                        result = ((CompletionStage) result).toCompletableFuture().get();
+                    } catch (ExecutionException ee) {
+                        throw ee.getCause() instanceof Exception ? (Exception) ee.getCause() : ee;
+                    }
+                } else if (methodReturnsFuture) {
+                    // pop the value out of the "dummy" AsynchResult as it will be wrapped
+                    // in proper AsynchResult by the AsynchronousInterceptor
+                    result = ((Future) result).get();
+                }
+            } catch (Exception e) {
+                result = null;
+                this.exception = e;
+            }
+            final long executedNanos = System.nanoTime();
+            if (queueStatus != null) {
+                queueStatus.finished(this, exception != null);
+            }
+            // fire the post execution event if a result was returned.
+            if (result != null) {
+                if (log.isTraceEnabled()) {
+                    log.trace("Firing post execution event result: " + result);
+                }
+                try {
+                    beanMan.fireEvent(result, descriptor.getQualifiers());
+                } finally {
+                    recordFinished(executedNanos - startNanos, System.nanoTime() - executedNanos);
+                    // the caller gets the method's result even if an observer of it failed
+                    complete(result);
+                }
+            } else {
+                recordFinished(executedNanos - startNanos, -1);
+                if (log.isTraceEnabled()) {
+                    if (method.getReturnType().equals(Void.TYPE)) {
+                        log.trace("Method invocation on " + method.getName() + ":" + method.getClass().getName()
+                                + " returns void, so not firing a post-execution event");
+                    } else {
+                        log.trace("Method invocation on " + method.getName() + ":" + method.getClass().getName()
+                                + " returned null, so not firing an event");
+                    }
+                }
+                complete(null);
+            }
+
+            return result;
+        } catch (Throwable t) {
+            // eg: an Error thrown by the method. Does nothing if the caller has already been told
+            if (completion != null) {
+                completion.completeExceptionally(t);
+            }
+            throw t;
+        } finally {
+            releaseLane();
+            leaveInFlight();
+        }
+    }
+
+    /**
+     * The invocation will never be run, eg: because the provider refused it after it had waited
+     * in a #{@link DispatchLane}, or its queue's restriction failed. Its caller is told via the
+     * #{@link CompletableFuture} or #{@link Future}, if any.
+     *
+     * @param e Why it won't run.
+     */
+    public void reject(final Exception e) {
+        if (queueStatus != null) {
+            queueStatus.abandoned(this);
+        }
+        abandon(e);
+        leaveInFlight();
+    }
+
+    /**
+     * The application is shutting down and won't wait any longer for this invocation. Its caller's
+     * #{@link CompletableFuture} or #{@link Future}, if any, completes exceptionally with the given
+     * exception rather than being cancelled. An invocation which hasn't started yet never will (the
+     * provider skips it if it gets to it), but one which is running is left to finish.
+     *
+     * @param e Why it was abandoned.
+     * @return True if the invocation was running, false if it hadn't started.
+     */
+    public boolean abandonAtShutdown(final Exception e) {
+        final boolean running;
+        synchronized (this) {
+            running = started;
+            withdrawn = true;
+        }
+        if (!running) {
+            if (queueStatus != null) {
+                queueStatus.abandoned(this);
+            }
+            countAbandoned();
             this.exception = e;
         }
-        // fire the post execution event if a result was returned.
-        if (result != null) {
-            if (log.isTraceEnabled()) {
-                log.trace("Firing post execution event result: " + result);
+        if (completion != null) {
+            completion.completeExceptionally(e);
+        }
+        leaveInFlight();
+        return running;
+    }
+
+    /**
+     * @return The name of the invoked method, qualified by its declaring class.
+     */
+    public String getMethodName() {
+        if (ic == null || ic.getMethod() == null) {
+            return "unknown method";
+        }
+        return ic.getMethod().getDeclaringClass().getName() + "." + ic.getMethod().getName();
+    }
+
+    /**
+     * Cancel the caller's #{@link Future} (see #{@link InvocationFuture}).
+     */
+    boolean cancel(final boolean mayInterruptIfRunning) {
+        // withdraws the invocation via cancelled(), if it hasn't started
+        final boolean cancelled = completion.cancel(mayInterruptIfRunning);
+        final Future<?> future = providerFuture;
+        if (cancelled && mayInterruptIfRunning && started && future != null) {
+            future.cancel(true);
+        }
+        return cancelled;
+    }
+
+    /**
+     * The caller cancelled its #{@link Future} or #{@link CompletionStage}, so if the invocation
+     * hasn't started it never will: it no longer counts as queued or in flight.
+     */
+    private void cancelled() {
+        synchronized (this) {
+            if (started || withdrawn) {
+                return;
             }
-            beanMan.fireEvent(result, qualifiers.toArray(new Annotation[qualifiers.size()]));
-        } else {
-            if (log.isTraceEnabled()) {
-                if (method.getReturnType().equals(Void.TYPE)) {
-                    log.trace("Method invocation on " + method.getName() + ":" + method.getClass().getName()
-                            + " returns void, so not firing a post-execution event");
-                } else {
-                    log.trace("Method invocation on " + method.getName() + ":" + method.getClass().getName()
-                            + " returned null, so not firing an event");
+            withdrawn = true;
+        }
+        if (queueStatus != null) {
+            queueStatus.abandoned(this);
+        }
+        countAbandoned();
+        leaveInFlight();
+        final Future<?> future = providerFuture;
+        if (future != null) {
+            if (future.cancel(false)) {
+                // the provider may never call back now, so give up the lane's slot here
+                releaseLane();
+            }
+        } else if (dispatchLane != null) {
+            // if it was handed over after all, its slot is given up when the provider runs it
+            dispatchLane.withdraw(this);
+        }
+    }
+
+    /**
+     * Tell the caller how the method ended, if it has a #{@link CompletableFuture} or #{@link Future}.
+     */
+    private void complete(final Object result) {
+        if (completion != null) {
+            if (exception != null) {
+                completion.completeExceptionally(exception);
+            } else {
+                completion.complete(result);
+            }
+        }
+    }
+
+    private CompletableFuture<Object> createCompletion() {
+        if (completion == null) {
+            completion = new CompletableFuture<Object>();
+            completion.whenComplete(new BiConsumer<Object, Throwable>() {
+
+                public void accept(final Object result, final Throwable failure) {
+                    if (failure instanceof CancellationException) {
+                        cancelled();
+                    }
                 }
+            });
+        }
+        return completion;
+    }
+
+    /**
+     * Free the slot this invocation occupies in its #{@link DispatchLane}, if it has one, once only.
+     */
+    private void releaseLane() {
+        final DispatchLane lane;
+        synchronized (this) {
+            if (dispatchLane == null || laneReleased) {
+                return;
             }
+            laneReleased = true;
+            lane = dispatchLane;
         }
+        lane.finished();
+    }
 
-        return result;
+    private void leaveInFlight() {
+        if (inFlightInvocations != null) {
+            inFlightInvocations.finished(this);
+        }
+    }
+
+    private void recordFinished(final long executionNanos, final long eventFiringNanos) {
+        if (methodMetrics != null) {
+            methodMetrics.finished(executionNanos, eventFiringNanos, exception != null);
+            queueMetrics.finished(executionNanos, eventFiringNanos, exception != null);
+        }
+    }
+
+    private void countAbandoned() {
+        if (methodMetrics != null) {
+            methodMetrics.abandoned();
+            queueMetrics.abandoned();
+        }
+    }
+
+    /**
+     * The invocation never ran, because it couldn't be handed to the provider or admitted to its queue.
+     */
+    private Object abandon(final Exception e) {
+        log.warn("Asynchronous invocation of " + ic.getMethod().getName() + " was abandoned", e);
+        countAbandoned();
+        this.exception = e;
+        if (completion != null) {
+            completion.completeExceptionally(e);
+        }
+        return null;
     }
 
     public Exception getException() {
@@ -0,0 +1,144 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.asynchronous.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.jboss.seam.cron.spi.scheduling.metrics.LatencyHistogram;
+
+/**
+ * What the #{@link AsynchronousMetricsRegistry} has recorded about the asynchronous invocations
+ * of one method or one queue. The #{@link org.jboss.seam.cron.spi.asynchronous.Invoker} updates
+ * it for every invocation, whichever provider runs it. Nothing is allocated per invocation.
+ *
+ * @author agent
+ */
+public final class AsynchronousMetrics {
+
+    private final String name;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+    private final LatencyHistogram queueingDelay = new LatencyHistogram();
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+    private final LatencyHistogram eventFiringTime = new LatencyHistogram();
+
+    AsynchronousMetrics(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * An invocation has been handed to the asynchronous provider.
+     */
+    public void submitted() {
+        submitted.increment();
+        inFlight.increment();
+    }
+
+    /**
+     * A submitted invocation will never run.
+     */
+    public void abandoned() {
+        abandoned.increment();
+        inFlight.decrement();
+    }
+
+    /**
+     * @param queueingNanos How long the invocation waited between being submitted and starting.
+     */
+    public void started(final long queueingNanos) {
+        queueingDelay.record(queueingNanos);
+    }
+
+    /**
+     * @param executionNanos How long the method took.
+     * @param eventFiringNanos How long the observers of the post-execution event took, or
+     * less than 0 if no event was fired.
+     * @param failure True if the method threw an exception.
+     */
+    public void finished(final long executionNanos, final long eventFiringNanos, final boolean failure) {
+        executionTime.record(executionNanos);
+        if (eventFiringNanos >= 0) {
+            eventFiringTime.record(eventFiringNanos);
+        }
+        if (failure) {
+            failed.increment();
+        } else {
+            completed.increment();
+        }
+        inFlight.decrement();
+    }
+
+    /**
+     * @return The method or queue these metrics are for.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return The number of invocations submitted but not yet finished, whether queued or running.
+     */
+    public long getInFlightCount() {
+        return inFlight.sum();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getAbandonedCount() {
+        return abandoned.sum();
+    }
+
+    /**
+     * @return How long invocations waited between being submitted and starting, in nanoseconds.
+     */
+    public LatencyHistogram getQueueingDelay() {
+        return queueingDelay;
+    }
+
+    /**
+     * @return How long the method took, in nanoseconds.
+     */
+    public LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * @return How long firing the post-execution event took, in nanoseconds.
+     */
+    public LatencyHistogram getEventFiringTime() {
+        return eventFiringTime;
+    }
+
+    @Override
+    public String toString() {
+        return "AsynchronousMetrics{" + name + ": submitted=" + getSubmittedCount() + ", inFlight=" + getInFlightCount()
+                + ", completed=" + getCompletedCount() + ", failed=" + getFailedCount() + ", queueingNanos={"
+                + queueingDelay + "}, executionNanos={" + executionTime + "}}";
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.asynchronous.metrics;
+
+import java.util.List;
+
+/**
+ * The JMX view of the #{@link AsynchronousMetricsRegistry}, registered as
+ * #{@literal org.jboss.seam.cron:type=AsynchronousMetrics}. Times are in nanoseconds.
+ *
+ * @author agent
+ */
+public interface AsynchronousMetricsMXBean {
+
+    /**
+     * @return The metrics of each #{@literal @Asynchronous} method invoked so far.
+     */
+    List<AsynchronousMetricsSnapshot> getMethods();
+
+    /**
+     * @return The metrics of each queue used so far. Invocations not in a named queue are under #{@literal default}.
+     */
+    List<AsynchronousMetricsSnapshot> getQueues();
+
+    /**
+     * @return The number of invocations submitted but not yet finished, across all methods.
+     */
+    long getInFlightCount();
+}
@@ -0,0 +1,155 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.asynchronous.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.enterprise.inject.Typed;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Keeps #{@link AsynchronousMetrics} for each #{@literal @Asynchronous} method and each queue
+ * for as long as the application runs. There is one registry per application, owned by the
+ * #{@link org.jboss.seam.cron.spi.SeamCronExtension}; it can be injected, and is also
+ * published through JMX (see #{@link AsynchronousMetricsMXBean}).
+ * </p>
+ *
+ * @author agent
+ */
+@Typed()
+public final class AsynchronousMetricsRegistry implements AsynchronousMetricsMXBean {
+
+    public static final String OBJECT_NAME = "org.jboss.seam.cron:type=AsynchronousMetrics";
+    public static final String DEFAULT_QUEUE = "default";
+    private static final Logger log = LoggerFactory.getLogger(AsynchronousMetricsRegistry.class);
+    private final ConcurrentMap<Method, AsynchronousMetrics> methods = new ConcurrentHashMap<Method, AsynchronousMetrics>();
+    private final ConcurrentMap<String, AsynchronousMetrics> queues = new ConcurrentHashMap<String, AsynchronousMetrics>();
+    private ObjectName registeredName = null;
+
+    /**
+     * @param method An #{@literal @Asynchronous} method.
+     * @return The method's metrics, created on first use.
+     */
+    public AsynchronousMetrics forMethod(final Method method) {
+        AsynchronousMetrics metrics = methods.get(method);
+        if (metrics == null) {
+            final AsynchronousMetrics created = new AsynchronousMetrics(method.getDeclaringClass().getName() + "." + method.getName());
+            metrics = methods.putIfAbsent(method, created);
+            if (metrics == null) {
+                metrics = created;
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * @param queueId The id of a queue, or null for invocations not in a named queue.
+     * @return The queue's metrics, created on first use.
+     */
+    public AsynchronousMetrics forQueue(final String queueId) {
+        final String key = queueId == null ? DEFAULT_QUEUE : queueId;
+        AsynchronousMetrics metrics = queues.get(key);
+        if (metrics == null) {
+            final AsynchronousMetrics created = new AsynchronousMetrics(key);
+            metrics = queues.putIfAbsent(key, created);
+            if (metrics == null) {
+                metrics = created;
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * @return The metrics of every method invoked so far.
+     */
+    public List<AsynchronousMetrics> getMethodMetrics() {
+        return Collections.unmodifiableList(new ArrayList<AsynchronousMetrics>(methods.values()));
+    }
+
+    /**
+     * @return The metrics of every queue used so far.
+     */
+    public List<AsynchronousMetrics> getQueueMetrics() {
+        return Collections.unmodifiableList(new ArrayList<AsynchronousMetrics>(queues.values()));
+    }
+
+    public List<AsynchronousMetricsSnapshot> getMethods() {
+        return snapshot(methods.values());
+    }
+
+    public List<AsynchronousMetricsSnapshot> getQueues() {
+        return snapshot(queues.values());
+    }
+
+    public long getInFlightCount() {
+        long inFlight = 0;
+        for (AsynchronousMetrics metrics : methods.values()) {
+            inFlight += metrics.getInFlightCount();
+        }
+        return inFlight;
+    }
+
+    /**
+     * Publish this registry through the platform MBean server. If another application has
+     * already registered one under the same name, a warning is logged and this one is not published.
+     */
+    public synchronized void registerMBean() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                log.warn("Not publishing asynchronous metrics through JMX, as " + OBJECT_NAME + " is already registered");
+                return;
+            }
+            server.registerMBean(new StandardMBean(this, AsynchronousMetricsMXBean.class, true), name);
+            registeredName = name;
+        } catch (JMException ex) {
+            log.warn("Could not publish asynchronous metrics through JMX", ex);
+        }
+    }
+
+    public synchronized void unregisterMBean() {
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException ex) {
+            log.warn("Could not unpublish asynchronous metrics from JMX", ex);
+        }
+        registeredName = null;
+    }
+
+    private static List<AsynchronousMetricsSnapshot> snapshot(final Iterable<AsynchronousMetrics> metrics) {
+        final List<AsynchronousMetricsSnapshot> snapshots = new ArrayList<AsynchronousMetricsSnapshot>();
+        for (AsynchronousMetrics each : metrics) {
+            snapshots.add(new AsynchronousMetricsSnapshot(each));
+        }
+        return snapshots;
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.asynchronous.metrics;
+
+import org.jboss.seam.cron.spi.scheduling.metrics.LatencyHistogram;
+
+/**
+ * A point-in-time copy of one #{@link AsynchronousMetrics}, in a form JMX clients can read
+ * without Seam Cron on their classpath. Times are in nanoseconds.
+ *
+ * @author agent
+ */
+public class AsynchronousMetricsSnapshot {
+
+    private final String name;
+    private final long submittedCount;
+    private final long inFlightCount;
+    private final long completedCount;
+    private final long failedCount;
+    private final long queueingDelayP50;
+    private final long queueingDelayP99;
+    private final long queueingDelayMax;
+    private final long executionTimeP50;
+    private final long executionTimeP99;
+    private final long executionTimeMax;
+    private final long eventFiringTimeP99;
+
+    public AsynchronousMetricsSnapshot(final AsynchronousMetrics metrics) {
+        this.name = metrics.getName();
+        this.submittedCount = metrics.getSubmittedCount();
+        this.inFlightCount = metrics.getInFlightCount();
+        this.completedCount = metrics.getCompletedCount();
+        this.failedCount = metrics.getFailedCount();
+        final LatencyHistogram queueing = metrics.getQueueingDelay();
+        this.queueingDelayP50 = queueing.getValueAtPercentile(50);
+        this.queueingDelayP99 = queueing.getValueAtPercentile(99);
+        this.queueingDelayMax = queueing.getMax();
+        final LatencyHistogram execution = metrics.getExecutionTime();
+        this.executionTimeP50 = execution.getValueAtPercentile(50);
+        this.executionTimeP99 = execution.getValueAtPercentile(99);
+        this.executionTimeMax = execution.getMax();
+        this.eventFiringTimeP99 = metrics.getEventFiringTime().getValueAtPercentile(99);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount;
+    }
+
+    public long getInFlightCount() {
+        return inFlightCount;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public long getQueueingDelayP50() {
+        return queueingDelayP50;
+    }
+
+    public long getQueueingDelayP99() {
+        return queueingDelayP99;
+    }
+
+    public long getQueueingDelayMax() {
+        return queueingDelayMax;
+    }
+
+    public long getExecutionTimeP50() {
+        return executionTimeP50;
+    }
+
+    public long getExecutionTimeP99() {
+        return executionTimeP99;
+    }
+
+    public long getExecutionTimeMax() {
+        return executionTimeMax;
+    }
+
+    public long getEventFiringTimeP99() {
+        return eventFiringTimeP99;
+    }
+}
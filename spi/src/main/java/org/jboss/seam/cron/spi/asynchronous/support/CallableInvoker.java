@@ -16,72 +16,93 @@
  */
 package org.jboss.seam.cron.spi.asynchronous.support;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import org.jboss.seam.cron.spi.asynchronous.Invoker;
 
 /**
  * <p>
- * Creates a #{@link Callable} whose #{@literal call} method will block until 
- * the #{@literal executeInvocationContext()} method is called. This comes in
- * handy when returning Futures (eg: #{@literal new FutureTask(
- new CallableInvoker(invoker))}).
+ * Wraps an #{@link Invoker} in a #{@link Future} which is completed by whichever
+ * thread calls #{@literal executeInvocationContext()}. This comes in handy when
+ * your method of executing in the background is fairly arbitrary (eg a Quartz Job
+ * scheduled for the near future): you can return #{@literal getFuture()} to the
+ * caller immediately and the job itself will complete it, so no extra thread needs
+ * to be parked waiting for the job to finish.
+ * </p>
  * <p>
- * In the simplest case #{@literal executeInvocationContext()} could be called 
- * in the same thread prior to calling #{@literal call()}. This is useful when 
- * your method of executing in the background is also #{@link Runnable} or 
- * Callable and can thus be used to return a RunnableFuture.
+ * If the #{@link Future} is cancelled before the job gets around to calling
+ * #{@literal executeInvocationContext()} then the method will not be invoked at all.
+ * </p>
  * <p>
- * In more complex cases #{@literal executeInvocationContext()} could be called 
- * by a separate thread at any time before or after the current thread calls 
- * #{@literal call()}. This is useful when your method of executing in the background is 
- * fairly arbitrary (eg a Quartz Job scheduled for the near future), and you need
- * to be able to return a #{@literal new FutureTask(callable)} immediately
- * but trigger the processing on that callable some arbitrary way (ie: inside the
- * Quartz Job implementation).
+ * This class is also a #{@link Callable} whose #{@literal call} method will block until 
+ * the #{@literal executeInvocationContext()} method has been called, for providers
+ * which prefer to wrap it in their own #{@link FutureTask}. In the simplest case
+ * #{@literal executeInvocationContext()} could be called in the same thread prior to
+ * calling #{@literal call()}. This is useful when your method of executing in the
+ * background is also #{@link Runnable} or Callable and can thus be used to return
+ * a RunnableFuture.
  * </p>
  * <p>
- * See the Seam Cron Asynchronous Provider projects for the Threads and Quartz providers
- * to see this in action (providers/scheduling/quartz and providers/asynchronous/threads).
+ * See the Seam Cron Asynchronous Provider projects for the Threads, Quartz and QueuJ providers
+ * to see this in action (providers/asynchronous/*).
  * </p>
  *
  * @author peteroyle
  */
 public class CallableInvoker implements Callable {
 
-    private Invoker executor;
-    private final BlockingQueue queue = new ArrayBlockingQueue(1);
-    // can't add null to a BlockingQueue, so we might have to add a marker instead
-    private static final String RESULT_AS_NULL = "CRONRESULT_ASNULL";
+    private final Invoker executor;
+    private final FutureTask future;
 
     public CallableInvoker(final Invoker executor) {
         this.executor = executor;
+        this.future = new FutureTask(new Callable() {
+            public Object call() throws Exception {
+                Object result = null;
+                try {
+                    result = executor.executeInvocationContext();
+                } catch (Exception e) {
+                    // exceptions from the method itself will have been saved for use during Future.get(),
+                    // anything else is a problem with the invocation and needs to be reported directly
+                    if (executor.getException() == null) {
+                        throw e;
+                    }
+                }
+                // This is where we need to re-throw any exception which may have occurred during executeInvocationContext()
+                if (executor.getException() != null) {
+                    throw executor.getException();
+                }
+                return result;
+            }
+        });
     }
 
+    /**
+     * Invoke the method and complete the #{@link Future} returned by #{@literal getFuture()}
+     * with its result or exception. Does nothing if the #{@link Future} has already been cancelled.
+     */
     public void executeInvocationContext() throws Exception {
-        Object result = null;
-        try {
-            result = executor.executeInvocationContext();
-        } catch (Exception e) {
-            // the executeInvocationContext method call will have saved the exception for later use during Future.get()
-        }
-        if (result == null) {
-            result = RESULT_AS_NULL;
-        }
-        queue.put(result);
+        future.run();
+    }
+
+    /**
+     * @return A #{@link Future} which completes once #{@literal executeInvocationContext()} has been called.
+     */
+    public Future getFuture() {
+        return future;
     }
 
     public Object call() throws Exception {
-        Object result = queue.take();
-        if (result == RESULT_AS_NULL) {
-            result = null;
-        }
-        // This is where we need to re-throw any exception which may ave occurred during executeInvocationContext()
-        if (executor.getException() != null) {
-            throw executor.getException();
+        try {
+            return future.get();
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof Exception) {
+                throw (Exception) ee.getCause();
+            }
+            throw ee;
         }
-        return result;
     }
         
 }
@@ -17,6 +17,8 @@
 package org.jboss.seam.cron.spi.queue;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.spi.AnnotatedMethod;
@@ -52,28 +54,8 @@ public class CronQueueInstaller {
     public void initProviderQueue(final BeanManager manager, final CronQueueProvider queueProvider, 
             final Set<ProcessObserverMethod> allObservers) {
         try {
-            for (ProcessObserverMethod pom : allObservers) {
-                ObserverMethod<?> obsMeth = pom.getObserverMethod();
-                AnnotatedMethod<?> annMeth = pom.getAnnotatedMethod();
-                Queue queueQualifier = null;
-                AsyncRestriction restrictQualifier = null;
-
-                for (Object bindingObj : obsMeth.getObservedQualifiers()) {
-                    final Annotation originalQualifier = (Annotation) bindingObj;
-
-                    AsyncRestriction restrictQualifier0 = (AsyncRestriction) CdiUtils.getQualifier(originalQualifier, AsyncRestriction.class);
-                    if (restrictQualifier0 != null && restrictQualifier == null)
-                        restrictQualifier = restrictQualifier0;
-
-                    Queue queueQualifier0 = (Queue) CdiUtils.getQualifier(originalQualifier, Queue.class);
-                    if (queueQualifier0 != null && queueQualifier == null)
-                        queueQualifier = queueQualifier0;
-                }
-
-                if (queueQualifier != null && restrictQualifier != null) {
-                    RestrictDetail restrictDetail = new RestrictDetail(obsMeth.getBeanClass(), annMeth.getJavaMember(), obsMeth.getObservedQualifiers(), queueQualifier.value());
-                    queueProvider.processAsynRestriction(restrictDetail);
-                }
+            for (RestrictDetail restrictDetail : findRestrictions(allObservers)) {
+                queueProvider.processAsynRestriction(restrictDetail);
             }
             queueProvider.finaliseQueues();
 
@@ -82,4 +64,35 @@ public class CronQueueInstaller {
             throw new CronProviderInitialisationException("Error registering queue restrictions with underlying provider", t);
         }
     }
+
+    /**
+     * @param allObservers All observer methods found by the extension.
+     * @return The details of each #{@link AsyncRestriction} observer method which names a #{@link Queue}.
+     */
+    public List<RestrictDetail> findRestrictions(final Set<ProcessObserverMethod> allObservers) {
+        final List<RestrictDetail> restrictions = new ArrayList<RestrictDetail>();
+        for (ProcessObserverMethod pom : allObservers) {
+            ObserverMethod<?> obsMeth = pom.getObserverMethod();
+            AnnotatedMethod<?> annMeth = pom.getAnnotatedMethod();
+            Queue queueQualifier = null;
+            AsyncRestriction restrictQualifier = null;
+
+            for (Object bindingObj : obsMeth.getObservedQualifiers()) {
+                final Annotation originalQualifier = (Annotation) bindingObj;
+
+                AsyncRestriction restrictQualifier0 = (AsyncRestriction) CdiUtils.getQualifier(originalQualifier, AsyncRestriction.class);
+                if (restrictQualifier0 != null && restrictQualifier == null)
+                    restrictQualifier = restrictQualifier0;
+
+                Queue queueQualifier0 = (Queue) CdiUtils.getQualifier(originalQualifier, Queue.class);
+                if (queueQualifier0 != null && queueQualifier == null)
+                    queueQualifier = queueQualifier0;
+            }
+
+            if (queueQualifier != null && restrictQualifier != null) {
+                restrictions.add(new RestrictDetail(obsMeth.getBeanClass(), annMeth.getJavaMember(), obsMeth.getObservedQualifiers(), queueQualifier.value()));
+            }
+        }
+        return restrictions;
+    }
 }
@@ -0,0 +1,68 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.queue;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands over invocations which were held back (by a queue's restriction or a lane's backlog)
+ * once they may run. They are usually released by an invocation as it finishes, on the thread
+ * which ran it, and the provider may run the next one on that same thread (eg: a caller-runs
+ * pool whose workers are all busy), so handing them over directly would nest each invocation
+ * inside the one before it. Instead, anything released while a thread is already handing over
+ * is queued, and handed over by the outermost call once the current one returns.
+ *
+ * @author agent
+ */
+final class DeferredDispatch {
+
+    private static final Logger log = LoggerFactory.getLogger(DeferredDispatch.class);
+    private static final ThreadLocal<Deque<Runnable>> queued = new ThreadLocal<Deque<Runnable>>();
+
+    private DeferredDispatch() {
+    }
+
+    /**
+     * @param dispatch Hands one invocation over, dealing with any failure itself.
+     */
+    static void run(final Runnable dispatch) {
+        Deque<Runnable> waiting = queued.get();
+        if (waiting != null) {
+            waiting.add(dispatch);
+            return;
+        }
+        waiting = new ArrayDeque<Runnable>();
+        queued.set(waiting);
+        try {
+            Runnable next = dispatch;
+            while (next != null) {
+                try {
+                    next.run();
+                } catch (RuntimeException ex) {
+                    // don't strand the ones queued behind it
+                    log.error("Failed to hand over a held back asynchronous invocation", ex);
+                }
+                next = waiting.poll();
+            }
+        } finally {
+            queued.remove();
+        }
+    }
+}
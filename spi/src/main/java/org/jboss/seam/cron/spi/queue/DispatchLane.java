@@ -0,0 +1,150 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.queue;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.jboss.seam.cron.spi.asynchronous.CronAsynchronousProvider;
+import org.jboss.seam.cron.spi.asynchronous.Invoker;
+
+/**
+ * <p>
+ * The dispatch lane of one #{@link org.jboss.seam.cron.api.queue.Queue}. At most
+ * #{@literal maxConcurrency} of the queue's invocations are handed to the asynchronous
+ * provider at once; the rest wait in the lane's backlog, which holds at most
+ * #{@literal backlog} invocations before further ones are rejected. When the
+ * #{@link LaneDispatcher} has a free slot and several lanes are waiting for one, it shares
+ * the slots between them in proportion to their #{@literal weight}.
+ * </p>
+ * <p>
+ * The counts are updated by the #{@link LaneDispatcher} and can be read at any time without
+ * locking.
+ * </p>
+ *
+ * @author agent
+ */
+public final class DispatchLane {
+
+    private final LaneDispatcher dispatcher;
+    private final String queueId;
+    private final int maxConcurrency;
+    private final int backlog;
+    private final int weight;
+    // guarded by the dispatcher
+    final Deque<Pending> pending = new ArrayDeque<Pending>();
+    int currentWeight = 0;
+    // written under the dispatcher's lock, read without it
+    volatile int runningCount = 0;
+    volatile int backlogCount = 0;
+
+    DispatchLane(final LaneDispatcher dispatcher, final String queueId, final int maxConcurrency, final int backlog,
+            final int weight) {
+        this.dispatcher = dispatcher;
+        this.queueId = queueId;
+        this.maxConcurrency = maxConcurrency;
+        this.backlog = backlog;
+        this.weight = weight;
+    }
+
+    /**
+     * Hand the invocation to the provider now if this lane and the dispatcher have a free slot,
+     * otherwise add it to this lane's backlog. The #{@link Invoker} must have been given this
+     * lane (see #{@literal setDispatchLane}) so that it frees the slot when it finishes.
+     *
+     * @param provider Runs the invocation.
+     * @param invoker The invocation.
+     * @throws org.jboss.seam.cron.impl.asynchronous.exception.AsynchronousMethodInvocationException If the backlog is full.
+     */
+    public void submit(final CronAsynchronousProvider provider, final Invoker invoker) {
+        dispatcher.submit(this, provider, invoker);
+    }
+
+    /**
+     * Take an invocation which will never run, eg: because its caller cancelled it, out of this
+     * lane's backlog.
+     *
+     * @param invoker The invocation.
+     * @return True if it was waiting in the backlog, false if it had already been handed to the
+     * provider (and so occupies a slot, which must still be freed via #{@link #finished()}).
+     */
+    public boolean withdraw(final Invoker invoker) {
+        return dispatcher.withdraw(this, invoker);
+    }
+
+    /**
+     * An invocation dispatched from this lane has finished (or will never start), so its slot
+     * can be given to the next waiting invocation.
+     */
+    public void finished() {
+        dispatcher.release(this);
+    }
+
+    /**
+     * @return The id of the queue, or null for invocations not in a named queue.
+     */
+    public String getQueueId() {
+        return queueId;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getBacklog() {
+        return backlog;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return The number of invocations handed to the provider which haven't finished yet.
+     */
+    public int getRunningCount() {
+        return runningCount;
+    }
+
+    /**
+     * @return The number of invocations waiting in this lane for a free slot.
+     */
+    public int getBacklogCount() {
+        return backlogCount;
+    }
+
+    @Override
+    public String toString() {
+        return "DispatchLane{" + queueId + ": running=" + runningCount + "/" + maxConcurrency + ", backlog="
+                + backlogCount + "/" + backlog + ", weight=" + weight + "}";
+    }
+
+    /**
+     * An invocation waiting in a lane's backlog, with the provider it will be handed to.
+     */
+    static final class Pending {
+
+        final DispatchLane lane;
+        final CronAsynchronousProvider provider;
+        final Invoker invoker;
+
+        Pending(final DispatchLane lane, final CronAsynchronousProvider provider, final Invoker invoker) {
+            this.lane = lane;
+            this.provider = provider;
+            this.invoker = invoker;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.queue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.jboss.seam.cron.api.exception.SchedulerConfigurationException;
+import org.jboss.seam.cron.impl.asynchronous.exception.AsynchronousMethodInvocationException;
+import org.jboss.seam.cron.spi.asynchronous.CronAsynchronousProvider;
+import org.jboss.seam.cron.spi.asynchronous.Invoker;
+import org.jboss.seam.cron.util.PropertyResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Limits how many asynchronous invocations of each queue are handed to the asynchronous
+ * provider at once, so that one busy queue can't take all of the provider's workers. Each
+ * queue is given a #{@link DispatchLane} if any of these properties is set for it in
+ * #{@literal cron.properties} or as a system property, where #{@literal <id>} is the queue id,
+ * or #{@literal default} for invocations not in a named queue:
+ * </p>
+ * <ul>
+ * <li>#{@literal org.jboss.seam.cron.queue.<id>.maxConcurrency}: the most invocations running at once (default: unlimited)</li>
+ * <li>#{@literal org.jboss.seam.cron.queue.<id>.backlog}: the most invocations waiting to run before more are rejected (default: unlimited)</li>
+ * <li>#{@literal org.jboss.seam.cron.queue.<id>.weight}: the lane's share of free slots when several are waiting (default: 1)</li>
+ * </ul>
+ * <p>
+ * If #{@literal org.jboss.seam.cron.queue.maxConcurrency} is set (usually to the size of the
+ * provider's worker pool), it limits the invocations running across all queues, and every
+ * queue gets a lane. Whenever a slot is freed it goes to a waiting lane chosen by smooth
+ * weighted round-robin, so a lane of weight 3 gets three slots for each one given to a lane
+ * of weight 1. Queues without a lane are handed straight to the provider, as before.
+ * </p>
+ *
+ * @author agent
+ */
+public final class LaneDispatcher {
+
+    public static final String PROPERTY_PREFIX = "org.jboss.seam.cron.queue.";
+    public static final String DEFAULT_QUEUE = "default";
+    public static final String MAX_CONCURRENCY = "maxConcurrency";
+    public static final String BACKLOG = "backlog";
+    public static final String WEIGHT = "weight";
+    private static final Logger log = LoggerFactory.getLogger(LaneDispatcher.class);
+    // stands in for "no lane" in the cache, which can't hold nulls
+    private final DispatchLane noLane = new DispatchLane(this, null, 0, 0, 0);
+    private final ConcurrentMap<String, DispatchLane> lanesByQueue = new ConcurrentHashMap<String, DispatchLane>();
+    // guarded by this
+    private final List<DispatchLane> lanes = new ArrayList<DispatchLane>();
+    private final int maxConcurrency;
+    private final boolean limited;
+    // written under this lock, read without it
+    private volatile int runningCount = 0;
+
+    public LaneDispatcher() {
+        final int configured = PropertyResolver.resolveInt(PROPERTY_PREFIX + MAX_CONCURRENCY, 0);
+        this.limited = configured > 0;
+        this.maxConcurrency = limited ? configured : Integer.MAX_VALUE;
+    }
+
+    /**
+     * @param queueId The id of a queue, or null for invocations not in a named queue.
+     * @return The queue's lane, or null if it has none and its invocations should be handed
+     * straight to the provider.
+     */
+    public DispatchLane getLane(final String queueId) {
+        final String key = queueId == null ? "" : queueId;
+        DispatchLane lane = lanesByQueue.get(key);
+        if (lane == null) {
+            lane = createLane(queueId, key);
+        }
+        return lane == noLane ? null : lane;
+    }
+
+    /**
+     * @return A snapshot of the lanes created so far, for reading their configuration and occupancy.
+     */
+    public synchronized List<DispatchLane> getLanes() {
+        return Collections.unmodifiableList(new ArrayList<DispatchLane>(lanes));
+    }
+
+    /**
+     * @return The most invocations running at once across all lanes, or #{@link Integer#MAX_VALUE} if unlimited.
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return The number of invocations running across all lanes.
+     */
+    public int getRunningCount() {
+        return runningCount;
+    }
+
+    private synchronized DispatchLane createLane(final String queueId, final String key) {
+        DispatchLane lane = lanesByQueue.get(key);
+        if (lane != null) {
+            return lane;
+        }
+        final String prefix = PROPERTY_PREFIX + (queueId == null ? DEFAULT_QUEUE : queueId) + ".";
+        if (limited || isSet(prefix + MAX_CONCURRENCY) || isSet(prefix + BACKLOG) || isSet(prefix + WEIGHT)) {
+            final int laneMax = PropertyResolver.resolveInt(prefix + MAX_CONCURRENCY, Integer.MAX_VALUE);
+            final int laneBacklog = PropertyResolver.resolveInt(prefix + BACKLOG, Integer.MAX_VALUE);
+            final int laneWeight = PropertyResolver.resolveInt(prefix + WEIGHT, 1);
+            if (laneMax < 1 || laneBacklog < 0 || laneWeight < 1) {
+                throw new SchedulerConfigurationException("Queue " + key
+                        + " needs a maxConcurrency and weight of at least 1 and a backlog of at least 0, but found "
+                        + laneMax + ", " + laneWeight + " and " + laneBacklog);
+            }
+            lane = new DispatchLane(this, queueId, laneMax, laneBacklog, laneWeight);
+            lanes.add(lane);
+            log.info("Created " + lane);
+        } else {
+            lane = noLane;
+        }
+        lanesByQueue.put(key, lane);
+        return lane;
+    }
+
+    void submit(final DispatchLane lane, final CronAsynchronousProvider provider, final Invoker invoker) {
+        synchronized (this) {
+            if (lane.pending.isEmpty() && hasFreeSlot(lane)) {
+                occupy(lane);
+            } else if (lane.pending.size() >= lane.getBacklog()) {
+                throw new AsynchronousMethodInvocationException("The backlog of queue " + lane.getQueueId()
+                        + " is full (" + lane.getBacklog() + " invocations)");
+            } else {
+                lane.pending.add(new DispatchLane.Pending(lane, provider, invoker));
+                lane.backlogCount = lane.pending.size();
+                return;
+            }
+        }
+        try {
+            invoker.handOver(provider);
+        } catch (RuntimeException ex) {
+            if (!invoker.isStarted()) {
+                release(lane);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * @return True if the invocation was still in the lane's backlog, and has been taken out of it.
+     */
+    synchronized boolean withdraw(final DispatchLane lane, final Invoker invoker) {
+        for (Iterator<DispatchLane.Pending> it = lane.pending.iterator(); it.hasNext();) {
+            if (it.next().invoker == invoker) {
+                it.remove();
+                lane.backlogCount = lane.pending.size();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void release(final DispatchLane lane) {
+        List<DispatchLane.Pending> next = null;
+        synchronized (this) {
+            lane.runningCount--;
+            runningCount--;
+            DispatchLane.Pending pending;
+            while ((pending = nextPending()) != null) {
+                if (next == null) {
+                    next = new ArrayList<DispatchLane.Pending>();
+                }
+                next.add(pending);
+            }
+        }
+        if (next != null) {
+            // hand them over outside the lock, and not beneath the invocation which just finished on
+            // this thread, as the provider may run them on this thread too
+            for (final DispatchLane.Pending pending : next) {
+                DeferredDispatch.run(new Runnable() {
+
+                    public void run() {
+                        dispatch(pending);
+                    }
+                });
+            }
+        }
+    }
+
+    private void dispatch(final DispatchLane.Pending pending) {
+        try {
+            pending.invoker.handOver(pending.provider);
+        } catch (RuntimeException ex) {
+            if (!pending.invoker.isStarted()) {
+                // nobody is waiting on the submitting thread any more, so fail the invocation itself
+                log.warn("The asynchronous provider rejected an invocation from the backlog of queue "
+                        + pending.lane.getQueueId(), ex);
+                pending.invoker.reject(ex);
+                release(pending.lane);
+            } else {
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Smooth weighted round-robin: every waiting lane earns its weight, the richest lane gets
+     * the slot and pays back the total earned, so slots are shared in proportion to weight
+     * without long runs of any one lane.
+     */
+    private DispatchLane.Pending nextPending() {
+        if (runningCount >= maxConcurrency) {
+            return null;
+        }
+        DispatchLane chosen = null;
+        int totalWeight = 0;
+        for (int i = 0; i < lanes.size(); i++) {
+            final DispatchLane lane = lanes.get(i);
+            if (lane.pending.isEmpty() || lane.runningCount >= lane.getMaxConcurrency()) {
+                continue;
+            }
+            lane.currentWeight += lane.getWeight();
+            totalWeight += lane.getWeight();
+            if (chosen == null || lane.currentWeight > chosen.currentWeight) {
+                chosen = lane;
+            }
+        }
+        if (chosen == null) {
+            return null;
+        }
+        chosen.currentWeight -= totalWeight;
+        occupy(chosen);
+        final DispatchLane.Pending pending = chosen.pending.poll();
+        chosen.backlogCount = chosen.pending.size();
+        return pending;
+    }
+
+    private boolean hasFreeSlot(final DispatchLane lane) {
+        return runningCount < maxConcurrency && lane.runningCount < lane.getMaxConcurrency();
+    }
+
+    private void occupy(final DispatchLane lane) {
+        lane.runningCount++;
+        runningCount++;
+    }
+
+    private static boolean isSet(final String key) {
+        final String value = PropertyResolver.resolve(key);
+        return value != null && value.trim().length() > 0;
+    }
+}
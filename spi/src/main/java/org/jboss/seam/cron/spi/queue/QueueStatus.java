@@ -0,0 +1,418 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.queue;
+
+import com.workplacesystems.utilsj.collections.FilterableArrayList;
+import com.workplacesystems.utilsj.collections.IterativeCallback;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import javax.interceptor.InvocationContext;
+import org.jboss.seam.cron.api.restriction.StatusIndexes;
+import org.jboss.seam.cron.spi.asynchronous.CronAsynchronousProvider;
+import org.jboss.seam.cron.spi.asynchronous.Invoker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Provider-neutral counts of the asynchronous invocations in one queue. The
+ * #{@link org.jboss.seam.cron.spi.asynchronous.AsynchronousInterceptor} and
+ * #{@link org.jboss.seam.cron.spi.asynchronous.Invoker} update them as invocations are
+ * submitted, start and finish, whichever asynchronous provider runs them, so providers
+ * needn't do anything. The counters are #{@link LongAdder}s: updating them doesn't contend
+ * and reading them takes no lock.
+ * </p>
+ * <p>
+ * If the queue has a restriction (see #{@link RestrictionMethod}) and no queue provider
+ * is installed to enforce it, #{@link #dispatch(CronAsynchronousProvider, Invoker)} only hands
+ * an invocation to the provider once the restriction admits it. Until then it waits here,
+ * without holding a thread, and the restriction is asked again whenever an invocation of the
+ * queue is submitted or finishes (or #{@link #reconsider()} is called). Invocations are
+ * admitted in the order they were submitted, one at a time, so that the counts a restriction
+ * sees include every invocation it has already let through. The invocations of a restricted
+ * queue are also kept, so that its restriction can iterate them as well as count them: those
+ * not yet run, those admitted, those waiting for admission and the last
+ * #{@value #FAILED_HISTORY} which failed.
+ * </p>
+ *
+ * @author agent
+ */
+public final class QueueStatus {
+
+    /**
+     * How many of the invocations of a restricted queue which failed are kept for
+     * #{@link StatusIndexes#iterateFailedProcesses(IterativeCallback)}.
+     */
+    public static final int FAILED_HISTORY = 100;
+    private static final Logger log = LoggerFactory.getLogger(QueueStatus.class);
+    private final String queueId;
+    private final LongAdder notRun = new LongAdder();
+    private final LongAdder running = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final StatusIndexes statusIndexes = new CounterStatusIndexes();
+    private volatile RestrictionMethod restriction;
+    // only kept while the queue has a restriction, and guarded by this
+    private final Set<Invoker> notRunInvocations = new LinkedHashSet<Invoker>();
+    private final Set<Invoker> admittedInvocations = new LinkedHashSet<Invoker>();
+    private final Deque<Deferred> deferred = new ArrayDeque<Deferred>();
+    private final Deque<QueuedInvocation> failedInvocations = new ArrayDeque<QueuedInvocation>();
+
+    public QueueStatus(final String queueId) {
+        this.queueId = queueId;
+    }
+
+    public String getQueueId() {
+        return queueId;
+    }
+
+    /**
+     * @param restriction Decides whether each invocation in this queue may start, or null for no
+     * restriction. It must be set before any invocations are submitted to the queue.
+     */
+    public void setRestriction(final RestrictionMethod restriction) {
+        this.restriction = restriction;
+    }
+
+    /**
+     * An invocation is about to be handed to the asynchronous provider.
+     *
+     * @param invoker The invocation.
+     */
+    public void submitted(final Invoker invoker) {
+        notRun.increment();
+        if (restriction != null) {
+            synchronized (this) {
+                notRunInvocations.add(invoker);
+            }
+        }
+    }
+
+    /**
+     * Hand a #{@link #submitted(Invoker)} invocation to the provider (see
+     * #{@link Invoker#dispatch(CronAsynchronousProvider)}), now if the queue has no restriction
+     * or the restriction admits it, otherwise once it does. An invocation is never held back in
+     * favour of a later one.
+     *
+     * @param provider Runs the invocation.
+     * @param invoker The invocation.
+     * @throws RuntimeException If the provider refused the invocation on the calling thread.
+     * The invocation is then still counted as not run, and should be #{@link #abandoned(Invoker)}.
+     */
+    public void dispatch(final CronAsynchronousProvider provider, final Invoker invoker) {
+        if (restriction == null) {
+            invoker.dispatch(provider);
+            return;
+        }
+        synchronized (this) {
+            deferred.add(new Deferred(provider, invoker));
+        }
+        admitDeferred(invoker);
+    }
+
+    /**
+     * Ask the restriction again about the invocations waiting for admission, eg: because it
+     * depends on more than this queue and that has changed.
+     */
+    public void reconsider() {
+        if (restriction != null) {
+            admitDeferred(null);
+        }
+    }
+
+    /**
+     * An invocation which was #{@link #submitted(Invoker)} will never start, eg: because the
+     * provider rejected it or its caller cancelled it.
+     *
+     * @param invoker The invocation.
+     */
+    public void abandoned(final Invoker invoker) {
+        if (restriction == null) {
+            notRun.decrement();
+            return;
+        }
+        final boolean wasAdmitted;
+        synchronized (this) {
+            wasAdmitted = admittedInvocations.remove(invoker);
+            if (wasAdmitted) {
+                running.decrement();
+            } else if (notRunInvocations.remove(invoker)) {
+                notRun.decrement();
+                for (Iterator<Deferred> it = deferred.iterator(); it.hasNext();) {
+                    if (it.next().invoker == invoker) {
+                        it.remove();
+                        break;
+                    }
+                }
+            }
+        }
+        if (wasAdmitted) {
+            // it was holding a place which the restriction may now give to another
+            admitDeferred(null);
+        }
+    }
+
+    /**
+     * An invocation is about to start. Invocations of a restricted queue were already
+     * counted as running when they were admitted.
+     *
+     * @param invoker The invocation.
+     */
+    public void start(final Invoker invoker) {
+        if (restriction == null) {
+            running.increment();
+            notRun.decrement();
+        }
+    }
+
+    /**
+     * An invocation which #{@link #start(Invoker)}ed has finished.
+     *
+     * @param invoker The invocation.
+     * @param failure True if it threw an exception.
+     */
+    public void finished(final Invoker invoker, final boolean failure) {
+        if (failure) {
+            failed.increment();
+        } else {
+            completed.increment();
+        }
+        if (restriction == null) {
+            running.decrement();
+            return;
+        }
+        synchronized (this) {
+            if (admittedInvocations.remove(invoker)) {
+                running.decrement();
+            }
+            if (failure) {
+                failedInvocations.add(describe(invoker));
+                if (failedInvocations.size() > FAILED_HISTORY) {
+                    failedInvocations.poll();
+                }
+            }
+        }
+        admitDeferred(null);
+    }
+
+    /**
+     * @return A view of the queue, suitable for passing to a restriction method. The counts are
+     * read without locking; the processes can only be iterated if the queue has a restriction,
+     * and are then #{@link QueuedInvocation}s.
+     */
+    public StatusIndexes getStatusIndexes() {
+        return statusIndexes;
+    }
+
+    public long getNotRunCount() {
+        return notRun.sum();
+    }
+
+    public long getRunningCount() {
+        return running.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "QueueStatus{" + queueId + ": notRun=" + getNotRunCount() + ", running=" + getRunningCount() + ", failed="
+                + getFailedCount() + ", completed=" + getCompletedCount() + "}";
+    }
+
+    /**
+     * Admit the invocations at the head of the queue for as long as the restriction lets them
+     * run. The one being submitted on this thread, if it is admitted, is handed over here so
+     * that a provider's refusal reaches its caller; the others are handed over via
+     * #{@link DeferredDispatch}, and fail on their own if the provider refuses them.
+     */
+    private void admitDeferred(final Invoker submitting) {
+        final RestrictionMethod restrictionMethod = restriction;
+        while (true) {
+            final Deferred next;
+            Exception refusal = null;
+            synchronized (this) {
+                next = deferred.peek();
+                if (next == null) {
+                    return;
+                }
+                boolean admit;
+                try {
+                    admit = restrictionMethod.canRun(statusIndexes);
+                } catch (Exception ex) {
+                    admit = false;
+                    refusal = ex;
+                }
+                if (refusal == null && !admit) {
+                    return;
+                }
+                deferred.poll();
+                if (refusal == null) {
+                    notRunInvocations.remove(next.invoker);
+                    admittedInvocations.add(next.invoker);
+                    running.increment();
+                    notRun.decrement();
+                }
+            }
+            if (refusal != null) {
+                // the invocation can't be judged, so it will never run
+                next.invoker.reject(refusal);
+            } else if (next.invoker == submitting) {
+                handOver(next, true);
+            } else {
+                DeferredDispatch.run(new Runnable() {
+
+                    public void run() {
+                        handOver(next, false);
+                    }
+                });
+            }
+        }
+    }
+
+    private void handOver(final Deferred admitted, final boolean rethrow) {
+        try {
+            admitted.invoker.dispatch(admitted.provider);
+        } catch (RuntimeException ex) {
+            if (admitted.invoker.isStarted()) {
+                throw ex;
+            }
+            synchronized (this) {
+                // back to not run, so that abandoning it counts it correctly
+                if (admittedInvocations.remove(admitted.invoker)) {
+                    running.decrement();
+                    notRun.increment();
+                    notRunInvocations.add(admitted.invoker);
+                }
+            }
+            if (rethrow) {
+                throw ex;
+            }
+            log.warn("The asynchronous provider rejected an invocation admitted to queue " + queueId, ex);
+            admitted.invoker.reject(ex);
+        }
+    }
+
+    private QueuedInvocation describe(final Invoker invoker) {
+        final InvocationContext ic = invoker.getInvocationContext();
+        return ic == null ? new QueuedInvocation(queueId, null, null)
+                : new QueuedInvocation(queueId, ic.getMethod(), ic.getParameters());
+    }
+
+    private FilterableArrayList<Object> snapshot(final Collection<Invoker> invokers) {
+        final FilterableArrayList<Object> processes = new FilterableArrayList<Object>(invokers.size());
+        for (Invoker invoker : invokers) {
+            processes.add(describe(invoker));
+        }
+        return processes;
+    }
+
+    private void checkRestricted() {
+        if (restriction == null) {
+            throw new UnsupportedOperationException("The processes of queue " + queueId + " are only kept while it has"
+                    + " a restriction. Use the countOf methods, or install a queue provider");
+        }
+    }
+
+    /**
+     * Counts are read straight from the counters. Processes are copied under the queue's lock,
+     * which a restriction method already holds while it is being asked.
+     */
+    private class CounterStatusIndexes implements StatusIndexes {
+
+        public int countOfNotRunProcesses() {
+            return (int) notRun.sum();
+        }
+
+        public int countOfRunningProcesses() {
+            return (int) running.sum();
+        }
+
+        public int countOfWaitingToRunProcesses() {
+            synchronized (QueueStatus.this) {
+                return deferred.size();
+            }
+        }
+
+        public int countOfFailedProcesses() {
+            return (int) failed.sum();
+        }
+
+        public <R> R iterateNotRunProcesses(IterativeCallback<Object, R> ic) {
+            checkRestricted();
+            final FilterableArrayList<Object> processes;
+            synchronized (QueueStatus.this) {
+                processes = snapshot(notRunInvocations);
+            }
+            return ic.iterate(processes);
+        }
+
+        public <R> R iterateRunningProcesses(IterativeCallback<Object, R> ic) {
+            checkRestricted();
+            final FilterableArrayList<Object> processes;
+            synchronized (QueueStatus.this) {
+                processes = snapshot(admittedInvocations);
+            }
+            return ic.iterate(processes);
+        }
+
+        public <R> R iterateWaitingToRunProcesses(IterativeCallback<Object, R> ic) {
+            checkRestricted();
+            final FilterableArrayList<Object> processes = new FilterableArrayList<Object>();
+            synchronized (QueueStatus.this) {
+                for (Deferred waiting : deferred) {
+                    processes.add(describe(waiting.invoker));
+                }
+            }
+            return ic.iterate(processes);
+        }
+
+        public <R> R iterateFailedProcesses(IterativeCallback<Object, R> ic) {
+            checkRestricted();
+            final FilterableArrayList<Object> processes;
+            synchronized (QueueStatus.this) {
+                processes = new FilterableArrayList<Object>(failedInvocations);
+            }
+            return ic.iterate(processes);
+        }
+    }
+
+    /**
+     * An invocation waiting for the restriction to admit it, with the provider it will be handed to.
+     */
+    private static final class Deferred {
+
+        final CronAsynchronousProvider provider;
+        final Invoker invoker;
+
+        Deferred(final CronAsynchronousProvider provider, final Invoker invoker) {
+            this.provider = provider;
+            this.invoker = invoker;
+        }
+    }
+}
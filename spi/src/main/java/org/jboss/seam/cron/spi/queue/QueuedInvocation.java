@@ -0,0 +1,64 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.queue;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * What a restriction method sees of each invocation when it iterates the processes of a queue
+ * (see #{@link org.jboss.seam.cron.api.restriction.StatusIndexes}) with no queue provider installed:
+ * the invoked method and the arguments it was called with.
+ *
+ * @author agent
+ */
+public final class QueuedInvocation {
+
+    private final String queueId;
+    private final Method method;
+    private final Object[] parameters;
+
+    public QueuedInvocation(final String queueId, final Method method, final Object[] parameters) {
+        this.queueId = queueId;
+        this.method = method;
+        this.parameters = parameters == null ? new Object[0] : parameters.clone();
+    }
+
+    /**
+     * @return The id of the queue, or null for invocations not in a named queue.
+     */
+    public String getQueueId() {
+        return queueId;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return A copy of the arguments the method was called with.
+     */
+    public Object[] getParameters() {
+        return parameters.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "QueuedInvocation{" + queueId + ": " + (method == null ? "unknown method" : method.getName())
+                + Arrays.toString(parameters) + "}";
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.queue;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import javax.enterprise.inject.spi.BeanManager;
+import org.jboss.seam.cron.api.exception.SchedulerConfigurationException;
+import org.jboss.seam.cron.api.restriction.StatusIndexes;
+import org.jboss.seam.cron.util.CdiUtils;
+
+/**
+ * Calls the #{@link org.jboss.seam.cron.api.restriction.AsyncRestriction} method described by a
+ * #{@link RestrictDetail}. Restrictions are asked about every queued invocation, so the bean
+ * is only resolved once (on first use, when the container is sure to be up) and the method
+ * is bound to it as a #{@link MethodHandle}.
+ *
+ * @author agent
+ */
+public class RestrictionMethod {
+
+    private static final MethodType RESTRICTION_TYPE = MethodType.methodType(boolean.class, StatusIndexes.class);
+    private final BeanManager beanManager;
+    private final RestrictDetail restrictDetail;
+    private volatile MethodHandle restriction;
+
+    public RestrictionMethod(final BeanManager beanManager, final RestrictDetail restrictDetail) {
+        this.beanManager = beanManager;
+        this.restrictDetail = restrictDetail;
+    }
+
+    /**
+     * @param statusIndexes The current state of the queue.
+     * @return The restriction method's verdict.
+     * @throws Exception Anything thrown by the restriction method.
+     */
+    public boolean canRun(final StatusIndexes statusIndexes) throws Exception {
+        MethodHandle bound = restriction;
+        if (bound == null) {
+            bound = bind();
+        }
+        try {
+            return (boolean) bound.invokeExact(statusIndexes);
+        } catch (Exception ex) {
+            throw ex;
+        } catch (Error er) {
+            throw er;
+        } catch (Throwable t) {
+            throw new Exception(t);
+        }
+    }
+
+    public RestrictDetail getRestrictDetail() {
+        return restrictDetail;
+    }
+
+    private synchronized MethodHandle bind() {
+        if (restriction != null) {
+            return restriction;
+        }
+        final Object instance = CdiUtils.getInstanceByType(beanManager, restrictDetail.getBeanClass(),
+                restrictDetail.getBindings().toArray(new Annotation[restrictDetail.getBindings().size()]));
+        if (instance == null) {
+            throw new SchedulerConfigurationException("Could not resolve the bean " + restrictDetail.getBeanClass().getName()
+                    + " declaring the restriction for queue " + restrictDetail.getQueueId());
+        }
+        final Method method = restrictDetail.getMethod();
+        try {
+            method.setAccessible(true);
+            restriction = MethodHandles.lookup().unreflect(method).bindTo(instance).asType(RESTRICTION_TYPE);
+        } catch (IllegalAccessException ex) {
+            throw new SchedulerConfigurationException("Could not access the restriction method " + method, ex);
+        }
+        return restriction;
+    }
+}
@@ -12,6 +12,7 @@ package org.jboss.seam.cron.spi.scheduling;
 import java.lang.annotation.Annotation;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.TimeZone;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.ObserverMethod;
@@ -23,6 +24,7 @@ import org.jboss.seam.cron.api.scheduling.Scheduled;
 import org.jboss.seam.cron.api.exception.SchedulerConfigurationException;
 import org.jboss.seam.cron.api.exception.CronProviderInitialisationException;
 import org.jboss.seam.cron.util.CdiUtils;
+import org.jboss.seam.cron.spi.scheduling.cron.PrecompiledSchedules;
 import org.jboss.seam.cron.spi.scheduling.trigger.IntervalTriggerDetail;
 import org.jboss.seam.cron.spi.scheduling.trigger.ScheduledTriggerDetail;
 import org.jboss.seam.cron.spi.scheduling.trigger.TriggerDetail;
@@ -41,6 +43,8 @@ public class CronSchedulingInstaller {
 
     @Inject
     private Logger log;
+    // this deployment's schedules which were compiled at build time by seam-cron-processor
+    private final PrecompiledSchedules precompiledSchedules = new PrecompiledSchedules();
 
     /**
      * Initializes schedulers for all of the observed scheduled events.
@@ -50,6 +54,9 @@ public class CronSchedulingInstaller {
     public void initProviderScheduling(final BeanManager manager, final CronSchedulingProvider scheduleProvider,
             final Set<ProcessObserverMethod> allObservers) {
         try {
+            // schedules compiled at build time by seam-cron-processor needn't be parsed again by the provider
+            final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            precompiledSchedules.load(contextClassLoader != null ? contextClassLoader : CronSchedulingInstaller.class.getClassLoader());
             // process the set of unique schedule specifications
             Set<TriggerDetail> configuredTriggers = new HashSet<TriggerDetail>();
             for (ProcessObserverMethod pom : allObservers) {
@@ -72,8 +79,8 @@ public class CronSchedulingInstaller {
                     // gather the details of all @Scheduled and @Every triggers
                     if (schedQualifier != null) {
                         String cronScheduleSpec = lookupNamedScheduleIfNecessary(schedQualifier.value());
-                        ScheduledTriggerDetail payload = new ScheduledTriggerDetail(cronScheduleSpec, orginalQualifier, obsMeth.
-                                getObservedQualifiers());
+                        ScheduledTriggerDetail payload = new ScheduledTriggerDetail(cronScheduleSpec,
+                                precompiledSchedules.get(cronScheduleSpec, TimeZone.getDefault()), orginalQualifier, obsMeth.getObservedQualifiers());
                         if (!configuredTriggers.contains(payload)) {
                             scheduleProvider.processScheduledTrigger(queueId, payload);
                             configuredTriggers.add(payload);
@@ -0,0 +1,660 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.cron;
+
+import java.io.Serializable;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * <p>
+ * A cron schedule compiled into bit masks, one bit per permitted second, minute, hour,
+ * day of the month, month and day of the week. Scheduling providers should use this rather
+ * than parsing cron expressions themselves, so that every provider understands exactly the
+ * same syntax:
+ * </p>
+ * <ul>
+ * <li>#{@literal "sec min hour day-of-month month day-of-week [year]"}, with lists, ranges
+ * (including wrapping ranges such as #{@literal FRI-MON}), #{@literal *}, #{@literal ?},
+ * steps, and month and day names. Days of the week are numbered 1 (SUN) to 7 (SAT). As in
+ * Quartz, exactly one of the day-of-month and day-of-week fields must be #{@literal ?}, which
+ * may not be used in any other field, and a range of years may not wrap around.</li>
+ * <li>#{@literal L}, #{@literal L-n}, #{@literal nW} and #{@literal LW} in the day-of-month field, and
+ * #{@literal nL} and #{@literal n#m} in the day-of-week field.</li>
+ * <li>The #{@literal "hours:minutes"} short form (eg: #{@literal "13:12"} or #{@literal "12:00/5"}),
+ * which fires at second 0 of every matching minute of every day.</li>
+ * </ul>
+ * <p>
+ * #{@literal nextFireTime} works directly on epoch millis with integer date arithmetic, so
+ * it allocates nothing. Instances are immutable and may be shared between threads.
+ * </p>
+ *
+ * @author agent
+ */
+public final class CompiledCronSchedule implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    public static final int MIN_YEAR = 1970;
+    public static final int MAX_YEAR = 2199;
+    private static final String[] MONTH_NAMES = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+    private static final String[] DAY_NAMES = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+    private static final long MILLIS_PER_DAY = 86400000L;
+    private static final int SATURDAY = 7;
+    private static final int SUNDAY = 1;
+    /**
+     * The first word of #{@link #toTables()}, which identifies the layout of the rest. Change it
+     * whenever the layout changes, so that tables generated by an older build aren't misread.
+     * The top bits are never set in a mask of seconds, which came first in unversioned tables.
+     */
+    public static final long TABLES_FORMAT = 0xF000000000000001L;
+    // the index in the tables at which the words of the years begin
+    private static final int TABLE_YEARS = 13;
+    private final String expression;
+    private final TimeZone timeZone;
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    private final long daysOfMonth;
+    private final long months;
+    private final long daysOfWeek;
+    // null means any year
+    private final BitSet years;
+    private final boolean anyDayOfMonth;
+    private final boolean anyDayOfWeek;
+    // "L" or "L-n" in the day-of-month field: -1 if not used, otherwise the offset from the last day
+    private final int lastDayOffset;
+    // "LW" in the day-of-month field
+    private final boolean lastWeekday;
+    // "nW" in the day-of-month field: 0 if not used
+    private final int nearestWeekdayTo;
+    // "nL" in the day-of-week field: 0 if not used, otherwise the day of the week (1 = SUN)
+    private final int lastDayOfWeek;
+    // "n#m" in the day-of-week field: 0 if not used
+    private final int nthDayOfWeek;
+    private final int nthOccurrence;
+
+    /**
+     * Compile the given expression, to be evaluated in the default time zone.
+     * 
+     * @param expression The cron expression.
+     * @return The compiled schedule.
+     * @throws ParseException If the expression is malformed.
+     */
+    public static CompiledCronSchedule compile(final String expression) throws ParseException {
+        return compile(expression, TimeZone.getDefault());
+    }
+
+    /**
+     * @param expression The cron expression.
+     * @param timeZone The time zone whose wall clock the expression refers to.
+     * @return The compiled schedule.
+     * @throws ParseException If the expression is malformed.
+     */
+    public static CompiledCronSchedule compile(final String expression, final TimeZone timeZone) throws ParseException {
+        return new CompiledCronSchedule(expression, timeZone);
+    }
+
+    /**
+     * @param expression The cron expression the tables were compiled from.
+     * @param timeZone The time zone whose wall clock the expression refers to.
+     * @param tables What #{@link #toTables()} returned for the expression.
+     * @return The compiled schedule.
+     * @throws IllegalArgumentException If the tables weren't generated in the #{@link #TABLES_FORMAT}
+     * of this version.
+     */
+    public static CompiledCronSchedule fromTables(final String expression, final TimeZone timeZone, final long[] tables) {
+        return new CompiledCronSchedule(expression, timeZone, tables);
+    }
+
+    private CompiledCronSchedule(final String expression, final TimeZone timeZone, final long[] tables) {
+        if (tables.length < TABLE_YEARS || tables[0] != TABLES_FORMAT) {
+            throw new IllegalArgumentException("The tables for '" + expression + "' are not in format "
+                    + Long.toHexString(TABLES_FORMAT) + ", so were generated by a different version of Seam Cron");
+        }
+        this.expression = expression;
+        this.timeZone = (TimeZone) timeZone.clone();
+        seconds = tables[1];
+        minutes = tables[2];
+        hours = tables[3];
+        daysOfMonth = tables[4];
+        months = tables[5];
+        daysOfWeek = tables[6];
+        final long flags = tables[7];
+        anyDayOfMonth = (flags & 1) != 0;
+        anyDayOfWeek = (flags & 2) != 0;
+        lastWeekday = (flags & 4) != 0;
+        lastDayOffset = (int) tables[8];
+        nearestWeekdayTo = (int) tables[9];
+        lastDayOfWeek = (int) tables[10];
+        nthDayOfWeek = (int) tables[11];
+        nthOccurrence = (int) tables[12];
+        years = tables.length == TABLE_YEARS ? null : BitSet.valueOf(Arrays.copyOfRange(tables, TABLE_YEARS, tables.length));
+    }
+
+    private CompiledCronSchedule(final String expression, final TimeZone timeZone) throws ParseException {
+        this.expression = expression;
+        this.timeZone = (TimeZone) timeZone.clone();
+        final String[] fields = expandShortForm(expression.trim()).toUpperCase(Locale.ENGLISH).split("\\s+");
+        if (fields.length < 6 || fields.length > 7) {
+            throw new ParseException("Expected 6 or 7 fields in cron expression '" + expression + "' but found " + fields.length, 0);
+        }
+        final String dom = fields[3];
+        final String dow = fields[5];
+        if ("?".equals(dom) == "?".equals(dow)) {
+            // as in Quartz, which doesn't say whether a day must match both fields or either
+            throw new ParseException("Exactly one of the day-of-month and day-of-week fields of cron expression '"
+                    + expression + "' must be '?'", 0);
+        }
+        for (int i = 0; i < fields.length; i++) {
+            if (i != 3 && i != 5 && fields[i].contains("?")) {
+                throw new ParseException("'?' may only be used in the day-of-month and day-of-week fields of cron expression '"
+                        + expression + "'", 0);
+            }
+        }
+        seconds = parseField(fields[0], 0, 59, null);
+        minutes = parseField(fields[1], 0, 59, null);
+        hours = parseField(fields[2], 0, 23, null);
+
+        // day of month, with its special cases
+        anyDayOfMonth = "*".equals(dom) || "?".equals(dom);
+        if ("LW".equals(dom)) {
+            lastWeekday = true;
+            lastDayOffset = -1;
+            nearestWeekdayTo = 0;
+            daysOfMonth = 0;
+        } else if (dom.startsWith("L")) {
+            lastWeekday = false;
+            lastDayOffset = dom.length() == 1 ? 0 : parseNumber(dom.substring(dom.indexOf('-') + 1), 0, 30, dom);
+            nearestWeekdayTo = 0;
+            daysOfMonth = 0;
+        } else if (dom.endsWith("W")) {
+            lastWeekday = false;
+            lastDayOffset = -1;
+            nearestWeekdayTo = parseNumber(dom.substring(0, dom.length() - 1), 1, 31, dom);
+            daysOfMonth = 0;
+        } else {
+            lastWeekday = false;
+            lastDayOffset = -1;
+            nearestWeekdayTo = 0;
+            daysOfMonth = parseField(dom, 1, 31, null);
+        }
+
+        months = parseField(fields[4], 1, 12, MONTH_NAMES);
+
+        // day of week, with its special cases
+        anyDayOfWeek = "*".equals(dow) || "?".equals(dow);
+        if (dow.length() > 1 && dow.endsWith("L")) {
+            lastDayOfWeek = parseValue(dow.substring(0, dow.length() - 1), 1, 7, DAY_NAMES, dow);
+            nthDayOfWeek = 0;
+            nthOccurrence = 0;
+            daysOfWeek = 0;
+        } else if (dow.contains("#")) {
+            lastDayOfWeek = 0;
+            nthDayOfWeek = parseValue(dow.substring(0, dow.indexOf('#')), 1, 7, DAY_NAMES, dow);
+            nthOccurrence = parseNumber(dow.substring(dow.indexOf('#') + 1), 1, 5, dow);
+            daysOfWeek = 0;
+        } else {
+            lastDayOfWeek = 0;
+            nthDayOfWeek = 0;
+            nthOccurrence = 0;
+            daysOfWeek = "L".equals(dow) ? 1L << SATURDAY : parseField(dow, 1, 7, DAY_NAMES);
+        }
+
+        if (fields.length == 7 && !"*".equals(fields[6])) {
+            years = new BitSet();
+            for (String part : fields[6].split(",")) {
+                // as in Quartz, a range of years can't wrap around
+                parseRange(part, MIN_YEAR, MAX_YEAR, null, false, years);
+            }
+        } else {
+            years = null;
+        }
+    }
+
+    /**
+     * @param afterMillis A point in time (epoch millis).
+     * @return The first time (epoch millis) strictly after the given one at which the schedule
+     * fires, or -1 if it never fires again.
+     */
+    public long nextFireTime(final long afterMillis) {
+        // start from the next whole second on the local wall clock
+        long local = afterMillis + timeZone.getOffset(afterMillis);
+        local = Math.floorDiv(local, 1000L) * 1000L + 1000L;
+        long day = Math.floorDiv(local, MILLIS_PER_DAY);
+        final int secondOfDay = (int) ((local - day * MILLIS_PER_DAY) / 1000L);
+        int hour = secondOfDay / 3600;
+        int minute = secondOfDay / 60 % 60;
+        int second = secondOfDay % 60;
+
+        while (true) {
+            final int date = civilFromDays(day);
+            final int year = date >>> 9;
+            final int month = (date >>> 5) & 15;
+            final int dayOfMonth = date & 31;
+            if (year > MAX_YEAR) {
+                return -1;
+            }
+            if (years != null && (year < MIN_YEAR || !years.get(year))) {
+                final int nextYear = years.nextSetBit(Math.max(year + 1, MIN_YEAR));
+                if (nextYear < 0) {
+                    return -1;
+                }
+                day = daysFromCivil(nextYear, 1, 1);
+                hour = minute = second = 0;
+                continue;
+            }
+            if ((months & (1L << month)) == 0) {
+                final int nextMonth = nextSetBit(months, month + 1);
+                day = nextMonth < 0 ? daysFromCivil(year + 1, 1, 1) : daysFromCivil(year, nextMonth, 1);
+                hour = minute = second = 0;
+                continue;
+            }
+            if (!dayMatches(year, month, dayOfMonth, dayOfWeek(day))) {
+                day++;
+                hour = minute = second = 0;
+                continue;
+            }
+            final int nextHour = nextSetBit(hours, hour);
+            if (nextHour < 0) {
+                day++;
+                hour = minute = second = 0;
+                continue;
+            } else if (nextHour != hour) {
+                hour = nextHour;
+                minute = second = 0;
+            }
+            final int nextMinute = nextSetBit(minutes, minute);
+            if (nextMinute < 0) {
+                minute = second = 0;
+                if (++hour > 23) {
+                    hour = 0;
+                    day++;
+                }
+                continue;
+            } else if (nextMinute != minute) {
+                minute = nextMinute;
+                second = 0;
+            }
+            final int nextSecond = nextSetBit(seconds, second);
+            if (nextSecond < 0) {
+                second = 0;
+                if (++minute > 59) {
+                    minute = 0;
+                    if (++hour > 23) {
+                        hour = 0;
+                        day++;
+                    }
+                }
+                continue;
+            }
+            second = nextSecond;
+
+            final long candidate = toEpochMillis(day * MILLIS_PER_DAY + (hour * 3600L + minute * 60L + second) * 1000L, afterMillis);
+            if (candidate >= 0) {
+                return candidate;
+            }
+            // the wall clock time doesn't occur after afterMillis (eg: around a daylight saving transition), keep looking
+            if (++second > 59) {
+                second = 0;
+                if (++minute > 59) {
+                    minute = 0;
+                    if (++hour > 23) {
+                        hour = 0;
+                        day++;
+                    }
+                }
+            }
+        }
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * @return The compiled schedule as an array of longs, which #{@link #fromTables} turns back into
+     * the same schedule without parsing the expression: the #{@link #TABLES_FORMAT}, the six bit masks,
+     * then the flags and special forms, then the permitted years (if restricted) as the words of a
+     * #{@link BitSet}.
+     */
+    public long[] toTables() {
+        final long[] yearWords = years == null ? new long[0] : years.toLongArray();
+        final long[] tables = new long[TABLE_YEARS + yearWords.length];
+        tables[0] = TABLES_FORMAT;
+        tables[1] = seconds;
+        tables[2] = minutes;
+        tables[3] = hours;
+        tables[4] = daysOfMonth;
+        tables[5] = months;
+        tables[6] = daysOfWeek;
+        tables[7] = (anyDayOfMonth ? 1 : 0) | (anyDayOfWeek ? 2 : 0) | (lastWeekday ? 4 : 0);
+        tables[8] = lastDayOffset;
+        tables[9] = nearestWeekdayTo;
+        tables[10] = lastDayOfWeek;
+        tables[11] = nthDayOfWeek;
+        tables[12] = nthOccurrence;
+        System.arraycopy(yearWords, 0, tables, TABLE_YEARS, yearWords.length);
+        return tables;
+    }
+
+    public TimeZone getTimeZone() {
+        return (TimeZone) timeZone.clone();
+    }
+
+    /** @return Bit n is set if second n (0-59) is permitted. */
+    public long getSeconds() {
+        return seconds;
+    }
+
+    /** @return Bit n is set if minute n (0-59) is permitted. */
+    public long getMinutes() {
+        return minutes;
+    }
+
+    /** @return Bit n is set if hour n (0-23) is permitted. */
+    public long getHours() {
+        return hours;
+    }
+
+    /** @return Bit n is set if day of the month n (1-31) is permitted. Zero if a special form such as L or W is used. */
+    public long getDaysOfMonth() {
+        return daysOfMonth;
+    }
+
+    /** @return Bit n is set if month n (1-12) is permitted. */
+    public long getMonths() {
+        return months;
+    }
+
+    /** @return Bit n is set if day of the week n (1 = SUN to 7 = SAT) is permitted. Zero if L or # is used. */
+    public long getDaysOfWeek() {
+        return daysOfWeek;
+    }
+
+    /**
+     * @return The permitted years, or null if any year is permitted.
+     */
+    public BitSet getYears() {
+        return years == null ? null : (BitSet) years.clone();
+    }
+
+    /** @return true if the day-of-month field is #{@literal *} or #{@literal ?}. */
+    public boolean isAnyDayOfMonth() {
+        return anyDayOfMonth;
+    }
+
+    /** @return true if the day-of-week field is #{@literal *} or #{@literal ?}. */
+    public boolean isAnyDayOfWeek() {
+        return anyDayOfWeek;
+    }
+
+    /** @return n for #{@literal L-n} (0 for plain #{@literal L}) or -1 if not used. */
+    public int getLastDayOffset() {
+        return lastDayOffset;
+    }
+
+    /** @return true for #{@literal LW}. */
+    public boolean isLastWeekday() {
+        return lastWeekday;
+    }
+
+    /** @return n for #{@literal nW}, or 0 if not used. */
+    public int getNearestWeekdayTo() {
+        return nearestWeekdayTo;
+    }
+
+    /** @return The day of the week (1 = SUN) for #{@literal nL}, or 0 if not used. */
+    public int getLastDayOfWeek() {
+        return lastDayOfWeek;
+    }
+
+    /** @return The day of the week (1 = SUN) for #{@literal n#m}, or 0 if not used. */
+    public int getNthDayOfWeek() {
+        return nthDayOfWeek;
+    }
+
+    /** @return m for #{@literal n#m}, or 0 if not used. */
+    public int getNthOccurrence() {
+        return nthOccurrence;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + expression + "}";
+    }
+
+    private boolean dayMatches(final int year, final int month, final int dayOfMonth, final int dayOfWeek) {
+        if (anyDayOfMonth && anyDayOfWeek) {
+            return true;
+        }
+        // only one of the fields can be restricted (see the constructor)
+        final int lastDay = daysInMonth(year, month);
+        if (!anyDayOfMonth) {
+            return dayOfMonthMatches(dayOfMonth, dayOfWeek, lastDay);
+        }
+        return dayOfWeekMatches(dayOfMonth, dayOfWeek, lastDay);
+    }
+
+    private boolean dayOfMonthMatches(final int dayOfMonth, final int dayOfWeek, final int lastDay) {
+        if (lastWeekday) {
+            return dayOfMonth == nearestWeekday(lastDay, dayOfMonth, dayOfWeek, lastDay);
+        } else if (lastDayOffset >= 0) {
+            return dayOfMonth == lastDay - lastDayOffset;
+        } else if (nearestWeekdayTo > 0) {
+            // as in Quartz, months without the given day are skipped
+            return nearestWeekdayTo <= lastDay && dayOfMonth == nearestWeekday(nearestWeekdayTo, dayOfMonth, dayOfWeek, lastDay);
+        }
+        return (daysOfMonth & (1L << dayOfMonth)) != 0;
+    }
+
+    private boolean dayOfWeekMatches(final int dayOfMonth, final int dayOfWeek, final int lastDay) {
+        if (lastDayOfWeek > 0) {
+            return dayOfWeek == lastDayOfWeek && dayOfMonth + 7 > lastDay;
+        } else if (nthDayOfWeek > 0) {
+            return dayOfWeek == nthDayOfWeek && (dayOfMonth - 1) / 7 + 1 == nthOccurrence;
+        }
+        return (daysOfWeek & (1L << dayOfWeek)) != 0;
+    }
+
+    /**
+     * Convert a wall clock time to the first matching instant after #{@literal afterMillis}.
+     * Around a daylight saving transition the wall clock time may occur twice or not at all.
+     * As in Quartz (and #{@link java.util.GregorianCalendar}), only the second of two occurrences
+     * counts, and a time which doesn't occur is skipped.
+     * 
+     * @return The instant, or -1 if the wall clock time doesn't occur after #{@literal afterMillis}.
+     */
+    private long toEpochMillis(final long localMillis, final long afterMillis) {
+        // no real time zone has more than one transition in two days
+        final int offsetBefore = timeZone.getOffset(localMillis - MILLIS_PER_DAY);
+        final int offsetAfter = timeZone.getOffset(localMillis + MILLIS_PER_DAY);
+        final long early = localMillis - offsetBefore;
+        if (offsetBefore == offsetAfter) {
+            return early > afterMillis ? early : -1;
+        }
+        final long late = localMillis - offsetAfter;
+        final boolean lateValid = timeZone.getOffset(late) == offsetAfter;
+        if (lateValid) {
+            return late > afterMillis ? late : -1;
+        } else if (timeZone.getOffset(early) == offsetBefore) {
+            return early > afterMillis ? early : -1;
+        }
+        // in the gap where the clocks went forward
+        return -1;
+    }
+
+    /**
+     * @return The weekday (Mon-Fri) in the same month closest to the target day.
+     */
+    private static int nearestWeekday(final int target, final int dayOfMonth, final int dayOfWeek, final int lastDay) {
+        final int targetDayOfWeek = Math.floorMod(dayOfWeek - 1 + target - dayOfMonth, 7) + 1;
+        if (targetDayOfWeek == SATURDAY) {
+            return target == 1 ? target + 2 : target - 1;
+        } else if (targetDayOfWeek == SUNDAY) {
+            return target == lastDay ? target - 2 : target + 1;
+        }
+        return target;
+    }
+
+    /**
+     * @return The day of the week, 1 (SUN) to 7 (SAT), of the given day since the epoch (a Thursday).
+     */
+    static int dayOfWeek(final long epochDay) {
+        return (int) Math.floorMod(epochDay + 4, 7L) + 1;
+    }
+
+    static int daysInMonth(final int year, final int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * @return The number of days since 1970-01-01 of the given date in the proleptic Gregorian calendar.
+     */
+    static long daysFromCivil(final int year, final int month, final int day) {
+        final long y = month <= 2 ? year - 1 : year;
+        final long era = Math.floorDiv(y, 400L);
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * @return The date of the given day since 1970-01-01, packed as
+     * #{@literal year << 9 | month << 5 | dayOfMonth} so that no object is needed to return it.
+     */
+    static int civilFromDays(final long epochDay) {
+        final long z = epochDay + 719468;
+        final long era = Math.floorDiv(z, 146097L);
+        final long dayOfEra = z - era * 146097;
+        final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final long mp = (5 * dayOfYear + 2) / 153;
+        final int dayOfMonth = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        final int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        final int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+        return year << 9 | month << 5 | dayOfMonth;
+    }
+
+    private static int nextSetBit(final long mask, final int from) {
+        if (from > 63) {
+            return -1;
+        }
+        final long remaining = mask & (-1L << from);
+        return remaining == 0 ? -1 : Long.numberOfTrailingZeros(remaining);
+    }
+
+    /**
+     * Turn #{@literal "hours:minutes"} into a full expression firing at second 0.
+     */
+    private static String expandShortForm(final String expression) throws ParseException {
+        if (expression.contains(" ") || !expression.contains(":")) {
+            return expression;
+        }
+        final String[] parts = expression.split(":");
+        if (parts.length != 2) {
+            throw new ParseException("Expected 'hours:minutes' but found '" + expression + "'", 0);
+        }
+        return "0 " + parts[1] + " " + parts[0] + " * * ?";
+    }
+
+    private static long parseField(final String field, final int min, final int max, final String[] names) throws ParseException {
+        final BitSet bits = new BitSet();
+        for (String part : field.split(",")) {
+            parseRange(part, min, max, names, true, bits);
+        }
+        long mask = 0;
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            mask |= 1L << i;
+        }
+        return mask;
+    }
+
+    private static void parseRange(final String part, final int min, final int max, final String[] names, final boolean wraps,
+            final BitSet bits) throws ParseException {
+        String range = part;
+        int step = 1;
+        final int slash = part.indexOf('/');
+        if (slash >= 0) {
+            range = part.substring(0, slash);
+            step = parseNumber(part.substring(slash + 1), 1, max, part);
+        }
+        int from;
+        int to;
+        if ("*".equals(range) || "?".equals(range)) {
+            from = min;
+            to = max;
+        } else {
+            final int dash = range.indexOf('-');
+            if (dash > 0) {
+                from = parseValue(range.substring(0, dash), min, max, names, part);
+                to = parseValue(range.substring(dash + 1), min, max, names, part);
+            } else {
+                from = parseValue(range, min, max, names, part);
+                // "n/step" means from n to the end of the range
+                to = slash >= 0 ? max : from;
+            }
+        }
+        if (to < from && !wraps) {
+            throw new ParseException("The range '" + part + "' in a cron expression ends before it starts", 0);
+        }
+        // ranges such as FRI-MON wrap around
+        final int span = to >= from ? to - from : to - from + max - min + 1;
+        for (int offset = 0; offset <= span; offset += step) {
+            bits.set(min + (from - min + offset) % (max - min + 1));
+        }
+    }
+
+    private static int parseValue(final String value, final int min, final int max, final String[] names, final String part)
+            throws ParseException {
+        if (names != null) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(value)) {
+                    return min + i;
+                }
+            }
+        }
+        return parseNumber(value, min, max, part);
+    }
+
+    private static int parseNumber(final String value, final int min, final int max, final String part) throws ParseException {
+        final int number;
+        try {
+            number = Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new ParseException("Invalid value '" + value + "' in cron expression field '" + part + "'", 0);
+        }
+        if (number < min || number > max) {
+            throw new ParseException("Value " + number + " in cron expression field '" + part + "' is outside the range "
+                    + min + "-" + max, 0);
+        }
+        return number;
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.cron;
+
+import java.util.Map;
+
+/**
+ * Cron schedules compiled at build time. The #{@literal seam-cron-processor} annotation
+ * processor generates an implementation for the #{@literal @Scheduled} observers of each
+ * compilation and registers it as a #{@link java.util.ServiceLoader} service, to be loaded
+ * by #{@link PrecompiledSchedules}.
+ *
+ * @author agent
+ */
+public interface PrecompiledScheduleSource {
+
+    /**
+     * @return The #{@link CompiledCronSchedule#toTables()} of each cron expression, keyed by the expression.
+     */
+    Map<String, long[]> getScheduleTables();
+}
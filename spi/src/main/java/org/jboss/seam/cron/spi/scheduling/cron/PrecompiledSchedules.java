@@ -0,0 +1,90 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.cron;
+
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The cron schedules of an application which were compiled at build time (see
+ * #{@link PrecompiledScheduleSource}), so that they needn't be parsed again. Loaded by
+ * #{@literal CronSchedulingInstaller} at deployment, which hands each schedule to the scheduling
+ * provider already compiled (see
+ * #{@link org.jboss.seam.cron.spi.scheduling.trigger.ScheduledTriggerDetail#getCronSchedule()}).
+ *
+ * @author agent
+ */
+public final class PrecompiledSchedules {
+
+    private static final Logger log = LoggerFactory.getLogger(PrecompiledSchedules.class);
+    private final ConcurrentMap<String, long[]> tables = new ConcurrentHashMap<String, long[]>();
+
+    /**
+     * Load every #{@link PrecompiledScheduleSource} visible to the given class loader.
+     *
+     * @param classLoader The application's class loader.
+     * @return The number of schedules loaded.
+     */
+    public int load(final ClassLoader classLoader) {
+        int loaded = 0;
+        try {
+            for (PrecompiledScheduleSource source : ServiceLoader.load(PrecompiledScheduleSource.class, classLoader)) {
+                for (Map.Entry<String, long[]> schedule : source.getScheduleTables().entrySet()) {
+                    tables.put(schedule.getKey().trim(), schedule.getValue().clone());
+                    loaded++;
+                }
+            }
+        } catch (ServiceConfigurationError err) {
+            // the expressions will just be parsed as usual
+            log.warn("Could not load precompiled cron schedules", err);
+        }
+        if (loaded > 0) {
+            log.debug("Loaded " + loaded + " precompiled cron schedule(s)");
+        }
+        return loaded;
+    }
+
+    /**
+     * @param expression A cron expression.
+     * @param timeZone The time zone whose wall clock the expression refers to.
+     * @return The expression's schedule, or null if it wasn't compiled at build time (or was compiled
+     * by a version of Seam Cron whose tables this one can't read).
+     */
+    public CompiledCronSchedule get(final String expression, final TimeZone timeZone) {
+        if (tables.isEmpty() || expression == null) {
+            return null;
+        }
+        final long[] compiled = tables.get(expression.trim());
+        if (compiled == null) {
+            return null;
+        }
+        try {
+            return CompiledCronSchedule.fromTables(expression, timeZone, compiled);
+        } catch (IllegalArgumentException ex) {
+            // the expression will just be parsed as usual, so recompile the application to avoid this
+            log.warn(ex.getMessage() + ". The expression will be parsed instead.");
+            tables.remove(expression.trim(), compiled);
+            return null;
+        }
+    }
+}
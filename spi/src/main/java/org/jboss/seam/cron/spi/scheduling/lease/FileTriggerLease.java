@@ -0,0 +1,120 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.lease;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import org.jboss.seam.cron.api.exception.SchedulerConfigurationException;
+import org.jboss.seam.cron.util.PropertyResolver;
+
+/**
+ * <p>
+ * A #{@link TriggerLease} for several JVMs on a single host, eg: in development or on a
+ * host running more than one instance of the application. Each trigger has a file in a
+ * shared directory holding the last firing claimed, which is checked and updated under an
+ * exclusive file lock. Unlike the #{@link JdbcTriggerLease}, nothing needs cleaning up.
+ * </p>
+ * <p>
+ * The directory is set with #{@literal org.jboss.seam.cron.lease.file.directory} (default:
+ * #{@literal seam-cron-leases} in #{@literal java.io.tmpdir}). It must be on a local file
+ * system, since file locks on network file systems can't be relied upon.
+ * </p>
+ *
+ * @author agent
+ */
+public class FileTriggerLease implements TriggerLease {
+
+    public static final String DIRECTORY = "org.jboss.seam.cron.lease.file.directory";
+    private static final int MAX_NAME_LENGTH = 100;
+    // file locks are held by the whole JVM, so threads (and deployments) within it take turns here
+    private static final Object jvmLock = new Object();
+    private final File directory;
+
+    /**
+     * @param directory The directory holding a file for each trigger, which is created if necessary.
+     * @throws SchedulerConfigurationException If the directory can't be created.
+     */
+    public FileTriggerLease(final File directory) throws SchedulerConfigurationException {
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            throw new SchedulerConfigurationException("Could not create the lease directory " + directory);
+        }
+        this.directory = directory;
+    }
+
+    /**
+     * @return A lease in the configured directory.
+     */
+    public static FileTriggerLease fromConfiguration() {
+        final String configured = PropertyResolver.resolve(DIRECTORY);
+        if (configured != null && configured.trim().length() > 0) {
+            return new FileTriggerLease(new File(configured.trim()));
+        }
+        return new FileTriggerLease(new File(System.getProperty("java.io.tmpdir"), "seam-cron-leases"));
+    }
+
+    public boolean claim(final String triggerId, final long slot, final long holdMillis) throws TriggerLeaseException {
+        final File file = new File(directory, fileName(triggerId));
+        synchronized (jvmLock) {
+            try {
+                final RandomAccessFile claims = new RandomAccessFile(file, "rw");
+                try {
+                    final FileLock lock = claims.getChannel().lock();
+                    try {
+                        if (claims.length() >= 8 && claims.readLong() >= slot) {
+                            return false;
+                        }
+                        claims.seek(0);
+                        claims.writeLong(slot);
+                        claims.getChannel().force(false);
+                        return true;
+                    } finally {
+                        lock.release();
+                    }
+                } finally {
+                    claims.close();
+                }
+            } catch (IOException ex) {
+                throw new TriggerLeaseException("Could not claim firing " + slot + " of " + triggerId + " in " + file, ex);
+            }
+        }
+    }
+
+    /**
+     * @return A file name for the trigger which is safe on any file system, but still recognisable.
+     */
+    private static String fileName(final String triggerId) {
+        final StringBuilder name = new StringBuilder();
+        for (char c : triggerId.toCharArray()) {
+            if (name.length() == MAX_NAME_LENGTH) {
+                break;
+            }
+            name.append((c < 128 && Character.isLetterOrDigit(c)) || c == '.' || c == '-' ? c : '_');
+        }
+        return name.append('-').append(Integer.toHexString(triggerId.hashCode())).append(".lease").toString();
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{directory=" + directory + "}";
+    }
+}
@@ -0,0 +1,258 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.lease;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
+import org.jboss.seam.cron.api.exception.SchedulerConfigurationException;
+import org.jboss.seam.cron.util.PropertyResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * A #{@link TriggerLease} for a cluster, backed by a table which every node can reach. Each
+ * firing is claimed by inserting a row keyed by the trigger and the firing, which only one
+ * node can do. Rows older than the hold time are deleted from time to time.
+ * </p>
+ * <p>
+ * It is configured using the following properties (in cron.properties or as system properties):
+ * </p>
+ * <ul>
+ * <li>#{@literal org.jboss.seam.cron.lease.jdbc.dataSource}: the JNDI name of a data source, or else</li>
+ * <li>#{@literal org.jboss.seam.cron.lease.jdbc.url}, #{@literal driver}, #{@literal user} and
+ * #{@literal password}: to connect through the #{@link DriverManager}</li>
+ * <li>#{@literal org.jboss.seam.cron.lease.jdbc.table} (default: #{@value #DEFAULT_TABLE}), which is
+ * created unless #{@literal org.jboss.seam.cron.lease.jdbc.createTable} is false</li>
+ * </ul>
+ *
+ * @author agent
+ */
+public class JdbcTriggerLease implements TriggerLease {
+
+    public static final String PREFIX = "org.jboss.seam.cron.lease.jdbc";
+    public static final String DEFAULT_TABLE = "SEAM_CRON_LEASE";
+    private static final long MAX_CLEAN_UP_INTERVAL_MILLIS = 600000L;
+    private static final Logger log = LoggerFactory.getLogger(JdbcTriggerLease.class);
+    private final DataSource dataSource;
+    private final String url;
+    private final String user;
+    private final String password;
+    private final String table;
+    private final String owner;
+    private final boolean createTable;
+    private final AtomicLong nextCleanUp = new AtomicLong();
+    private volatile boolean tableChecked = false;
+
+    /**
+     * @param dataSource Where the table is.
+     * @param table The name of the table.
+     * @param owner The name of this node, as recorded with its claims.
+     * @param createTable Whether to create the table if it doesn't exist.
+     */
+    public JdbcTriggerLease(final DataSource dataSource, final String table, final String owner, final boolean createTable) {
+        this(dataSource, null, null, null, table, owner, createTable);
+    }
+
+    /**
+     * @param url The JDBC url of the database where the table is.
+     * @param user The user to connect as, or null.
+     * @param password The user's password, or null.
+     * @param table The name of the table.
+     * @param owner The name of this node, as recorded with its claims.
+     * @param createTable Whether to create the table if it doesn't exist.
+     */
+    public JdbcTriggerLease(final String url, final String user, final String password, final String table, final String owner,
+            final boolean createTable) {
+        this(null, url, user, password, table, owner, createTable);
+    }
+
+    private JdbcTriggerLease(final DataSource dataSource, final String url, final String user, final String password,
+            final String table, final String owner, final boolean createTable) throws SchedulerConfigurationException {
+        // the name goes straight into the SQL
+        if (!table.matches("[A-Za-z_][A-Za-z0-9_.]*")) {
+            throw new SchedulerConfigurationException("Invalid lease table name '" + table + "'");
+        }
+        this.dataSource = dataSource;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.table = table;
+        this.owner = owner;
+        this.createTable = createTable;
+    }
+
+    /**
+     * @return A lease on the configured data source or database.
+     * @throws SchedulerConfigurationException If neither is configured, or the data source can't be found.
+     */
+    public static JdbcTriggerLease fromConfiguration() throws SchedulerConfigurationException {
+        final String configuredTable = PropertyResolver.resolve(PREFIX + ".table");
+        final String table = configuredTable == null || configuredTable.trim().length() == 0 ? DEFAULT_TABLE : configuredTable.trim();
+        final boolean createTable = !"false".equalsIgnoreCase(PropertyResolver.resolve(PREFIX + ".createTable"));
+        final String owner = TriggerLeases.getOwner();
+        final String dataSourceName = PropertyResolver.resolve(PREFIX + ".dataSource");
+        if (dataSourceName != null && dataSourceName.trim().length() > 0) {
+            try {
+                final DataSource dataSource = (DataSource) new InitialContext().lookup(dataSourceName.trim());
+                return new JdbcTriggerLease(dataSource, table, owner, createTable);
+            } catch (NamingException ex) {
+                throw new SchedulerConfigurationException("Could not find the lease data source " + dataSourceName, ex);
+            }
+        }
+        final String url = PropertyResolver.resolve(PREFIX + ".url", true);
+        final String driver = PropertyResolver.resolve(PREFIX + ".driver");
+        if (driver != null && driver.trim().length() > 0) {
+            try {
+                Class.forName(driver.trim());
+            } catch (ClassNotFoundException ex) {
+                throw new SchedulerConfigurationException("Could not load the lease database driver " + driver, ex);
+            }
+        }
+        return new JdbcTriggerLease(url, PropertyResolver.resolve(PREFIX + ".user"), PropertyResolver.resolve(PREFIX + ".password"),
+                table, owner, createTable);
+    }
+
+    public boolean claim(final String triggerId, final long slot, final long holdMillis) throws TriggerLeaseException {
+        final long now = System.currentTimeMillis();
+        try {
+            final Connection connection = connect();
+            try {
+                checkTable(connection);
+                cleanUp(connection, now, holdMillis);
+                final PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table
+                        + " (TRIGGER_ID, SLOT, CLAIMED_BY, CLAIMED_AT) VALUES (?, ?, ?, ?)");
+                try {
+                    insert.setString(1, triggerId);
+                    insert.setLong(2, slot);
+                    insert.setString(3, owner);
+                    insert.setLong(4, now);
+                    insert.executeUpdate();
+                    commit(connection);
+                    return true;
+                } catch (SQLException ex) {
+                    if (isDuplicate(ex)) {
+                        rollback(connection);
+                        return false;
+                    }
+                    throw ex;
+                } finally {
+                    insert.close();
+                }
+            } finally {
+                connection.close();
+            }
+        } catch (SQLException ex) {
+            throw new TriggerLeaseException("Could not claim firing " + slot + " of " + triggerId + " in " + table, ex);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        if (dataSource != null) {
+            return dataSource.getConnection();
+        }
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    /**
+     * Create the table, the first time, if it doesn't exist.
+     */
+    private void checkTable(final Connection connection) throws SQLException {
+        if (tableChecked) {
+            return;
+        }
+        final Statement statement = connection.createStatement();
+        try {
+            try {
+                statement.executeQuery("SELECT COUNT(*) FROM " + table + " WHERE 1 = 0").close();
+            } catch (SQLException missing) {
+                rollback(connection);
+                if (!createTable) {
+                    throw missing;
+                }
+                try {
+                    statement.executeUpdate("CREATE TABLE " + table + " (TRIGGER_ID VARCHAR(255) NOT NULL, SLOT BIGINT NOT NULL,"
+                            + " CLAIMED_BY VARCHAR(255), CLAIMED_AT BIGINT NOT NULL, PRIMARY KEY (TRIGGER_ID, SLOT))");
+                    commit(connection);
+                    log.info("Created the lease table " + table);
+                } catch (SQLException ex) {
+                    // another node may have just created it
+                    rollback(connection);
+                    statement.executeQuery("SELECT COUNT(*) FROM " + table + " WHERE 1 = 0").close();
+                }
+            }
+        } finally {
+            statement.close();
+        }
+        tableChecked = true;
+    }
+
+    /**
+     * Delete the claims older than the hold time, at most every few minutes.
+     */
+    private void cleanUp(final Connection connection, final long now, final long holdMillis) throws SQLException {
+        final long due = nextCleanUp.get();
+        if (now < due || !nextCleanUp.compareAndSet(due, now + Math.min(holdMillis, MAX_CLEAN_UP_INTERVAL_MILLIS))) {
+            return;
+        }
+        final PreparedStatement delete = connection.prepareStatement("DELETE FROM " + table + " WHERE CLAIMED_AT < ?");
+        try {
+            delete.setLong(1, now - holdMillis);
+            final int deleted = delete.executeUpdate();
+            commit(connection);
+            if (deleted > 0) {
+                log.debug("Deleted " + deleted + " expired claim(s) from " + table);
+            }
+        } finally {
+            delete.close();
+        }
+    }
+
+    private static boolean isDuplicate(final SQLException ex) {
+        // class 23 is "integrity constraint violation", which not every driver reports as the subclass
+        return ex instanceof SQLIntegrityConstraintViolationException || (ex.getSQLState() != null && ex.getSQLState().startsWith("23"));
+    }
+
+    private static void commit(final Connection connection) throws SQLException {
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    private static void rollback(final Connection connection) throws SQLException {
+        if (!connection.getAutoCommit()) {
+            connection.rollback();
+        }
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{table=" + table + ", owner=" + owner + "}";
+    }
+}
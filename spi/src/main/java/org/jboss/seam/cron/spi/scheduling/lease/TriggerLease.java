@@ -0,0 +1,53 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.lease;
+
+import org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupplies;
+
+/**
+ * <p>
+ * Decides which node runs each firing of a trigger, so that every node of a cluster can
+ * schedule the same triggers with any scheduling provider and still each firing runs once.
+ * #{@link org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupport} claims every firing
+ * before running it, and only runs it if the claim succeeds.
+ * </p>
+ * <p>
+ * The built-in leases are chosen with #{@literal org.jboss.seam.cron.lease} (see
+ * #{@link TriggerLeases}). Applications can instead provide a bean of this type.
+ * </p>
+ * <p>
+ * Implementations are called on the scheduler's threads, once per firing, so they must be
+ * thread safe.
+ * </p>
+ *
+ * @author agent
+ */
+public interface TriggerLease {
+
+    /**
+     * Claim one firing of a trigger for this node. Every node asks for the same firing with
+     * the same trigger id and slot, and exactly one of them must be given it.
+     *
+     * @param triggerId Identifies the trigger (see #{@link TriggerSupplies#getLeaseId()}).
+     * @param slot Identifies the firing among the trigger's firings (see #{@link TriggerSupplies#getFiringSlot(long)}).
+     * @param holdMillis How long the claim must be remembered for at least, so that a node which
+     * asks late doesn't run the firing again.
+     * @return True if this node has the firing and should run it, false if another node has it.
+     * @throws TriggerLeaseException If it can't be told which node has the firing.
+     */
+    boolean claim(String triggerId, long slot, long holdMillis) throws TriggerLeaseException;
+}
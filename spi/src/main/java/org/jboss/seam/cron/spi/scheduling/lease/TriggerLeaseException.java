@@ -0,0 +1,34 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.lease;
+
+/**
+ * Thrown by a #{@link TriggerLease} which can't tell whether a firing is this node's to run,
+ * eg: because its database is unavailable.
+ *
+ * @author agent
+ */
+public class TriggerLeaseException extends RuntimeException {
+
+    /**
+     * @param message The error message.
+     * @param cause The original cause of the error.
+     */
+    public TriggerLeaseException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
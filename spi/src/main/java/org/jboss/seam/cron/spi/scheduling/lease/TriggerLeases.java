@@ -0,0 +1,126 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.lease;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import org.jboss.seam.cron.api.exception.SchedulerConfigurationException;
+import org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupplies;
+import org.jboss.seam.cron.util.PropertyResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Holds the #{@link TriggerLease} through which every firing is claimed before it runs, if any.
+ * There is one per deployment, held by the #{@link org.jboss.seam.cron.spi.SeamCronExtension}. Unless the application provides its own lease as a bean, it is chosen with the following
+ * properties (in cron.properties or as system properties):
+ * </p>
+ * <ul>
+ * <li>#{@literal org.jboss.seam.cron.lease}: none (default), jdbc (see #{@link JdbcTriggerLease})
+ * or file (see #{@link FileTriggerLease})</li>
+ * <li>#{@literal org.jboss.seam.cron.lease.holdSeconds}: how long claims are remembered (default: 3600)</li>
+ * <li>#{@literal org.jboss.seam.cron.lease.fireIfUnavailable}: whether to run a firing anyway when
+ * the lease can't be claimed either way (default: false, ie: skip it)</li>
+ * <li>#{@literal org.jboss.seam.cron.lease.owner}: this node's name, as recorded with its claims
+ * (default: the JVM's name, ie: pid@host)</li>
+ * </ul>
+ *
+ * @author agent
+ */
+public final class TriggerLeases {
+
+    public static final String LEASE = "org.jboss.seam.cron.lease";
+    public static final String LEASE_NONE = "none";
+    public static final String LEASE_JDBC = "jdbc";
+    public static final String LEASE_FILE = "file";
+    public static final String HOLD_SECONDS = LEASE + ".holdSeconds";
+    public static final String FIRE_IF_UNAVAILABLE = LEASE + ".fireIfUnavailable";
+    public static final String OWNER = LEASE + ".owner";
+    private static final Logger log = LoggerFactory.getLogger(TriggerLeases.class);
+    private volatile TriggerLease lease = null;
+    private volatile long holdMillis = 3600000L;
+    private volatile boolean fireIfUnavailable = false;
+
+    /**
+     * @return The lease through which firings are claimed, or null if every node runs every firing.
+     */
+    public TriggerLease getLease() {
+        return lease;
+    }
+
+    /**
+     * Called at deployment, before any trigger is scheduled.
+     *
+     * @param applicationLease The application's own lease, or null to use the configured one.
+     * @throws SchedulerConfigurationException If the configured lease is unknown or misconfigured.
+     */
+    public void install(final TriggerLease applicationLease) throws SchedulerConfigurationException {
+        holdMillis = 1000L * PropertyResolver.resolveLong(HOLD_SECONDS, 3600);
+        fireIfUnavailable = Boolean.parseBoolean(PropertyResolver.resolve(FIRE_IF_UNAVAILABLE));
+        lease = applicationLease != null ? applicationLease : fromConfiguration();
+        if (lease != null) {
+            log.info("Each firing will only run on the node which claims it through " + lease);
+        }
+    }
+
+    /**
+     * @param supplies The trigger which is falling due.
+     * @param fireTimeMillis When it fell due, in epoch millis.
+     * @return True if this node should run the firing.
+     */
+    public boolean claim(final TriggerSupplies supplies, final long fireTimeMillis) {
+        final TriggerLease current = lease;
+        if (current == null) {
+            return true;
+        }
+        try {
+            return current.claim(supplies.getLeaseId(), supplies.getFiringSlot(fireTimeMillis), holdMillis);
+        } catch (RuntimeException ex) {
+            log.error("Could not claim the firing of " + supplies.getQualifier() + " due at " + fireTimeMillis
+                    + (fireIfUnavailable ? ", so running it anyway" : ", so skipping it"), ex);
+            return fireIfUnavailable;
+        }
+    }
+
+    /**
+     * @return The name of this node, as recorded with its claims.
+     */
+    static String getOwner() {
+        final String owner = PropertyResolver.resolve(OWNER);
+        if (owner != null && owner.trim().length() > 0) {
+            return owner.trim();
+        }
+        return ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    private static TriggerLease fromConfiguration() throws SchedulerConfigurationException {
+        final String configured = PropertyResolver.resolve(LEASE);
+        final String name = configured == null ? "" : configured.trim().toLowerCase(Locale.ENGLISH);
+        if (name.length() == 0 || LEASE_NONE.equals(name)) {
+            return null;
+        }
+        if (LEASE_JDBC.equals(name)) {
+            return JdbcTriggerLease.fromConfiguration();
+        }
+        if (LEASE_FILE.equals(name)) {
+            return FileTriggerLease.fromConfiguration();
+        }
+        throw new SchedulerConfigurationException(LEASE + " must be '" + LEASE_NONE + "', '" + LEASE_JDBC + "' or '"
+                + LEASE_FILE + "' but was '" + configured + "'");
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running statistics of how far a trigger's firings were from their fire times on the monotonic
+ * clock, in nanoseconds. Early firings count as negative jitter. Recording is lock-free, so the
+ * statistics can be read while the trigger is firing, although a reading may then mix two firings.
+ *
+ * @author agent
+ */
+public final class JitterStatistics {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final DoubleAdder sumOfSquares = new DoubleAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param jitterNanos How long after (or, if negative, before) its fire time a firing happened.
+     */
+    public void record(final long jitterNanos) {
+        count.increment();
+        sum.add(jitterNanos);
+        sumOfSquares.add((double) jitterNanos * jitterNanos);
+        long current = min.get();
+        while (jitterNanos < current && !min.compareAndSet(current, jitterNanos)) {
+            current = min.get();
+        }
+        current = max.get();
+        while (jitterNanos > current && !max.compareAndSet(current, jitterNanos)) {
+            current = max.get();
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return The mean jitter, or 0 if nothing has been recorded. A mean far from 0 means the
+     * firings are consistently late (or early), rather than scattered around their fire times.
+     */
+    public double getMean() {
+        final long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * @return The standard deviation of the jitter, or 0 if nothing has been recorded.
+     */
+    public double getStandardDeviation() {
+        final long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        final double mean = (double) sum.sum() / n;
+        return Math.sqrt(Math.max(0, sumOfSquares.sum() / n - mean * mean));
+    }
+
+    /**
+     * @return The earliest firing, or 0 if nothing has been recorded.
+     */
+    public long getMin() {
+        return count.sum() == 0 ? 0 : min.get();
+    }
+
+    /**
+     * @return The latest firing, or 0 if nothing has been recorded.
+     */
+    public long getMax() {
+        return count.sum() == 0 ? 0 : max.get();
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() + ", mean=" + Math.round(getMean()) + ", stddev=" + Math.round(getStandardDeviation())
+                + ", min=" + getMin() + ", max=" + getMax();
+    }
+}
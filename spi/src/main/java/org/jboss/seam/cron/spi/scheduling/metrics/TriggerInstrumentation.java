@@ -0,0 +1,49 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.metrics;
+
+/**
+ * Holds the #{@link TriggerMetricsRecorder} which
+ * #{@link org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupport} reports firings to.
+ * There is one per deployment, held by the #{@link org.jboss.seam.cron.spi.SeamCronExtension},
+ * which installs the application's own recorder bean here on startup, if there is one.
+ *
+ * @author agent
+ */
+public final class TriggerInstrumentation {
+
+    private final TriggerMetricsRegistry defaultRegistry = new TriggerMetricsRegistry();
+    private volatile TriggerMetricsRecorder recorder = defaultRegistry;
+
+    public TriggerMetricsRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * @param triggerMetricsRecorder The recorder to report firings to, or null for the default registry.
+     */
+    public void setRecorder(final TriggerMetricsRecorder triggerMetricsRecorder) {
+        recorder = triggerMetricsRecorder == null ? defaultRegistry : triggerMetricsRecorder;
+    }
+
+    /**
+     * @return The in-memory registry, which is only updated while no other recorder is installed.
+     */
+    public TriggerMetricsRegistry getDefaultRegistry() {
+        return defaultRegistry;
+    }
+}
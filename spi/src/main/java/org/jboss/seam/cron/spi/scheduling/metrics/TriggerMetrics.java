@@ -0,0 +1,102 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.metrics;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What the #{@link TriggerMetricsRegistry} has recorded about one trigger: how often it fired,
+ * how late it was, how long its observers took and how often they failed, along with its jitter.
+ *
+ * @author agent
+ */
+public final class TriggerMetrics {
+
+    private final Annotation qualifier;
+    private final LongAdder fireCount = new LongAdder();
+    private final LongAdder exceptionCount = new LongAdder();
+    private final LatencyHistogram lateness = new LatencyHistogram();
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+    private final JitterStatistics jitter = new JitterStatistics();
+
+    TriggerMetrics(final Annotation qualifier) {
+        this.qualifier = qualifier;
+    }
+
+    void record(final long latenessMillis, final long executionNanos, final Throwable failure) {
+        fireCount.increment();
+        if (latenessMillis != TriggerMetricsRecorder.UNKNOWN_LATENESS) {
+            lateness.record(latenessMillis);
+        }
+        executionTime.record(executionNanos);
+        if (failure != null) {
+            exceptionCount.increment();
+        }
+    }
+
+    void recordJitter(final long jitterNanos) {
+        jitter.record(jitterNanos);
+    }
+
+    /**
+     * @return The #{@literal @Scheduled} or #{@literal @Every} qualifier of the trigger.
+     */
+    public Annotation getQualifier() {
+        return qualifier;
+    }
+
+    public long getFireCount() {
+        return fireCount.sum();
+    }
+
+    /**
+     * @return The number of firings in which an observer threw an exception.
+     */
+    public long getExceptionCount() {
+        return exceptionCount.sum();
+    }
+
+    /**
+     * @return How long after their scheduled time the firings happened, in milliseconds. Only
+     * firings whose scheduling provider said when they were due are counted.
+     */
+    public LatencyHistogram getLateness() {
+        return lateness;
+    }
+
+    /**
+     * @return How long the observers took to handle each firing, in nanoseconds.
+     */
+    public LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * @return How far the firings were from their fire times, in nanoseconds. Only recorded by
+     * providers which keep their deadlines on the monotonic clock (eg: Native).
+     */
+    public JitterStatistics getJitter() {
+        return jitter;
+    }
+
+    @Override
+    public String toString() {
+        return "TriggerMetrics{" + qualifier + ": fired=" + getFireCount() + ", exceptions=" + getExceptionCount()
+                + ", latenessMillis={" + lateness + "}, executionNanos={" + executionTime + "}, jitterNanos={" + jitter + "}}";
+    }
+}
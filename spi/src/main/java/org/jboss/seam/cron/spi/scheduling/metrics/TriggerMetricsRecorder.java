@@ -0,0 +1,60 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.metrics;
+
+import org.jboss.seam.cron.spi.scheduling.trigger.TriggerDetail;
+
+/**
+ * <p>
+ * Told about every firing of a scheduled trigger by
+ * #{@link org.jboss.seam.cron.spi.scheduling.trigger.TriggerSupport}, whichever scheduling
+ * provider fired it. Applications which want the figures in their own metrics system can
+ * provide a bean of this type, which replaces the default in-memory #{@link TriggerMetricsRegistry}
+ * (see #{@link TriggerInstrumentation}).
+ * </p>
+ * <p>
+ * Implementations are called on the scheduler's threads, once per firing, so they must be
+ * thread safe and should be cheap.
+ * </p>
+ *
+ * @author agent
+ */
+public interface TriggerMetricsRecorder {
+
+    /**
+     * Passed as the lateness when the scheduling provider doesn't say when the firing was due.
+     */
+    long UNKNOWN_LATENESS = Long.MIN_VALUE;
+
+    /**
+     * @param trigger The trigger which fired.
+     * @param latenessMillis How long after its scheduled time the trigger fired, or #{@link #UNKNOWN_LATENESS}.
+     * @param executionNanos How long the observers of the trigger's event took.
+     * @param failure What an observer threw, or null if they all succeeded.
+     */
+    void recordFiring(TriggerDetail trigger, long latenessMillis, long executionNanos, Throwable failure);
+
+    /**
+     * Called by scheduling providers which keep their deadlines on the monotonic clock, just
+     * before each firing. Ignored unless overridden.
+     *
+     * @param trigger The trigger which is about to fire.
+     * @param jitterNanos How long after (or, if negative, before) its fire time it is firing.
+     */
+    default void recordJitter(TriggerDetail trigger, long jitterNanos) {
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.metrics;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.enterprise.inject.Typed;
+import org.jboss.seam.cron.spi.scheduling.trigger.TriggerDetail;
+
+/**
+ * The default #{@link TriggerMetricsRecorder}, which keeps #{@link TriggerMetrics} for each
+ * trigger in memory for as long as the application runs. Read it via
+ * #{@literal SeamCronExtension.getTriggerMetrics()}, or inject it.
+ *
+ * @author agent
+ */
+@Typed()
+public final class TriggerMetricsRegistry implements TriggerMetricsRecorder {
+
+    // keyed by the trigger's qualifier, which survives the trigger being serialised by the provider
+    private final ConcurrentMap<Annotation, TriggerMetrics> metrics = new ConcurrentHashMap<Annotation, TriggerMetrics>();
+
+    public void recordFiring(final TriggerDetail trigger, final long latenessMillis, final long executionNanos,
+            final Throwable failure) {
+        getOrCreate(trigger.getQualifier()).record(latenessMillis, executionNanos, failure);
+    }
+
+    public void recordJitter(final TriggerDetail trigger, final long jitterNanos) {
+        getOrCreate(trigger.getQualifier()).recordJitter(jitterNanos);
+    }
+
+    /**
+     * @param qualifier The #{@literal @Scheduled} or #{@literal @Every} qualifier of a trigger.
+     * @return The trigger's metrics, or null if it hasn't fired yet.
+     */
+    public TriggerMetrics getMetrics(final Annotation qualifier) {
+        return metrics.get(qualifier);
+    }
+
+    /**
+     * @return The metrics of every trigger which has fired so far.
+     */
+    public List<TriggerMetrics> getAllMetrics() {
+        return Collections.unmodifiableList(new ArrayList<TriggerMetrics>(metrics.values()));
+    }
+
+    private TriggerMetrics getOrCreate(final Annotation qualifier) {
+        TriggerMetrics triggerMetrics = metrics.get(qualifier);
+        if (triggerMetrics == null) {
+            final TriggerMetrics created = new TriggerMetrics(qualifier);
+            triggerMetrics = metrics.putIfAbsent(qualifier, created);
+            if (triggerMetrics == null) {
+                triggerMetrics = created;
+            }
+        }
+        return triggerMetrics;
+    }
+}
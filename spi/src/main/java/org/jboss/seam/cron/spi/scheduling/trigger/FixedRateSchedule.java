@@ -0,0 +1,126 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.trigger;
+
+import java.util.TimeZone;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.util.TimeUtils;
+
+/**
+ * <p>
+ * The fire times of an #{@literal @Every} trigger, worked out on the monotonic
+ * (#{@literal System.nanoTime()}) clock. Every fire time is the anchor (the first fire time)
+ * plus a whole number of periods, rather than the previous fire time (or worse, the time the
+ * previous firing actually happened) plus one period. Late firings, wall-clock adjustments and
+ * rounding therefore never accumulate into drift, however long the trigger runs.
+ * </p>
+ * <p>
+ * The clock is passed in to each method, so the schedule itself never reads it. Not thread safe:
+ * a schedule belongs to whichever thread queues its trigger.
+ * </p>
+ *
+ * @author agent
+ */
+public final class FixedRateSchedule {
+
+    private final long anchorMillis;
+    private final long anchorNanos;
+    private final long periodMillis;
+    private final long periodNanos;
+    // the number of periods from the anchor to the next fire time
+    private long tick;
+
+    /**
+     * @param anchorMillis The first fire time, in epoch millis.
+     * @param anchorNanos The first fire time, on the #{@literal System.nanoTime()} clock.
+     * @param periodMillis The time between firings.
+     */
+    public FixedRateSchedule(final long anchorMillis, final long anchorNanos, final long periodMillis) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("The period of a fixed rate schedule must be positive, not " + periodMillis);
+        }
+        this.anchorMillis = anchorMillis;
+        this.anchorNanos = anchorNanos;
+        this.periodMillis = periodMillis;
+        this.periodNanos = periodMillis * 1000000L;
+    }
+
+    /**
+     * @param unit The unit of the #{@literal @Every} qualifier.
+     * @param repeatInterval The #{@literal nth} of the #{@literal @Every} qualifier.
+     * @param timeZone The time zone to align the first firing on.
+     * @param nowMillis The current time, in epoch millis.
+     * @param nowNanos The current time, on the #{@literal System.nanoTime()} clock.
+     * @return A schedule anchored on the trigger's first fire time (see #{@link TimeUtils#firstIntervalFireTime}).
+     */
+    public static FixedRateSchedule forInterval(final Interval unit, final int repeatInterval, final TimeZone timeZone,
+            final long nowMillis, final long nowNanos) {
+        final long firstMillis = TimeUtils.firstIntervalFireTime(unit, repeatInterval, nowMillis, timeZone);
+        return new FixedRateSchedule(firstMillis, nowNanos + (firstMillis - nowMillis) * 1000000L,
+                unit.getMillis() * Math.max(1, repeatInterval));
+    }
+
+    /**
+     * For providers which are handed the previous fire time rather than keeping a schedule.
+     *
+     * @param anchorMillis Any fire time of the schedule, in epoch millis.
+     * @param periodMillis The time between firings.
+     * @param afterMillis A point in time, in epoch millis.
+     * @return The first fire time strictly after the given time, in epoch millis.
+     */
+    public static long nextFireTimeAfter(final long anchorMillis, final long periodMillis, final long afterMillis) {
+        return anchorMillis + (Math.floorDiv(afterMillis - anchorMillis, periodMillis) + 1) * periodMillis;
+    }
+
+    /**
+     * @return The next fire time, on the #{@literal System.nanoTime()} clock.
+     */
+    public long getNextFireNanos() {
+        return anchorNanos + tick * periodNanos;
+    }
+
+    /**
+     * @return The next fire time, in epoch millis. This is the anchor plus a whole number of
+     * periods, even if the wall clock has been adjusted since the schedule started.
+     */
+    public long getNextFireMillis() {
+        return anchorMillis + tick * periodMillis;
+    }
+
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    /**
+     * Move on to the fire time after the one which has just been dispatched. If the schedule has
+     * fallen behind by more than a whole period (eg: a long GC pause, or the machine was
+     * suspended), the fire times which have already passed are skipped rather than fired all at once.
+     *
+     * @param nowNanos The current time, on the #{@literal System.nanoTime()} clock.
+     * @return The number of fire times skipped.
+     */
+    public long advance(final long nowNanos) {
+        tick++;
+        final long behindNanos = nowNanos - getNextFireNanos();
+        if (behindNanos <= 0) {
+            return 0;
+        }
+        final long skipped = behindNanos / periodNanos + 1;
+        tick += skipped;
+        return skipped;
+    }
+}
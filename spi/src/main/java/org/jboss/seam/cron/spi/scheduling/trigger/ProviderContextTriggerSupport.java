@@ -50,8 +50,8 @@ public abstract class ProviderContextTriggerSupport extends TriggerSupport {
     public abstract TriggerSupplies fetchTriggerSupplies();
 
     @Override
-    public void fireTrigger() {
+    public void fireTrigger(final long scheduledTime) {
         setTriggerSupplies(fetchTriggerSupplies());
-        super.fireTrigger();
+        super.fireTrigger(scheduledTime);
     }
 }
@@ -17,7 +17,10 @@
 package org.jboss.seam.cron.spi.scheduling.trigger;
 
 import java.lang.annotation.Annotation;
+import java.text.ParseException;
 import java.util.Set;
+import java.util.TimeZone;
+import org.jboss.seam.cron.spi.scheduling.cron.CompiledCronSchedule;
 
 /**
  * Simple container for the qualifying annotation, payload type and schedule
@@ -28,10 +31,23 @@ import java.util.Set;
 public class ScheduledTriggerDetail extends TriggerDetail {
 
     private final String cronScheduleSpec;
+    private final CompiledCronSchedule precompiledSchedule;
 
     public ScheduledTriggerDetail(final String dereferencedScheduleSpec, final Annotation qualifier, final Set<Annotation> allQualifiers) {
+        this(dereferencedScheduleSpec, null, qualifier, allQualifiers);
+    }
+
+    /**
+     * @param dereferencedScheduleSpec The schedule specification in full cron format.
+     * @param precompiledSchedule The schedule as compiled at build time, or null if it wasn't.
+     * @param qualifier The qualifier of the scheduled event.
+     * @param allQualifiers All the qualifiers of the observer.
+     */
+    public ScheduledTriggerDetail(final String dereferencedScheduleSpec, final CompiledCronSchedule precompiledSchedule,
+            final Annotation qualifier, final Set<Annotation> allQualifiers) {
         super(qualifier, allQualifiers);
         this.cronScheduleSpec = dereferencedScheduleSpec;
+        this.precompiledSchedule = precompiledSchedule;
     }
 
     /**
@@ -41,6 +57,29 @@ public class ScheduledTriggerDetail extends TriggerDetail {
         return cronScheduleSpec;
     }
 
+    /**
+     * @return The compiled schedule, to be evaluated in the default time zone.
+     * @throws ParseException If the schedule specification is malformed.
+     */
+    public CompiledCronSchedule getCronSchedule() throws ParseException {
+        return getCronSchedule(TimeZone.getDefault());
+    }
+
+    /**
+     * @param timeZone The time zone whose wall clock the schedule refers to.
+     * @return The compiled schedule, which is only parsed now if it wasn't compiled at build time.
+     * @throws ParseException If the schedule specification is malformed.
+     */
+    public CompiledCronSchedule getCronSchedule(final TimeZone timeZone) throws ParseException {
+        if (precompiledSchedule == null) {
+            return CompiledCronSchedule.compile(cronScheduleSpec, timeZone);
+        }
+        if (precompiledSchedule.getTimeZone().equals(timeZone)) {
+            return precompiledSchedule;
+        }
+        return CompiledCronSchedule.fromTables(cronScheduleSpec, timeZone, precompiledSchedule.toTables());
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (obj == null) {
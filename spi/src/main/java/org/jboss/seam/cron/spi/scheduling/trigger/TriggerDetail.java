@@ -18,22 +18,56 @@ package org.jboss.seam.cron.spi.scheduling.trigger;
 
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
+import java.util.Locale;
 import java.util.Set;
+import org.jboss.seam.cron.api.exception.SchedulerConfigurationException;
+import org.jboss.seam.cron.api.scheduling.Every;
+import org.jboss.seam.cron.api.scheduling.MisfirePolicy;
+import org.jboss.seam.cron.api.scheduling.Scheduled;
+import org.jboss.seam.cron.util.CdiUtils;
+import org.jboss.seam.cron.util.PropertyResolver;
 
 /**
  * Simple container for the qualifying annotation and payload type of
- * a scheduled event to be fired.
+ * a scheduled event to be fired, along with its #{@link MisfirePolicy}.
  * 
  * @author peteroyle
  */
 public abstract class TriggerDetail implements Serializable {
 
+    /**
+     * The property giving the #{@link MisfirePolicy} of triggers which don't choose one.
+     */
+    public static final String DEFAULT_MISFIRE_PROPERTY = "org.jboss.seam.cron.misfire";
     private final Annotation qualifier;
     private final Set<Annotation> allQualifiers;
+    private final MisfirePolicy misfirePolicy;
+    private final int maxMissedFirings;
 
     public TriggerDetail(final Annotation qualifier, final Set<Annotation> allQualifiers) {
         this.qualifier = qualifier;
         this.allQualifiers = allQualifiers;
+        MisfirePolicy misfire = MisfirePolicy.DEFAULT;
+        int maxMissed = 10;
+        final Scheduled scheduledQualifier = (Scheduled) CdiUtils.getQualifier(qualifier, Scheduled.class);
+        final Every everyQualifier = (Every) CdiUtils.getQualifier(qualifier, Every.class);
+        if (scheduledQualifier != null) {
+            misfire = scheduledQualifier.misfire();
+            maxMissed = scheduledQualifier.maxMissedFirings();
+            final String name = scheduledQualifier.value();
+            if (isScheduleName(name)) {
+                misfire = resolvePolicy(MisfirePolicy.class, name + ".misfire", misfire);
+                maxMissed = PropertyResolver.resolveInt(name + ".maxMissedFirings", maxMissed);
+            }
+        } else if (everyQualifier != null) {
+            misfire = everyQualifier.misfire();
+            maxMissed = everyQualifier.maxMissedFirings();
+        }
+        if (misfire == MisfirePolicy.DEFAULT) {
+            misfire = resolvePolicy(MisfirePolicy.class, DEFAULT_MISFIRE_PROPERTY, MisfirePolicy.FIRE_ONCE_NOW);
+        }
+        this.misfirePolicy = misfire == MisfirePolicy.DEFAULT ? MisfirePolicy.FIRE_ONCE_NOW : misfire;
+        this.maxMissedFirings = Math.max(0, maxMissed);
     }
 
     public Annotation getQualifier() {
@@ -44,4 +78,44 @@ public abstract class TriggerDetail implements Serializable {
         return allQualifiers;
     }
 
+    /**
+     * @return What to do when the trigger fires after missing one or more of its scheduled times.
+     * Never #{@link MisfirePolicy#DEFAULT}.
+     */
+    public MisfirePolicy getMisfirePolicy() {
+        return misfirePolicy;
+    }
+
+    /**
+     * @return The most missed firings to replay, if the policy is #{@link MisfirePolicy#FIRE_ALL_MISSED}.
+     */
+    public int getMaxMissedFirings() {
+        return maxMissedFirings;
+    }
+
+    /**
+     * @return true if the value of a #{@link Scheduled} qualifier is the name of a schedule in
+     * /cron.properties rather than the schedule itself.
+     */
+    protected static boolean isScheduleName(final String scheduledValue) {
+        return !scheduledValue.contains(" ") && !scheduledValue.contains(":");
+    }
+
+    /**
+     * @return The constant of the given enum named by the given property, or the default if the property isn't set.
+     * @throws SchedulerConfigurationException if the property doesn't name a constant.
+     */
+    protected static <E extends Enum<E>> E resolvePolicy(final Class<E> policyType, final String key, final E defaultPolicy) {
+        final String value = PropertyResolver.resolve(key);
+        if (value == null || value.trim().length() == 0) {
+            return defaultPolicy;
+        }
+        try {
+            return Enum.valueOf(policyType, value.trim().toUpperCase(Locale.ENGLISH).replace('-', '_'));
+        } catch (IllegalArgumentException ex) {
+            throw new SchedulerConfigurationException("Expected a " + policyType.getSimpleName() + " for property '" + key
+                    + "' but found '" + value + "'", ex);
+        }
+    }
+
 }
@@ -0,0 +1,119 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.trigger;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.ObserverMethod;
+import org.jboss.seam.cron.api.scheduling.Trigger;
+import org.jboss.seam.cron.util.PropertyResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * The observer methods of a trigger's event, resolved on its first firing and notified directly
+ * on every firing after that. Resolving observers is the costly part of
+ * #{@link BeanManager#fireEvent(Object, Annotation...)}, and a trigger's observers can't change
+ * unless the application is redeployed, which gives it a new #{@link BeanManager}. The observers
+ * are held in the trigger's #{@link TriggerState}, because most providers create a new
+ * #{@link TriggerSupport} (or deserialise the #{@link TriggerSupplies}) for every firing. That
+ * state belongs to the trigger's whole set of qualifiers, so two triggers which share their
+ * #{@literal @Every} or #{@literal @Scheduled} qualifier (say, with and without a #{@literal @Queue})
+ * each resolve their own observers.
+ * </p>
+ * <p>
+ * Notifying an observer method directly is what #{@link BeanManager#fireEvent(Object, Annotation...)}
+ * does once it has resolved it: the container's #{@link ObserverMethod#notify(Object)} skips a
+ * conditional observer whose bean doesn't exist yet, and wraps a checked exception from the observer
+ * in an #{@link javax.enterprise.event.ObserverException}, just as it does for fired events. The
+ * exception is that the container defers a transactional observer to the end of the transaction
+ * before it gets as far as notifying it, so the events of a trigger with any transactional observer
+ * are always fired through the #{@link BeanManager}.
+ * </p>
+ * <p>
+ * Set #{@literal org.jboss.seam.cron.notifyObserversDirectly} to false to fire every event
+ * through the #{@link BeanManager} instead.
+ * </p>
+ *
+ * @author agent
+ */
+final class TriggerObservers {
+
+    public static final String NOTIFY_DIRECTLY = "org.jboss.seam.cron.notifyObserversDirectly";
+    private static final Logger log = LoggerFactory.getLogger(TriggerObservers.class);
+    private static final boolean notifyDirectly = !"false".equalsIgnoreCase(PropertyResolver.resolve(NOTIFY_DIRECTLY));
+    private final BeanManager beanManager;
+    private final Class<?> eventType;
+    private final List<ObserverMethod<? super Trigger>> observers;
+    private final boolean transactional;
+
+    private TriggerObservers(final BeanManager beanManager, final Class<?> eventType, final Set<ObserverMethod<? super Trigger>> observers) {
+        this.beanManager = beanManager;
+        this.eventType = eventType;
+        this.observers = new ArrayList<ObserverMethod<? super Trigger>>(observers);
+        boolean anyTransactional = false;
+        for (ObserverMethod<? super Trigger> observer : observers) {
+            anyTransactional |= observer.getTransactionPhase() != TransactionPhase.IN_PROGRESS;
+        }
+        this.transactional = anyTransactional;
+    }
+
+    /**
+     * Deliver the event to the trigger's observers.
+     *
+     * @param trigger The trigger which is firing.
+     * @param state The trigger's state, which holds its observers once they are resolved.
+     * @param event The event to fire.
+     */
+    static void fire(final TriggerSupplies trigger, final TriggerState state, final Trigger event) {
+        final BeanManager beanManager = trigger.getBeanManager();
+        if (!notifyDirectly) {
+            beanManager.fireEvent(event, trigger.getQualifierArray());
+            return;
+        }
+        TriggerObservers observers = state.observers;
+        if (observers == null || observers.beanManager != beanManager || observers.eventType != event.getClass()) {
+            // first firing, or the application was redeployed
+            final Set<ObserverMethod<? super Trigger>> observerMethods;
+            try {
+                observerMethods = beanManager.resolveObserverMethods(event, trigger.getQualifierArray());
+            } catch (RuntimeException ex) {
+                log.debug("Could not resolve the observers of " + trigger.getQualifier() + ", so firing through the BeanManager", ex);
+                beanManager.fireEvent(event, trigger.getQualifierArray());
+                return;
+            }
+            observers = new TriggerObservers(beanManager, event.getClass(), observerMethods);
+            state.observers = observers;
+            if (log.isDebugEnabled()) {
+                log.debug("Resolved " + observers.observers.size() + " observer(s) of " + trigger.getQualifier()
+                        + (observers.transactional ? ", which will be fired through the BeanManager as some are transactional" : ""));
+            }
+        }
+        if (observers.transactional) {
+            beanManager.fireEvent(event, trigger.getQualifierArray());
+            return;
+        }
+        for (ObserverMethod<? super Trigger> observer : observers.observers) {
+            observer.notify(event);
+        }
+    }
+}
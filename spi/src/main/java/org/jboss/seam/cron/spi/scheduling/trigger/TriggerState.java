@@ -0,0 +1,219 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.trigger;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.jboss.seam.cron.api.scheduling.MisfirePolicy;
+import org.jboss.seam.cron.api.scheduling.OverlapPolicy;
+import org.jboss.seam.cron.spi.SeamCronExtension;
+
+/**
+ * <p>
+ * Whether a trigger's observers are running, used by #{@link TriggerSupport} to apply the
+ * trigger's #{@link OverlapPolicy}, and when it was last due, used to apply its
+ * #{@link MisfirePolicy}. Most providers create a new #{@link TriggerSupport} (or
+ * deserialise the #{@link TriggerSupplies}) for every firing, so the state is held by the
+ * #{@link SeamCronExtension} of the deployment, keyed by all the trigger's qualifiers (see
+ * #{@link SeamCronExtension#getTriggerState(TriggerDetail)}), rather than in either of them.
+ * A redeployed application therefore starts with fresh state.
+ * </p>
+ *
+ * @author agent
+ */
+public final class TriggerState {
+
+    /**
+     * Returned by #{@link #nextCatchUp()} when no firing is waiting.
+     */
+    static final long NONE = Long.MIN_VALUE;
+    // one permit: held while the trigger's observers are running. Fair, so that queued firings run in order
+    private final Semaphore running = new Semaphore(1, true);
+    private final AtomicInteger queued = new AtomicInteger(0);
+    // the scheduled time of the latest coalesced firing, or NONE
+    private final AtomicLong pending = new AtomicLong(NONE);
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    // when the trigger was last due, or NONE before its first firing
+    private final AtomicLong lastDue = new AtomicLong(NONE);
+    // missed firings skipped under SKIP_TO_NEXT, to be reported by the next firing which runs
+    private final AtomicInteger carriedMisses = new AtomicInteger(0);
+    private final LongAdder missed = new LongAdder();
+
+    // resolved on the first firing (see TriggerObservers)
+    volatile TriggerObservers observers;
+
+    public TriggerState() {
+    }
+
+    /**
+     * For #{@link OverlapPolicy#SKIP}.
+     *
+     * @return true if the firing may run, in which case #{@link #finished()} must be called
+     * afterwards; false if another firing is running, in which case this one is counted as skipped.
+     */
+    boolean tryStart() {
+        if (running.tryAcquire()) {
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    /**
+     * For #{@link OverlapPolicy#QUEUE}. Wait for the running firing (and any queued before this
+     * one) to finish.
+     *
+     * @param maxQueued The most firings which may wait at once.
+     * @return true if the firing may run, in which case #{@link #finished()} must be called
+     * afterwards; false if the queue was full or the thread was interrupted while waiting.
+     */
+    boolean awaitStart(final int maxQueued) {
+        try {
+            // unlike tryAcquire(), this doesn't jump ahead of firings which are already waiting
+            if (running.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                skipped.increment();
+                return false;
+            }
+            try {
+                running.acquire();
+                return true;
+            } finally {
+                queued.decrementAndGet();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            skipped.increment();
+            return false;
+        }
+    }
+
+    /**
+     * For #{@link OverlapPolicy#COALESCE}: record that a firing has fallen due. It replaces any
+     * firing already waiting.
+     *
+     * @param scheduledTime When the firing was due.
+     */
+    void fallDue(final long scheduledTime) {
+        if (pending.getAndSet(scheduledTime) != NONE) {
+            coalesced.increment();
+        }
+    }
+
+    /**
+     * For #{@link OverlapPolicy#COALESCE}: claim the waiting firing, unless another firing is
+     * running (it will claim it when it finishes) or none is waiting.
+     *
+     * @return The scheduled time of the claimed firing, in which case #{@link #finished()} must
+     * be called afterwards, or #{@link #NONE}.
+     */
+    long nextCatchUp() {
+        while (pending.get() != NONE && running.tryAcquire()) {
+            final long scheduledTime = pending.getAndSet(NONE);
+            if (scheduledTime != NONE) {
+                return scheduledTime;
+            }
+            running.release();
+        }
+        return NONE;
+    }
+
+    /**
+     * Record that the trigger has fallen due, and work out how many of its fire times passed
+     * without a firing since it was last due.
+     *
+     * @param due When the firing was due (or when it arrived, if the provider doesn't say).
+     * @param trigger The trigger, to count its fire times.
+     * @return The number of missed firings, or 0 on the first firing, for a firing older than the
+     * last one, or if the trigger's fire times can't be counted.
+     */
+    int recordDue(final long due, final TriggerSupplies trigger) {
+        long previous = lastDue.get();
+        while (previous == NONE || due > previous) {
+            if (lastDue.compareAndSet(previous, due)) {
+                if (previous == NONE) {
+                    return 0;
+                }
+                final int missedNow = Math.max(0, trigger.countFireTimes(previous, due) - 1);
+                missed.add(missedNow);
+                return missedNow;
+            }
+            previous = lastDue.get();
+        }
+        return 0;
+    }
+
+    /**
+     * For #{@link MisfirePolicy#SKIP_TO_NEXT}: a misfired firing was dropped. It and the firings
+     * it missed are reported by the next firing which runs.
+     *
+     * @param count The number of firings dropped.
+     */
+    void carryMissed(final int count) {
+        carriedMisses.addAndGet(count);
+    }
+
+    /**
+     * @return The firings dropped under #{@link MisfirePolicy#SKIP_TO_NEXT} since the last firing
+     * which ran, which this firing will now report.
+     */
+    int takeCarriedMisses() {
+        return carriedMisses.getAndSet(0);
+    }
+
+    /**
+     * The firing which was allowed to start has finished.
+     */
+    void finished() {
+        running.release();
+    }
+
+    /**
+     * @return The number of firings dropped because another was running.
+     */
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    /**
+     * @return The number of firings merged into a later catch-up firing.
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return The number of the trigger's fire times which passed without a firing.
+     */
+    public long getMissedCount() {
+        return missed.sum();
+    }
+
+    /**
+     * @return The number of firings waiting for the running one.
+     */
+    public int getQueuedCount() {
+        return queued.get();
+    }
+}
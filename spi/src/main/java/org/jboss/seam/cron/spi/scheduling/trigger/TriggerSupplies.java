@@ -18,22 +18,131 @@ package org.jboss.seam.cron.spi.scheduling.trigger;
 
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeSet;
 
 import javax.enterprise.inject.spi.BeanManager;
+import org.jboss.seam.cron.api.scheduling.Every;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.api.scheduling.OverlapPolicy;
+import org.jboss.seam.cron.api.scheduling.Scheduled;
+import org.jboss.seam.cron.spi.SeamCronExtension;
+import org.jboss.seam.cron.spi.scheduling.cron.CompiledCronSchedule;
+import org.jboss.seam.cron.util.CdiUtils;
+import org.jboss.seam.cron.util.PropertyResolver;
+import org.jboss.seam.cron.util.TimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Represents the objects required in order for a #{@link TriggerSupport} to be able to fire the appropriate event when required to.
+ * Everything which #{@link TriggerSupport} would otherwise have to work out on every firing (whether the trigger is
+ * #{@link Scheduled} or #{@link Every}, the #{@link Interval}, the #{@link OverlapPolicy} and the qualifiers as an array) is
+ * worked out once here.
  *
  * @author Peter Royle
  */
 public class TriggerSupplies extends TriggerDetail implements Serializable {
 
+    /**
+     * The property giving the #{@link OverlapPolicy} of triggers which don't choose one.
+     */
+    public static final String DEFAULT_OVERLAP_PROPERTY = "org.jboss.seam.cron.overlap";
+    /**
+     * The longest #{@link #getLeaseId()}, which fits the trigger id column of
+     * #{@link org.jboss.seam.cron.spi.scheduling.lease.JdbcTriggerLease}.
+     */
+    public static final int MAX_LEASE_ID_LENGTH = 255;
+    /**
+     * Counting the fire times of a cron schedule gives up after this many, so that a trigger
+     * which was suspended for a long time doesn't spend long working out how many firings it missed.
+     */
+    private static final int MAX_COUNTED_FIRE_TIMES = 10000;
+    private static final Logger log = LoggerFactory.getLogger(TriggerSupplies.class);
+
     protected final BeanManager beanManager;
+    private final boolean scheduled;
+    private final Interval interval;
+    private final Annotation[] qualifierArray;
+    private final TimeZone timeZone;
+    private final OverlapPolicy overlapPolicy;
+    private final int maxQueued;
+    private final String cronScheduleSpec;
+    private final long periodMillis;
+    private final String leaseId;
+    // worked out again after deserialisation
+    private transient CompiledCronSchedule cronSchedule;
+    private transient boolean cronScheduleCompiled;
+    private transient volatile SeamCronExtension cronExtension;
+    private transient volatile TriggerState state;
 
     public TriggerSupplies(final BeanManager beanManager, final Annotation qualifier, final Set<Annotation> allQualifiers) {
+        this(beanManager, null, qualifier, allQualifiers);
+    }
+
+    /**
+     * @param beanManager The CDI #{@link BeanManager}.
+     * @param cronExtension The extension which holds the deployment's trigger state, or null to
+     * look it up through the #{@link BeanManager} on the first firing.
+     * @param qualifier The qualifier of the trigger's event.
+     * @param allQualifiers All the qualifiers of the observer.
+     */
+    public TriggerSupplies(final BeanManager beanManager, final SeamCronExtension cronExtension, final Annotation qualifier,
+            final Set<Annotation> allQualifiers) {
         super(qualifier, allQualifiers);
         this.beanManager = beanManager;
+        this.cronExtension = cronExtension;
+        this.scheduled = CdiUtils.getQualifier(qualifier, Scheduled.class) != null;
+        OverlapPolicy overlap = OverlapPolicy.DEFAULT;
+        int queueBound = 1;
+        if (scheduled) {
+            this.interval = null;
+            this.periodMillis = 0;
+            final Scheduled scheduledQualifier = (Scheduled) CdiUtils.getQualifier(qualifier, Scheduled.class);
+            overlap = scheduledQualifier.overlap();
+            queueBound = scheduledQualifier.maxQueued();
+            final String name = scheduledQualifier.value();
+            if (isScheduleName(name)) {
+                // a named schedule, whose overlap can be configured along with it
+                overlap = resolvePolicy(OverlapPolicy.class, name + ".overlap", overlap);
+                queueBound = PropertyResolver.resolveInt(name + ".maxQueued", queueBound);
+                this.cronScheduleSpec = PropertyResolver.resolve(name);
+            } else {
+                this.cronScheduleSpec = name;
+            }
+        } else {
+            this.cronScheduleSpec = null;
+            final Every everyQualifier = (Every) CdiUtils.getQualifier(qualifier, Every.class);
+            this.interval = everyQualifier == null ? null : everyQualifier.value();
+            if (everyQualifier != null) {
+                overlap = everyQualifier.overlap();
+                queueBound = everyQualifier.maxQueued();
+                this.periodMillis = interval.getMillis() * Math.max(1, everyQualifier.nth());
+            } else {
+                this.periodMillis = 0;
+            }
+        }
+        if (overlap == OverlapPolicy.DEFAULT) {
+            overlap = resolvePolicy(OverlapPolicy.class, DEFAULT_OVERLAP_PROPERTY, OverlapPolicy.ALLOW);
+        }
+        if (overlap == OverlapPolicy.DEFAULT) {
+            overlap = OverlapPolicy.ALLOW;
+        }
+        this.overlapPolicy = overlap;
+        this.maxQueued = Math.max(0, queueBound);
+        this.qualifierArray = allQualifiers.toArray(new Annotation[allQualifiers.size()]);
+        this.timeZone = TimeZone.getDefault();
+        this.leaseId = leaseId(qualifier, allQualifiers);
     }
 
     /**
@@ -43,6 +152,237 @@ public class TriggerSupplies extends TriggerDetail implements Serializable {
         return beanManager;
     }
 
+    /**
+     * @return The #{@link SeamCronExtension} of the deployment which scheduled this trigger.
+     * @throws IllegalStateException If Seam Cron isn't deployed with the #{@link BeanManager}.
+     */
+    public SeamCronExtension getCronExtension() {
+        SeamCronExtension extension = cronExtension;
+        if (extension == null) {
+            // these supplies were deserialised, or created without the extension
+            extension = CdiUtils.getInstanceByType(beanManager, SeamCronExtension.class);
+            if (extension == null) {
+                throw new IllegalStateException("Seam Cron is not deployed with the BeanManager " + beanManager);
+            }
+            cronExtension = extension;
+        }
+        return extension;
+    }
+
+    /**
+     * @return Whether this trigger is running and when it was last due, which outlives these supplies.
+     */
+    public TriggerState getState() {
+        TriggerState triggerState = state;
+        if (triggerState == null) {
+            triggerState = getCronExtension().getTriggerState(this);
+            state = triggerState;
+        }
+        return triggerState;
+    }
+
+    /**
+     * @return true if the qualifier is (or is meta-annotated with) #{@link Scheduled}.
+     */
+    public boolean isScheduled() {
+        return scheduled;
+    }
+
+    /**
+     * @return The #{@link Interval} of the #{@link Every} qualifier, or null if this is not an interval trigger.
+     */
+    public Interval getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return The qualifiers to fire the event with. The array is shared between firings and must not be modified.
+     */
+    public Annotation[] getQualifierArray() {
+        return qualifierArray;
+    }
+
+    /**
+     * @return The time zone in which the second, minute or hour of interval triggers is reported.
+     */
+    public TimeZone getTimeZone() {
+        return timeZone;
+    }
+
+    /**
+     * @return What to do when this trigger falls due while the previous firing is still running.
+     * Never #{@link OverlapPolicy#DEFAULT}.
+     */
+    public OverlapPolicy getOverlapPolicy() {
+        return overlapPolicy;
+    }
+
+    /**
+     * @return The most firings waiting for the running one, if the policy is #{@link OverlapPolicy#QUEUE}.
+     */
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    /**
+     * Count the times at which this trigger was due in the given period, so that a late firing can
+     * tell how many it missed (see #{@link TriggerState#recordDue(long, TriggerSupplies)}).
+     *
+     * @param afterMillis The start of the period (exclusive), in epoch millis.
+     * @param untilMillis The end of the period (inclusive), in epoch millis.
+     * @return The number of fire times in the period, or -1 if they can't be worked out here
+     * (eg: a schedule which only the Quartz provider understands).
+     */
+    public int countFireTimes(final long afterMillis, final long untilMillis) {
+        if (untilMillis <= afterMillis) {
+            return 0;
+        }
+        if (periodMillis > 0) {
+            // providers don't fire exactly on the period, so round rather than truncate
+            return (int) Math.min(Integer.MAX_VALUE, Math.round((double) (untilMillis - afterMillis) / periodMillis));
+        }
+        final CompiledCronSchedule schedule = getCronSchedule();
+        if (schedule == null) {
+            return -1;
+        }
+        // providers fire a little either side of the exact fire time, which is always a whole second
+        final long until = roundToSecond(untilMillis);
+        int count = 0;
+        long next = schedule.nextFireTime(roundToSecond(afterMillis));
+        while (next > 0 && next <= until && count < MAX_COUNTED_FIRE_TIMES) {
+            count++;
+            next = schedule.nextFireTime(next);
+        }
+        return count;
+    }
+
+    /**
+     * @return Identifies this trigger to a #{@link org.jboss.seam.cron.spi.scheduling.lease.TriggerLease},
+     * the same on every node which schedules it: every qualifier of the trigger with the value of
+     * each of its members, so that triggers which differ in any of them (eg: #{@literal @Every(MINUTE)}
+     * and #{@literal @Every(value = SECOND, nth = 60)}) never claim each other's firings. At most
+     * #{@link #MAX_LEASE_ID_LENGTH} characters long.
+     */
+    public String getLeaseId() {
+        return leaseId;
+    }
+
+    /**
+     * @param fireTimeMillis When a firing fell due, in epoch millis.
+     * @return Identifies the firing among this trigger's firings, the same on every node even though
+     * each fires a little either side of the exact fire time: the epoch second for cron schedules,
+     * or for intervals the number of whole periods since the epoch, on the local time grid which
+     * their fire times are aligned on (see #{@link TimeUtils#intervalSlot}).
+     */
+    public long getFiringSlot(final long fireTimeMillis) {
+        if (periodMillis > 0) {
+            // fire times fall midway between the slot boundaries, so this tolerates jitter of half a period
+            return TimeUtils.intervalSlot(fireTimeMillis, periodMillis, timeZone);
+        }
+        return roundToSecond(fireTimeMillis) / 1000L;
+    }
+
+    /**
+     * Describe the qualifiers in a form which, unlike their #{@literal toString()}, is the same
+     * with every CDI implementation and JDK: sorted, with their members sorted by name.
+     */
+    private static String leaseId(final Annotation qualifier, final Set<Annotation> allQualifiers) {
+        final Set<String> described = new TreeSet<String>();
+        described.add(describe(qualifier));
+        for (Annotation each : allQualifiers) {
+            described.add(describe(each));
+        }
+        final StringBuilder id = new StringBuilder();
+        for (String each : described) {
+            id.append(id.length() == 0 ? "" : " ").append(each);
+        }
+        if (id.length() <= MAX_LEASE_ID_LENGTH) {
+            return id.toString();
+        }
+        // keep the start recognisable, and tell long ids apart by a digest of the whole
+        final String digest = digest(id.toString());
+        return id.substring(0, MAX_LEASE_ID_LENGTH - digest.length() - 1) + "#" + digest;
+    }
+
+    private static String describe(final Annotation annotation) {
+        final Method[] members = annotation.annotationType().getDeclaredMethods();
+        Arrays.sort(members, new Comparator<Method>() {
+
+            public int compare(final Method a, final Method b) {
+                return a.getName().compareTo(b.getName());
+            }
+        });
+        final StringBuilder description = new StringBuilder(annotation.annotationType().getName()).append('(');
+        for (int i = 0; i < members.length; i++) {
+            try {
+                members[i].setAccessible(true);
+                description.append(i == 0 ? "" : ", ").append(members[i].getName()).append('=')
+                        .append(describeValue(members[i].invoke(annotation)));
+            } catch (IllegalAccessException ex) {
+                throw new IllegalStateException("Could not read " + members[i] + " of " + annotation, ex);
+            } catch (InvocationTargetException ex) {
+                throw new IllegalStateException("Could not read " + members[i] + " of " + annotation, ex.getCause());
+            }
+        }
+        return description.append(')').toString();
+    }
+
+    private static String describeValue(final Object value) {
+        if (value instanceof Class) {
+            return ((Class<?>) value).getName();
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        if (value instanceof Annotation) {
+            return describe((Annotation) value);
+        }
+        if (value.getClass().isArray()) {
+            final StringBuilder elements = new StringBuilder("{");
+            for (int i = 0; i < Array.getLength(value); i++) {
+                elements.append(i == 0 ? "" : ", ").append(describeValue(Array.get(value, i)));
+            }
+            return elements.append('}').toString();
+        }
+        if (value instanceof String) {
+            return '"' + ((String) value).replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+        }
+        return String.valueOf(value);
+    }
+
+    private static String digest(final String text) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder hex = new StringBuilder();
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            // every JRE has SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private CompiledCronSchedule getCronSchedule() {
+        if (!cronScheduleCompiled) {
+            if (cronScheduleSpec != null) {
+                try {
+                    cronSchedule = CompiledCronSchedule.compile(cronScheduleSpec, timeZone);
+                } catch (ParseException ex) {
+                    log.debug("Missed firings of " + getQualifier() + " won't be counted, as its schedule '"
+                            + cronScheduleSpec + "' can't be compiled: " + ex.getMessage());
+                }
+            }
+            cronScheduleCompiled = true;
+        }
+        return cronSchedule;
+    }
+
+    private static long roundToSecond(final long millis) {
+        return Math.floorDiv(millis + 500, 1000L) * 1000L;
+    }
+
     @Override
     public String toString() {
         return getClass().getName() + "{" + "beanManager=" + beanManager + ", qualifier=" + getQualifier() + '}';
@@ -16,15 +16,17 @@
  */
 package org.jboss.seam.cron.spi.scheduling.trigger;
 
-import java.lang.annotation.Annotation;
-import java.util.Date;
-import java.util.GregorianCalendar;
-
-import org.jboss.seam.cron.api.scheduling.Every;
-import org.jboss.seam.cron.api.scheduling.Scheduled;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.api.scheduling.MisfirePolicy;
+import org.jboss.seam.cron.api.scheduling.OverlapPolicy;
 import org.jboss.seam.cron.api.scheduling.Trigger;
 import org.jboss.seam.cron.spi.scheduling.CronSchedulingProvider;
-import org.jboss.seam.cron.util.CdiUtils;
+import org.jboss.seam.cron.spi.scheduling.lease.TriggerLease;
+import org.jboss.seam.cron.spi.scheduling.lease.TriggerLeases;
+import org.jboss.seam.cron.spi.scheduling.metrics.TriggerInstrumentation;
+import org.jboss.seam.cron.spi.scheduling.metrics.TriggerMetricsRecorder;
+import org.jboss.seam.cron.util.PropertyResolver;
+import org.jboss.seam.cron.util.TimeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +39,32 @@ import org.slf4j.LoggerFactory;
  * #{@literal fireTrigger()} at the scheduled time(s).
  * </p>
  * <p>
+ * Every firing is reported to the #{@link TriggerMetricsRecorder} held by the deployment's
+ * #{@link TriggerInstrumentation}. Providers which know when a firing was due should call
+ * #{@literal fireTrigger(long)} so that its lateness is recorded too.
+ * </p>
+ * <p>
+ * If the trigger falls due while its observers are still running, its #{@link OverlapPolicy}
+ * is applied here (see #{@link TriggerState}), so providers needn't prevent overlapping
+ * firings themselves.
+ * </p>
+ * <p>
+ * Likewise the trigger's #{@link MisfirePolicy} is applied here when a firing arrives after
+ * one or more of the trigger's fire times have passed without a firing (eg: because the
+ * application was suspended), or more than
+ * #{@literal org.jboss.seam.cron.misfireThresholdMillis} (default: 60000) after it was due.
+ * The number of missed firings is reported to observers by #{@link Trigger#getMissedFirings()}.
+ * </p>
+ * <p>
+ * If the deployment has a #{@link TriggerLease} (see #{@link TriggerLeases}), each firing is claimed
+ * through it first and only runs if this node gets it, so that a trigger scheduled on every
+ * node of a cluster still fires once.
+ * </p>
+ * <p>
+ * The trigger's observers are resolved on its first firing and notified directly after that
+ * (see #{@link TriggerObservers}).
+ * </p>
+ * <p>
  * If the scheduling provider does not allow context to be passed directly to
  * a new worker instance, but instead requires it to be passed via some
  * other context, you will need to use #{@link ProviderContextTriggerSupport}
@@ -49,10 +77,11 @@ import org.slf4j.LoggerFactory;
  */
 public class TriggerSupport {
 
+    public static final String MISFIRE_THRESHOLD_MILLIS = "org.jboss.seam.cron.misfireThresholdMillis";
+    private static final long misfireThresholdMillis = PropertyResolver.resolveLong(MISFIRE_THRESHOLD_MILLIS, 60000);
     protected int value = 0;
-    protected final GregorianCalendar gc = new GregorianCalendar();
     protected TriggerSupplies supplies = null;
-    private final Logger log = LoggerFactory.getLogger(TriggerSupport.class);
+    private static final Logger log = LoggerFactory.getLogger(TriggerSupport.class);
 
     protected TriggerSupport() {
     }
@@ -67,35 +96,165 @@ public class TriggerSupport {
      *
      */
     public void fireTrigger() {
+        fireTrigger(0);
+    }
+
+    /**
+     * As for #{@literal fireTrigger()}, also recording how late the firing is.
+     *
+     * @param scheduledTime When the firing was due, in epoch millis, or 0 if not known.
+     */
+    public void fireTrigger(final long scheduledTime) {
+        final TriggerState state = supplies.getState();
+        final long now = currentTimeMillis();
+        int missed = state.recordDue(scheduledTime > 0 ? scheduledTime : now, supplies);
+        if (!supplies.getCronExtension().getTriggerLeases().claim(supplies, scheduledTime > 0 ? scheduledTime : now)) {
+            log.debug("Not firing trigger " + supplies.getQualifier() + " as another node has claimed this firing");
+            return;
+        }
+        final boolean misfired = missed > 0 || (scheduledTime > 0 && now - scheduledTime > misfireThresholdMillis);
+        if (misfired) {
+            switch (supplies.getMisfirePolicy()) {
+                case SKIP_TO_NEXT:
+                    log.debug("Skipping misfired trigger " + supplies.getQualifier() + " which missed " + missed + " firing(s)");
+                    state.carryMissed(missed + 1);
+                    return;
+                case FIRE_ALL_MISSED:
+                    final int replayed = Math.min(missed, supplies.getMaxMissedFirings());
+                    log.debug("Replaying " + replayed + " of " + missed + " missed firing(s) of trigger " + supplies.getQualifier());
+                    for (int i = 0; i < replayed; i++) {
+                        fireTrigger(scheduledTime, state, 0);
+                    }
+                    missed -= replayed;
+                    break;
+                default:
+                    break;
+            }
+        }
+        fireTrigger(scheduledTime, state, missed + state.takeCarriedMisses());
+    }
+
+    /**
+     * Apply the trigger's #{@link OverlapPolicy} to one firing.
+     */
+    private void fireTrigger(final long scheduledTime, final TriggerState state, final int missed) {
+        final OverlapPolicy overlapPolicy = supplies.getOverlapPolicy();
+        if (overlapPolicy == OverlapPolicy.ALLOW) {
+            fire(scheduledTime, state, missed);
+            return;
+        }
+        switch (overlapPolicy) {
+            case SKIP:
+                if (!state.tryStart()) {
+                    log.debug("Skipping trigger " + supplies.getQualifier() + " as its previous firing is still running");
+                    return;
+                }
+                try {
+                    fire(scheduledTime, state, missed);
+                } finally {
+                    state.finished();
+                }
+                break;
+            case QUEUE:
+                if (!state.awaitStart(supplies.getMaxQueued())) {
+                    log.debug("Skipping trigger " + supplies.getQualifier() + " as " + supplies.getMaxQueued()
+                            + " firing(s) are already queued behind the running one");
+                    return;
+                }
+                try {
+                    fire(scheduledTime, state, missed);
+                } finally {
+                    state.finished();
+                }
+                break;
+            case COALESCE:
+                state.fallDue(scheduledTime);
+                // whoever is running when firings fall due runs one catch-up firing for all of them
+                long catchUpTime;
+                int catchUpMissed = missed;
+                while ((catchUpTime = state.nextCatchUp()) != TriggerState.NONE) {
+                    try {
+                        fire(catchUpTime, state, catchUpMissed);
+                    } finally {
+                        state.finished();
+                    }
+                    catchUpMissed = 0;
+                }
+                break;
+            default:
+                fire(scheduledTime, state, missed);
+                break;
+        }
+    }
+
+    private void fire(final long scheduledTime, final TriggerState state, final int missed) {
 
-        gc.setTime(new Date());
+        final long now = currentTimeMillis();
 
         if (log.isTraceEnabled()) {
             log.trace("Firing scheduled trigger with these supplies: " + (supplies != null ? supplies.toString() : supplies));
         }
         
         Trigger eventPayload = null;
-        final Scheduled schedQualifier = (Scheduled) CdiUtils.getQualifier(supplies.getQualifier(), Scheduled.class);
-        if (schedQualifier != null) {
-            eventPayload = createScheduledEventPayload();
+        if (supplies.isScheduled()) {
+            eventPayload = createScheduledEventPayload(now, missed);
         } else {
-            final Every everyQualifier = (Every) CdiUtils.getQualifier(supplies.getQualifier(), Every.class);
-            if (everyQualifier != null) {
-                switch (everyQualifier.value()) {
+            final Interval interval = supplies.getInterval();
+            if (interval != null) {
+                switch (interval) {
+                    case MILLISECOND:
+                        eventPayload = createMillisecondEventPayload(now, missed);
+                        break;
                     case SECOND:
-                        eventPayload = createSecondEventPayload();
+                        eventPayload = createSecondEventPayload(now, missed);
                         break;
                     case MINUTE:
-                        eventPayload = createMinuteEventPayload();
+                        eventPayload = createMinuteEventPayload(now, missed);
                         break;
                     case HOUR:
-                        eventPayload = createHourEventPayload();
+                        eventPayload = createHourEventPayload(now, missed);
+                        break;
+                    case DAY:
+                        eventPayload = createDayEventPayload(now, missed);
                         break;
                 }
             }
         }
-        log.trace("Firing time event for " + eventPayload + " with qualifier " + supplies.getQualifiers());
-        supplies.getBeanManager().fireEvent(eventPayload, supplies.getQualifiers().toArray(new Annotation[] {}));
+        if (log.isTraceEnabled()) {
+            log.trace("Firing time event for " + eventPayload + " with qualifier " + supplies.getQualifiers());
+        }
+        final TriggerMetricsRecorder recorder = supplies.getCronExtension().getTriggerInstrumentation().getRecorder();
+        final long startNanos = System.nanoTime();
+        Throwable failure = null;
+        try {
+            TriggerObservers.fire(supplies, state, eventPayload);
+        } catch (RuntimeException ex) {
+            failure = ex;
+            throw ex;
+        } catch (Error err) {
+            failure = err;
+            throw err;
+        } finally {
+            recorder.recordFiring(supplies, scheduledTime > 0 ? now - scheduledTime : TriggerMetricsRecorder.UNKNOWN_LATENESS,
+                    System.nanoTime() - startNanos, failure);
+        }
+    }
+
+    /**
+     * For providers which keep their deadlines on the monotonic clock (see #{@link FixedRateSchedule}):
+     * record how far this firing is from its fire time, before calling #{@literal fireTrigger(long)}.
+     *
+     * @param jitterNanos How long after (or, if negative, before) its fire time the trigger is firing.
+     */
+    public void recordJitter(final long jitterNanos) {
+        supplies.getCronExtension().getTriggerInstrumentation().getRecorder().recordJitter(supplies, jitterNanos);
+    }
+
+    /**
+     * @return The time now, in epoch millis. Overridden by tests to control the clock.
+     */
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
     }
 
     protected void setTriggerSupplies(TriggerSupplies supplies) {
@@ -103,26 +262,33 @@ public class TriggerSupport {
     }
 
     /**
-     * Create an instance of the Event payload using the current system time.
+     * Create an instance of the Event payload for the given time.
      *
+     * @param now The time of firing, in epoch millis.
+     * @param missed The number of firings missed before this one.
      * @return an instance of Event.
      */
-    protected Trigger createScheduledEventPayload() {
-        return new Trigger(System.currentTimeMillis());
+    protected Trigger createScheduledEventPayload(final long now, final int missed) {
+        return new Trigger(now, 0, missed);
+    }
+
+    protected Trigger createMillisecondEventPayload(final long now, final int missed) {
+        return new Trigger(now, TimeUtils.millisecondOfSecond(now), missed);
+    }
+
+    protected Trigger createSecondEventPayload(final long now, final int missed) {
+        return new Trigger(now, TimeUtils.secondOfMinute(now, supplies.getTimeZone()), missed);
     }
 
-    protected Trigger createSecondEventPayload() {
-        return new Trigger(System.currentTimeMillis(),
-                gc.get(GregorianCalendar.SECOND));
+    protected Trigger createMinuteEventPayload(final long now, final int missed) {
+        return new Trigger(now, TimeUtils.minuteOfHour(now, supplies.getTimeZone()), missed);
     }
 
-    protected Trigger createMinuteEventPayload() {
-        return new Trigger(System.currentTimeMillis(),
-                gc.get(GregorianCalendar.MINUTE));
+    protected Trigger createHourEventPayload(final long now, final int missed) {
+        return new Trigger(now, TimeUtils.hourOfDay(now, supplies.getTimeZone()), missed);
     }
 
-    protected Trigger createHourEventPayload() {
-        return new Trigger(System.currentTimeMillis(),
-                gc.get(GregorianCalendar.HOUR_OF_DAY));
+    protected Trigger createDayEventPayload(final long now, final int missed) {
+        return new Trigger(now, TimeUtils.dayOfMonth(now, supplies.getTimeZone()), missed);
     }
 }
@@ -0,0 +1,120 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.enterprise.inject.spi.ProcessObserverMethod;
+import javax.inject.Qualifier;
+import org.jboss.seam.cron.api.scheduling.Every;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.api.scheduling.Scheduled;
+import org.junit.Test;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that #{@link CronObserverFilter} classifies observers by the qualifiers which the container
+ * reports for them.
+ *
+ * @author agent
+ */
+public class CronObserverFilterTest {
+
+    private final CronObserverFilter filter = new CronObserverFilter();
+
+    @Test
+    public void testObserversOfCronQualifiersAreKept() throws Exception {
+        assertTrue(filter.isCronObserver(observer(qualifiersOf("onEverySecond"))));
+        assertTrue(filter.isCronObserver(observer(qualifiersOf("onEveryMinute"))));
+        assertTrue(filter.isCronObserver(observer(qualifiersOf("onNamedSchedule"))));
+    }
+
+    @Test
+    public void testQualifiersAddedByAnExtensionAreSeen() throws Exception {
+        // eg: a portable extension added the qualifier to an observer which has none in the source
+        final Set<Annotation> qualifiers = qualifiersOf("onOther");
+        qualifiers.addAll(qualifiersOf("onEverySecond"));
+        assertTrue(filter.isCronObserver(observer(qualifiers)));
+    }
+
+    @Test
+    public void testOtherObserversAreLeftOut() throws Exception {
+        assertFalse(filter.isCronObserver(observer(qualifiersOf("onOther"))));
+        assertFalse(filter.isCronObserver(observer(Collections.<Annotation>emptySet())));
+        // the type's classification is remembered, and doesn't leak into other types
+        assertTrue(filter.isCronObserver(observer(qualifiersOf("onEverySecond"))));
+        assertFalse(filter.isCronObserver(observer(qualifiersOf("onOther"))));
+    }
+
+    /**
+     * @return The container's view of an observer method, observing the given qualifiers.
+     */
+    private static ProcessObserverMethod<?, ?> observer(final Set<Annotation> qualifiers) {
+        final ObserverMethod<?> observerMethod = proxy(ObserverMethod.class, "getObservedQualifiers", qualifiers);
+        return proxy(ProcessObserverMethod.class, "getObserverMethod", observerMethod);
+    }
+
+    private static Set<Annotation> qualifiersOf(final String methodName) throws NoSuchMethodException {
+        final Annotation[] annotations = Observers.class.getMethod(methodName, Object.class).getParameterAnnotations()[0];
+        return new HashSet<Annotation>(Arrays.asList(annotations));
+    }
+
+    /**
+     * @return A #{@literal type} which returns #{@literal result} from #{@literal methodName}, and
+     * otherwise returns null.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<T> type, final String methodName, final Object result) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new InvocationHandler() {
+
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                return method.getName().equals(methodName) ? result : null;
+            }
+        });
+    }
+
+    @Scheduled("test.named")
+    @Qualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Named {
+    }
+
+    public static class Observers {
+
+        public void onEverySecond(@Every(Interval.SECOND) final Object event) {
+        }
+
+        public void onEveryMinute(@Every(Interval.MINUTE) final Object event) {
+        }
+
+        public void onNamedSchedule(@Named final Object event) {
+        }
+
+        public void onOther(@Deprecated final Object event) {
+        }
+    }
+}
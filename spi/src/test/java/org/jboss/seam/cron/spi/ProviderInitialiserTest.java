@@ -0,0 +1,270 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import javax.naming.Context;
+import javax.naming.NameNotFoundException;
+import javax.naming.spi.InitialContextFactory;
+import org.jboss.seam.cron.api.exception.CronProviderDestructionException;
+import org.jboss.seam.cron.api.exception.CronProviderInitialisationException;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that #{@link ProviderInitialiser} starts the providers of each engine one after another
+ * and those of different engines in parallel, on the container's managed threads if it has them,
+ * and that a failure reaches the deploying thread only once every engine has been started.
+ *
+ * @author agent
+ */
+public class ProviderInitialiserTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    /**
+     * The thread factory which #{@link ManagedContextFactory} finds, if any.
+     */
+    static volatile ThreadFactory managedThreadFactory;
+    private final List<String> initialised = Collections.synchronizedList(new ArrayList<String>());
+    private final Map<CronProviderLifecycle, Long> initMillis = new ConcurrentHashMap<CronProviderLifecycle, Long>();
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(ProviderInitialiser.PARALLEL_INIT);
+        System.clearProperty(ProviderInitialiser.THREAD_FACTORY);
+        System.clearProperty(Context.INITIAL_CONTEXT_FACTORY);
+        managedThreadFactory = null;
+    }
+
+    @Test
+    public void testProvidersOfAnEngineStartInOrderOnOneThread() {
+        final Provider queue = new Provider("queue", "engine");
+        final Provider scheduling = new Provider("scheduling", "engine");
+        final Provider asynchronous = new Provider("asynchronous", "engine");
+        final Provider other = new Provider("other", "other");
+        ProviderInitialiser.initialise(Arrays.<CronProviderLifecycle>asList(queue, other, scheduling, asynchronous), initMillis);
+
+        final List<String> ofEngine = new ArrayList<String>(initialised);
+        ofEngine.remove("other");
+        assertEquals(Arrays.asList("queue", "scheduling", "asynchronous"), ofEngine);
+        assertSame(queue.initialisedOn, scheduling.initialisedOn);
+        assertSame(queue.initialisedOn, asynchronous.initialisedOn);
+        assertNotSame(queue.initialisedOn, other.initialisedOn);
+        assertNotSame(Thread.currentThread(), queue.initialisedOn);
+        assertEquals(4, initMillis.size());
+    }
+
+    @Test
+    public void testEnginesStartInParallel() {
+        // each waits for the other to have started, which can't happen one after the other
+        final CountDownLatch firstStarted = new CountDownLatch(1);
+        final CountDownLatch secondStarted = new CountDownLatch(1);
+        final Provider first = new Provider("first", "first") {
+            @Override
+            public void initProvider() {
+                firstStarted.countDown();
+                await(secondStarted);
+                super.initProvider();
+            }
+        };
+        final Provider second = new Provider("second", "second") {
+            @Override
+            public void initProvider() {
+                secondStarted.countDown();
+                await(firstStarted);
+                super.initProvider();
+            }
+        };
+        ProviderInitialiser.initialise(Arrays.<CronProviderLifecycle>asList(first, second), initMillis);
+        assertEquals(2, initialised.size());
+    }
+
+    @Test
+    public void testProvidersStartOnTheDeployingThreadIfParallelInitIsOff() {
+        System.setProperty(ProviderInitialiser.PARALLEL_INIT, "false");
+        final Provider first = new Provider("first", "first");
+        final Provider second = new Provider("second", "second");
+        ProviderInitialiser.initialise(Arrays.<CronProviderLifecycle>asList(first, second), initMillis);
+        assertEquals(Arrays.asList("first", "second"), initialised);
+        assertSame(Thread.currentThread(), first.initialisedOn);
+        assertSame(Thread.currentThread(), second.initialisedOn);
+    }
+
+    @Test
+    public void testFailureIsRethrownOnceEveryEngineHasStarted() {
+        final CronProviderInitialisationException failure = new CronProviderInitialisationException("failed");
+        final CountDownLatch slowMayFinish = new CountDownLatch(1);
+        final Provider failing = new Provider("failing", "failing") {
+            @Override
+            public void initProvider() {
+                slowMayFinish.countDown();
+                throw failure;
+            }
+        };
+        final Provider afterFailing = new Provider("afterFailing", "failing");
+        final Provider slow = new Provider("slow", "slow") {
+            @Override
+            public void initProvider() {
+                await(slowMayFinish);
+                super.initProvider();
+            }
+        };
+        try {
+            ProviderInitialiser.initialise(Arrays.<CronProviderLifecycle>asList(failing, afterFailing, slow), initMillis);
+            fail("The failure should have been rethrown");
+        } catch (CronProviderInitialisationException ex) {
+            assertSame(failure, ex);
+        }
+        // the rest of the failed engine isn't started, while the other engine was waited for
+        assertEquals(Arrays.asList("slow"), initialised);
+        assertEquals(Collections.singleton(slow), initMillis.keySet());
+    }
+
+    @Test
+    public void testErrorIsRethrown() {
+        final Error error = new AssertionError("broken");
+        final Provider failing = new Provider("failing", "failing") {
+            @Override
+            public void initProvider() {
+                throw error;
+            }
+        };
+        try {
+            ProviderInitialiser.initialise(Arrays.<CronProviderLifecycle>asList(failing, new Provider("other", "other")), initMillis);
+            fail("The error should have been rethrown");
+        } catch (AssertionError ex) {
+            assertSame(error, ex);
+        }
+    }
+
+    @Test
+    public void testEnginesStartOnTheManagedThreadFactory() {
+        final List<Thread> created = Collections.synchronizedList(new ArrayList<Thread>());
+        managedThreadFactory = new ThreadFactory() {
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "Managed");
+                created.add(thread);
+                return thread;
+            }
+        };
+        System.setProperty(Context.INITIAL_CONTEXT_FACTORY, ManagedContextFactory.class.getName());
+        final Provider first = new Provider("first", "first");
+        final Provider second = new Provider("second", "second");
+        ProviderInitialiser.initialise(Arrays.<CronProviderLifecycle>asList(first, second), initMillis);
+        assertTrue(created.contains(first.initialisedOn));
+        assertTrue(created.contains(second.initialisedOn));
+    }
+
+    @Test
+    public void testOwnThreadsAreUsedWithoutAManagedThreadFactory() {
+        final ClassLoader classLoader = new ClassLoader() {
+        };
+        final Thread thread = ProviderInitialiser.threadFactory(classLoader).newThread(new Runnable() {
+            public void run() {
+            }
+        });
+        assertTrue(thread.getName().startsWith("SeamCronInit-"));
+        assertTrue(thread.isDaemon());
+        assertSame(classLoader, thread.getContextClassLoader());
+    }
+
+    @Test
+    public void testConfiguredThreadFactoryMustExist() {
+        System.setProperty(Context.INITIAL_CONTEXT_FACTORY, ManagedContextFactory.class.getName());
+        System.setProperty(ProviderInitialiser.THREAD_FACTORY, "java:comp/env/MissingThreadFactory");
+        try {
+            ProviderInitialiser.threadFactory(null);
+            fail("A missing thread factory should not be ignored once it is configured");
+        } catch (CronProviderInitialisationException ex) {
+            assertTrue(ex.getMessage().contains("java:comp/env/MissingThreadFactory"));
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            if (!latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for another provider");
+            }
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private class Provider implements CronProviderLifecycle {
+
+        private final String name;
+        private final String engine;
+        private volatile Thread initialisedOn;
+
+        Provider(final String name, final String engine) {
+            this.name = name;
+            this.engine = engine;
+        }
+
+        public void initProvider() throws CronProviderInitialisationException {
+            initialisedOn = Thread.currentThread();
+            initialised.add(name);
+        }
+
+        public void destroyProvider() throws CronProviderDestructionException {
+        }
+
+        public String getEngineName() {
+            return engine;
+        }
+    }
+
+    /**
+     * A JNDI context which holds nothing but #{@link #managedThreadFactory}, at the default name.
+     */
+    public static class ManagedContextFactory implements InitialContextFactory {
+
+        public Context getInitialContext(final Hashtable<?, ?> environment) {
+            return (Context) Proxy.newProxyInstance(ProviderInitialiserTest.class.getClassLoader(), new Class<?>[]{Context.class},
+                    new InvocationHandler() {
+
+                public Object invoke(final Object proxy, final Method method, final Object[] args) throws Exception {
+                    if (method.getName().equals("lookup")) {
+                        if ("java:comp/DefaultManagedThreadFactory".equals(args[0]) && managedThreadFactory != null) {
+                            return managedThreadFactory;
+                        }
+                        throw new NameNotFoundException(String.valueOf(args[0]));
+                    }
+                    return null;
+                }
+            });
+        }
+    }
+}
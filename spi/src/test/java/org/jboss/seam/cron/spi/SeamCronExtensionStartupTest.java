@@ -0,0 +1,185 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.enterprise.inject.spi.BeanManager;
+import org.jboss.seam.cron.api.exception.CronProviderDestructionException;
+import org.jboss.seam.cron.api.exception.CronProviderInitialisationException;
+import org.jboss.seam.cron.spi.asynchronous.CronAsynchronousProvider;
+import org.jboss.seam.cron.spi.asynchronous.Invoker;
+import org.jboss.seam.cron.spi.queue.CronQueueInstaller;
+import org.jboss.seam.cron.spi.scheduling.CronSchedulingInstaller;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks when #{@link SeamCronExtension} starts and stops the asynchronous provider, in particular
+ * that with #{@link SeamCronExtension#LAZY_ASYNCHRONOUS_INIT} it is started once, by the first
+ * asynchronous invocation.
+ *
+ * @author agent
+ */
+public class SeamCronExtensionStartupTest {
+
+    private final AsynchronousProvider provider = new AsynchronousProvider();
+    private final BeanManager beanManager = beanManager(provider);
+    private final SeamCronExtension extension = new SeamCronExtension();
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(SeamCronExtension.LAZY_ASYNCHRONOUS_INIT);
+    }
+
+    @Test
+    public void testProviderStartsAtDeployment() {
+        deploy();
+        assertEquals(1, provider.initialised.get());
+        assertSame(provider, extension.getAsynchronousProvider());
+        assertEquals(1, provider.initialised.get());
+        undeploy();
+        assertEquals(1, provider.destroyed.get());
+    }
+
+    @Test
+    public void testLazyProviderStartsOnFirstInvocation() {
+        System.setProperty(SeamCronExtension.LAZY_ASYNCHRONOUS_INIT, "true");
+        deploy();
+        assertEquals(0, provider.initialised.get());
+        assertSame(provider, extension.getAsynchronousProvider());
+        assertEquals(1, provider.initialised.get());
+        assertSame(provider, extension.getAsynchronousProvider());
+        assertEquals(1, provider.initialised.get());
+        undeploy();
+        assertEquals(1, provider.destroyed.get());
+    }
+
+    @Test
+    public void testLazyProviderStartsOnceForConcurrentInvocations() throws InterruptedException {
+        System.setProperty(SeamCronExtension.LAZY_ASYNCHRONOUS_INIT, "true");
+        deploy();
+        final CountDownLatch go = new CountDownLatch(1);
+        final List<Thread> invokers = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            final Thread invoker = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        go.await();
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                    extension.getAsynchronousProvider();
+                }
+            });
+            invoker.start();
+            invokers.add(invoker);
+        }
+        go.countDown();
+        for (Thread invoker : invokers) {
+            invoker.join();
+        }
+        assertEquals(1, provider.initialised.get());
+        undeploy();
+    }
+
+    @Test
+    public void testUnusedLazyProviderIsNotStopped() {
+        System.setProperty(SeamCronExtension.LAZY_ASYNCHRONOUS_INIT, "true");
+        deploy();
+        undeploy();
+        assertEquals(0, provider.initialised.get());
+        assertEquals(0, provider.destroyed.get());
+    }
+
+    @Test
+    public void testFailedLazyStartReachesTheInvokerAndIsRetried() {
+        System.setProperty(SeamCronExtension.LAZY_ASYNCHRONOUS_INIT, "true");
+        final CronProviderInitialisationException failure = new CronProviderInitialisationException("failed");
+        provider.failure = failure;
+        deploy();
+        try {
+            extension.getAsynchronousProvider();
+            fail("The failure to start should have reached the invoker");
+        } catch (CronProviderInitialisationException ex) {
+            assertSame(failure, ex);
+        }
+        provider.failure = null;
+        assertSame(provider, extension.getAsynchronousProvider());
+        undeploy();
+        assertEquals(1, provider.destroyed.get());
+    }
+
+    private void deploy() {
+        extension.initProviders(null, beanManager, new CronQueueInstaller(), new CronSchedulingInstaller());
+    }
+
+    private void undeploy() {
+        extension.stopProviders(null, beanManager, new CronSchedulingInstaller());
+    }
+
+    /**
+     * @return A #{@link BeanManager} whose only bean is the given asynchronous provider.
+     */
+    private static BeanManager beanManager(final CronAsynchronousProvider provider) {
+        return (BeanManager) Proxy.newProxyInstance(SeamCronExtensionStartupTest.class.getClassLoader(),
+                new Class<?>[]{BeanManager.class}, new InvocationHandler() {
+
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                if (method.getName().equals("getReference") && args[1] == CronAsynchronousProvider.class) {
+                    return provider;
+                }
+                return null;
+            }
+        });
+    }
+
+    private static class AsynchronousProvider implements CronProviderLifecycle, CronAsynchronousProvider {
+
+        private final AtomicInteger initialised = new AtomicInteger();
+        private final AtomicInteger destroyed = new AtomicInteger();
+        private volatile RuntimeException failure;
+
+        public void initProvider() throws CronProviderInitialisationException {
+            if (failure != null) {
+                throw failure;
+            }
+            initialised.incrementAndGet();
+        }
+
+        public void destroyProvider() throws CronProviderDestructionException {
+            destroyed.incrementAndGet();
+        }
+
+        public Future executeAndReturnFuture(final String queueId, final Invoker invoker) {
+            throw new UnsupportedOperationException();
+        }
+
+        public void executeWithoutReturn(final String queueId, final Invoker invoker) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.asynchronous;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.jboss.seam.cron.api.asynchronous.AsyncCompletableResult;
+import org.jboss.seam.cron.api.asynchronous.AsyncResult;
+import org.jboss.seam.cron.impl.asynchronous.exception.AsynchronousMethodInvocationException;
+import org.jboss.seam.cron.spi.asynchronous.TestInvocations.HeldProvider;
+import org.jboss.seam.cron.spi.queue.QueueStatus;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks how #{@link InFlightInvocations} drains asynchronous invocations at shutdown: waiting for
+ * those in flight, giving up at the deadline, and abandoning whichever are left so that their
+ * callers are told why rather than seeing them cancelled.
+ *
+ * @author agent
+ */
+public class InFlightInvocationsTest {
+
+    private final InFlightInvocations inFlight = new InFlightInvocations();
+    private final QueueStatus queueStatus = new QueueStatus("");
+    private final HeldProvider provider = new HeldProvider();
+    private final Jobs jobs = new Jobs();
+    private final AsynchronousMethodInvocationException abandoned = new AsynchronousMethodInvocationException("shut down");
+
+    @Test
+    public void testDrainWaitsForInvocationsInFlight() throws Exception {
+        final Future<?> result = (Future<?>) submit(TestInvocations.invoker(jobs, "compute", "a"));
+        final Thread runner = new Thread() {
+
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                provider.run(0);
+            }
+        };
+        runner.start();
+        final List<Invoker> outstanding = inFlight.drain(System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+        runner.join();
+        assertEquals(Collections.emptyList(), outstanding);
+        assertEquals("a", result.get());
+    }
+
+    @Test
+    public void testNoInvocationsAreAdmittedOnceDraining() throws Exception {
+        assertTrue(inFlight.isAccepting());
+        assertEquals(Collections.emptyList(), inFlight.drain(System.nanoTime()));
+        assertFalse(inFlight.isAccepting());
+        try {
+            inFlight.admit(TestInvocations.invoker(jobs, "work", "late"));
+            fail("Invocations shouldn't be admitted while the application is shutting down");
+        } catch (AsynchronousMethodInvocationException expected) {
+            assertEquals(Collections.emptyList(), inFlight.getInvocations());
+        }
+    }
+
+    @Test
+    public void testDrainGivesUpAtTheDeadline() throws Exception {
+        final Invoker invoker = TestInvocations.invoker(jobs, "work", "a");
+        submit(invoker);
+        final long started = System.nanoTime();
+        final List<Invoker> outstanding = inFlight.drain(started + TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(Arrays.asList(invoker), outstanding);
+    }
+
+    @Test
+    public void testAbandonedInvocationsWhichHaventStartedFailTheirCallersAndNeverRun() throws Exception {
+        final Invoker future = TestInvocations.invoker(jobs, "compute", "a");
+        final Invoker stage = TestInvocations.invoker(jobs, "stage", "b");
+        final Future<?> futureResult = (Future<?>) submit(future);
+        final CompletableFuture<?> stageResult = (CompletableFuture<?>) submit(stage);
+        final List<Invoker> outstanding = inFlight.drain(System.nanoTime());
+        assertEquals(2, outstanding.size());
+
+        assertFalse(future.abandonAtShutdown(abandoned));
+        assertFalse(stage.abandonAtShutdown(abandoned));
+        assertFailedWithAbandoned(futureResult);
+        assertFailedWithAbandoned(stageResult);
+        assertEquals(Collections.emptyList(), inFlight.getInvocations());
+        assertEquals("no longer counted as waiting to run", 0, queueStatus.getNotRunCount());
+
+        // the provider gets to them after all, but they're skipped
+        provider.run(0);
+        provider.run(1);
+        assertEquals(Collections.emptyList(), jobs.done);
+        assertFalse(provider.getProviderFuture(0).isCancelled());
+    }
+
+    @Test
+    public void testAbandonedInvocationsWhichAreRunningAreLeftToFinish() throws Exception {
+        final Invoker invoker = TestInvocations.invoker(jobs, "block", "a");
+        final Future<?> result = (Future<?>) submit(invoker);
+        final Thread runner = new Thread() {
+
+            @Override
+            public void run() {
+                provider.run(0);
+            }
+        };
+        runner.start();
+        assertTrue(jobs.blocking.await(10, TimeUnit.SECONDS));
+
+        assertEquals(Arrays.asList(invoker), inFlight.drain(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50)));
+        assertTrue(invoker.abandonAtShutdown(abandoned));
+        assertFailedWithAbandoned(result);
+        assertEquals(Collections.emptyList(), inFlight.getInvocations());
+
+        jobs.unblock.countDown();
+        runner.join(10000);
+        assertEquals(Arrays.asList("a"), jobs.done);
+        assertEquals(1, queueStatus.getCompletedCount());
+    }
+
+    private Object submit(final Invoker invoker) throws AsynchronousMethodInvocationException {
+        inFlight.admit(invoker);
+        return TestInvocations.submit(queueStatus, provider, invoker);
+    }
+
+    private void assertFailedWithAbandoned(final Future<?> result) throws InterruptedException {
+        assertTrue(result.isDone());
+        assertFalse("the caller is told why, rather than seeing its invocation cancelled", result.isCancelled());
+        try {
+            result.get();
+            fail("The caller should be told the invocation was abandoned");
+        } catch (ExecutionException ex) {
+            assertSame(abandoned, ex.getCause());
+        }
+    }
+
+    public static final class Jobs {
+
+        final List<String> done = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch blocking = new CountDownLatch(1);
+        final CountDownLatch unblock = new CountDownLatch(1);
+
+        public void work(final String name) {
+            done.add(name);
+        }
+
+        public Future<String> compute(final String name) {
+            done.add(name);
+            return new AsyncResult<String>(name);
+        }
+
+        public CompletionStage<String> stage(final String name) {
+            done.add(name);
+            return new AsyncCompletableResult<String>(name);
+        }
+
+        public Future<String> block(final String name) throws InterruptedException {
+            blocking.countDown();
+            unblock.await(10, TimeUnit.SECONDS);
+            done.add(name);
+            return new AsyncResult<String>(name);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.asynchronous;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.enterprise.inject.spi.BeanManager;
+import org.jboss.seam.cron.api.asynchronous.AsyncCompletableResult;
+import org.jboss.seam.cron.api.asynchronous.AsyncResult;
+import org.jboss.seam.cron.spi.asynchronous.TestInvocations.HeldProvider;
+import org.jboss.seam.cron.spi.queue.QueueStatus;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that the caller's #{@link CompletionStage} or #{@link Future} is always completed once
+ * the provider has run the invocation, even if an observer of the result or the method itself
+ * fails in a way which escapes the invocation.
+ *
+ * @author agent
+ */
+public class InvokerCompletionTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final QueueStatus queueStatus = new QueueStatus("");
+    private final HeldProvider provider = new HeldProvider();
+    private final Jobs jobs = new Jobs();
+    private final IllegalStateException observerFailure = new IllegalStateException("observer failed");
+
+    @Test
+    public void testStageIsCompletedWithTheResultWhenAnObserverOfItThrows() throws Exception {
+        final CompletableFuture<?> stage = (CompletableFuture<?>) submit(failingObserver(TestInvocations.invoker(jobs, "stage")));
+        provider.run(0);
+        assertEquals("done", stage.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertProviderSaw(observerFailure);
+    }
+
+    @Test
+    public void testFutureIsCompletedWithTheResultWhenAnObserverOfItThrows() throws Exception {
+        final Future<?> future = (Future<?>) submit(failingObserver(TestInvocations.invoker(jobs, "compute")));
+        provider.run(0);
+        assertEquals("done", future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertProviderSaw(observerFailure);
+    }
+
+    @Test
+    public void testStageIsCompletedExceptionallyWhenTheMethodThrowsAnError() throws Exception {
+        final CompletableFuture<?> stage = (CompletableFuture<?>) submit(TestInvocations.invoker(jobs, "stageError"));
+        provider.run(0);
+        try {
+            stage.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            fail("The method's Error should reach the caller");
+        } catch (ExecutionException ex) {
+            assertSame(jobs.error, ex.getCause());
+        }
+        assertProviderSaw(jobs.error);
+    }
+
+    @Test
+    public void testFutureIsCompletedExceptionallyWhenTheMethodThrowsAnError() throws Exception {
+        final Future<?> future = (Future<?>) submit(TestInvocations.invoker(jobs, "computeError"));
+        provider.run(0);
+        try {
+            future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            fail("The method's Error should reach the caller");
+        } catch (ExecutionException ex) {
+            assertSame(jobs.error, ex.getCause());
+        }
+        assertProviderSaw(jobs.error);
+    }
+
+    @Test
+    public void testFutureIsCompletedExceptionallyWhenTheMethodThrows() throws Exception {
+        final Future<?> future = (Future<?>) submit(TestInvocations.invoker(jobs, "computeFailure"));
+        provider.run(0);
+        try {
+            future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            fail("The method's exception should reach the caller");
+        } catch (ExecutionException ex) {
+            assertSame(jobs.failure, ex.getCause());
+        }
+    }
+
+    private Object submit(final Invoker invoker) {
+        return TestInvocations.submit(queueStatus, provider, invoker);
+    }
+
+    /**
+     * Fire the invocation's post-execution events through a container whose observer of them throws.
+     */
+    private Invoker failingObserver(final Invoker invoker) {
+        invoker.beanMan = (BeanManager) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{BeanManager.class},
+                new InvocationHandler() {
+
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                        if ("fireEvent".equals(method.getName())) {
+                            throw observerFailure;
+                        }
+                        return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+                    }
+                });
+        return invoker;
+    }
+
+    /**
+     * The failure still reaches the provider, which logs it.
+     */
+    private void assertProviderSaw(final Throwable failure) throws InterruptedException {
+        final Future<Object> providerFuture = provider.getProviderFuture(0);
+        assertTrue(providerFuture.isDone());
+        try {
+            providerFuture.get();
+            fail("The provider should have been given " + failure);
+        } catch (ExecutionException ex) {
+            assertSame(failure, ex.getCause());
+        }
+    }
+
+    /**
+     * The asynchronous methods invoked by the tests.
+     */
+    public static class Jobs {
+
+        private final LinkageError error = new LinkageError("broken class");
+        private final IllegalArgumentException failure = new IllegalArgumentException("method failed");
+
+        public CompletionStage<String> stage() {
+            return new AsyncCompletableResult<String>("done");
+        }
+
+        public Future<String> compute() {
+            return new AsyncResult<String>("done");
+        }
+
+        public CompletionStage<String> stageError() {
+            throw error;
+        }
+
+        public Future<String> computeError() {
+            throw error;
+        }
+
+        public Future<String> computeFailure() {
+            throw failure;
+        }
+    }
+}
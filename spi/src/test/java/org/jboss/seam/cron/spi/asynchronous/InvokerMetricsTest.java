@@ -0,0 +1,241 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.asynchronous;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.jboss.seam.cron.api.asynchronous.AsyncResult;
+import org.jboss.seam.cron.api.restriction.StatusIndexes;
+import org.jboss.seam.cron.impl.asynchronous.exception.AsynchronousMethodInvocationException;
+import org.jboss.seam.cron.spi.asynchronous.TestInvocations.HeldProvider;
+import org.jboss.seam.cron.spi.asynchronous.metrics.AsynchronousMetrics;
+import org.jboss.seam.cron.spi.asynchronous.metrics.AsynchronousMetricsRegistry;
+import org.jboss.seam.cron.spi.queue.QueueStatus;
+import org.jboss.seam.cron.spi.queue.RestrictionMethod;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks what an #{@link Invoker} records in the #{@link AsynchronousMetrics} of its method and
+ * queue: how long it was queued and ran for, whether it failed, and that it stops counting as in
+ * flight exactly once, however it ends.
+ *
+ * @author agent
+ */
+public class InvokerMetricsTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AsynchronousMetricsRegistry registry = new AsynchronousMetricsRegistry();
+    private final QueueStatus queueStatus = new QueueStatus("");
+    private final HeldProvider provider = new HeldProvider();
+    private final Jobs jobs = new Jobs();
+
+    @Test
+    public void testQueueingAndExecutionAreTimed() throws Exception {
+        final Future<?> result = (Future<?>) submit(TestInvocations.invoker(jobs, "slow", 30));
+        assertInFlight(1);
+        Thread.sleep(20);
+        provider.run(0);
+        assertEquals(30, result.get());
+
+        final AsynchronousMetrics metrics = methodMetrics("slow");
+        assertEquals(1, metrics.getSubmittedCount());
+        assertEquals(1, metrics.getCompletedCount());
+        assertEquals(0, metrics.getFailedCount());
+        assertInFlight(0);
+        assertEquals(1, metrics.getQueueingDelay().getCount());
+        assertTrue(metrics.getQueueingDelay().getSum() >= 20 * MILLIS);
+        assertEquals(1, metrics.getExecutionTime().getCount());
+        assertTrue(metrics.getExecutionTime().getSum() >= 30 * MILLIS);
+        assertEquals("the result was fired as an event", 1, metrics.getEventFiringTime().getCount());
+    }
+
+    @Test
+    public void testTheQueueRecordsWhatItsMethodsRecord() throws Exception {
+        submit(TestInvocations.invoker(jobs, "slow", 0));
+        submit(TestInvocations.invoker(jobs, "work"));
+        assertEquals(2, registry.forQueue(null).getInFlightCount());
+        provider.run(0);
+        provider.run(1);
+
+        final AsynchronousMetrics queue = registry.forQueue(null);
+        assertEquals(AsynchronousMetricsRegistry.DEFAULT_QUEUE, queue.getName());
+        assertEquals(2, queue.getSubmittedCount());
+        assertEquals(2, queue.getCompletedCount());
+        assertEquals(0, queue.getInFlightCount());
+        assertEquals(2, queue.getExecutionTime().getCount());
+        assertEquals("only the non-void method fired an event", 1, queue.getEventFiringTime().getCount());
+        assertEquals(0, methodMetrics("work").getEventFiringTime().getCount());
+    }
+
+    @Test
+    public void testFailuresAreCounted() throws Exception {
+        submit(TestInvocations.invoker(jobs, "fail"));
+        provider.run(0);
+        final AsynchronousMetrics metrics = methodMetrics("fail");
+        assertEquals(1, metrics.getFailedCount());
+        assertEquals(0, metrics.getCompletedCount());
+        assertEquals(1, metrics.getExecutionTime().getCount());
+        assertInFlight(0);
+    }
+
+    @Test
+    public void testInvocationRefusedByTheProviderIsAbandoned() {
+        final CronAsynchronousProvider refusing = new CronAsynchronousProvider() {
+
+            public Future executeAndReturnFuture(final String queueId, final Invoker ice) {
+                throw new AsynchronousMethodInvocationException("refused");
+            }
+
+            public void executeWithoutReturn(final String queueId, final Invoker ice) {
+                throw new AsynchronousMethodInvocationException("refused");
+            }
+        };
+        try {
+            submit(refusing, TestInvocations.invoker(jobs, "work"));
+            fail("The provider's refusal should reach the caller");
+        } catch (AsynchronousMethodInvocationException expected) {
+            // counted below
+        }
+        assertAbandoned("work");
+    }
+
+    @Test
+    public void testInvocationRejectedByItsQueueIsAbandoned() {
+        queueStatus.setRestriction(new RestrictionMethod(null, null) {
+
+            @Override
+            public boolean canRun(final StatusIndexes statusIndexes) throws Exception {
+                throw new IllegalStateException("broken restriction");
+            }
+        });
+        submit(TestInvocations.invoker(jobs, "work"));
+        assertEquals(0, provider.getHandedOver().size());
+        assertAbandoned("work");
+    }
+
+    @Test
+    public void testCancelledInvocationIsAbandonedOnce() throws Exception {
+        final Future<?> result = (Future<?>) submit(TestInvocations.invoker(jobs, "slow", 0));
+        assertTrue(result.cancel(false));
+        result.cancel(false);
+        assertAbandoned("slow");
+        // the provider gets to it after all, but it's skipped without being counted again
+        provider.run(0);
+        assertAbandoned("slow");
+        assertEquals(0, methodMetrics("slow").getQueueingDelay().getCount());
+    }
+
+    @Test
+    public void testInvocationAbandonedAtShutdownBeforeStartingIsAbandonedOnce() {
+        final Invoker invoker = TestInvocations.invoker(jobs, "work");
+        submit(invoker);
+        assertFalse(invoker.abandonAtShutdown(new AsynchronousMethodInvocationException("shut down")));
+        assertAbandoned("work");
+        provider.run(0);
+        assertAbandoned("work");
+    }
+
+    @Test
+    public void testInvocationAbandonedAtShutdownWhileRunningFinishes() throws Exception {
+        final Invoker invoker = TestInvocations.invoker(jobs, "block");
+        submit(invoker);
+        final Thread runner = new Thread() {
+
+            @Override
+            public void run() {
+                provider.run(0);
+            }
+        };
+        runner.start();
+        assertTrue(jobs.blocking.await(10, TimeUnit.SECONDS));
+        assertTrue(invoker.abandonAtShutdown(new AsynchronousMethodInvocationException("shut down")));
+        jobs.release.countDown();
+        runner.join();
+
+        final AsynchronousMetrics metrics = methodMetrics("block");
+        assertEquals(0, metrics.getAbandonedCount());
+        assertEquals(1, metrics.getCompletedCount());
+        assertInFlight(0);
+    }
+
+    private Object submit(final Invoker invoker) {
+        return submit(provider, invoker);
+    }
+
+    /**
+     * Submit the invocation as the #{@link AsynchronousInterceptor} does, recording its metrics.
+     */
+    private Object submit(final CronAsynchronousProvider to, final Invoker invoker) {
+        invoker.setMetrics(registry.forMethod(invoker.getInvocationContext().getMethod()), registry.forQueue(null));
+        return TestInvocations.submit(queueStatus, to, invoker);
+    }
+
+    private AsynchronousMetrics methodMetrics(final String methodName) {
+        for (AsynchronousMetrics metrics : registry.getMethodMetrics()) {
+            if (metrics.getName().equals(Jobs.class.getName() + "." + methodName)) {
+                return metrics;
+            }
+        }
+        throw new AssertionError("No metrics recorded for " + methodName);
+    }
+
+    private void assertInFlight(final long expected) {
+        assertEquals(expected, registry.getInFlightCount());
+        assertEquals(expected, registry.forQueue(null).getInFlightCount());
+    }
+
+    private void assertAbandoned(final String methodName) {
+        final AsynchronousMetrics metrics = methodMetrics(methodName);
+        assertEquals(1, metrics.getSubmittedCount());
+        assertEquals(1, metrics.getAbandonedCount());
+        assertEquals(0, metrics.getCompletedCount() + metrics.getFailedCount());
+        assertEquals(1, registry.forQueue(null).getAbandonedCount());
+        assertInFlight(0);
+    }
+
+    /**
+     * The asynchronous methods invoked by the tests.
+     */
+    public static class Jobs {
+
+        private final CountDownLatch blocking = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        public Future<Integer> slow(final int millis) throws InterruptedException {
+            Thread.sleep(millis);
+            return new AsyncResult<Integer>(millis);
+        }
+
+        public void work() {
+        }
+
+        public void fail() {
+            throw new IllegalStateException("failed");
+        }
+
+        public void block() throws InterruptedException {
+            blocking.countDown();
+            release.await(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.asynchronous;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.interceptor.InvocationContext;
+import org.jboss.seam.cron.spi.queue.QueueStatus;
+
+/**
+ * Builds #{@link Invoker}s for test methods and submits them the way the #{@link AsynchronousInterceptor}
+ * does, without a CDI container, to a #{@link HeldProvider} which only runs them when told to.
+ *
+ * @author agent
+ */
+public final class TestInvocations {
+
+    private TestInvocations() {
+    }
+
+    /**
+     * @param target The object whose method is invoked.
+     * @param methodName The name of a public method of the target, which isn't overloaded.
+     * @param args The arguments to invoke it with.
+     * @return An invocation of the method, whose post-execution events go nowhere.
+     */
+    public static Invoker invoker(final Object target, final String methodName, final Object... args) {
+        final Method method = method(target.getClass(), methodName);
+        final BeanManager beanManager = (BeanManager) Proxy.newProxyInstance(TestInvocations.class.getClassLoader(),
+                new Class<?>[]{BeanManager.class}, new InvocationHandler() {
+
+            public Object invoke(final Object proxy, final Method called, final Object[] calledArgs) {
+                return called.getReturnType() == boolean.class ? Boolean.FALSE : null;
+            }
+        });
+        return new Invoker(beanManager, new TestInvocationContext(target, method, args),
+                AsynchronousMethodDescriptor.describe(method, beanManager));
+    }
+
+    /**
+     * Submit the invocation to its queue as the #{@link AsynchronousInterceptor} does.
+     *
+     * @return The result the caller would be given.
+     */
+    public static Object submit(final QueueStatus queueStatus, final CronAsynchronousProvider provider, final Invoker invoker) {
+        invoker.setQueueStatus(queueStatus);
+        queueStatus.submitted(invoker);
+        final Object result;
+        if (Future.class.isAssignableFrom(invoker.getInvocationContext().getMethod().getReturnType())) {
+            result = invoker.getFuture();
+        } else {
+            result = invoker.getCompletion();
+        }
+        try {
+            queueStatus.dispatch(provider, invoker);
+        } catch (RuntimeException ex) {
+            invoker.submissionFailed();
+            throw ex;
+        }
+        return result;
+    }
+
+    private static Method method(final Class<?> type, final String name) {
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException("No method " + name + " on " + type);
+    }
+
+    /**
+     * A provider which holds on to the invocations handed to it until the test runs them, on the
+     * test's own thread. Invocations handed over with #{@literal executeAndReturnFuture} are
+     * wrapped in a #{@link FutureTask}, as the threads provider does.
+     */
+    public static final class HeldProvider implements CronAsynchronousProvider {
+
+        private final List<FutureTask<Object>> handedOver = new ArrayList<FutureTask<Object>>();
+        private final List<Invoker> invokers = new ArrayList<Invoker>();
+
+        public synchronized Future executeAndReturnFuture(final String queueId, final Invoker ice) {
+            return hold(ice);
+        }
+
+        public synchronized void executeWithoutReturn(final String queueId, final Invoker ice) {
+            hold(ice);
+        }
+
+        /**
+         * @return The invocations handed over so far, in order, whether or not they've run.
+         */
+        public synchronized List<Invoker> getHandedOver() {
+            return new ArrayList<Invoker>(invokers);
+        }
+
+        /**
+         * Run the invocation handed over at the given position, on this thread.
+         */
+        public void run(final int index) {
+            final FutureTask<Object> task;
+            synchronized (this) {
+                task = handedOver.get(index);
+            }
+            task.run();
+        }
+
+        /**
+         * @return The provider's own #{@link Future} for the invocation handed over at the given position.
+         */
+        public synchronized Future<Object> getProviderFuture(final int index) {
+            return handedOver.get(index);
+        }
+
+        private FutureTask<Object> hold(final Invoker ice) {
+            final FutureTask<Object> task = new FutureTask<Object>(new Callable<Object>() {
+
+                public Object call() throws Exception {
+                    final Object result = ice.executeInvocationContext();
+                    if (ice.getException() != null) {
+                        throw ice.getException();
+                    }
+                    return result;
+                }
+            });
+            handedOver.add(task);
+            invokers.add(ice);
+            return task;
+        }
+    }
+
+    private static final class TestInvocationContext implements InvocationContext {
+
+        private final Object target;
+        private final Method method;
+        private Object[] parameters;
+        private final Map<String, Object> contextData = new HashMap<String, Object>();
+
+        TestInvocationContext(final Object target, final Method method, final Object[] parameters) {
+            this.target = target;
+            this.method = method;
+            this.parameters = parameters;
+        }
+
+        public Object getTarget() {
+            return target;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public Object[] getParameters() {
+            return parameters;
+        }
+
+        public void setParameters(final Object[] parameters) {
+            this.parameters = parameters;
+        }
+
+        public Map<String, Object> getContextData() {
+            return contextData;
+        }
+
+        public Object getTimer() {
+            return null;
+        }
+
+        public Object proceed() throws Exception {
+            try {
+                return method.invoke(target, parameters);
+            } catch (InvocationTargetException ex) {
+                // as the container does, throw what the method threw
+                if (ex.getCause() instanceof Error) {
+                    throw (Error) ex.getCause();
+                }
+                throw ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex;
+            }
+        }
+    }
+}
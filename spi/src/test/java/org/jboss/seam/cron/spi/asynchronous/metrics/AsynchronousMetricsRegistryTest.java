@@ -0,0 +1,156 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.asynchronous.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.Callable;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the counts which #{@link AsynchronousMetrics} keep, how the #{@link AsynchronousMetricsRegistry}
+ * names and totals them, and that it is published through JMX only once.
+ *
+ * @author agent
+ */
+public class AsynchronousMetricsRegistryTest {
+
+    private final AsynchronousMetricsRegistry registry = new AsynchronousMetricsRegistry();
+    private final AsynchronousMetricsRegistry other = new AsynchronousMetricsRegistry();
+
+    @After
+    public void unregister() {
+        registry.unregisterMBean();
+        other.unregisterMBean();
+    }
+
+    @Test
+    public void testMetricsAreCreatedOncePerMethodAndQueue() throws Exception {
+        final Method run = Runnable.class.getMethod("run");
+        assertSame(registry.forMethod(run), registry.forMethod(run));
+        assertEquals(Runnable.class.getName() + ".run", registry.forMethod(run).getName());
+        assertSame(registry.forQueue("reports"), registry.forQueue("reports"));
+        assertEquals("reports", registry.forQueue("reports").getName());
+        assertSame(registry.forQueue(null), registry.forQueue(AsynchronousMetricsRegistry.DEFAULT_QUEUE));
+        assertEquals(AsynchronousMetricsRegistry.DEFAULT_QUEUE, registry.forQueue(null).getName());
+        assertEquals(1, registry.getMethodMetrics().size());
+        assertEquals(2, registry.getQueueMetrics().size());
+    }
+
+    @Test
+    public void testEachOutcomeLeavesFlight() {
+        final AsynchronousMetrics metrics = new AsynchronousMetrics("m");
+        for (int i = 0; i < 4; i++) {
+            metrics.submitted();
+        }
+        assertEquals(4, metrics.getSubmittedCount());
+        assertEquals(4, metrics.getInFlightCount());
+
+        metrics.started(100);
+        metrics.finished(200, 30, false);
+        metrics.started(400);
+        metrics.finished(500, -1, true);
+        metrics.abandoned();
+
+        assertEquals(1, metrics.getCompletedCount());
+        assertEquals(1, metrics.getFailedCount());
+        assertEquals(1, metrics.getAbandonedCount());
+        assertEquals(1, metrics.getInFlightCount());
+        assertEquals(2, metrics.getQueueingDelay().getCount());
+        assertEquals(500, metrics.getQueueingDelay().getSum());
+        assertEquals(2, metrics.getExecutionTime().getCount());
+        assertEquals(500, metrics.getExecutionTime().getMax());
+        assertEquals("no event was fired for the failure", 1, metrics.getEventFiringTime().getCount());
+        assertEquals(30, metrics.getEventFiringTime().getSum());
+    }
+
+    @Test
+    public void testInFlightCountTotalsTheMethodsOnly() throws Exception {
+        final AsynchronousMetrics run = registry.forMethod(Runnable.class.getMethod("run"));
+        final AsynchronousMetrics call = registry.forMethod(Callable.class.getMethod("call"));
+        final AsynchronousMetrics queue = registry.forQueue(null);
+        run.submitted();
+        queue.submitted();
+        call.submitted();
+        queue.submitted();
+        call.submitted();
+        queue.submitted();
+        assertEquals("each invocation is in flight in its method and in its queue, but counted once", 3,
+                registry.getInFlightCount());
+        call.abandoned();
+        queue.abandoned();
+        assertEquals(2, registry.getInFlightCount());
+    }
+
+    @Test
+    public void testSnapshotsCopyTheMetrics() throws Exception {
+        final AsynchronousMetrics metrics = registry.forQueue("reports");
+        metrics.submitted();
+        metrics.started(1000);
+        metrics.finished(5000, 20, false);
+        metrics.submitted();
+
+        final List<AsynchronousMetricsSnapshot> snapshots = registry.getQueues();
+        assertEquals(1, snapshots.size());
+        final AsynchronousMetricsSnapshot snapshot = snapshots.get(0);
+        metrics.abandoned();
+
+        assertEquals("reports", snapshot.getName());
+        assertEquals(2, snapshot.getSubmittedCount());
+        assertEquals("taken before the second was abandoned", 1, snapshot.getInFlightCount());
+        assertEquals(1, snapshot.getCompletedCount());
+        assertEquals(0, snapshot.getFailedCount());
+        assertEquals(1000, snapshot.getQueueingDelayMax());
+        assertTrue(snapshot.getQueueingDelayP50() >= 1000);
+        assertEquals(5000, snapshot.getExecutionTimeMax());
+        assertTrue(snapshot.getEventFiringTimeP99() >= 20);
+        assertTrue(registry.getMethods().isEmpty());
+    }
+
+    @Test
+    public void testRegistryIsPublishedOnce() throws Exception {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(AsynchronousMetricsRegistry.OBJECT_NAME);
+        registry.forMethod(Runnable.class.getMethod("run")).submitted();
+        registry.forQueue(null).submitted();
+
+        registry.registerMBean();
+        assertTrue(server.isRegistered(name));
+        assertEquals(1L, server.getAttribute(name, "InFlightCount"));
+        final CompositeData[] queues = (CompositeData[]) server.getAttribute(name, "Queues");
+        assertEquals(1, queues.length);
+        assertEquals(AsynchronousMetricsRegistry.DEFAULT_QUEUE, queues[0].get("name"));
+
+        // another deployment's registry isn't published over it, or unpublishes it
+        other.registerMBean();
+        other.unregisterMBean();
+        assertTrue(server.isRegistered(name));
+        assertEquals(1L, server.getAttribute(name, "InFlightCount"));
+
+        registry.unregisterMBean();
+        assertFalse(server.isRegistered(name));
+    }
+}
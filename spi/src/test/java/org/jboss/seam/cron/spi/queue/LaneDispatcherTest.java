@@ -0,0 +1,260 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.queue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+import org.jboss.seam.cron.api.asynchronous.AsyncResult;
+import org.jboss.seam.cron.impl.asynchronous.exception.AsynchronousMethodInvocationException;
+import org.jboss.seam.cron.spi.asynchronous.CronAsynchronousProvider;
+import org.jboss.seam.cron.spi.asynchronous.Invoker;
+import org.jboss.seam.cron.spi.asynchronous.TestInvocations;
+import org.jboss.seam.cron.spi.asynchronous.TestInvocations.HeldProvider;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that a #{@link DispatchLane} limits how many of its queue's invocations reach the provider,
+ * shares free slots between lanes by weight, keeps the provider's #{@link Future} for invocations
+ * which return one, and hands waiting invocations over without nesting them when the provider runs
+ * them on the finishing thread.
+ *
+ * @author agent
+ */
+public class LaneDispatcherTest {
+
+    private final HeldProvider provider = new HeldProvider();
+    private final Jobs jobs = new Jobs();
+    private final List<String> properties = new ArrayList<String>();
+
+    @After
+    public void clearProperties() {
+        for (String key : properties) {
+            System.clearProperty(key);
+        }
+    }
+
+    @Test
+    public void testLaneHoldsBackInvocationsBeyondItsConcurrency() {
+        configure("narrow", LaneDispatcher.MAX_CONCURRENCY, 1);
+        final DispatchLane lane = new LaneDispatcher().getLane("narrow");
+        final QueueStatus status = new QueueStatus("narrow");
+        for (String name : Arrays.asList("a", "b", "c")) {
+            submit(status, lane, provider, TestInvocations.invoker(jobs, "work", name));
+        }
+
+        assertEquals(1, provider.getHandedOver().size());
+        assertEquals(1, lane.getRunningCount());
+        assertEquals(2, lane.getBacklogCount());
+
+        provider.run(0);
+        assertEquals(2, provider.getHandedOver().size());
+        assertEquals(1, lane.getBacklogCount());
+        provider.run(1);
+        provider.run(2);
+        assertEquals(0, lane.getRunningCount());
+        assertEquals(0, lane.getBacklogCount());
+        assertEquals(Arrays.asList("a", "b", "c"), jobs.done);
+    }
+
+    @Test
+    public void testFullBacklogRejectsTheInvocation() {
+        configure("short", LaneDispatcher.MAX_CONCURRENCY, 1);
+        configure("short", LaneDispatcher.BACKLOG, 1);
+        final DispatchLane lane = new LaneDispatcher().getLane("short");
+        final QueueStatus status = new QueueStatus("short");
+        submit(status, lane, provider, TestInvocations.invoker(jobs, "work", "a"));
+        submit(status, lane, provider, TestInvocations.invoker(jobs, "work", "b"));
+        try {
+            submit(status, lane, provider, TestInvocations.invoker(jobs, "work", "c"));
+            fail("the backlog is full");
+        } catch (AsynchronousMethodInvocationException expected) {
+            // the caller is told at once
+        }
+        assertEquals("the rejected invocation isn't counted", 2, status.getNotRunCount());
+        assertEquals(1, lane.getBacklogCount());
+    }
+
+    @Test
+    public void testSlotsAreSharedByWeight() {
+        final String heavy = "heavy";
+        final String light = "light";
+        configure(null, LaneDispatcher.MAX_CONCURRENCY, 1);
+        configure(heavy, LaneDispatcher.WEIGHT, 3);
+        final LaneDispatcher dispatcher = new LaneDispatcher();
+        final DispatchLane heavyLane = dispatcher.getLane(heavy);
+        final DispatchLane lightLane = dispatcher.getLane(light);
+        final QueueStatus heavyStatus = new QueueStatus(heavy);
+        final QueueStatus lightStatus = new QueueStatus(light);
+        // occupies the only slot, so that the rest wait
+        submit(lightStatus, lightLane, provider, TestInvocations.invoker(jobs, "work", "first"));
+        for (int i = 0; i < 8; i++) {
+            submit(heavyStatus, heavyLane, provider, TestInvocations.invoker(jobs, "work", heavy));
+            submit(lightStatus, lightLane, provider, TestInvocations.invoker(jobs, "work", light));
+        }
+        for (int i = 0; i < 9; i++) {
+            provider.run(i);
+        }
+
+        int heavyRuns = 0;
+        for (String done : jobs.done.subList(1, 9)) {
+            if (done.equals(heavy)) {
+                heavyRuns++;
+            }
+        }
+        assertEquals("three slots go to the heavy lane for each one to the light", 6, heavyRuns);
+    }
+
+    @Test
+    public void testLanedFutureKeepsTheProvidersFuture() throws Exception {
+        configure("futures", LaneDispatcher.MAX_CONCURRENCY, 1);
+        final DispatchLane lane = new LaneDispatcher().getLane("futures");
+        final QueueStatus status = new QueueStatus("futures");
+        final Future<?> first = (Future<?>) submit(status, lane, provider, TestInvocations.invoker(jobs, "compute", "a"));
+        final Future<?> second = (Future<?>) submit(status, lane, provider, TestInvocations.invoker(jobs, "compute", "b"));
+
+        assertTrue(first.cancel(true));
+        assertTrue("cancelling the caller's Future cancels the provider's", provider.getProviderFuture(0).isCancelled());
+        assertEquals("the cancelled invocation gave up its slot", 2, provider.getHandedOver().size());
+        assertEquals(0, lane.getBacklogCount());
+
+        provider.run(1);
+        assertEquals("b", second.get());
+        assertEquals(Arrays.asList("b"), jobs.done);
+        assertEquals(0, lane.getRunningCount());
+        assertEquals(0, status.getNotRunCount());
+    }
+
+    @Test
+    public void testCancellingAnInvocationInTheBacklogTakesItOut() {
+        configure("cancel", LaneDispatcher.MAX_CONCURRENCY, 1);
+        final DispatchLane lane = new LaneDispatcher().getLane("cancel");
+        final QueueStatus status = new QueueStatus("cancel");
+        submit(status, lane, provider, TestInvocations.invoker(jobs, "work", "a"));
+        final Future<?> waiting = (Future<?>) submit(status, lane, provider, TestInvocations.invoker(jobs, "compute", "b"));
+        assertEquals(1, lane.getBacklogCount());
+
+        assertTrue(waiting.cancel(false));
+        assertEquals(0, lane.getBacklogCount());
+        assertEquals(1, status.getNotRunCount());
+
+        provider.run(0);
+        assertEquals(1, provider.getHandedOver().size());
+        assertEquals(0, lane.getRunningCount());
+    }
+
+    @Test
+    public void testWaitingInvocationsAreNotNestedWhenTheProviderRunsThemOnTheFinishingThread() {
+        configure("callerRuns", LaneDispatcher.MAX_CONCURRENCY, 1);
+        final DispatchLane lane = new LaneDispatcher().getLane("callerRuns");
+        final QueueStatus status = new QueueStatus("callerRuns");
+        final CallerRunsProvider callerRuns = new CallerRunsProvider();
+        final int waiting = 5000;
+        submit(status, lane, callerRuns, TestInvocations.invoker(jobs, "work", "first"));
+        for (int i = 0; i < waiting; i++) {
+            submit(status, lane, callerRuns, TestInvocations.invoker(jobs, "work", "next"));
+        }
+        assertEquals(waiting, lane.getBacklogCount());
+
+        callerRuns.runFirst();
+        assertEquals(waiting + 1, jobs.done.size());
+        assertEquals(0, lane.getBacklogCount());
+        assertEquals(0, lane.getRunningCount());
+        assertTrue("each invocation ran beneath the last: stack depths " + jobs.minDepth + " to " + jobs.maxDepth,
+                jobs.maxDepth - jobs.minDepth < 100);
+    }
+
+    @Test
+    public void testQueuesWithoutConfigurationHaveNoLane() {
+        final LaneDispatcher dispatcher = new LaneDispatcher();
+        assertEquals(null, dispatcher.getLane("unconfigured"));
+        assertFalse(dispatcher.getMaxConcurrency() < Integer.MAX_VALUE);
+    }
+
+    private void configure(final String queueId, final String setting, final int value) {
+        final String key = LaneDispatcher.PROPERTY_PREFIX + (queueId == null ? "" : queueId + ".") + setting;
+        properties.add(key);
+        System.setProperty(key, Integer.toString(value));
+    }
+
+    private static Object submit(final QueueStatus status, final DispatchLane lane, final CronAsynchronousProvider provider,
+            final Invoker invoker) {
+        invoker.setDispatchLane(lane);
+        return TestInvocations.submit(status, provider, invoker);
+    }
+
+    /**
+     * Holds on to the first invocation, and runs the rest on the thread which hands them over, as
+     * a caller-runs pool does when its workers are all busy.
+     */
+    private static final class CallerRunsProvider implements CronAsynchronousProvider {
+
+        private Invoker first;
+
+        public Future executeAndReturnFuture(final String queueId, final Invoker ice) {
+            throw new UnsupportedOperationException();
+        }
+
+        public void executeWithoutReturn(final String queueId, final Invoker ice) {
+            if (first == null) {
+                first = ice;
+                return;
+            }
+            run(ice);
+        }
+
+        void runFirst() {
+            run(first);
+        }
+
+        private static void run(final Invoker ice) {
+            try {
+                ice.executeInvocationContext();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    /**
+     * The asynchronous methods under test.
+     */
+    public static final class Jobs {
+
+        final List<String> done = new ArrayList<String>();
+        int minDepth = Integer.MAX_VALUE;
+        int maxDepth = 0;
+
+        public void work(final String name) {
+            final int depth = Thread.currentThread().getStackTrace().length;
+            minDepth = Math.min(minDepth, depth);
+            maxDepth = Math.max(maxDepth, depth);
+            done.add(name);
+        }
+
+        public Future<String> compute(final String name) {
+            done.add(name);
+            return new AsyncResult<String>(name);
+        }
+    }
+}
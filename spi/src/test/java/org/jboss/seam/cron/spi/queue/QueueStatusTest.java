@@ -0,0 +1,291 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.queue;
+
+import com.workplacesystems.utilsj.collections.IterativeCallback;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import org.jboss.seam.cron.api.asynchronous.AsyncResult;
+import org.jboss.seam.cron.api.restriction.StatusIndexes;
+import org.jboss.seam.cron.spi.asynchronous.Invoker;
+import org.jboss.seam.cron.spi.asynchronous.TestInvocations;
+import org.jboss.seam.cron.spi.asynchronous.TestInvocations.HeldProvider;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that #{@link QueueStatus} holds back the invocations which a queue's restriction refuses
+ * without blocking a thread, admits them in order as others finish, withdraws them when they're
+ * cancelled, and lets the restriction iterate them.
+ *
+ * @author agent
+ */
+public class QueueStatusTest {
+
+    private final HeldProvider provider = new HeldProvider();
+    private final Jobs jobs = new Jobs();
+    private final Restriction restriction = new Restriction();
+
+    @Test
+    public void testAdmittedInvocationIsHandedOverAtOnce() {
+        final QueueStatus status = restricted(1);
+        TestInvocations.submit(status, provider, TestInvocations.invoker(jobs, "work", "a"));
+
+        assertEquals(1, provider.getHandedOver().size());
+        assertEquals(1, status.getRunningCount());
+        assertEquals(0, status.getNotRunCount());
+
+        provider.run(0);
+        assertEquals(0, status.getRunningCount());
+        assertEquals(1, status.getCompletedCount());
+    }
+
+    @Test
+    public void testRefusedInvocationsWaitAndAreAdmittedInOrderAsOthersFinish() {
+        final QueueStatus status = restricted(1);
+        final Invoker a = TestInvocations.invoker(jobs, "work", "a");
+        final Invoker b = TestInvocations.invoker(jobs, "work", "b");
+        final Invoker c = TestInvocations.invoker(jobs, "work", "c");
+        TestInvocations.submit(status, provider, a);
+        // refused, but submitting returns at once rather than waiting for a place
+        TestInvocations.submit(status, provider, b);
+        TestInvocations.submit(status, provider, c);
+
+        assertEquals(Arrays.asList(a), provider.getHandedOver());
+        assertEquals(1, status.getRunningCount());
+        assertEquals(2, status.getNotRunCount());
+        assertEquals(2, status.getStatusIndexes().countOfWaitingToRunProcesses());
+
+        provider.run(0);
+        assertEquals(Arrays.asList(a, b), provider.getHandedOver());
+        assertEquals(1, status.getRunningCount());
+        assertEquals(1, status.getNotRunCount());
+
+        provider.run(1);
+        provider.run(2);
+        assertEquals(Arrays.asList(a, b, c), provider.getHandedOver());
+        assertEquals(0, status.getRunningCount());
+        assertEquals(0, status.getNotRunCount());
+        assertEquals(3, status.getCompletedCount());
+        assertEquals(Arrays.asList("a", "b", "c"), jobs.done);
+    }
+
+    @Test
+    public void testRestrictionIsAskedAgainWhenReconsidered() {
+        final QueueStatus status = restricted(0);
+        TestInvocations.submit(status, provider, TestInvocations.invoker(jobs, "work", "a"));
+        assertEquals(0, provider.getHandedOver().size());
+
+        restriction.maxRunning = 1;
+        status.reconsider();
+        assertEquals(1, provider.getHandedOver().size());
+    }
+
+    @Test
+    public void testCancellingAHeldBackInvocationWithdrawsIt() throws Exception {
+        final QueueStatus status = restricted(1);
+        TestInvocations.submit(status, provider, TestInvocations.invoker(jobs, "work", "a"));
+        final Future<?> held = (Future<?>) TestInvocations.submit(status, provider,
+                TestInvocations.invoker(jobs, "compute", "b"));
+        assertEquals(1, status.getNotRunCount());
+
+        assertTrue(held.cancel(false));
+        assertTrue(held.isCancelled());
+        assertEquals(0, status.getNotRunCount());
+        assertEquals(0, status.getStatusIndexes().countOfWaitingToRunProcesses());
+
+        provider.run(0);
+        assertEquals("the cancelled invocation is never handed over", 1, provider.getHandedOver().size());
+        assertEquals(Arrays.asList("a"), jobs.done);
+    }
+
+    @Test
+    public void testCancellingAHandedOverInvocationBeforeItStartsRestoresTheCounts() throws Exception {
+        final QueueStatus status = new QueueStatus("unrestricted");
+        final Future<?> future = (Future<?>) TestInvocations.submit(status, provider,
+                TestInvocations.invoker(jobs, "compute", "a"));
+        assertEquals(1, status.getNotRunCount());
+
+        assertTrue(future.cancel(false));
+        assertEquals(0, status.getNotRunCount());
+        assertTrue("the provider's own Future is cancelled too", provider.getProviderFuture(0).isCancelled());
+
+        provider.run(0);
+        assertEquals(0, status.getRunningCount());
+        assertEquals(0, status.getCompletedCount());
+        assertTrue(jobs.done.isEmpty());
+    }
+
+    @Test
+    public void testFutureDeliversTheResultOfAHeldBackInvocation() throws Exception {
+        final QueueStatus status = restricted(1);
+        TestInvocations.submit(status, provider, TestInvocations.invoker(jobs, "work", "a"));
+        final Future<?> held = (Future<?>) TestInvocations.submit(status, provider,
+                TestInvocations.invoker(jobs, "compute", "b"));
+
+        provider.run(0);
+        assertFalse(held.isDone());
+        provider.run(1);
+        assertEquals("b", held.get());
+        assertFalse("it can't be cancelled once it has finished", held.cancel(true));
+    }
+
+    @Test
+    public void testFailingRestrictionRejectsTheInvocation() throws Exception {
+        final QueueStatus status = new QueueStatus("broken");
+        status.setRestriction(new RestrictionMethod(null, null) {
+
+            @Override
+            public boolean canRun(final StatusIndexes statusIndexes) throws Exception {
+                throw new IllegalStateException("broken restriction");
+            }
+        });
+        final Future<?> future = (Future<?>) TestInvocations.submit(status, provider,
+                TestInvocations.invoker(jobs, "compute", "a"));
+
+        assertEquals(0, provider.getHandedOver().size());
+        assertEquals(0, status.getNotRunCount());
+        try {
+            future.get();
+            fail("the invocation should have been rejected");
+        } catch (ExecutionException ex) {
+            assertEquals("broken restriction", ex.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testRestrictionIteratesTheInvocationsOfItsQueue() {
+        final QueueStatus status = restricted(1);
+        final StatusIndexes indexes = status.getStatusIndexes();
+        TestInvocations.submit(status, provider, TestInvocations.invoker(jobs, "fail", "a"));
+        TestInvocations.submit(status, provider, TestInvocations.invoker(jobs, "work", "b"));
+        TestInvocations.submit(status, provider, TestInvocations.invoker(jobs, "work", "c"));
+
+        assertEquals(Arrays.asList("fail(a)"), describe(indexes, Processes.RUNNING));
+        assertEquals(Arrays.asList("work(b)", "work(c)"), describe(indexes, Processes.WAITING));
+        assertEquals(Arrays.asList("work(b)", "work(c)"), describe(indexes, Processes.NOT_RUN));
+        assertTrue(describe(indexes, Processes.FAILED).isEmpty());
+
+        provider.run(0);
+        assertEquals(Arrays.asList("fail(a)"), describe(indexes, Processes.FAILED));
+        assertEquals(Arrays.asList("work(b)"), describe(indexes, Processes.RUNNING));
+        assertEquals(Arrays.asList("work(c)"), describe(indexes, Processes.WAITING));
+        assertEquals(1, indexes.countOfFailedProcesses());
+    }
+
+    @Test
+    public void testFailedHistoryIsBounded() {
+        final QueueStatus status = restricted(1);
+        for (int i = 0; i < QueueStatus.FAILED_HISTORY + 5; i++) {
+            TestInvocations.submit(status, provider, TestInvocations.invoker(jobs, "fail", Integer.toString(i)));
+            provider.run(i);
+        }
+        final List<String> failed = describe(status.getStatusIndexes(), Processes.FAILED);
+        assertEquals(QueueStatus.FAILED_HISTORY, failed.size());
+        assertEquals("the oldest are dropped", "fail(5)", failed.get(0));
+        assertEquals(QueueStatus.FAILED_HISTORY + 5, status.getFailedCount());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnrestrictedQueueOnlyCounts() {
+        describe(new QueueStatus("unrestricted").getStatusIndexes(), Processes.RUNNING);
+    }
+
+    private QueueStatus restricted(final int maxRunning) {
+        final QueueStatus status = new QueueStatus("restricted");
+        restriction.maxRunning = maxRunning;
+        status.setRestriction(restriction);
+        return status;
+    }
+
+    private static List<String> describe(final StatusIndexes indexes, final Processes which) {
+        final List<String> described = new ArrayList<String>();
+        final IterativeCallback<Object, Void> collect = new IterativeCallback<Object, Void>() {
+
+            @Override
+            protected void nextObject(final Object process) {
+                final QueuedInvocation invocation = (QueuedInvocation) process;
+                assertEquals("restricted", invocation.getQueueId());
+                described.add(invocation.getMethod().getName() + "(" + invocation.getParameters()[0] + ")");
+            }
+        };
+        switch (which) {
+            case NOT_RUN:
+                indexes.iterateNotRunProcesses(collect);
+                break;
+            case RUNNING:
+                indexes.iterateRunningProcesses(collect);
+                break;
+            case WAITING:
+                indexes.iterateWaitingToRunProcesses(collect);
+                break;
+            default:
+                indexes.iterateFailedProcesses(collect);
+                break;
+        }
+        return described;
+    }
+
+    private enum Processes {
+
+        NOT_RUN, RUNNING, WAITING, FAILED
+    }
+
+    /**
+     * Lets an invocation run while fewer than #{@literal maxRunning} are running.
+     */
+    private static final class Restriction extends RestrictionMethod {
+
+        volatile int maxRunning;
+
+        Restriction() {
+            super(null, null);
+        }
+
+        @Override
+        public boolean canRun(final StatusIndexes statusIndexes) {
+            return statusIndexes.countOfRunningProcesses() < maxRunning;
+        }
+    }
+
+    /**
+     * The asynchronous methods under test.
+     */
+    public static final class Jobs {
+
+        final List<String> done = new ArrayList<String>();
+
+        public void work(final String name) {
+            done.add(name);
+        }
+
+        public Future<String> compute(final String name) {
+            done.add(name);
+            return new AsyncResult<String>(name);
+        }
+
+        public void fail(final String name) {
+            throw new IllegalStateException(name);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.cron;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+import org.junit.Test;
+import org.quartz.CronExpression;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Compares the fire times of #{@link CompiledCronSchedule} with those of Quartz's #{@link CronExpression},
+ * which scheduling providers used to parse expressions with, for every form of the syntax both
+ * understand, in time zones with and without daylight saving and from starting points either side
+ * of its transitions.
+ *
+ * @author agent
+ */
+public class CompiledCronScheduleTest {
+
+    private static final int FIRE_TIMES = 60;
+    private static final String[] EXPRESSIONS = {
+        // lists, ranges, steps and names
+        "*/5 * * ? * *",
+        "20 */2 * ? * *",
+        "0 0/10 9-17 * * ?",
+        "0 15 10 ? * MON-FRI",
+        "0 0 6,18 ? * SAT,SUN",
+        "0 0 12 ? * 1-7/2",
+        "0 0 12 ? 1-12/3 *",
+        "0 0 12 ? * FRI-MON",
+        "0 0 0 1 JAN,JUL ?",
+        "0 0 0 ? OCT-FEB 2",
+        "0 30 4 29 2 ?",
+        "0 0 0 31 * ?",
+        // L, W and LW in the day of the month
+        "0 0 12 L * ?",
+        "0 0 12 LW * ?",
+        "0 0 12 15W * ?",
+        "0 0 12 1W * ?",
+        "0 0 12 28W * ?",
+        // L and # in the day of the week
+        "0 0 12 ? * L",
+        "0 30 2 ? * 6L",
+        "0 0 9 ? * 6#3",
+        "0 0 9 ? * 2#5",
+        "0 0 9 ? * MON#1",
+        // years
+        "0 0 12 * * ? 2030",
+        "0 0 0 1 1 ? 2025-2035/3",
+        "0 0 0 1 1 ? 1999",
+        // times which don't occur, or occur twice, when the clocks change
+        "0 30 2 * * ?",
+        "0 0 2 * * ?",
+        "0 59 1 * * ?",
+        "0 0 3 * * ?",
+        "0 15 0 * * ?",
+        // the short form
+        "13:12",
+        "12:00/5"
+    };
+    private static final String[] ZONES = {"UTC", "America/New_York", "Europe/London", "Australia/Lord_Howe",
+        "Asia/Kolkata", "America/Sao_Paulo"};
+    private static final String[] STARTS = {
+        "2024-01-01T00:00:00Z",
+        // shortly before the clocks go forward in America and then Europe
+        "2024-03-09T20:00:00Z",
+        "2024-03-30T20:00:00Z",
+        // and before they go back
+        "2024-10-26T20:00:00Z",
+        "2024-11-02T20:00:00Z",
+        // Lord Howe and Sao Paulo in their own spring
+        "2024-10-05T10:00:00Z",
+        "2018-11-03T20:00:00Z",
+        "2028-02-27T12:34:56Z"
+    };
+
+    @Test
+    public void testFireTimesMatchQuartz() throws Exception {
+        final long quartzHorizon = parse("2100-01-01T00:00:00Z") - 14 * 3600000L;
+        int compared = 0;
+        for (String expression : EXPRESSIONS) {
+            for (String zoneId : ZONES) {
+                final TimeZone zone = TimeZone.getTimeZone(zoneId);
+                final CompiledCronSchedule compiled = CompiledCronSchedule.compile(expression, zone);
+                final CronExpression quartz = new CronExpression(quartzForm(expression));
+                quartz.setTimeZone(zone);
+                for (String start : STARTS) {
+                    long after = parse(start);
+                    for (int i = 0; i < FIRE_TIMES; i++) {
+                        final Date expected = quartz.getNextValidTimeAfter(new Date(after));
+                        final long actual = compiled.nextFireTime(after);
+                        if (expected == null && actual >= quartzHorizon) {
+                            // Quartz gives up after 2099
+                            break;
+                        }
+                        assertEquals(expression + " in " + zoneId + " after " + format(after, zone),
+                                expected == null ? "never" : format(expected.getTime(), zone),
+                                actual < 0 ? "never" : format(actual, zone));
+                        if (actual < 0) {
+                            break;
+                        }
+                        after = actual;
+                        compared++;
+                    }
+                }
+            }
+        }
+        assertEquals("every expression was compared", true, compared > EXPRESSIONS.length * ZONES.length);
+    }
+
+    /**
+     * Quartz 1.6 ignores the step of a range of names, so these are only compared with the same ranges in numbers.
+     */
+    @Test
+    public void testStepsApplyToRangesOfNames() throws Exception {
+        final TimeZone zone = TimeZone.getTimeZone("UTC");
+        assertSameFireTimes(CompiledCronSchedule.compile("0 0 12 ? * 1-7/2", zone),
+                CompiledCronSchedule.compile("0 0 12 ? * SUN-SAT/2", zone));
+        assertSameFireTimes(CompiledCronSchedule.compile("0 0 12 ? 1-12/3 *", zone),
+                CompiledCronSchedule.compile("0 0 12 ? JAN-DEC/3 *", zone));
+    }
+
+    /**
+     * Like a plain day of the month, #{@literal nW} skips months which don't have day n. Quartz 1.6 lets
+     * its calendar roll such a day over into the next month, and so fires on some of them and not others.
+     */
+    @Test
+    public void testNearestWeekdaySkipsMonthsWithoutTheDay() throws Exception {
+        final TimeZone zone = TimeZone.getTimeZone("UTC");
+        final CompiledCronSchedule schedule = CompiledCronSchedule.compile("0 0 12 31W * ?", zone);
+        final SimpleDateFormat day = new SimpleDateFormat("yyyy-MM-dd");
+        day.setTimeZone(zone);
+        long after = parse("2024-01-01T00:00:00Z");
+        final StringBuilder fired = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            after = schedule.nextFireTime(after);
+            fired.append(day.format(new Date(after))).append(' ');
+        }
+        // Mar 31st is a Sunday, so the nearest weekday is Friday the 29th
+        assertEquals("2024-01-31 2024-03-29 2024-05-31 2024-07-31 ", fired.toString());
+    }
+
+    @Test
+    public void testRejectsWhatQuartzRejects() {
+        final String[] expressions = {
+            // both day fields, or neither
+            "* * * * * *", "0 0 12 1 * MON", "0 0 12 L * 6L", "0 0 12 ? * ?",
+            // '?' in any other field
+            "? 0 12 * * ?", "0 ? 12 * * ?", "0 0 12 * * ? ?",
+            // a range of years which ends before it starts
+            "0 0 12 * * ? 2030-2020"
+        };
+        for (String expression : expressions) {
+            try {
+                CompiledCronSchedule.compile(expression);
+                fail("'" + expression + "' should be rejected, as Quartz rejects it");
+            } catch (ParseException expected) {
+                try {
+                    new CronExpression(expression);
+                    fail("Quartz accepts '" + expression + "'");
+                } catch (ParseException quartzToo) {
+                    // both reject it
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTablesGiveTheSameSchedule() throws Exception {
+        final TimeZone zone = TimeZone.getTimeZone("America/New_York");
+        for (String expression : EXPRESSIONS) {
+            final CompiledCronSchedule compiled = CompiledCronSchedule.compile(expression, zone);
+            assertSameFireTimes(compiled, CompiledCronSchedule.fromTables(expression, zone, compiled.toTables()));
+        }
+    }
+
+    @Test
+    public void testTablesOfAnotherFormatAreRejected() throws Exception {
+        final TimeZone zone = TimeZone.getTimeZone("UTC");
+        final long[] tables = CompiledCronSchedule.compile("0 0 12 * * ?", zone).toTables();
+        assertEquals(CompiledCronSchedule.TABLES_FORMAT, tables[0]);
+        // as generated before the tables had a format
+        final long[] unversioned = new long[tables.length - 1];
+        System.arraycopy(tables, 1, unversioned, 0, unversioned.length);
+        for (long[] other : new long[][]{unversioned, new long[0]}) {
+            try {
+                CompiledCronSchedule.fromTables("0 0 12 * * ?", zone, other);
+                fail("Tables without the format should be rejected");
+            } catch (IllegalArgumentException expected) {
+                // they'd be misread
+            }
+        }
+    }
+
+    private static void assertSameFireTimes(final CompiledCronSchedule expected, final CompiledCronSchedule actual)
+            throws ParseException {
+        long after = parse(STARTS[1]);
+        for (int i = 0; i < FIRE_TIMES && after >= 0; i++) {
+            final long next = expected.nextFireTime(after);
+            assertEquals(actual.getExpression(), next, actual.nextFireTime(after));
+            after = next;
+        }
+    }
+
+    /**
+     * Quartz doesn't understand the #{@literal "hours:minutes"} short form.
+     */
+    private static String quartzForm(final String expression) {
+        if (!expression.contains(":")) {
+            return expression;
+        }
+        final String[] parts = expression.split(":");
+        return "0 " + parts[1] + " " + parts[0] + " * * ?";
+    }
+
+    private static long parse(final String instant) throws ParseException {
+        final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.parse(instant).getTime();
+    }
+
+    private static String format(final long millis, final TimeZone zone) {
+        final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss zzz");
+        format.setTimeZone(zone);
+        return format.format(new Date(millis));
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.lease;
+
+import java.io.File;
+import java.io.IOException;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Two #{@link FileTriggerLease}s sharing a directory stand in for two nodes sharing a mount.
+ *
+ * @author agent
+ */
+public class FileTriggerLeaseTest {
+
+    private static final String TRIGGER = "org.jboss.seam.cron.api.scheduling.Every(every 1000ms)";
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = File.createTempFile("seam-cron-leases", "");
+        directory.delete();
+        directory.deleteOnExit();
+    }
+
+    @Test
+    public void testOnlyOneNodeClaimsEachFiring() {
+        final FileTriggerLease nodeA = new FileTriggerLease(directory);
+        final FileTriggerLease nodeB = new FileTriggerLease(directory);
+        assertTrue(nodeA.claim(TRIGGER, 1, 0));
+        assertFalse(nodeB.claim(TRIGGER, 1, 0));
+        assertTrue(nodeB.claim(TRIGGER, 2, 0));
+        // a node which has fallen behind doesn't re-run a firing which has already happened
+        assertFalse(nodeA.claim(TRIGGER, 2, 0));
+        assertFalse(nodeA.claim(TRIGGER, 1, 0));
+        assertTrue(nodeB.claim("other", 1, 0));
+        assertEquals(2, directory.listFiles().length);
+    }
+}
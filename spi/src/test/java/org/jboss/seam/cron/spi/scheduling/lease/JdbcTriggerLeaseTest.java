@@ -0,0 +1,135 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.lease;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs #{@link JdbcTriggerLease} against an embedded, in-memory HSQLDB database, with one lease
+ * per simulated cluster node.
+ *
+ * @author agent
+ */
+public class JdbcTriggerLeaseTest {
+
+    private static final String URL = "jdbc:hsqldb:mem:seamcronleases";
+    private static final String TRIGGER = "org.jboss.seam.cron.api.scheduling.Every(every 1000ms)";
+    private static final long HOLD_MILLIS = 3600000L;
+    private static final int SLOTS = 200;
+
+    @Before
+    public void dropTable() throws Exception {
+        Class.forName("org.hsqldb.jdbcDriver");
+        final Connection conn = DriverManager.getConnection(URL, "sa", "");
+        try {
+            final Statement stmt = conn.createStatement();
+            try {
+                stmt.execute("DROP TABLE " + JdbcTriggerLease.DEFAULT_TABLE);
+            } catch (SQLException ex) {
+                // not created yet
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            conn.close();
+        }
+    }
+
+    @Test
+    public void testOnlyOneNodeClaimsEachFiring() throws Exception {
+        final List<JdbcTriggerLease> nodes = new ArrayList<JdbcTriggerLease>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(lease("node-" + i));
+        }
+        final AtomicIntegerArray claims = new AtomicIntegerArray(SLOTS);
+        final ExecutorService executor = Executors.newFixedThreadPool(nodes.size());
+        for (final JdbcTriggerLease node : nodes) {
+            executor.execute(new Runnable() {
+
+                public void run() {
+                    for (int slot = 0; slot < SLOTS; slot++) {
+                        if (node.claim(TRIGGER, slot, HOLD_MILLIS)) {
+                            claims.incrementAndGet(slot);
+                        }
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        for (int slot = 0; slot < SLOTS; slot++) {
+            assertEquals("claims of slot " + slot, 1, claims.get(slot));
+        }
+        assertEquals(SLOTS, countRows());
+    }
+
+    @Test
+    public void testTriggersAndSlotsAreClaimedIndependently() throws Exception {
+        final JdbcTriggerLease nodeA = lease("node-a");
+        final JdbcTriggerLease nodeB = lease("node-b");
+        assertTrue(nodeA.claim(TRIGGER, 1, HOLD_MILLIS));
+        assertFalse(nodeB.claim(TRIGGER, 1, HOLD_MILLIS));
+        assertFalse(nodeA.claim(TRIGGER, 1, HOLD_MILLIS));
+        assertTrue(nodeB.claim(TRIGGER, 2, HOLD_MILLIS));
+        assertTrue(nodeB.claim("other", 1, HOLD_MILLIS));
+    }
+
+    @Test
+    public void testExpiredClaimsAreDeleted() throws Exception {
+        final JdbcTriggerLease node = lease("node-a");
+        assertTrue(node.claim(TRIGGER, 1, 0));
+        Thread.sleep(20);
+        // with no hold, each claim sweeps away everything claimed before it
+        assertTrue(node.claim(TRIGGER, 2, 0));
+        assertEquals(1, countRows());
+    }
+
+    private JdbcTriggerLease lease(final String owner) {
+        return new JdbcTriggerLease(URL, "sa", "", JdbcTriggerLease.DEFAULT_TABLE, owner, true);
+    }
+
+    private int countRows() throws SQLException {
+        final Connection conn = DriverManager.getConnection(URL, "sa", "");
+        try {
+            final Statement stmt = conn.createStatement();
+            try {
+                final ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + JdbcTriggerLease.DEFAULT_TABLE);
+                rs.next();
+                return rs.getInt(1);
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            conn.close();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.metrics;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the bucket boundaries of #{@link LatencyHistogram} and the percentiles it reports.
+ *
+ * @author agent
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testSmallValuesHaveABucketEach() {
+        for (int value = 0; value < 16; value++) {
+            assertEquals(value, LatencyHistogram.bucketOf(value));
+            assertEquals(value, LatencyHistogram.highestValueIn(value));
+        }
+        // the first power of two which is split into sub-buckets
+        assertEquals(16, LatencyHistogram.bucketOf(16));
+        assertEquals(16, LatencyHistogram.highestValueIn(16));
+        assertEquals(31, LatencyHistogram.bucketOf(31));
+        assertEquals(32, LatencyHistogram.bucketOf(32));
+        // from 32, each bucket holds two values
+        assertEquals(32, LatencyHistogram.bucketOf(33));
+        assertEquals(33, LatencyHistogram.highestValueIn(32));
+    }
+
+    @Test
+    public void testBucketsCoverEveryValueWithoutGapsOrOverlaps() {
+        // the highest value of each bucket is followed by the lowest of the next
+        for (int bucket = 0; bucket < 959; bucket++) {
+            final long highest = LatencyHistogram.highestValueIn(bucket);
+            assertEquals("highest of " + bucket, bucket, LatencyHistogram.bucketOf(highest));
+            assertEquals("after the highest of " + bucket, bucket + 1, LatencyHistogram.bucketOf(highest + 1));
+        }
+        assertEquals(959, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueIn(959));
+    }
+
+    @Test
+    public void testBucketsAreWithinSixPercent() {
+        for (long value = 16; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            final long highest = LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(value));
+            assertTrue(value + " reported as " + highest, highest >= value && (highest - value) <= value / 16);
+        }
+    }
+
+    @Test
+    public void testExtremeValues() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(2, histogram.getCount());
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+        assertEquals("negative values are recorded as 0", 0, histogram.getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals("nothing recorded", 0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMean(), 0);
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500500, histogram.getSum());
+        assertEquals(500.5, histogram.getMean(), 0);
+        assertEquals("the lowest value", 1, histogram.getValueAtPercentile(0));
+        assertEquals("the top of 500's bucket", 511, histogram.getValueAtPercentile(50));
+        assertEquals("the top of 990's bucket", 991, histogram.getValueAtPercentile(99));
+        assertEquals("never more than the max", 1000, histogram.getValueAtPercentile(100));
+        assertEquals("out of range percentiles are clamped", 1000, histogram.getValueAtPercentile(150));
+        assertEquals(1, histogram.getValueAtPercentile(-1));
+    }
+}
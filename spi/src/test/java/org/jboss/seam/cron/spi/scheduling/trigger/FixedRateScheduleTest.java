@@ -0,0 +1,113 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.trigger;
+
+import java.util.Random;
+import java.util.TimeZone;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.spi.scheduling.metrics.JitterStatistics;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs #{@link FixedRateSchedule} against a simulated clock, so that thousands of firings take
+ * no time at all.
+ *
+ * @author agent
+ */
+public class FixedRateScheduleTest {
+
+    private static final int TICKS = 10000;
+    private static final long PERIOD_MILLIS = 250;
+    private static final long MILLIS = 1000000L;
+
+    @Test
+    public void testFireTimesStayAnchoredUnderLateness() {
+        final Random random = new Random(42);
+        // the two clocks start out unrelated, as they do in a real JVM
+        final long startNanos = 987654321L;
+        final long startMillis = 1300000000123L;
+        final FixedRateSchedule schedule = FixedRateSchedule.forInterval(Interval.MILLISECOND, (int) PERIOD_MILLIS,
+                TimeZone.getTimeZone("UTC"), startMillis, startNanos);
+        // the first firing is on the next whole second at least a second away: 1877ms from now
+        final long firstMillis = 1300000002000L;
+        final long firstNanos = startNanos + 1877 * MILLIS;
+
+        final JitterStatistics jitter = new JitterStatistics();
+        final long[] injected = new long[TICKS];
+        long lateByNanos = 0;
+        for (int i = 0; i < TICKS; i++) {
+            final long dueNanos = firstNanos + i * PERIOD_MILLIS * MILLIS;
+            assertEquals(firstMillis + i * PERIOD_MILLIS, schedule.getNextFireMillis());
+            assertEquals(dueNanos, schedule.getNextFireNanos());
+            // the firing runs up to 100ms late, as a loaded dispatcher might
+            injected[i] = (long) (random.nextDouble() * 100 * MILLIS);
+            lateByNanos += injected[i];
+            final long firedNanos = dueNanos + injected[i];
+            jitter.record(firedNanos - dueNanos);
+            // and the next deadline is worked out a little later still
+            assertEquals("nothing is skipped while firings are less than a period late", 0,
+                    schedule.advance(firedNanos + 5 * MILLIS));
+        }
+
+        // a schedule which waited a period from each late firing would now be this far behind
+        assertTrue(lateByNanos > TICKS * 40 * MILLIS);
+        // but 10,000 periods on, this one is still exactly on the grid
+        assertEquals(1300002502000L, schedule.getNextFireMillis());
+        assertEquals(startNanos + 2501877 * MILLIS, schedule.getNextFireNanos());
+
+        double mean = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long each : injected) {
+            mean += (double) each / TICKS;
+            min = Math.min(min, each);
+            max = Math.max(max, each);
+        }
+        double variance = 0;
+        for (long each : injected) {
+            variance += (each - mean) * (each - mean) / TICKS;
+        }
+        assertEquals(TICKS, jitter.getCount());
+        assertEquals(min, jitter.getMin());
+        assertEquals(max, jitter.getMax());
+        assertEquals(mean, jitter.getMean(), 1);
+        assertEquals(Math.sqrt(variance), jitter.getStandardDeviation(), 1000);
+    }
+
+    @Test
+    public void testSkipsFireTimesMissedDuringAPause() {
+        final FixedRateSchedule schedule = new FixedRateSchedule(0, 0, PERIOD_MILLIS);
+        // dispatched 1.1 seconds late, after a GC pause
+        final long skipped = schedule.advance(1100 * MILLIS);
+        assertEquals(4, skipped);
+        assertEquals(1250, schedule.getNextFireMillis());
+        assertEquals(1250 * MILLIS, schedule.getNextFireNanos());
+    }
+
+    @Test
+    public void testNextFireTimeAfter() {
+        assertEquals(1250, FixedRateSchedule.nextFireTimeAfter(0, PERIOD_MILLIS, 1000));
+        assertEquals(1250, FixedRateSchedule.nextFireTimeAfter(0, PERIOD_MILLIS, 1249));
+        assertEquals(1500, FixedRateSchedule.nextFireTimeAfter(0, PERIOD_MILLIS, 1250));
+        // before the anchor
+        assertEquals(750, FixedRateSchedule.nextFireTimeAfter(1000, PERIOD_MILLIS, 600));
+        // a previous run time which was itself late doesn't push the next one back
+        assertEquals(1500, FixedRateSchedule.nextFireTimeAfter(0, PERIOD_MILLIS, 1317));
+    }
+}
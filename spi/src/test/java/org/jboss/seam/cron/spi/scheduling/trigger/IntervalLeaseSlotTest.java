@@ -0,0 +1,192 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.trigger;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jboss.seam.cron.api.queue.Queue;
+import org.jboss.seam.cron.api.scheduling.Every;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.api.scheduling.OverlapPolicy;
+import org.jboss.seam.cron.api.scheduling.Trigger;
+import org.jboss.seam.cron.spi.SeamCronExtension;
+import org.jboss.seam.cron.spi.scheduling.lease.TriggerLease;
+import org.jboss.seam.cron.spi.scheduling.trigger.TestTriggers.Observer;
+import org.jboss.seam.cron.util.TimeUtils;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Two nodes which started at different times schedule the same #{@literal @Every} trigger and
+ * fire it a few milliseconds either side of each fire time, through a shared
+ * #{@link TriggerLease}: each firing must run exactly once, whatever the time zone. Triggers
+ * which differ in any way must not claim each other's firings.
+ *
+ * @author agent
+ */
+public class IntervalLeaseSlotTest {
+
+    private static final long JITTER_MILLIS = 3;
+
+    @Every(Interval.HOUR)
+    private Object hourly;
+    @Every(value = Interval.HOUR, nth = 2)
+    private Object twoHourly;
+    @Every(value = Interval.MINUTE, nth = 45)
+    private Object everyFortyFiveMinutes;
+    @Every(Interval.DAY)
+    private Object daily;
+    @Every(value = Interval.MILLISECOND, nth = 300)
+    private Object everyThreeHundredMillis;
+
+    @Every(Interval.MINUTE)
+    private Object minutely;
+    @Every(value = Interval.SECOND, nth = 60)
+    private Object everySixtySeconds;
+    @Every(value = Interval.MINUTE, overlap = OverlapPolicy.SKIP)
+    private Object minutelyWithoutOverlap;
+    @Every(Interval.MINUTE)
+    @Queue("reports")
+    private Object minutelyInQueue;
+    @Every(Interval.MINUTE)
+    @Queue("a queue whose id is long enough that the trigger's id no longer fits the lease table, "
+            + "so it must be shortened without being confused with any other trigger whose id is shortened")
+    private Object minutelyInLongQueue;
+
+    private final TimeZone defaultTimeZone = TimeZone.getDefault();
+
+    @After
+    public void restoreTimeZone() {
+        TimeZone.setDefault(defaultTimeZone);
+    }
+
+    @Test
+    public void testHourlyOnTheHalfHourZone() {
+        assertEachFiringRunsOnce("Asia/Kolkata", "hourly", Interval.HOUR, 1);
+    }
+
+    @Test
+    public void testEveryNthHour() {
+        assertEachFiringRunsOnce("Asia/Kolkata", "twoHourly", Interval.HOUR, 2);
+        assertEachFiringRunsOnce("America/New_York", "twoHourly", Interval.HOUR, 2);
+    }
+
+    @Test
+    public void testEveryNthMinuteOnTheQuarterHourZone() {
+        assertEachFiringRunsOnce("Asia/Kathmandu", "everyFortyFiveMinutes", Interval.MINUTE, 45);
+    }
+
+    @Test
+    public void testDailyTwelveHoursEitherSideOfUtc() {
+        assertEachFiringRunsOnce("Etc/GMT-12", "daily", Interval.DAY, 1);
+        assertEachFiringRunsOnce("Etc/GMT+12", "daily", Interval.DAY, 1);
+        assertEachFiringRunsOnce("UTC", "daily", Interval.DAY, 1);
+    }
+
+    @Test
+    public void testMillisecondsWhichDontDivideASecond() {
+        assertEachFiringRunsOnce("Asia/Kolkata", "everyThreeHundredMillis", Interval.MILLISECOND, 300);
+    }
+
+    @Test
+    public void testTriggersWhichDifferOnlyInTheirMembersOrQualifiersEachFire() {
+        final TriggerLease lease = new InMemoryLease();
+        final AtomicInteger runs = new AtomicInteger();
+        final String[] triggers = {"minutely", "everySixtySeconds", "minutelyWithoutOverlap", "minutelyInQueue", "minutelyInLongQueue"};
+        final Set<String> leaseIds = new HashSet<String>();
+        final long fireTime = 1300000020000L;
+        for (String trigger : triggers) {
+            final TriggerSupplies supplies = node(trigger, lease, runs);
+            assertTrue(supplies.getLeaseId(), supplies.getLeaseId().length() <= TriggerSupplies.MAX_LEASE_ID_LENGTH);
+            leaseIds.add(supplies.getLeaseId());
+            fireAt(supplies, fireTime);
+            // the same trigger on another node is still refused the firing
+            fireAt(node(trigger, lease, runs), fireTime + JITTER_MILLIS);
+        }
+        assertEquals(triggers.length, leaseIds.size());
+        assertEquals(triggers.length, runs.get());
+    }
+
+    private void assertEachFiringRunsOnce(final String zone, final String trigger, final Interval unit, final int nth) {
+        final TimeZone timeZone = TimeZone.getTimeZone(zone);
+        // the supplies pick up the default time zone, as they would on a node in that zone
+        TimeZone.setDefault(timeZone);
+        final long periodMillis = unit.getMillis() * nth;
+        final long startA = 1300000000123L;
+        final long startB = startA + 3 * periodMillis + 1234;
+        final long firstA = TimeUtils.firstIntervalFireTime(unit, nth, startA, timeZone);
+        final long firstB = TimeUtils.firstIntervalFireTime(unit, nth, startB, timeZone);
+        assertEquals(zone + ": both nodes fire on the same grid", 0, Math.floorMod(firstB - firstA, periodMillis));
+
+        final TriggerLease lease = new InMemoryLease();
+        final AtomicInteger runs = new AtomicInteger();
+        final TriggerSupplies nodeA = node(trigger, lease, runs);
+        final TriggerSupplies nodeB = node(trigger, lease, runs);
+        for (int i = 0; i < 4; i++) {
+            final long fireTime = firstB + i * periodMillis;
+            assertEquals(zone + ": either side of " + fireTime + " is the same slot",
+                    nodeA.getFiringSlot(fireTime - JITTER_MILLIS), nodeB.getFiringSlot(fireTime + JITTER_MILLIS));
+            assertNotEquals(nodeA.getFiringSlot(fireTime), nodeA.getFiringSlot(fireTime + periodMillis));
+            // the nodes take turns to be the early one
+            fireAt(i % 2 == 0 ? nodeA : nodeB, fireTime - JITTER_MILLIS);
+            fireAt(i % 2 == 0 ? nodeB : nodeA, fireTime + JITTER_MILLIS);
+            assertEquals(zone + " " + trigger + ": firing " + i + " ran once", i + 1, runs.get());
+        }
+    }
+
+    private TriggerSupplies node(final String trigger, final TriggerLease lease, final AtomicInteger runs) {
+        final SeamCronExtension extension = new SeamCronExtension();
+        extension.getTriggerLeases().install(lease);
+        return TestTriggers.supplies(TestTriggers.qualifier(getClass(), trigger), TestTriggers.qualifiers(getClass(), trigger),
+                extension, new Observer() {
+
+            public void observe(final Trigger event) {
+                runs.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Fire as a provider which doesn't say when the firing was due, so it is claimed by its arrival time.
+     */
+    private static void fireAt(final TriggerSupplies supplies, final long now) {
+        new TriggerSupport(supplies) {
+
+            @Override
+            long currentTimeMillis() {
+                return now;
+            }
+        }.fireTrigger();
+    }
+
+    /**
+     * A lease shared by the nodes of the test.
+     */
+    private static class InMemoryLease implements TriggerLease {
+
+        private final Set<String> claimed = new HashSet<String>();
+
+        public synchronized boolean claim(final String triggerId, final long slot, final long holdMillis) {
+            return claimed.add(triggerId + "#" + slot);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.trigger;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.ObserverMethod;
+import org.jboss.seam.cron.api.scheduling.Trigger;
+import org.jboss.seam.cron.spi.SeamCronExtension;
+
+/**
+ * Builds #{@link TriggerSupplies} whose events are delivered straight to a test's observer,
+ * without a CDI container.
+ *
+ * @author agent
+ */
+final class TestTriggers {
+
+    /**
+     * Observes the events of a test trigger.
+     */
+    interface Observer {
+
+        void observe(Trigger event);
+    }
+
+    private TestTriggers() {
+    }
+
+    /**
+     * @param holder A class with a field annotated with the qualifier.
+     * @param field The name of the field.
+     * @return The field's #{@literal @Every} or #{@literal @Scheduled} qualifier.
+     */
+    static Annotation qualifier(final Class<?> holder, final String field) {
+        try {
+            return holder.getDeclaredField(field).getAnnotations()[0];
+        } catch (NoSuchFieldException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    /**
+     * @param holder A class with a field annotated with the qualifiers.
+     * @param field The name of the field.
+     * @return All the field's qualifiers, the #{@literal @Every} or #{@literal @Scheduled} one first.
+     */
+    static Set<Annotation> qualifiers(final Class<?> holder, final String field) {
+        try {
+            return new LinkedHashSet<Annotation>(Arrays.asList(holder.getDeclaredField(field).getAnnotations()));
+        } catch (NoSuchFieldException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    /**
+     * @param qualifier The trigger's qualifier.
+     * @param extension Holds the trigger's state, as it would for a deployment.
+     * @param observer The trigger's only observer.
+     * @return Supplies for the trigger.
+     */
+    static TriggerSupplies supplies(final Annotation qualifier, final SeamCronExtension extension, final Observer observer) {
+        return supplies(qualifier, Collections.singleton(qualifier), extension, observer);
+    }
+
+    /**
+     * @param qualifier The trigger's #{@literal @Every} or #{@literal @Scheduled} qualifier.
+     * @param qualifiers All the qualifiers of the trigger's event.
+     * @param extension Holds the trigger's state, as it would for a deployment.
+     * @param observer The trigger's only observer.
+     * @return Supplies for the trigger.
+     */
+    static TriggerSupplies supplies(final Annotation qualifier, final Set<Annotation> qualifiers, final SeamCronExtension extension,
+            final Observer observer) {
+        final ObserverMethod<?> observerMethod = proxy(ObserverMethod.class, new InvocationHandler() {
+
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                if ("notify".equals(method.getName())) {
+                    observer.observe((Trigger) args[0]);
+                    return null;
+                }
+                if ("getTransactionPhase".equals(method.getName())) {
+                    return TransactionPhase.IN_PROGRESS;
+                }
+                return objectMethod(proxy, method, args);
+            }
+        });
+        final BeanManager beanManager = proxy(BeanManager.class, new InvocationHandler() {
+
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                if ("resolveObserverMethods".equals(method.getName())) {
+                    return Collections.singleton(observerMethod);
+                }
+                if ("fireEvent".equals(method.getName())) {
+                    observer.observe((Trigger) args[0]);
+                    return null;
+                }
+                return objectMethod(proxy, method, args);
+            }
+        });
+        return new TriggerSupplies(beanManager, extension, qualifier, qualifiers);
+    }
+
+    /**
+     * @return A proxy of the given container interface, which answers with the given handler.
+     */
+    static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TestTriggers.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Answer the #{@link Object} methods of a proxy, which is only equal to itself.
+     */
+    static Object objectMethod(final Object proxy, final Method method, final Object[] args) {
+        if ("equals".equals(method.getName())) {
+            return proxy == args[0];
+        }
+        if ("hashCode".equals(method.getName())) {
+            return System.identityHashCode(proxy);
+        }
+        if ("toString".equals(method.getName())) {
+            return "test " + method.getDeclaringClass().getSimpleName();
+        }
+        throw new UnsupportedOperationException(method.getName());
+    }
+}
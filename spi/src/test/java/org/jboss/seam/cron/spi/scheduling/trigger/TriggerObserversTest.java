@@ -0,0 +1,239 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.trigger;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.enterprise.event.ObserverException;
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.ObserverMethod;
+import org.jboss.seam.cron.api.queue.Queue;
+import org.jboss.seam.cron.api.scheduling.Every;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.api.scheduling.Trigger;
+import org.jboss.seam.cron.spi.SeamCronExtension;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that #{@link TriggerObservers} delivers each firing as
+ * #{@link BeanManager#fireEvent(Object, Annotation...)} would: by notifying the observers which the
+ * container resolved, whose #{@link ObserverMethod#notify(Object)} deals with conditional observers
+ * and wraps their exceptions, except for the observers which the container defers to the end of a
+ * transaction.
+ *
+ * @author agent
+ */
+public class TriggerObserversTest {
+
+    @Every(Interval.SECOND)
+    private Object everySecond;
+    @Every(Interval.SECOND)
+    @Queue("reports")
+    private Object everySecondInQueue;
+
+    private final SeamCronExtension extension = new SeamCronExtension();
+    private final Annotation qualifier = TestTriggers.qualifier(getClass(), "everySecond");
+    /**
+     * What the container was asked to do, in order.
+     */
+    private final List<String> calls = new ArrayList<String>();
+    private RuntimeException failure;
+
+    @Test
+    public void testObserversAreResolvedOnceThenNotifiedDirectly() {
+        final Container container = new Container(observer("first", Reception.ALWAYS, TransactionPhase.IN_PROGRESS),
+                observer("second", Reception.ALWAYS, TransactionPhase.IN_PROGRESS));
+        fire(container, 3);
+        assertEquals(Arrays.asList("resolve", "notify first", "notify second", "notify first", "notify second",
+                "notify first", "notify second"), calls);
+        assertArrayEquals(new Object[]{qualifier}, container.resolvedWith);
+    }
+
+    @Test
+    public void testConditionalObserversAreLeftToTheContainersNotify() {
+        // the container's notify() skips a conditional observer whose bean doesn't exist, just as fireEvent() does
+        final Container container = new Container(observer("conditional", Reception.IF_EXISTS, TransactionPhase.IN_PROGRESS));
+        fire(container, 2);
+        assertEquals(Arrays.asList("resolve", "notify conditional", "notify conditional"), calls);
+    }
+
+    @Test
+    public void testTriggersWithTransactionalObserversAreFiredThroughTheBeanManager() {
+        final Container container = new Container(observer("immediate", Reception.ALWAYS, TransactionPhase.IN_PROGRESS),
+                observer("afterSuccess", Reception.ALWAYS, TransactionPhase.AFTER_SUCCESS));
+        fire(container, 2);
+        assertEquals("the observers are still only resolved once", Arrays.asList("resolve", "fireEvent", "fireEvent"), calls);
+        assertArrayEquals(new Object[]{qualifier}, container.firedWith);
+    }
+
+    @Test
+    public void testObserverExceptionsReachTheProviderUnwrapped() {
+        final Container container = new Container(observer("failing", Reception.ALWAYS, TransactionPhase.IN_PROGRESS));
+        // as thrown by the container's notify() for a checked exception, and for a runtime exception
+        for (RuntimeException thrown : new RuntimeException[]{new ObserverException(new Exception("checked")),
+                    new IllegalStateException("unchecked")}) {
+            failure = thrown;
+            try {
+                fire(container, 1);
+                fail("The observer's exception should reach the provider");
+            } catch (RuntimeException ex) {
+                assertSame(thrown, ex);
+            }
+        }
+    }
+
+    @Test
+    public void testExceptionsFiredThroughTheBeanManagerReachTheProviderUnwrapped() {
+        final Container container = new Container(observer("failing", Reception.ALWAYS, TransactionPhase.AFTER_COMPLETION));
+        failure = new ObserverException(new Exception("checked"));
+        try {
+            fire(container, 1);
+            fail("The observer's exception should reach the provider");
+        } catch (ObserverException ex) {
+            assertSame(failure, ex);
+        }
+    }
+
+    @Test
+    public void testObserversAreResolvedAgainAfterRedeployment() {
+        final ObserverMethod<?> observer = observer("observer", Reception.ALWAYS, TransactionPhase.IN_PROGRESS);
+        fire(new Container(observer), 1);
+        // the redeployed application's supplies bring a new BeanManager, but the trigger's state outlives them
+        fire(new Container(observer), 1);
+        assertEquals(Arrays.asList("resolve", "notify observer", "resolve", "notify observer"), calls);
+    }
+
+    @Test
+    public void testTriggersSharingTheirIntervalResolveTheirOwnObservers() {
+        final ObserverMethod<?> everySecondObserver = observer("everySecond", Reception.ALWAYS, TransactionPhase.IN_PROGRESS);
+        final ObserverMethod<?> queueObserver = observer("inQueue", Reception.ALWAYS, TransactionPhase.IN_PROGRESS);
+        final Container container = new Container() {
+            @Override
+            Object resolve(final Object[] args) {
+                super.resolve(args);
+                // an observer of @Every(SECOND) @Queue("reports") only observes the trigger with both qualifiers
+                return ((Object[]) args[1]).length == 1 ? Collections.singleton(everySecondObserver)
+                        : new LinkedHashSet<ObserverMethod<?>>(Arrays.asList(everySecondObserver, queueObserver));
+            }
+        };
+        final Set<Annotation> queued = TestTriggers.qualifiers(getClass(), "everySecondInQueue");
+        assertEquals(qualifier, queued.iterator().next());
+        fire(container, Collections.singleton(qualifier), 1);
+        fire(container, queued, 2);
+        fire(container, Collections.singleton(qualifier), 1);
+        assertEquals(Arrays.asList("resolve", "notify everySecond", "resolve", "notify everySecond", "notify inQueue",
+                "notify everySecond", "notify inQueue", "notify everySecond"), calls);
+    }
+
+    @Test
+    public void testTriggersWhoseObserversCantBeResolvedAreFiredThroughTheBeanManager() {
+        final Container container = new Container() {
+            @Override
+            Object resolve(final Object[] args) {
+                calls.add("resolve");
+                throw new UnsupportedOperationException("resolveObserverMethods");
+            }
+        };
+        fire(container, 2);
+        assertEquals(Arrays.asList("resolve", "fireEvent", "resolve", "fireEvent"), calls);
+    }
+
+    private void fire(final Container container, final int times) {
+        fire(container, Collections.singleton(qualifier), times);
+    }
+
+    private void fire(final Container container, final Set<Annotation> qualifiers, final int times) {
+        final TriggerSupplies supplies = new TriggerSupplies(container.beanManager, extension, qualifier, qualifiers);
+        for (int i = 0; i < times; i++) {
+            new TriggerSupport(supplies).fireTrigger();
+        }
+    }
+
+    private ObserverMethod<?> observer(final String name, final Reception reception, final TransactionPhase phase) {
+        return TestTriggers.proxy(ObserverMethod.class, new InvocationHandler() {
+
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                if ("notify".equals(method.getName())) {
+                    calls.add("notify " + name);
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    return null;
+                }
+                if ("getReception".equals(method.getName())) {
+                    return reception;
+                }
+                if ("getTransactionPhase".equals(method.getName())) {
+                    return phase;
+                }
+                return TestTriggers.objectMethod(proxy, method, args);
+            }
+        });
+    }
+
+    /**
+     * A #{@link BeanManager} which resolves the given observers of the trigger's event, and records
+     * what it is asked to do.
+     */
+    private class Container {
+
+        private final Set<ObserverMethod<?>> observers;
+        private final BeanManager beanManager;
+        private Object[] resolvedWith;
+        private Object[] firedWith;
+
+        Container(final ObserverMethod<?>... observers) {
+            this.observers = new LinkedHashSet<ObserverMethod<?>>(Arrays.asList(observers));
+            this.beanManager = TestTriggers.proxy(BeanManager.class, new InvocationHandler() {
+
+                public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                    if ("resolveObserverMethods".equals(method.getName())) {
+                        return resolve(args);
+                    }
+                    if ("fireEvent".equals(method.getName())) {
+                        calls.add("fireEvent");
+                        firedWith = (Object[]) args[1];
+                        if (failure != null) {
+                            throw failure;
+                        }
+                        return null;
+                    }
+                    return TestTriggers.objectMethod(proxy, method, args);
+                }
+            });
+        }
+
+        Object resolve(final Object[] args) {
+            calls.add("resolve");
+            resolvedWith = (Object[]) args[1];
+            return observers;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.trigger;
+
+import java.lang.annotation.Annotation;
+import org.jboss.seam.cron.api.scheduling.Every;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.api.scheduling.Trigger;
+import org.jboss.seam.cron.spi.SeamCronExtension;
+import org.jboss.seam.cron.spi.scheduling.metrics.TriggerMetrics;
+import org.jboss.seam.cron.spi.scheduling.trigger.TestTriggers.Observer;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that every firing is recorded in the #{@link org.jboss.seam.cron.spi.scheduling.metrics.TriggerMetricsRegistry}:
+ * its count, whether an observer failed, and how late it was.
+ *
+ * @author agent
+ */
+public class TriggerSupportMetricsTest {
+
+    private static final long T0 = 1300000000000L;
+
+    @Every(Interval.SECOND)
+    private Object everySecond;
+
+    private final SeamCronExtension extension = new SeamCronExtension();
+    private RuntimeException observerFailure;
+
+    @Test
+    public void testFiringsAreCountedWithTheirLateness() {
+        final TriggerSupplies supplies = supplies();
+        assertNull("nothing recorded before the first firing", metrics());
+        fireAt(supplies, T0, T0 + 7);
+        fireAt(supplies, T0 + 1000, T0 + 1000);
+        fireAt(supplies, T0 + 2000, T0 + 1995);
+        final TriggerMetrics metrics = metrics();
+        assertEquals(3, metrics.getFireCount());
+        assertEquals(0, metrics.getExceptionCount());
+        assertEquals(3, metrics.getLateness().getCount());
+        assertEquals(7, metrics.getLateness().getMax());
+        assertEquals("early firings are recorded as on time", 7, metrics.getLateness().getSum());
+        assertEquals(3, metrics.getExecutionTime().getCount());
+    }
+
+    @Test
+    public void testLatenessIsOnlyRecordedWhenTheProviderSaysWhenTheFiringWasDue() {
+        final TriggerSupplies supplies = supplies();
+        new TriggerSupport(supplies).fireTrigger();
+        final TriggerMetrics metrics = metrics();
+        assertEquals(1, metrics.getFireCount());
+        assertEquals(0, metrics.getLateness().getCount());
+        assertEquals(1, metrics.getExecutionTime().getCount());
+    }
+
+    @Test
+    public void testFailedFiringsAreCountedAndRethrown() {
+        final TriggerSupplies supplies = supplies();
+        fireAt(supplies, T0, T0);
+        observerFailure = new IllegalStateException("observer failed");
+        try {
+            fireAt(supplies, T0 + 1000, T0 + 1000);
+            fail("The observer's exception should reach the provider");
+        } catch (RuntimeException ex) {
+            assertSame(observerFailure, ex);
+        }
+        observerFailure = null;
+        fireAt(supplies, T0 + 2000, T0 + 2000);
+        final TriggerMetrics metrics = metrics();
+        assertEquals(3, metrics.getFireCount());
+        assertEquals(1, metrics.getExceptionCount());
+        assertTrue(metrics.toString().contains("exceptions=1"));
+    }
+
+    private TriggerMetrics metrics() {
+        final Annotation qualifier = TestTriggers.qualifier(getClass(), "everySecond");
+        return extension.getTriggerInstrumentation().getDefaultRegistry().getMetrics(qualifier);
+    }
+
+    private TriggerSupplies supplies() {
+        return TestTriggers.supplies(TestTriggers.qualifier(getClass(), "everySecond"), extension, new Observer() {
+
+            public void observe(final Trigger event) {
+                if (observerFailure != null) {
+                    throw observerFailure;
+                }
+            }
+        });
+    }
+
+    /**
+     * Fire the trigger for the given fire time, with the clock reading the given time.
+     */
+    private static void fireAt(final TriggerSupplies supplies, final long scheduledTime, final long now) {
+        new TriggerSupport(supplies) {
+
+            @Override
+            long currentTimeMillis() {
+                return now;
+            }
+        }.fireTrigger(scheduledTime);
+    }
+}
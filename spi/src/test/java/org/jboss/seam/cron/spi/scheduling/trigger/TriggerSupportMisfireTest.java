@@ -0,0 +1,207 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.trigger;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jboss.seam.cron.api.queue.Queue;
+import org.jboss.seam.cron.api.scheduling.Every;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.api.scheduling.MisfirePolicy;
+import org.jboss.seam.cron.api.scheduling.Scheduled;
+import org.jboss.seam.cron.api.scheduling.Trigger;
+import org.jboss.seam.cron.spi.SeamCronExtension;
+import org.jboss.seam.cron.spi.scheduling.trigger.TestTriggers.Observer;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Fires triggers on a controlled clock to check how missed firings are counted and how each
+ * #{@link MisfirePolicy} treats them.
+ *
+ * @author agent
+ */
+public class TriggerSupportMisfireTest {
+
+    // a whole ten seconds, so on the grid of every schedule here
+    private static final long T0 = 1300000000000L;
+
+    @Every(value = Interval.SECOND, misfire = MisfirePolicy.FIRE_ONCE_NOW)
+    private Object fireOnceNow;
+    @Every(value = Interval.SECOND, misfire = MisfirePolicy.SKIP_TO_NEXT)
+    private Object skipToNext;
+    @Every(value = Interval.SECOND, misfire = MisfirePolicy.FIRE_ALL_MISSED, maxMissedFirings = 3)
+    private Object fireAllMissed;
+    @Every(value = Interval.SECOND, misfire = MisfirePolicy.FIRE_ALL_MISSED, maxMissedFirings = 3)
+    @Queue("reports")
+    private Object fireAllMissedInQueue;
+    @Scheduled("*/10 * * * * ?")
+    private Object everyTenSeconds;
+
+    private final SeamCronExtension extension = new SeamCronExtension();
+    private final List<Trigger> events = new ArrayList<Trigger>();
+
+    @Test
+    public void testIntervalFireTimesAreCountedToTheNearestPeriod() {
+        final TriggerSupplies supplies = supplies("fireOnceNow");
+        final TriggerState state = supplies.getState();
+        assertEquals("nothing is missed on the first firing", 0, state.recordDue(T0, supplies));
+        assertEquals("on time", 0, state.recordDue(T0 + 1000, supplies));
+        assertEquals("a little early", 0, state.recordDue(T0 + 1990, supplies));
+        assertEquals("a little late", 0, state.recordDue(T0 + 3100, supplies));
+        assertEquals("early, after a gap of four periods", 3, state.recordDue(T0 + 6950, supplies));
+        assertEquals("late, after a gap of two periods", 1, state.recordDue(T0 + 9400, supplies));
+        assertEquals("older than the last firing", 0, state.recordDue(T0 + 5000, supplies));
+        assertEquals(4, state.getMissedCount());
+    }
+
+    @Test
+    public void testCronFireTimesAreCountedAcrossTheRoundToSecondEdge() {
+        final TriggerSupplies supplies = supplies("everyTenSeconds");
+        // fired half a second early for T0 itself
+        final long previous = T0 - 499;
+        assertEquals("T0+10 and T0+20 (rounded down to)", 2, supplies.countFireTimes(previous, T0 + 20499));
+        assertEquals("T0+10 and T0+20 (rounded up to)", 2, supplies.countFireTimes(previous, T0 + 19500));
+        assertEquals("T0+10 only: still a second before T0+20", 1, supplies.countFireTimes(previous, T0 + 19499));
+        assertEquals("T0+10, T0+20 and T0+30", 3, supplies.countFireTimes(T0 + 499, T0 + 29500));
+        assertEquals(0, supplies.countFireTimes(T0 + 499, T0 + 9499));
+        assertEquals(0, supplies.countFireTimes(T0 + 20000, T0 + 10000));
+
+        final TriggerState state = supplies.getState();
+        state.recordDue(T0 - 300, supplies);
+        assertEquals("T0+10 fired late, T0+20 on time, so T0+10 was missed", 1, state.recordDue(T0 + 20400, supplies));
+    }
+
+    @Test
+    public void testFireOnceNowReportsTheMissedFirings() {
+        final TriggerSupplies supplies = supplies("fireOnceNow");
+        fireAt(supplies, T0, T0);
+        fireAt(supplies, T0 + 5000, T0 + 5020);
+        assertEquals(2, events.size());
+        assertEquals(0, events.get(0).getMissedFirings());
+        assertEquals(4, events.get(1).getMissedFirings());
+        assertEquals("the payload is stamped with the controlled clock", T0 + 5020, events.get(1).getTimeFired());
+    }
+
+    @Test
+    public void testSkipToNextDropsTheLateFiringAndReportsItWithTheNext() {
+        final TriggerSupplies supplies = supplies("skipToNext");
+        fireAt(supplies, T0, T0);
+        fireAt(supplies, T0 + 5000, T0 + 5000);
+        assertEquals("the misfired firing was dropped", 1, events.size());
+        fireAt(supplies, T0 + 6000, T0 + 6000);
+        assertEquals(2, events.size());
+        assertEquals("the four missed and the one dropped", 5, events.get(1).getMissedFirings());
+        fireAt(supplies, T0 + 7000, T0 + 7000);
+        assertEquals(0, events.get(2).getMissedFirings());
+    }
+
+    @Test
+    public void testFireAllMissedReplaysUpToTheCap() {
+        final TriggerSupplies supplies = supplies("fireAllMissed");
+        fireAt(supplies, T0, T0);
+        events.clear();
+        // five missed, but only three are replayed
+        fireAt(supplies, T0 + 6000, T0 + 6000);
+        assertEquals(4, events.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("replayed firing " + i, 0, events.get(i).getMissedFirings());
+        }
+        assertEquals("the firings beyond the cap are reported by the last", 2, events.get(3).getMissedFirings());
+    }
+
+    @Test
+    public void testLateArrivalBeyondTheThresholdIsAMisfire() {
+        final long threshold = 60000;
+        final TriggerSupplies skipping = supplies("skipToNext");
+        fireAt(skipping, T0, T0 + threshold + 1);
+        assertEquals("dropped although nothing was missed", 0, events.size());
+        fireAt(skipping, T0 + 1000, T0 + threshold);
+        assertEquals("exactly on the threshold is not a misfire", 1, events.size());
+        assertEquals("reports the dropped firing", 1, events.get(0).getMissedFirings());
+
+        events.clear();
+        final TriggerSupplies firing = supplies("fireOnceNow");
+        fireAt(firing, T0, T0 + threshold + 1);
+        assertEquals(1, events.size());
+        assertEquals(0, events.get(0).getMissedFirings());
+    }
+
+    @Test
+    public void testEarlyArrivalIsNotAMisfire() {
+        final TriggerSupplies supplies = supplies("skipToNext");
+        fireAt(supplies, T0, T0 - 5);
+        fireAt(supplies, T0 + 1000, T0 + 990);
+        fireAt(supplies, T0 + 2000, T0 + 1999);
+        assertEquals(3, events.size());
+        for (Trigger event : events) {
+            assertEquals(0, event.getMissedFirings());
+        }
+        assertEquals(0, supplies.getState().getMissedCount());
+    }
+
+    @Test
+    public void testTriggersSharingTheirIntervalCountTheirOwnMissedFirings() {
+        final TriggerSupplies supplies = supplies("fireAllMissed");
+        final List<Trigger> otherEvents = new ArrayList<Trigger>();
+        final TriggerSupplies other = TestTriggers.supplies(TestTriggers.qualifier(getClass(), "fireAllMissedInQueue"),
+                TestTriggers.qualifiers(getClass(), "fireAllMissedInQueue"), extension, new Observer() {
+
+                    public void observe(final Trigger event) {
+                        otherEvents.add(event);
+                    }
+                });
+        assertEquals(supplies.getQualifier(), other.getQualifier());
+        fireAt(other, T0, T0);
+        // the first trigger fires on time throughout, while the other misses four firings
+        for (int i = 0; i <= 5; i++) {
+            fireAt(supplies, T0 + i * 1000, T0 + i * 1000);
+        }
+        fireAt(other, T0 + 5000, T0 + 5000);
+
+        assertEquals(6, events.size());
+        for (Trigger event : events) {
+            assertEquals(0, event.getMissedFirings());
+        }
+        assertEquals(0, supplies.getState().getMissedCount());
+        assertEquals("the first firing, three replayed and the one which was due", 5, otherEvents.size());
+        assertEquals("the missed firing beyond the cap is reported by the last", 1, otherEvents.get(4).getMissedFirings());
+        assertEquals(4, other.getState().getMissedCount());
+    }
+
+    private TriggerSupplies supplies(final String trigger) {
+        return TestTriggers.supplies(TestTriggers.qualifier(getClass(), trigger), extension, new Observer() {
+
+            public void observe(final Trigger event) {
+                events.add(event);
+            }
+        });
+    }
+
+    /**
+     * Fire the trigger for the given fire time, with the clock reading the given time.
+     */
+    private static void fireAt(final TriggerSupplies supplies, final long scheduledTime, final long now) {
+        new TriggerSupport(supplies) {
+
+            @Override
+            long currentTimeMillis() {
+                return now;
+            }
+        }.fireTrigger(scheduledTime);
+    }
+}
@@ -0,0 +1,300 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.spi.scheduling.trigger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jboss.seam.cron.api.queue.Queue;
+import org.jboss.seam.cron.api.scheduling.Every;
+import org.jboss.seam.cron.api.scheduling.Interval;
+import org.jboss.seam.cron.api.scheduling.OverlapPolicy;
+import org.jboss.seam.cron.api.scheduling.Trigger;
+import org.jboss.seam.cron.spi.SeamCronExtension;
+import org.jboss.seam.cron.spi.scheduling.metrics.TriggerMetricsRecorder;
+import org.jboss.seam.cron.spi.scheduling.trigger.TestTriggers.Observer;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Fires triggers from several threads at once to check that #{@link TriggerSupport} applies each
+ * #{@link OverlapPolicy}, and that #{@link TriggerState} gives up its permit when an observer fails.
+ *
+ * @author agent
+ */
+public class TriggerSupportOverlapTest {
+
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    @Every(value = Interval.SECOND, overlap = OverlapPolicy.SKIP)
+    private Object skip;
+    @Every(value = Interval.SECOND, overlap = OverlapPolicy.SKIP)
+    @Queue("reports")
+    private Object skipInQueue;
+    @Every(value = Interval.SECOND, overlap = OverlapPolicy.QUEUE, maxQueued = 2)
+    private Object queue;
+    @Every(value = Interval.SECOND, overlap = OverlapPolicy.COALESCE)
+    private Object coalesce;
+
+    private final SeamCronExtension extension = new SeamCronExtension();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Thread> threads = new ArrayList<Thread>();
+
+    @After
+    public void releaseObservers() throws InterruptedException {
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TIMEOUT_MILLIS);
+        }
+    }
+
+    @Test
+    public void testSkipDropsAndCountsFiringsWhileOneRuns() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final TriggerSupplies supplies = TestTriggers.supplies(TestTriggers.qualifier(getClass(), "skip"), extension,
+                blockingFirst(runs, null));
+        final Thread first = fireInBackground(supplies, 0, "first");
+        awaitRuns("first firing running", runs, 1);
+
+        for (int i = 0; i < 3; i++) {
+            new TriggerSupport(supplies).fireTrigger();
+        }
+        assertEquals("nothing else ran while the first firing did", 1, runs.get());
+        assertEquals(3, supplies.getState().getSkippedCount());
+
+        release.countDown();
+        first.join(TIMEOUT_MILLIS);
+        new TriggerSupport(supplies).fireTrigger();
+        assertEquals("runs again once the first has finished", 2, runs.get());
+        assertEquals(3, supplies.getState().getSkippedCount());
+    }
+
+    @Test
+    public void testTriggersSharingTheirIntervalDoNotOverlapEachOther() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final TriggerSupplies supplies = TestTriggers.supplies(TestTriggers.qualifier(getClass(), "skip"), extension,
+                blockingFirst(runs, null));
+        final AtomicInteger otherRuns = new AtomicInteger();
+        final TriggerSupplies other = TestTriggers.supplies(TestTriggers.qualifier(getClass(), "skipInQueue"),
+                TestTriggers.qualifiers(getClass(), "skipInQueue"), extension, new Observer() {
+
+                    public void observe(final Trigger event) {
+                        otherRuns.incrementAndGet();
+                    }
+                });
+        assertEquals(supplies.getQualifier(), other.getQualifier());
+        fireInBackground(supplies, 0, "first");
+        awaitRuns("first firing running", runs, 1);
+
+        // the other trigger has its own state, so it isn't skipped while the first one runs
+        new TriggerSupport(other).fireTrigger();
+        new TriggerSupport(other).fireTrigger();
+        assertEquals(2, otherRuns.get());
+        assertEquals(0, other.getState().getSkippedCount());
+        assertNotSame(supplies.getState(), other.getState());
+    }
+
+    @Test
+    public void testQueueRunsWaitingFiringsInOrderUpToTheBound() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        final TriggerSupplies supplies = TestTriggers.supplies(TestTriggers.qualifier(getClass(), "queue"), extension,
+                blockingFirst(runs, order));
+        final TriggerState state = supplies.getState();
+        fireInBackground(supplies, 0, "running");
+        awaitRuns("first firing running", runs, 1);
+        awaitWaiting(fireInBackground(supplies, 0, "queued-1"));
+        awaitWaiting(fireInBackground(supplies, 0, "queued-2"));
+        assertEquals(2, state.getQueuedCount());
+
+        // the queue is full, so this one is dropped straight away
+        new TriggerSupport(supplies).fireTrigger();
+        assertEquals(1, state.getSkippedCount());
+        assertEquals(2, state.getQueuedCount());
+
+        release.countDown();
+        joinAll();
+        assertEquals(3, runs.get());
+        assertEquals("queued firings run in the order they fell due", Arrays.asList("running", "queued-1", "queued-2"), order);
+        assertEquals(0, state.getQueuedCount());
+    }
+
+    @Test
+    public void testCoalesceCollapsesFiringsWhichFallDueWhileOneRuns() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final List<Long> lateness = Collections.synchronizedList(new ArrayList<Long>());
+        extension.getTriggerInstrumentation().setRecorder(new TriggerMetricsRecorder() {
+
+            public void recordFiring(final TriggerDetail trigger, final long latenessMillis, final long executionNanos, final Throwable failure) {
+                lateness.add(latenessMillis);
+            }
+        });
+        final TriggerSupplies supplies = TestTriggers.supplies(TestTriggers.qualifier(getClass(), "coalesce"), extension,
+                blockingFirst(runs, null));
+        final long due = System.currentTimeMillis();
+        final Thread first = fireInBackground(supplies, due, "first");
+        awaitRuns("first firing running", runs, 1);
+
+        for (int i = 1; i <= 3; i++) {
+            new TriggerSupport(supplies).fireTrigger(due + i * 1000);
+        }
+        assertEquals("the firings wait for the running one", 1, runs.get());
+
+        release.countDown();
+        first.join(TIMEOUT_MILLIS);
+        assertEquals("the running firing catches up once for all three", 2, runs.get());
+        assertEquals(2, supplies.getState().getCoalescedCount());
+        assertEquals(2, lateness.size());
+        assertTrue("the catch-up firing is for the latest fire time, " + lateness,
+                lateness.get(0) - lateness.get(1) > 2500);
+    }
+
+    @Test
+    public void testCoalesceLosesNoWakeUpUnderContention() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final TriggerSupplies supplies = TestTriggers.supplies(TestTriggers.qualifier(getClass(), "coalesce"), extension,
+                new Observer() {
+
+                    public void observe(final Trigger event) {
+                        runs.incrementAndGet();
+                        Thread.yield();
+                    }
+                });
+        final int firingsPerThread = 2000;
+        final long due = System.currentTimeMillis();
+        final CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 4; t++) {
+            final Thread thread = new Thread(new Runnable() {
+
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                    for (int i = 0; i < firingsPerThread; i++) {
+                        new TriggerSupport(supplies).fireTrigger(due);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        joinAll();
+        // every firing either ran or was merged into one which did: none was left waiting
+        assertEquals(4 * firingsPerThread, runs.get() + supplies.getState().getCoalescedCount());
+        assertTrue(runs.get() > 0);
+    }
+
+    @Test
+    public void testPermitIsReleasedWhenAnObserverThrows() {
+        for (String policy : new String[]{"skip", "queue", "coalesce"}) {
+            final AtomicInteger runs = new AtomicInteger();
+            final TriggerSupplies supplies = TestTriggers.supplies(TestTriggers.qualifier(getClass(), policy), extension,
+                    new Observer() {
+
+                        public void observe(final Trigger event) {
+                            if (runs.incrementAndGet() == 1) {
+                                throw new IllegalStateException("observer failed");
+                            }
+                        }
+                    });
+            try {
+                new TriggerSupport(supplies).fireTrigger();
+                fail(policy + ": the observer's exception should propagate");
+            } catch (IllegalStateException expected) {
+                assertEquals("observer failed", expected.getMessage());
+            }
+            new TriggerSupport(supplies).fireTrigger();
+            assertEquals(policy + ": the next firing isn't blocked by the failed one", 2, runs.get());
+            assertEquals(0, supplies.getState().getSkippedCount());
+        }
+    }
+
+    /**
+     * @return An observer which counts its firings, records the names of their threads and
+     * blocks the first firing until the test releases it.
+     */
+    private Observer blockingFirst(final AtomicInteger runs, final List<String> order) {
+        return new Observer() {
+
+            public void observe(final Trigger event) {
+                if (order != null) {
+                    order.add(Thread.currentThread().getName());
+                }
+                if (runs.incrementAndGet() == 1) {
+                    try {
+                        release.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+    }
+
+    private Thread fireInBackground(final TriggerSupplies supplies, final long scheduledTime, final String name) {
+        final Thread thread = new Thread(new Runnable() {
+
+            public void run() {
+                new TriggerSupport(supplies).fireTrigger(scheduledTime);
+            }
+        }, name);
+        threads.add(thread);
+        thread.start();
+        return thread;
+    }
+
+    private void joinAll() throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join(TIMEOUT_MILLIS);
+            assertTrue(thread.getName() + " finished", !thread.isAlive());
+        }
+    }
+
+    private static void awaitRuns(final String what, final AtomicInteger counter, final int expected) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (counter.get() < expected) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting for " + what);
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Wait until the thread is blocked behind the running firing, so that the next one queues behind it.
+     */
+    private static void awaitWaiting(final Thread thread) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (thread.getState() != Thread.State.WAITING) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting for " + thread.getName() + " to queue");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
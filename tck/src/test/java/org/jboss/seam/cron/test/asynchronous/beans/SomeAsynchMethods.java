@@ -17,6 +17,8 @@
 package org.jboss.seam.cron.test.asynchronous.beans;
 
 import org.jboss.seam.cron.api.asynchronous.AsyncResult;
+import org.jboss.seam.cron.api.asynchronous.AsyncCompletableResult;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -77,6 +79,18 @@ public class SomeAsynchMethods {
         return new AsyncResult<Status>(new Status(statusToSet));
     }
 
+    @Asynchronous
+    public CompletionStage<Status> returnStatusInCompletionStage(String statusToSet) {
+        return new AsyncCompletableResult<Status>(new Status(statusToSet));
+    }
+
+    @Asynchronous
+    public CompletionStage<String> throwAnExceptionInCompletionStage() {
+        String result = null;
+        result.toString();
+        return new AsyncCompletableResult<String>("You won't get this far");
+    }
+
     @Asynchronous
     @HaystackCount
     public Integer countNeedlesInTheHaystack(final int numToReturn) {
@@ -17,6 +17,7 @@
 package org.jboss.seam.cron.test.asynchronous.tck;
 
 import org.jboss.seam.cron.test.asynchronous.SeamCronAsynchronousTestBase;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -153,4 +154,35 @@ public class SeamCronAsynchronousTCKTest {
         }
         
     }
+
+    @Test
+    public void testAsynchReturningCompletionStage() throws InterruptedException, ExecutionException, TimeoutException {
+        log.info("Testing asynchronous methods return a CompletionStage which is completed when the method finishes");
+        assertNotNull(asynchBean);
+        asynchBean.reset();
+        String statusToSet = "green";
+        CompletionStage<Status> result = asynchBean.returnStatusInCompletionStage(statusToSet);
+        assertNotNull(result);
+        Status resultStatus = result.toCompletableFuture().get(4, TimeUnit.SECONDS);
+        assertNotNull(resultStatus);
+        assertEquals(statusToSet, resultStatus.getDescription());
+        // the post-execution event is still fired as for any other return type
+        asynchBean.getStatusLatch().await(4, TimeUnit.SECONDS);
+        assertNotNull(asynchBean.getStatusEvent());
+        assertEquals(statusToSet, asynchBean.getStatusEvent().getDescription());
+    }
+
+    @Test
+    public void testErrorThrownCompletesStageExceptionally() throws Exception {
+        log.info("Testing that an error thrown during an @Asynchronous invocation which returns a CompletionStage completes it exceptionally");
+        assertNotNull(asynchBean);
+        asynchBean.reset();
+        CompletionStage<String> result = asynchBean.throwAnExceptionInCompletionStage();
+        try {
+            result.toCompletableFuture().get(2, TimeUnit.SECONDS);
+            fail("If you got here, the asynch method didn't throw an exception properly");
+        } catch (ExecutionException ee) {
+            assertEquals(NullPointerException.class, ee.getCause().getClass());
+        }
+    }
 }
@@ -0,0 +1,61 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.seam.cron.test.scheduling.beans;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.Reception;
+import org.jboss.seam.cron.api.scheduling.Every;
+import org.jboss.seam.cron.api.scheduling.Trigger;
+
+import static org.jboss.seam.cron.api.scheduling.Interval.SECOND;
+
+/**
+ * A conditional observer of a trigger, which the container only notifies once something else
+ * has created the bean.
+ *
+ * @author agent
+ */
+@ApplicationScoped
+public class ConditionalObserverBean {
+
+    private static final AtomicInteger created = new AtomicInteger();
+    private int everySecondCount = 0;
+
+    @PostConstruct
+    public void countCreation() {
+        created.incrementAndGet();
+    }
+
+    public void onEverySecondIfExists(@Observes(notifyObserver = Reception.IF_EXISTS)
+            @Every(SECOND) Trigger event) {
+        everySecondCount++;
+    }
+
+    /**
+     * @return How many times the bean has been created, without creating it.
+     */
+    public static int getCreatedCount() {
+        return created.get();
+    }
+
+    public int getEverySecondCount() {
+        return everySecondCount;
+    }
+}
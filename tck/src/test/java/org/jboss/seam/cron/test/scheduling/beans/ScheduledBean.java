@@ -17,6 +17,7 @@ import java.util.Date;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
 import org.jboss.seam.cron.api.scheduling.Trigger;
 
 import static org.jboss.seam.cron.api.scheduling.Interval.*;
@@ -37,7 +38,13 @@ public class ScheduledBean {
     private boolean typesafeEventObserved = false;
     private boolean firedCorrectly = true;
     private boolean everySecondEventObserved = false;
+    private int everySecondCount = 0;
+    private boolean afterSuccessEventObserved = false;
     private boolean systemPropSchedFired = false;
+    private int everyQuarterSecondCount = 0;
+    private long firstQuarterSecondFired = 0;
+    private long lastQuarterSecondFired = 0;
+    private boolean dayFiredCorrectly = true;
 
     public void onSchedule(@Observes
             @Scheduled("*/5 * * ? * *") Trigger event) {
@@ -70,6 +77,15 @@ public class ScheduledBean {
             @Every(SECOND) Trigger event) {
         log.info("Every second event fired at " + new Date(event.getTimeFired()));
         this.everySecondEventObserved = true;
+        everySecondCount++;
+    }
+
+    /**
+     * A transactional observer, which is notified straight away as triggers don't fire in a transaction.
+     */
+    public void onEveryOtherSecondAfterSuccess(@Observes(during = TransactionPhase.AFTER_SUCCESS)
+            @Every(value = SECOND, nth = 2) Trigger event) {
+        this.afterSuccessEventObserved = true;
     }
 
     public void onEverySystemPropertySchedule(@Observes
@@ -78,6 +94,25 @@ public class ScheduledBean {
         this.systemPropSchedFired = true;
     }
 
+    public void onEveryQuarterSecondSchedule(@Observes
+            @Every(value = MILLISECOND, nth = 250) Trigger event) {
+        if (everyQuarterSecondCount == 0) {
+            firstQuarterSecondFired = event.getTimeFired();
+        }
+        lastQuarterSecondFired = event.getTimeFired();
+        everyQuarterSecondCount++;
+    }
+
+    public void onEveryDaySchedule(@Observes
+            @Every(DAY) Trigger event) {
+        // days are 24 hours apart from midnight, local time, so during the test it can only fire around midnight
+        final Calendar c = Calendar.getInstance();
+        c.setTimeInMillis(event.getTimeFired());
+        final int minuteOfDay = c.get(Calendar.HOUR_OF_DAY) * 60 + c.get(Calendar.MINUTE);
+        dayFiredCorrectly = dayFiredCorrectly & (minuteOfDay == 0 || minuteOfDay == 24 * 60 - 1);
+        log.info("Every day event fired at " + c.getTime());
+    }
+
     public boolean isScheduledEventObserved() {
         return scheduledEventObserved;
     }
@@ -98,8 +133,32 @@ public class ScheduledBean {
         return everySecondEventObserved;
     }
 
+    public int getEverySecondCount() {
+        return everySecondCount;
+    }
+
+    public boolean isAfterSuccessEventObserved() {
+        return afterSuccessEventObserved;
+    }
+
     public boolean isSystemPropSchedFired() {
         return systemPropSchedFired;
     }
 
+    public int getEveryQuarterSecondCount() {
+        return everyQuarterSecondCount;
+    }
+
+    /**
+     * @return true if the quarter-second events didn't fire any more often than every 250ms, allowing
+     * for one late firing being followed closely by the next.
+     */
+    public boolean isQuarterSecondsFiredCorrectly() {
+        return everyQuarterSecondCount - 1 <= (lastQuarterSecondFired - firstQuarterSecondFired) / 250 + 1;
+    }
+
+    public boolean isDayFiredCorrectly() {
+        return dayFiredCorrectly;
+    }
+
 }
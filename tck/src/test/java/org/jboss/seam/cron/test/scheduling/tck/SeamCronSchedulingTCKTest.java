@@ -10,6 +10,7 @@
 package org.jboss.seam.cron.test.scheduling.tck;
 
 import org.jboss.seam.cron.test.scheduling.SeamCronSchedulingTestBase;
+import org.jboss.seam.cron.test.scheduling.beans.ConditionalObserverBean;
 import org.jboss.seam.cron.test.scheduling.beans.ScheduledBean;
 
 import javax.inject.Inject;
@@ -48,6 +49,8 @@ public class SeamCronSchedulingTCKTest {
     ScheduledBean bean;
     @Inject
     CronSchedulingProvider cronSchedProv;
+    @Inject
+    ConditionalObserverBean conditionalBean;
 
     @Test
     public void testEventsGetsFired() {
@@ -61,7 +64,8 @@ public class SeamCronSchedulingTCKTest {
                 && bean.isNamedEventObserved()
                 && bean.isEverySecondEventObserved()
                 && bean.isTypesafeEventObserved()
-                && bean.isSystemPropSchedFired())
+                && bean.isSystemPropSchedFired()
+                && bean.getEveryQuarterSecondCount() >= 4)
                 && totalTimeWaited < MAX_TIME_TO_WAIT) {
             try {
                 log.info("Sleeping for a few seconds, waiting for all events to fire. Waited for " + totalTimeWaited + "ms so far ...");
@@ -78,13 +82,46 @@ public class SeamCronSchedulingTCKTest {
                 && bean.isNamedEventObserved()
                 && bean.isEverySecondEventObserved()
                 && bean.isTypesafeEventObserved()
-                && bean.isSystemPropSchedFired())) {
+                && bean.isSystemPropSchedFired()
+                && bean.getEveryQuarterSecondCount() >= 4)) {
             System.out.println(bean.isScheduledEventObserved());
             System.out.println(bean.isNamedEventObserved());
             System.out.println(bean.isEverySecondEventObserved());
             System.out.println(bean.isTypesafeEventObserved());
             System.out.println(bean.isSystemPropSchedFired());
+            System.out.println(bean.getEveryQuarterSecondCount());
             fail("Expected all of the above properties to be set to true by the configured schedules, but that wasn't the case");
         }
+        Assert.assertTrue("@Every(value = MILLISECOND, nth = 250) fired more often than every 250ms", bean.isQuarterSecondsFiredCorrectly());
+        Assert.assertTrue("@Every(DAY) fired other than at midnight", bean.isDayFiredCorrectly());
+    }
+
+    /**
+     * Trigger events are delivered straight to the observers which the container resolved, except
+     * for triggers with a transactional observer, which are fired through the BeanManager. Either
+     * way the observers must be notified just as if every event was fired through the BeanManager.
+     */
+    @Test
+    public void testConditionalAndTransactionalObserversAreNotifiedAsByTheBeanManager() throws InterruptedException {
+        final int everySecondCount = bean.getEverySecondCount();
+        int totalTimeWaited = 0;
+        while (!(bean.getEverySecondCount() >= everySecondCount + 2 && bean.isAfterSuccessEventObserved())
+                && totalTimeWaited < MAX_TIME_TO_WAIT) {
+            totalTimeWaited += SLEEP_TIME;
+            Thread.sleep(SLEEP_TIME);
+        }
+        Assert.assertTrue("The every second trigger did not fire", bean.getEverySecondCount() >= everySecondCount + 2);
+        Assert.assertTrue("The transactional observer was not notified", bean.isAfterSuccessEventObserved());
+        Assert.assertEquals("The conditional observer's bean was created by a trigger", 0, ConditionalObserverBean.getCreatedCount());
+
+        // creating the bean makes its conditional observer start observing
+        conditionalBean.getEverySecondCount();
+        totalTimeWaited = 0;
+        while (conditionalBean.getEverySecondCount() < 2 && totalTimeWaited < MAX_TIME_TO_WAIT) {
+            totalTimeWaited += SLEEP_TIME;
+            Thread.sleep(SLEEP_TIME);
+        }
+        Assert.assertTrue("The conditional observer was not notified once its bean existed", conditionalBean.getEverySecondCount() >= 2);
+        Assert.assertEquals(1, ConditionalObserverBean.getCreatedCount());
     }
 }